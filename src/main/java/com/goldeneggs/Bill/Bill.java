@@ -4,14 +4,19 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.goldeneggs.Order.Order;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
 
 import java.sql.Date;
+import java.time.LocalDateTime;
 
 /**
  * Represents a bill issued for an order.
  */
 @Entity
-@Table(name = "bills")
+@Table(name = "bills", indexes = {
+        @Index(name = "idx_bills_issue_date", columnList = "issue_date, order_id, total_price"),
+        @Index(name = "idx_bills_order_id", columnList = "order_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -25,9 +30,9 @@ public class Bill {
     /**
      * Associated order for this bill.
      */
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
-    @JsonIgnoreProperties("bill")
+    @JsonIgnoreProperties({"bill", "hibernateLazyInitializer", "handler"})
     private Order order;
 
     /**
@@ -36,6 +41,13 @@ public class Bill {
     @Column(name = "issue_date", nullable = false)
     private Date issueDate;
 
+    /**
+     * Exact moment the bill was created, used to measure order-to-bill latency.
+     */
+    @CreationTimestamp
+    @Column(name = "issued_at", updatable = false)
+    private LocalDateTime issuedAt;
+
     /**
      * Total price to be paid.
      */
@@ -4,11 +4,17 @@ import com.goldeneggs.Dto.BillDto;
 import com.goldeneggs.Exception.InvalidBillDataException;
 import com.goldeneggs.Exception.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
 
 /**
  * REST controller for managing {@link Bill} resources.
@@ -18,6 +24,12 @@ import java.util.List;
 @CrossOrigin("*")
 public class BillController {
 
+    /**
+     * Properties the bill pages may be sorted by. Sorting by anything else is refused rather
+     * than passed on to the query.
+     */
+    private static final Set<String> SORTABLE = Set.of("id", "issueDate", "totalPrice", "paid");
+
     @Autowired
     private BillService billService;
 
@@ -54,26 +66,36 @@ public class BillController {
     }
 
     /**
-     * Retrieves all bills in the system.
+     * Retrieves a page of the bills in the system, newest first unless another sort is requested.
      *
-     * @return A list of all {@link Bill} entities.
+     * @param pageable The page to retrieve, taken from the {@code page}, {@code size} and {@code sort} parameters.
+     * @return A page of {@link BillDto} objects, or bad request if the sort is not allowed.
      */
     @GetMapping("/getAll")
-    public ResponseEntity<List<BillDto>> getAll() {
-        return ResponseEntity.ok(billService.getAll());
+    public ResponseEntity<Page<BillDto>> getAll(
+            @PageableDefault(size = 20, sort = "issueDate", direction = Sort.Direction.DESC) Pageable pageable) {
+        if (!isSortable(pageable)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return ResponseEntity.ok(billService.getAll(pageable));
     }
 
     /**
-     * Retrieves all bills associated with a specific customer.
+     * Retrieves a page of the bills associated with a specific customer.
      *
-     * @param id The ID of the customer whose bills are to be retrieved.
-     * @return A {@link ResponseEntity} containing a list of {@link BillDto} objects
-     *         representing the customer's bills.
+     * @param id       The ID of the customer whose bills are to be retrieved.
+     * @param pageable The page to retrieve, taken from the {@code page}, {@code size} and {@code sort} parameters.
+     * @return A {@link ResponseEntity} containing a page of {@link BillDto} objects
+     *         representing the customer's bills, or bad request if the sort is not allowed.
      */
     @GetMapping("/byCustomer/{id}")
-    public ResponseEntity<List<BillDto>> getBillsByCustomer(@PathVariable Long id) {
+    public ResponseEntity<Page<BillDto>> getBillsByCustomer(@PathVariable Long id,
+            @PageableDefault(size = 20, sort = "issueDate", direction = Sort.Direction.DESC) Pageable pageable) {
+        if (!isSortable(pageable)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
         try{
-           return ResponseEntity.ok(billService.getBillsByCustomer(id));
+           return ResponseEntity.ok(billService.getBillsByCustomer(id, pageable));
         }catch(ResourceNotFoundException e){
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
@@ -81,27 +103,37 @@ public class BillController {
 
 
     /**
-     * Retrieves all bills associated with company users
+     * Retrieves a page of the bills associated with company users
      * (users with roles "EMPLOYEE" or "ADMIN").
      *
-     * @return A {@link ResponseEntity} containing a list of {@link BillDto} objects
-     *         representing company bills.
+     * @param pageable The page to retrieve, taken from the {@code page}, {@code size} and {@code sort} parameters.
+     * @return A {@link ResponseEntity} containing a page of {@link BillDto} objects
+     *         representing company bills, or bad request if the sort is not allowed.
      */
     @GetMapping("/getAllOfCompany")
-    public ResponseEntity<List<BillDto>> getAllCompanyBills() {
-        return ResponseEntity.ok(billService.getAllBillsForCompany());
+    public ResponseEntity<Page<BillDto>> getAllCompanyBills(
+            @PageableDefault(size = 20, sort = "issueDate", direction = Sort.Direction.DESC) Pageable pageable) {
+        if (!isSortable(pageable)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return ResponseEntity.ok(billService.getAllBillsForCompany(pageable));
     }
 
     /**
-     * Retrieves all bills associated with customers
+     * Retrieves a page of the bills associated with customers
      * (users with the "CUSTOMER" role).
      *
-     * @return A {@link ResponseEntity} containing a list of {@link BillDto} objects
-     *         representing customer bills.
+     * @param pageable The page to retrieve, taken from the {@code page}, {@code size} and {@code sort} parameters.
+     * @return A {@link ResponseEntity} containing a page of {@link BillDto} objects
+     *         representing customer bills, or bad request if the sort is not allowed.
      */
     @GetMapping("/getAllOfCustomers")
-    public ResponseEntity<List<BillDto>> getAllCustomerBills() {
-        return ResponseEntity.ok(billService.getAllBillsForCustomers());
+    public ResponseEntity<Page<BillDto>> getAllCustomerBills(
+            @PageableDefault(size = 20, sort = "issueDate", direction = Sort.Direction.DESC) Pageable pageable) {
+        if (!isSortable(pageable)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return ResponseEntity.ok(billService.getAllBillsForCustomers(pageable));
     }
 
     /**
@@ -131,6 +163,38 @@ public class BillController {
         return ResponseEntity.ok(billService.getBestCustomerOfMonth());
     }
 
+    /**
+     * Retrieves the total sales of a given month.
+     *
+     * @param month The month, formatted as yyyy-MM.
+     * @return a {@link ResponseEntity} containing the total sales of the month,
+     *         or 400 if the month is not valid.
+     */
+    @GetMapping("/salesTotal/{month}")
+    public ResponseEntity<Double> getSalesTotal(@PathVariable String month) {
+        try {
+            return ResponseEntity.ok(billService.getSalesTotal(YearMonth.parse(month)));
+        } catch (DateTimeParseException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Retrieves the name of the best customer of a given month.
+     *
+     * @param month The month, formatted as yyyy-MM.
+     * @return a {@link ResponseEntity} containing the name of the top-spending customer,
+     *         or 400 if the month is not valid.
+     */
+    @GetMapping("/bestCustomer/{month}")
+    public ResponseEntity<String> getBestCustomer(@PathVariable String month) {
+        try {
+            return ResponseEntity.ok(billService.getBestCustomer(YearMonth.parse(month)));
+        } catch (DateTimeParseException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
     /**
      * Updates an existing bill with the given ID.
      *
@@ -178,4 +242,14 @@ public class BillController {
         Long count = billService.countCustomerBillsInCurrentMonth();
         return ResponseEntity.ok(count);
     }
+
+    /**
+     * Tells whether the requested page is sorted only by properties in {@link #SORTABLE}.
+     *
+     * @param pageable the requested page.
+     * @return {@code true} if the sort can be passed to the repository.
+     */
+    private static boolean isSortable(Pageable pageable) {
+        return pageable.getSort().stream().allMatch(order -> SORTABLE.contains(order.getProperty()));
+    }
 }
@@ -1,12 +1,20 @@
 package com.goldeneggs.Bill;
 
+import com.goldeneggs.Dto.BillDto;
+import com.goldeneggs.Dto.Payment.BillPaymentTotalDto;
 import com.goldeneggs.Order.Order;
+import com.goldeneggs.User.UserSegment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.sql.Date;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -31,7 +39,7 @@ public interface BillRepository extends JpaRepository<Bill, Long> {
      * @return The total number of customer bills issued in the given range.
      */
     @Query("SELECT COUNT(b) FROM Bill b WHERE b.issueDate BETWEEN :start AND :end " +
-            "AND EXISTS (SELECT r FROM b.order.user.roles r WHERE r.name = 'CUSTOMER')")
+            "AND b.order.user.segment = com.goldeneggs.User.UserSegment.CUSTOMER")
     Long countCustomerBillsInCurrentMonth(@Param("start") Date start, @Param("end") Date end);
 
     /**
@@ -43,5 +51,125 @@ public interface BillRepository extends JpaRepository<Bill, Long> {
     @Query("SELECT b FROM Bill b WHERE b.order.user.id = :customerId")
     List<Bill> findAllByCustomerId(@Param("customerId") Long customerId);
 
+    @EntityGraph(attributePaths = {"order", "order.user"})
     List<Bill> findByIssueDateBetween(Date startDate, Date endDate);
+
+    /**
+     * Retrieves the bills issued within a date range to users of the given segment.
+     *
+     * @param start   The start date (inclusive).
+     * @param end     The end date (inclusive).
+     * @param segment The segment of the users whose bills should be retrieved.
+     * @return the matching bills.
+     */
+    @EntityGraph(attributePaths = {"order", "order.user"})
+    @Query("SELECT b FROM Bill b WHERE b.issueDate BETWEEN :start AND :end AND b.order.user.segment = :segment")
+    List<Bill> findBySegmentBetween(@Param("start") Date start, @Param("end") Date end,
+                                    @Param("segment") UserSegment segment);
+
+    /**
+     * Retrieves a page of bills projected onto {@link BillDto}.
+     *
+     * @param pageable the page to retrieve and its sort order.
+     * @return a page of bills.
+     */
+    @Query(value = "SELECT new com.goldeneggs.Dto.BillDto(b.id, b.issueDate, b.paid, b.totalPrice, " +
+            "u.name, o.orderDate, o.state) FROM Bill b JOIN b.order o JOIN o.user u",
+            countQuery = "SELECT COUNT(b) FROM Bill b")
+    Page<BillDto> findAllDtos(Pageable pageable);
+
+    /**
+     * Retrieves a page of the bills of a specific customer projected onto {@link BillDto}.
+     *
+     * @param customerId the ID of the customer whose bills should be retrieved.
+     * @param pageable   the page to retrieve and its sort order.
+     * @return a page of the customer's bills.
+     */
+    @Query(value = "SELECT new com.goldeneggs.Dto.BillDto(b.id, b.issueDate, b.paid, b.totalPrice, " +
+            "u.name, o.orderDate, o.state) FROM Bill b JOIN b.order o JOIN o.user u WHERE u.id = :customerId",
+            countQuery = "SELECT COUNT(b) FROM Bill b WHERE b.order.user.id = :customerId")
+    Page<BillDto> findDtosByCustomerId(@Param("customerId") Long customerId, Pageable pageable);
+
+    /**
+     * Retrieves a page of the bills of users in the given segment, projected onto {@link BillDto}.
+     *
+     * @param segment  the segment of the users whose bills should be retrieved.
+     * @param pageable the page to retrieve and its sort order.
+     * @return a page of the matching bills.
+     */
+    @Query(value = "SELECT new com.goldeneggs.Dto.BillDto(b.id, b.issueDate, b.paid, b.totalPrice, " +
+            "u.name, o.orderDate, o.state) FROM Bill b JOIN b.order o JOIN o.user u WHERE u.segment = :segment",
+            countQuery = "SELECT COUNT(b) FROM Bill b WHERE b.order.user.segment = :segment")
+    Page<BillDto> findDtosBySegment(@Param("segment") UserSegment segment, Pageable pageable);
+
+    /**
+     * Sums the total price of the customer bills issued within a specific date range.
+     *
+     * @param start The start date (inclusive).
+     * @param end   The end date (inclusive).
+     * @return The total amount billed to customers in the given range, 0 if there are none.
+     */
+    @Query("SELECT COALESCE(SUM(b.totalPrice), 0.0) FROM Bill b WHERE b.issueDate BETWEEN :start AND :end " +
+            "AND b.order.user.segment = com.goldeneggs.User.UserSegment.CUSTOMER")
+    Double sumCustomerSalesBetween(@Param("start") Date start, @Param("end") Date end);
+
+    /**
+     * Retrieves the issue date of the oldest bill.
+     *
+     * @return the earliest issue date, or {@code null} if there are no bills.
+     */
+    @Query("SELECT MIN(b.issueDate) FROM Bill b")
+    Date findEarliestIssueDate();
+
+    /**
+     * Retrieves the bills with the given IDs together with their orders.
+     *
+     * @param ids the IDs of the bills.
+     * @return the bills that exist.
+     */
+    @EntityGraph(attributePaths = {"order"})
+    List<Bill> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Sums the payments of each of the given bills in a single grouped query.
+     *
+     * @param ids the IDs of the bills.
+     * @return the total and amount paid of every bill that exists, 0 paid if it has no payments.
+     */
+    @Query("SELECT new com.goldeneggs.Dto.Payment.BillPaymentTotalDto(b.id, b.totalPrice, b.paid, " +
+            "COALESCE(SUM(p.amountPaid), 0.0)) FROM Bill b LEFT JOIN Pay p ON p.bill = b " +
+            "WHERE b.id IN :ids GROUP BY b.id, b.totalPrice, b.paid")
+    List<BillPaymentTotalDto> sumPaymentsByBillIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Sums the payments of the bills that follow the given ID, in ascending ID order.
+     * Walking the bills by ID keeps each chunk on the primary key however far the walk has gone.
+     *
+     * @param afterId  the ID after which to start, 0 to start from the first bill.
+     * @param pageable the chunk size; only the first page is meant to be requested.
+     * @return the total and amount paid of the next bills.
+     */
+    @Query("SELECT new com.goldeneggs.Dto.Payment.BillPaymentTotalDto(b.id, b.totalPrice, b.paid, " +
+            "COALESCE(SUM(p.amountPaid), 0.0)) FROM Bill b LEFT JOIN Pay p ON p.bill = b " +
+            "WHERE b.id > :afterId GROUP BY b.id, b.totalPrice, b.paid ORDER BY b.id")
+    List<BillPaymentTotalDto> findPaymentTotalsAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Retrieves the issue dates of the bills of the given orders.
+     *
+     * @param orderIds the IDs of the orders.
+     * @return the distinct issue dates.
+     */
+    @Query("SELECT DISTINCT b.issueDate FROM Bill b WHERE b.order.id IN :orderIds")
+    List<Date> findIssueDatesByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Deletes the bills of the given orders in one statement. Their payments must have been deleted first.
+     *
+     * @param orderIds the IDs of the orders.
+     * @return the number of bills deleted.
+     */
+    @Modifying
+    @Query("DELETE FROM Bill b WHERE b.order.id IN :orderIds")
+    int deleteAllByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
 }
@@ -2,7 +2,10 @@ package com.goldeneggs.Bill;
 
 import com.goldeneggs.Dto.BillDto;
 import com.goldeneggs.Order.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.time.YearMonth;
 import java.util.List;
 
 /**
@@ -15,26 +18,29 @@ import java.util.List;
 public interface BillService {
 
     /**
-     * Retrieves all bills.
+     * Retrieves a page of all bills.
      *
-     * @return a list of all bills.
+     * @param pageable the page to retrieve and its sort order.
+     * @return a page of bills.
      */
-    List<BillDto> getAll();
+    Page<BillDto> getAll(Pageable pageable);
 
 
     /**
-     *returns all invoices sent to the company
+     *returns a page of the invoices sent to the company
      *
-     * @return a list of all the company's invoices.
+     * @param pageable the page to retrieve and its sort order.
+     * @return a page of the company's invoices.
      */
-    List<BillDto> getAllBillsForCompany();
+    Page<BillDto> getAllBillsForCompany(Pageable pageable);
 
     /**
-     * returns all invoices sent to a client
+     * returns a page of the invoices sent to clients
      *
-     * @return a list of all customer invoices.
+     * @param pageable the page to retrieve and its sort order.
+     * @return a page of customer invoices.
      */
-    List<BillDto> getAllBillsForCustomers();
+    Page<BillDto> getAllBillsForCustomers(Pageable pageable);
 
     /**
      * Calculates the total sales amount for the current month.
@@ -53,6 +59,24 @@ public interface BillService {
      */
     String getBestCustomerOfMonth();
 
+    /**
+     * Calculates the total sales amount of the given month.
+     * Closed months are read from their snapshot; only the open month is computed from bills.
+     *
+     * @param month the month to total.
+     * @return the total sales of the month as a {@link Double}.
+     */
+    Double getSalesTotal(YearMonth month);
+
+    /**
+     * Determines the customer who spent the most during the given month.
+     *
+     * @param month the month to evaluate.
+     * @return the name of the top-spending customer of the month,
+     *         or "Sin compras este mes" if no qualifying purchases exist.
+     */
+    String getBestCustomer(YearMonth month);
+
     /**
      * Retrieves a bill by its unique ID.
      *
@@ -81,12 +105,13 @@ public interface BillService {
     Bill update(Long id, Bill updatedBill);
 
     /**
-     * Retrieves all bills associated with a specific customer.
+     * Retrieves a page of the bills associated with a specific customer.
      *
      * @param customerId the unique identifier of the customer whose bills are to be retrieved.
-     * @return a list of {@link BillDto} objects representing the bills of the specified customer.
+     * @param pageable   the page to retrieve and its sort order.
+     * @return a page of {@link BillDto} objects representing the bills of the specified customer.
      */
-    List<BillDto> getBillsByCustomer(Long customerId);
+    Page<BillDto> getBillsByCustomer(Long customerId, Pageable pageable);
 
 
     /**
@@ -1,18 +1,28 @@
 package com.goldeneggs.Bill;
 import com.goldeneggs.Dto.BillDto;
+import com.goldeneggs.Dto.Statistics.RankingEntryDto;
 import com.goldeneggs.Exception.InvalidBillDataException;
 import com.goldeneggs.Exception.ResourceNotFoundException;
+import com.goldeneggs.LatencyHistogram.LatencyHistogramService;
+import com.goldeneggs.MonthlyCounter.CounterMetric;
+import com.goldeneggs.MonthlyCounter.MonthlyCounterService;
+import com.goldeneggs.MonthlyRanking.MonthlyRankingService;
+import com.goldeneggs.MonthlySnapshot.MonthlySnapshot;
+import com.goldeneggs.MonthlySnapshot.MonthlySnapshotService;
 import com.goldeneggs.Order.Order;
-import com.goldeneggs.Role.Role;
+import com.goldeneggs.Order.OrderRepository;
+import com.goldeneggs.User.UserSegment;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.sql.Date;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 /**
  * Service implementation for managing {@link Bill} entities.
@@ -23,119 +33,66 @@ public class BillServiceImpl implements BillService {
     @Autowired
     private BillRepository billRepository;
 
+    @Autowired
+    private MonthlyRankingService monthlyRankingService;
+
+    @Autowired
+    private MonthlyCounterService monthlyCounterService;
+
+    @Autowired
+    private MonthlySnapshotService monthlySnapshotService;
+
+    @Autowired
+    private LatencyHistogramService latencyHistogramService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
     /**
-     * Retrieves all bills from the repository.
+     * Retrieves a page of bills from the repository.
      *
-     * @return a list of all {@link Bill} entities.
+     * @param pageable the page to retrieve and its sort order.
+     * @return a page of {@link BillDto} objects.
      */
     @Override
-    public List<BillDto> getAll() {
-        List<Bill> bills = billRepository.findAll();
-        return bills.stream().map(bill -> {
-            Order order = bill.getOrder();
-            return new BillDto(
-                    bill.getId(),
-                    bill.getIssueDate().toString(),            // issueDate
-                    bill.isPaid(),                             // paid
-                    bill.getTotalPrice(),                      // totalPrice
-                    order.getUser().getName(),                 // customerName
-                    order.getOrderDate().toString(),           // orderDate
-                    order.getState()                           // orderState
-            );
-        }).collect(Collectors.toList());
+    public Page<BillDto> getAll(Pageable pageable) {
+        return billRepository.findAllDtos(pageable);
     }
+
     /**
-     * Retrieves a list of bills for a specific customer.
+     * Retrieves a page of the bills of a specific customer.
      *
      * @param customerId the unique identifier of the customer whose bills need to be retrieved
-     * @return a list of BillDto objects representing the bills of the specified customer
+     * @param pageable   the page to retrieve and its sort order
+     * @return a page of BillDto objects representing the bills of the specified customer
      */
     @Override
-    public List<BillDto> getBillsByCustomer(Long customerId) {
-        return billRepository.findAll().stream()
-                .filter(bill -> {
-                    Order order = bill.getOrder();
-                    return order.getUser().getId().equals(customerId);
-                })
-                .map(bill -> {
-                    Order order = bill.getOrder();
-                    return new BillDto(
-                            bill.getId(),
-                            bill.getIssueDate().toString(),
-                            bill.isPaid(),
-                            bill.getTotalPrice(),
-                            order.getUser().getName(),
-                            order.getOrderDate().toString(),
-                            order.getState()
-                    );
-                })
-                .collect(Collectors.toList());
+    public Page<BillDto> getBillsByCustomer(Long customerId, Pageable pageable) {
+        return billRepository.findDtosByCustomerId(customerId, pageable);
     }
 
     /**
-     * Retrieves all bills that are associated with company users,
+     * Retrieves a page of the bills that are associated with company users,
      * specifically those with roles "EMPLOYEE" or "ADMIN".
      *
-     * @return a list of {@link BillDto} objects representing the bills for company users.
+     * @param pageable the page to retrieve and its sort order.
+     * @return a page of {@link BillDto} objects representing the bills for company users.
      */
     @Override
-    public List<BillDto> getAllBillsForCompany() {
-        List<Bill> bills = billRepository.findAll();
-        return bills.stream()
-                .filter(bill -> {
-                    Order order = bill.getOrder();
-                    List<String> roles = order.getUser().getRoles().stream()
-                            .map(Role::getName)
-                            .toList();
-
-                    return roles.contains("EMPLOYEE") || roles.contains("ADMIN");
-                })
-                .map(bill -> {
-                    Order order = bill.getOrder();
-                    return new BillDto(
-                            bill.getId(),
-                            bill.getIssueDate().toString(),
-                            bill.isPaid(),
-                            bill.getTotalPrice(),
-                            order.getUser().getName(),
-                            order.getOrderDate().toString(),
-                            order.getState()
-                    );
-                })
-                .collect(Collectors.toList());
+    public Page<BillDto> getAllBillsForCompany(Pageable pageable) {
+        return billRepository.findDtosBySegment(UserSegment.COMPANY, pageable);
     }
 
     /**
-     * Retrieves all bills that are associated with customers,
+     * Retrieves a page of the bills that are associated with customers,
      * specifically users with the "CUSTOMER" role.
      *
-     * @return a list of {@link BillDto} objects representing the bills for customer users.
+     * @param pageable the page to retrieve and its sort order.
+     * @return a page of {@link BillDto} objects representing the bills for customer users.
      */
     @Override
-    public List<BillDto> getAllBillsForCustomers() {
-        List<Bill> bills = billRepository.findAll();
-        return bills.stream()
-                .filter(bill -> {
-                    Order order = bill.getOrder();
-                    List<String> roles = order.getUser().getRoles().stream()
-                            .map(Role::getName)
-                            .toList();
-
-                    return roles.contains("CUSTOMER");
-                })
-                .map(bill -> {
-                    Order order = bill.getOrder();
-                    return new BillDto(
-                            bill.getId(),
-                            bill.getIssueDate().toString(),
-                            bill.isPaid(),
-                            bill.getTotalPrice(),
-                            order.getUser().getName(),
-                            order.getOrderDate().toString(),
-                            order.getState()
-                    );
-                })
-                .collect(Collectors.toList());
+    public Page<BillDto> getAllBillsForCustomers(Pageable pageable) {
+        return billRepository.findDtosBySegment(UserSegment.CUSTOMER, pageable);
     }
 
     /**
@@ -146,58 +103,46 @@ public class BillServiceImpl implements BillService {
      */
     @Override
     public Double getMonthlySalesTotal() {
-        YearMonth currentMonth = YearMonth.now();
-
-        return billRepository.findAll().stream()
-                .filter(bill -> {
-                    Order order = bill.getOrder();
-                    List<String> roles = order.getUser().getRoles().stream()
-                            .map(Role::getName)
-                            .toList();
-
-                    // Conversión segura de java.sql.Date a LocalDate
-                    LocalDate issueLocalDate = bill.getIssueDate().toLocalDate();
-
-                    return roles.contains("CUSTOMER") &&
-                            YearMonth.from(issueLocalDate).equals(currentMonth);
-                })
-                .mapToDouble(Bill::getTotalPrice)
-                .sum();
+        return getSalesTotal(YearMonth.now());
     }
 
     /**
      * Identifies the customer who has spent the most during the current month.
-     * It calculates the total amount spent by each customer and returns the name
-     * of the one with the highest total.
+     * The answer is read from the monthly leaderboard, which is kept up to date
+     * as bills are issued, instead of aggregating every bill.
      *
      * @return the name of the top-spending customer of the current month.
      *         Returns "Sin compras este mes" if no purchases were made.
      */
     @Override
     public String getBestCustomerOfMonth() {
-        YearMonth currentMonth = YearMonth.now();
-
-        Map<String, Double> spendingByCustomer = billRepository.findAll().stream()
-                .filter(bill -> {
-                    Order order = bill.getOrder();
-                    List<String> roles = order.getUser().getRoles().stream()
-                            .map(Role::getName)
-                            .toList();
-
-                    // Conversión segura de java.sql.Date a LocalDate
-                    LocalDate issueLocalDate = bill.getIssueDate().toLocalDate();
-
-                    return roles.contains("CUSTOMER") &&
-                            YearMonth.from(issueLocalDate).equals(currentMonth);
-                })
-                .collect(Collectors.groupingBy(
-                        bill -> bill.getOrder().getUser().getName(),
-                        Collectors.summingDouble(Bill::getTotalPrice)
-                ));
-        return spendingByCustomer.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("Sin compras este mes");
+        return getBestCustomer(YearMonth.now());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The open month is summed by the database over the bills issued within it.
+     * </p>
+     */
+    @Override
+    public Double getSalesTotal(YearMonth month) {
+        return monthlySnapshotService.findClosed(month)
+                .map(MonthlySnapshot::getTotalSales)
+                .orElseGet(() -> billRepository.sumCustomerSalesBetween(
+                        Date.valueOf(month.atDay(1)), Date.valueOf(month.atEndOfMonth())));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getBestCustomer(YearMonth month) {
+        Optional<MonthlySnapshot> snapshot = monthlySnapshotService.findClosed(month);
+        Optional<String> best = snapshot.isPresent()
+                ? snapshot.get().getTopCustomers().stream().findFirst().map(RankingEntryDto::getLabel)
+                : monthlyRankingService.bestCustomer(month);
+        return best.orElse("Sin compras este mes");
     }
 
 
@@ -221,9 +166,15 @@ public class BillServiceImpl implements BillService {
      * @return InvalidBillDataException if the bill data is invalid
      */
     @Override
+    @Transactional
     public Bill save(Bill bill) {
         validateBillOrThrow(bill);
-        return billRepository.save(bill);
+        bill.setOrder(resolveOrder(bill.getOrder()));
+        Bill saved = billRepository.save(bill);
+        monthlyRankingService.recordBill(saved);
+        monthlyCounterService.recordBill(saved);
+        latencyHistogramService.recordBill(saved);
+        return saved;
     }
 
     /**
@@ -235,18 +186,30 @@ public class BillServiceImpl implements BillService {
      * @throws InvalidBillDataException if the updated bill data is invalid
      */
     @Override
+    @Transactional
     public Bill update(Long id, Bill updatedBill) {
         Bill existing = billRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Bill with ID " + id + " not found"));
 
         validateBillOrThrow(updatedBill);
 
-        existing.setOrder(updatedBill.getOrder());
+        Bill previous = Bill.builder()
+                .order(existing.getOrder())
+                .issueDate(existing.getIssueDate())
+                .totalPrice(existing.getTotalPrice())
+                .build();
+        monthlyRankingService.removeBill(previous);
+        monthlyCounterService.removeBill(previous);
+
+        existing.setOrder(resolveOrder(updatedBill.getOrder()));
         existing.setIssueDate(updatedBill.getIssueDate());
         existing.setTotalPrice(updatedBill.getTotalPrice());
         existing.setPaid(updatedBill.isPaid());
 
-        return  billRepository.save(existing);
+        Bill saved = billRepository.save(existing);
+        monthlyRankingService.recordBill(saved);
+        monthlyCounterService.recordBill(saved);
+        return saved;
     }
 
     /**
@@ -256,34 +219,42 @@ public class BillServiceImpl implements BillService {
      * @throws ResourceNotFoundException if the bill does not exist.
      */
     @Override
+    @Transactional
     public void delete(Long id) {
-        if (!billRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Bill with ID " + id + " not found");
-        }
+        Bill bill = billRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Bill with ID " + id + " not found"));
+        monthlyRankingService.removeBill(bill);
+        monthlyCounterService.removeBill(bill);
         billRepository.deleteById(id);
     }
 
     /**
-     * Retrieves the number of bills issued in the current month.
-     *
-     * This method calculates the start and end of the current month using LocalDate,
-     * converts them to java.util.Date for JPA compatibility, and queries the repository
-     * for the total count of bills within this date range.
+     * Retrieves the number of customer bills issued in the current month.
+     * <p>
+     * The value is read from the month-to-date counters maintained by {@link MonthlyCounterService}.
+     * </p>
      *
      * @return The total number of bills issued in the current month. Returns 0 if no bills are found.
      */
     @Override
     public Long countCustomerBillsInCurrentMonth() {
-        LocalDate now = LocalDate.now();
-
-        // Primer día del mes (a medianoche)
-        java.sql.Date start = java.sql.Date.valueOf(now.withDayOfMonth(1));
-
-        // Primer día del siguiente mes (a medianoche)
-        java.sql.Date end = java.sql.Date.valueOf(now.plusMonths(1).withDayOfMonth(1));
+        return monthlyCounterService.currentCount(CounterMetric.CUSTOMER_BILLS);
+    }
 
-        Long count = billRepository.countCustomerBillsInCurrentMonth(start, end);
-        return count != null ? count : 0L;
+    /**
+     * Bills posted through the API may only carry the order ID. The order is loaded so the
+     * counters and rankings see its customer and lines, as they did when the bill was recorded.
+     *
+     * @param order the order of the bill.
+     * @return the loaded order, or the given one if it is already complete.
+     * @throws InvalidBillDataException if no order exists with that ID.
+     */
+    private Order resolveOrder(Order order) {
+        if (order == null || order.getId() == null || order.getUser() != null) {
+            return order;
+        }
+        return orderRepository.findById(order.getId())
+                .orElseThrow(() -> new InvalidBillDataException("Order is not valid"));
     }
 
     /**
@@ -313,13 +284,18 @@ public class BillServiceImpl implements BillService {
      * @param order the order for which the bill will be created
      */
     @Override
+    @Transactional
     public Bill createBillForOrder(Order order) {
         Bill bill = new Bill();
         bill.setOrder(order);
         bill.setIssueDate(Date.valueOf(LocalDate.now()));
         bill.setTotalPrice(order.getTotalPrice());
         bill.setPaid(true);
-        return billRepository.save(bill);
+        Bill saved = billRepository.save(bill);
+        monthlyRankingService.recordBill(saved);
+        monthlyCounterService.recordBill(saved);
+        latencyHistogramService.recordBill(saved);
+        return saved;
     }
 
 
@@ -0,0 +1,103 @@
+package com.goldeneggs.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Declares the bounded executors used to run independent work concurrently.
+ */
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Executor that runs the sections of the composite dashboard in parallel.
+     * It is bounded in threads and queue so a burst of dashboard loads cannot
+     * exhaust the connection pool; tasks beyond the queue are rejected and the
+     * affected sections are reported as unavailable.
+     *
+     * @param poolSize  number of worker threads.
+     * @param queueSize maximum number of queued sections.
+     * @return the dashboard executor.
+     */
+    @Bean(name = "dashboardExecutor")
+    public ThreadPoolTaskExecutor dashboardExecutor(
+            @Value("${goldeneggs.dashboard.pool-size:8}") int poolSize,
+            @Value("${goldeneggs.dashboard.queue-size:64}") int queueSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueSize);
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Single-threaded executor that runs the bill reconciliation in the background.
+     * It has no queue, so a second run requested while one is in progress is rejected.
+     *
+     * @return the reconciliation executor.
+     */
+    @Bean(name = "reconciliationExecutor")
+    public ThreadPoolTaskExecutor reconciliationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("reconciliation-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Single-threaded executor that writes the buffered web visits as soon as a batch is waiting.
+     * One flush may wait behind the running one; further requests are discarded because that
+     * flush drains the whole buffer anyway.
+     *
+     * @return the visit flush executor.
+     */
+    @Bean(name = "visitFlushExecutor")
+    public ThreadPoolTaskExecutor visitFlushExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("visit-flush-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor that runs the BCrypt hashing and verification of passwords, so that a burst of
+     * logins cannot take every request thread. It is bounded in threads and queue; hashes beyond
+     * the queue are rejected and the request is answered with 429 Too Many Requests.
+     *
+     * @param poolSize  number of worker threads.
+     * @param queueSize maximum number of hashes waiting for a thread.
+     * @return the password hashing executor.
+     */
+    @Bean(name = "passwordHashingExecutor")
+    public ThreadPoolTaskExecutor passwordHashingExecutor(
+            @Value("${goldeneggs.security.hashing.pool-size:4}") int poolSize,
+            @Value("${goldeneggs.security.hashing.queue-size:32}") int queueSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueSize);
+        executor.setThreadNamePrefix("password-hashing-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
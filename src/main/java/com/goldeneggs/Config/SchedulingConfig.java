@@ -0,0 +1,12 @@
+package com.goldeneggs.Config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the scheduled maintenance jobs, such as the month-close snapshots.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
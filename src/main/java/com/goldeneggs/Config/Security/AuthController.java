@@ -2,17 +2,31 @@ package com.goldeneggs.Config.Security;
 
 import com.goldeneggs.Dto.AuthResponseDTO;
 import com.goldeneggs.Dto.LoginDto;
+import com.goldeneggs.Dto.RefreshTokenRequestDto;
+import com.goldeneggs.Exception.InvalidRefreshTokenException;
+import com.goldeneggs.Exception.PasswordHashingBusyException;
+import com.goldeneggs.RefreshToken.RefreshTokenService;
+import com.goldeneggs.RefreshToken.RotatedRefreshToken;
+import com.goldeneggs.TokenRevocation.TokenRevocationService;
+import com.goldeneggs.User.User;
+import com.goldeneggs.User.UserRepository;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -25,14 +39,32 @@ public class AuthController {
     @Autowired
     private JWTGenerator jwtGenerator;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private LoginAttemptThrottle loginAttemptThrottle;
+
     /**
-     * Authenticates the user and generates a JWT token.
+     * Authenticates the user and generates a JWT token and the refresh token that renews it.
      *
      * @param loginDto the login credentials of the user (username and password).
-     * @return a response containing the generated JWT token.
+     * @param request  the HTTP request, whose remote address is throttled.
+     * @return a response containing the generated JWT token and refresh token, or 429 Too Many Requests
+     *         if the username or IP made too many attempts or the password hashing executor is saturated.
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginDto loginDto) {
+    public ResponseEntity<?> login(@RequestBody LoginDto loginDto, HttpServletRequest request) {
+        if (!loginAttemptThrottle.tryAcquire(loginDto.getUsername(), request.getRemoteAddr())) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(Collections.singletonMap("error", "Demasiados intentos, intente más tarde"));
+        }
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
@@ -42,9 +74,15 @@ public class AuthController {
             );
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
-            String token = jwtGenerator.generateToken(authentication);
-            return new ResponseEntity<>(new AuthResponseDTO(token), HttpStatus.OK);
+            Long userId = userRepository.findIdByUsername(authentication.getName()).orElseThrow();
+            String token = jwtGenerator.generateToken(authentication, userId);
+            String refreshToken = refreshTokenService.issue(userId);
+            loginAttemptThrottle.reset(authentication.getName());
+            return new ResponseEntity<>(new AuthResponseDTO(token, refreshToken), HttpStatus.OK);
 
+        } catch (PasswordHashingBusyException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(Collections.singletonMap("error", e.getMessage()));
         } catch (Exception e) {
             e.printStackTrace(); // Para ver en consola exactamente qué está fallando
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -53,14 +91,51 @@ public class AuthController {
     }
 
     /**
-     * Logs out the user by invalidating the session.
+     * Exchanges a refresh token for a new access token and the refresh token that replaces it.
      *
-     * (This can be client-side handled, but can be included here if you want to invalidate tokens server-side.)
+     * @param refreshTokenRequestDto the refresh token issued with the last access token.
+     * @return the new tokens, or 401 Unauthorized if the refresh token cannot be used.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshTokenRequestDto refreshTokenRequestDto) {
+        try {
+            RotatedRefreshToken rotated = refreshTokenService.rotate(refreshTokenRequestDto.getRefreshToken());
+            User user = rotated.user();
+            List<GrantedAuthority> authorities = user.getRoles().stream()
+                    .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.getName()))
+                    .toList();
+            Authentication authentication = new UsernamePasswordAuthenticationToken(user.getUsername(), null, authorities);
+            String token = jwtGenerator.generateToken(authentication, user.getId());
+            return ResponseEntity.ok(new AuthResponseDTO(token, rotated.refreshToken()));
+        } catch (InvalidRefreshTokenException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Collections.singletonMap("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Logs out the user by revoking the token of the request until it expires,
+     * along with the refresh token if one is given.
      *
+     * @param request                the HTTP request, whose Authorization header holds the token to revoke.
+     * @param refreshTokenRequestDto optional body holding the refresh token to revoke.
      * @return a response confirming that the user has been logged out.
      */
     @PostMapping("/logout")
-    public ResponseEntity<Map<String, String>> logout() {
+    public ResponseEntity<Map<String, String>> logout(HttpServletRequest request,
+                                                      @RequestBody(required = false) RefreshTokenRequestDto refreshTokenRequestDto) {
+        if (refreshTokenRequestDto != null) {
+            refreshTokenService.revoke(refreshTokenRequestDto.getRefreshToken());
+        }
+        String header = request.getHeader("Authorization");
+        if (StringUtils.hasText(header) && header.startsWith("Bearer ")) {
+            try {
+                VerifiedToken token = jwtGenerator.verify(header.substring(7));
+                tokenRevocationService.revoke(token.claims().getId(), token.claims().getExpiration());
+            } catch (AuthenticationCredentialsNotFoundException ignored) {
+                // An invalid or expired token needs no revocation.
+            }
+        }
         SecurityContextHolder.clearContext();
 
         Map<String, String> response = new HashMap<>();
@@ -0,0 +1,132 @@
+package com.goldeneggs.Config.Security;
+
+import com.goldeneggs.Dto.PasswordHashingStatsDto;
+import com.goldeneggs.Exception.PasswordHashingBusyException;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Password encoder that runs the hashing and verification of its delegate on a dedicated,
+ * bounded executor.
+ * <p>
+ * BCrypt is deliberately slow, so a burst of logins hashing on the request threads would
+ * stall every other request. Here at most the executor's threads hash at once and a bounded
+ * number of hashes wait in its queue; anything beyond that, or a hash that waits longer than
+ * the timeout, fails at once with {@link PasswordHashingBusyException}. Since the encoder is
+ * the application's {@link PasswordEncoder} bean, both the authentication manager and the
+ * user service go through it.
+ * </p>
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolTaskExecutor executor;
+    private final long timeoutMillis;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Creates the encoder.
+     *
+     * @param delegate      encoder doing the actual hashing.
+     * @param executor      executor the hashes run on.
+     * @param timeoutMillis longest a caller waits for its hash, queueing included; at least one.
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, ThreadPoolTaskExecutor executor, long timeoutMillis) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.timeoutMillis = Math.max(1, timeoutMillis);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Retrieves the current load of the executor and the hash latency since the application started.
+     *
+     * @return the hashing statistics.
+     */
+    public PasswordHashingStatsDto stats() {
+        ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+        long count = completed.sum();
+        PasswordHashingStatsDto stats = new PasswordHashingStatsDto();
+        stats.setPoolSize(executor.getMaxPoolSize());
+        stats.setActiveThreads(pool.getActiveCount());
+        stats.setQueueDepth(pool.getQueue().size());
+        stats.setQueueCapacity(executor.getQueueCapacity());
+        stats.setCompleted(count);
+        stats.setRejected(rejected.sum());
+        stats.setAverageMillis(count == 0 ? 0.0 : totalNanos.sum() / (double) count / 1_000_000.0);
+        stats.setMaxMillis(maxNanos.get() / 1_000_000.0);
+        return stats;
+    }
+
+    private <T> T run(Callable<T> hash) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return hash.call();
+                } finally {
+                    record(System.nanoTime() - start);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException("Too many password operations in progress, try again later");
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new PasswordHashingBusyException("Password operation timed out, try again later");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a password operation", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private void record(long nanos) {
+        completed.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+}
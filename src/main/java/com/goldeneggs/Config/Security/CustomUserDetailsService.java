@@ -25,8 +25,12 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
     /**
-     * Loads a user from the database by username for authentication purposes.
+     * Loads a user by username for authentication purposes, from the {@link UserDetailsCache}
+     * when possible and otherwise from the database.
      *
      * @param username the username of the user.
      * @return a Spring Security User object with credentials and authorities.
@@ -35,17 +39,27 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Override
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserDetails cached = userDetailsCache.get(username);
+        if (cached != null) {
+            return cached;
+        }
+
         com.goldeneggs.User.User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User with username '" + username + "' was not found"));
 
-        System.out.println("Usuario encontrado: " + user.getUsername());  // Debug
-
-
-        return new User(
+        // Disabled and soft-deleted accounts are refused by the authentication manager.
+        boolean active = user.isEnabled() && user.getDeletedAt() == null;
+        UserDetails userDetails = new User(
                 user.getUsername(),
                 user.getPassword(),
+                active,
+                true,
+                true,
+                true,
                 mapRolesToAuthorities(user.getRoles())
         );
+        userDetailsCache.put(userDetails);
+        return userDetails;
     }
 
     /**
@@ -1,12 +1,18 @@
 package com.goldeneggs.Config.Security;
 
+import com.goldeneggs.TokenRevocation.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -14,11 +20,18 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Filter to authenticate incoming HTTP requests using JWT tokens.
  * Extracts the token from the Authorization header, validates it,
  * and sets the authentication in the Spring Security context.
+ * Tokens that were revoked, for instance on logout, are ignored.
+ * <p>
+ * In stateless mode the user is built from the ID and authorities in the claims of the
+ * token, without loading it, and tokens issued before the user's "tokens valid after"
+ * moment are rejected. Tokens without those claims are still authenticated by loading the user.
+ * </p>
  */
 @Component
 public class JWTAuthenticationFilter extends OncePerRequestFilter {
@@ -29,6 +42,12 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
 
+    @Autowired
+    private TokenCutoffService tokenCutoffService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     /**
      * Filters each request to check for a valid JWT token in the Authorization header.
      *
@@ -45,10 +64,18 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             String token = getJWTFromRequest(request);
-            if (StringUtils.hasText(token) && tokenGenerator.validateToken(token)) {
-                String username = tokenGenerator.getUsernameFromJWT(token);
+            if (StringUtils.hasText(token)) {
+                VerifiedToken verifiedToken = tokenGenerator.verify(token);
+                if (tokenRevocationService.isRevoked(verifiedToken.claims().getId())) {
+                    throw new AuthenticationCredentialsNotFoundException("Token revoked");
+                }
 
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
+                UserDetails userDetails = tokenGenerator.isStateless()
+                        ? getUserFromClaims(verifiedToken.claims())
+                        : null;
+                if (userDetails == null) {
+                    userDetails = customUserDetailsService.loadUserByUsername(verifiedToken.username());
+                }
                 UsernamePasswordAuthenticationToken authenticationToken =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
@@ -62,6 +89,28 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Builds the user from the claims of a token issued in stateless mode.
+     *
+     * @param claims the claims of a valid token
+     * @return the user, or null if the token lacks the ID or the authorities
+     * @throws AuthenticationCredentialsNotFoundException if the tokens of the user were revoked
+     */
+    private UserDetails getUserFromClaims(Claims claims) {
+        Long userId = claims.get(JWTGenerator.USER_ID_CLAIM, Long.class);
+        List<?> authorities = claims.get(JWTGenerator.AUTHORITIES_CLAIM, List.class);
+        if (userId == null || authorities == null) {
+            return null;
+        }
+        if (tokenCutoffService.isRevoked(userId, claims.getIssuedAt())) {
+            throw new AuthenticationCredentialsNotFoundException("Token revoked");
+        }
+        List<GrantedAuthority> grantedAuthorities = authorities.stream()
+                .map(authority -> (GrantedAuthority) new SimpleGrantedAuthority(String.valueOf(authority)))
+                .toList();
+        return new User(claims.getSubject(), "", grantedAuthorities);
+    }
+
     /**
      * Extracts the JWT token from the Authorization header of the HTTP request.
      *
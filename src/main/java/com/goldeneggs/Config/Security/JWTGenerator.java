@@ -2,33 +2,101 @@ package com.goldeneggs.Config.Security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Component
 public class JWTGenerator {
 
+    /**
+     * Claim holding the ID of the user.
+     */
+    public static final String USER_ID_CLAIM = "uid";
+
+    /**
+     * Claim holding every authority of the user.
+     */
+    public static final String AUTHORITIES_CLAIM = "authorities";
+
+    /**
+     * Maximum number of verified tokens remembered.
+     */
+    static final int VERIFIED_CACHE_SIZE = 4096;
+
     private final Key key = Keys.hmacShaKeyFor(SecurityConstants.JWT_KEY.getBytes(StandardCharsets.UTF_8));
 
     /**
-     * Generates a new JWT token using the authenticated user's username.
+     * Parser shared by every verification; it is immutable and thread-safe.
+     */
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(key)
+            .build();
+
+    /**
+     * Recently verified tokens, least recently used first, so a token presented again skips
+     * the signature check until it expires. Guarded by itself.
+     */
+    private final Map<String, VerifiedToken> verified = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+            return size() > VERIFIED_CACHE_SIZE
+                    || eldest.getValue().expiresAtMillis() <= System.currentTimeMillis();
+        }
+    };
+
+    /**
+     * Lifetime of the access tokens; clients renew them with their refresh token.
+     */
+    @Value("${goldeneggs.security.jwt.expiration-ms:86400000}")
+    private long expiration = SecurityConstants.JWT_EXPIRATION;
+
+    /**
+     * Whether requests are authenticated from the claims of the token alone.
+     */
+    @Value("${goldeneggs.security.jwt.stateless:false}")
+    private boolean stateless;
+
+    /**
+     * Lifetime of the tokens issued in stateless mode, kept short since they are only revoked
+     * through the "tokens valid after" moment of their user.
+     */
+    @Value("${goldeneggs.security.jwt.stateless-expiration-ms:900000}")
+    private long statelessExpiration;
+
+    /**
+     * Generates a new JWT token using the authenticated user's username, ID and authorities.
+     * Each token gets a random ID so that it can be revoked on its own.
      *
      * @param authentication Authentication object from Spring Security.
+     * @param userId         ID of the authenticated user.
      * @return JWT as a string.
      */
-    public String generateToken(Authentication authentication) {
+    public String generateToken(Authentication authentication, Long userId) {
         String username = authentication.getName();
+        List<String> authorities = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
         Date currentDate = new Date();
-        Date expireDate = new Date(currentDate.getTime() + SecurityConstants.JWT_EXPIRATION);
+        Date expireDate = new Date(currentDate.getTime()
+                + (stateless ? statelessExpiration : expiration));
 
         String token = Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(username)
-                .claim("role", authentication.getAuthorities().stream().findFirst().orElseThrow().getAuthority( ))
+                .claim("role", authorities.stream().findFirst().orElseThrow())
+                .claim(USER_ID_CLAIM, userId)
+                .claim(AUTHORITIES_CLAIM, authorities)
                 .setIssuedAt(currentDate)
                 .setExpiration(expireDate)
                 .signWith(key, SignatureAlgorithm.HS512)
@@ -37,19 +105,36 @@ public class JWTGenerator {
         return token;
     }
 
+    /**
+     * Tells whether requests are authenticated from the claims of the token alone,
+     * without loading the user.
+     *
+     * @return true in stateless mode.
+     */
+    public boolean isStateless() {
+        return stateless;
+    }
+
     /**
      * Extracts the username from the provided JWT token.
      *
      * @param token JWT token.
      * @return Username stored in the token's subject.
+     * @throws AuthenticationCredentialsNotFoundException if the token is invalid or expired.
      */
     public String getUsernameFromJWT(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
+        return verify(token).username();
+    }
+
+    /**
+     * Validates the given JWT token and returns its claims.
+     *
+     * @param token JWT token.
+     * @return the claims of the token, which must not be modified.
+     * @throws AuthenticationCredentialsNotFoundException if the token is invalid or expired.
+     */
+    public Claims getClaims(String token) {
+        return verify(token).claims();
     }
 
     /**
@@ -60,12 +145,57 @@ public class JWTGenerator {
      * @throws AuthenticationCredentialsNotFoundException if the token is invalid or expired.
      */
     public boolean validateToken(String token) {
+        verify(token);
+        return true;
+    }
+
+    /**
+     * Verifies the signature and expiration of a token once and returns its subject and claims.
+     * Tokens verified recently are served from memory until they expire.
+     *
+     * @param token JWT token.
+     * @return the verified token.
+     * @throws AuthenticationCredentialsNotFoundException if the token is invalid or expired.
+     */
+    public VerifiedToken verify(String token) {
+        return verify(token, System.currentTimeMillis());
+    }
+
+    VerifiedToken verify(String token, long nowMillis) {
+        synchronized (verified) {
+            VerifiedToken cached = verified.get(token);
+            if (cached != null) {
+                if (cached.expiresAtMillis() > nowMillis) {
+                    return cached;
+                }
+                verified.remove(token);
+            }
+        }
+        Claims claims = parse(token);
+        if (claims.getExpiration() == null) {
+            return new VerifiedToken(claims.getSubject(), claims, Long.MAX_VALUE);
+        }
+        VerifiedToken result = new VerifiedToken(claims.getSubject(), claims, claims.getExpiration().getTime());
+        synchronized (verified) {
+            verified.put(token, result);
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the number of tokens remembered as verified.
+     *
+     * @return the size of the cache.
+     */
+    int verifiedCacheSize() {
+        synchronized (verified) {
+            return verified.size();
+        }
+    }
+
+    private Claims parse(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            return parser.parseClaimsJws(token).getBody();
         } catch (ExpiredJwtException e) {
             throw new AuthenticationCredentialsNotFoundException("Token expired", e);
         } catch (MalformedJwtException e) {
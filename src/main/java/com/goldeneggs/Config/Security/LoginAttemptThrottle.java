@@ -0,0 +1,145 @@
+package com.goldeneggs.Config.Security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sliding-window limiter for login attempts, per username and per IP.
+ * <p>
+ * It is consulted before the password is verified, so a credential-stuffing run is refused
+ * without spending any BCrypt time on it. A username may be tried a few times per window from
+ * anywhere, and an IP may try a larger number of usernames; an attempt must fit within both.
+ * Only the most recently seen usernames and IPs are tracked, the one idle for the longest
+ * being forgotten first, so memory stays bounded whatever the traffic.
+ * </p>
+ */
+@Component
+public class LoginAttemptThrottle {
+
+    private final long windowMillis;
+    private final int maxPerUsername;
+    private final int maxPerIp;
+    private final int maxTracked;
+
+    /**
+     * Recent attempts by username and by IP, least recently seen first. Guarded by {@code this}.
+     */
+    private final LinkedHashMap<String, Window> byUsername;
+    private final LinkedHashMap<String, Window> byIp;
+
+    private long throttled;
+
+    /**
+     * Creates the throttle.
+     *
+     * @param windowSeconds  length of the sliding window; at least one.
+     * @param maxPerUsername attempts allowed per username within a window; at least one.
+     * @param maxPerIp       attempts allowed per IP within a window; at least one.
+     * @param maxTracked     maximum number of usernames, and of IPs, remembered; at least one.
+     */
+    public LoginAttemptThrottle(@Value("${goldeneggs.security.login-throttle.window-seconds:300}") int windowSeconds,
+                                @Value("${goldeneggs.security.login-throttle.max-per-username:5}") int maxPerUsername,
+                                @Value("${goldeneggs.security.login-throttle.max-per-ip:20}") int maxPerIp,
+                                @Value("${goldeneggs.security.login-throttle.max-tracked:10000}") int maxTracked) {
+        this.windowMillis = Math.max(1, windowSeconds) * 1000L;
+        this.maxPerUsername = Math.max(1, maxPerUsername);
+        this.maxPerIp = Math.max(1, maxPerIp);
+        this.maxTracked = Math.max(1, maxTracked);
+        this.byUsername = boundedTable();
+        this.byIp = boundedTable();
+    }
+
+    /**
+     * Tells whether a login attempt for the given username from the given IP may proceed now.
+     *
+     * @param username the username being logged in.
+     * @param ip       the IP of the client.
+     * @return {@code true} if the attempt may proceed, {@code false} if it is throttled.
+     */
+    public boolean tryAcquire(String username, String ip) {
+        return tryAcquire(username, ip, System.currentTimeMillis());
+    }
+
+    /**
+     * Tells whether a login attempt may proceed at the given moment.
+     *
+     * @param username  the username being logged in.
+     * @param ip        the IP of the client.
+     * @param nowMillis the moment of the attempt, in milliseconds since the epoch.
+     * @return {@code true} if the attempt may proceed, {@code false} if it is throttled.
+     */
+    synchronized boolean tryAcquire(String username, String ip, long nowMillis) {
+        Window userWindow = username == null ? null
+                : byUsername.computeIfAbsent(username, ignored -> new Window(maxPerUsername));
+        Window ipWindow = ip == null ? null
+                : byIp.computeIfAbsent(ip, ignored -> new Window(maxPerIp));
+        if ((userWindow != null && !userWindow.hasRoom(nowMillis, windowMillis))
+                || (ipWindow != null && !ipWindow.hasRoom(nowMillis, windowMillis))) {
+            throttled++;
+            return false;
+        }
+        if (userWindow != null) {
+            userWindow.add(nowMillis);
+        }
+        if (ipWindow != null) {
+            ipWindow.add(nowMillis);
+        }
+        return true;
+    }
+
+    /**
+     * Forgets the attempts made for a username, once it has logged in successfully.
+     *
+     * @param username the username that logged in.
+     */
+    public synchronized void reset(String username) {
+        if (username != null) {
+            byUsername.remove(username);
+        }
+    }
+
+    /**
+     * Retrieves the number of attempts throttled since the application started.
+     *
+     * @return the number of throttled attempts.
+     */
+    public synchronized long throttled() {
+        return throttled;
+    }
+
+    private LinkedHashMap<String, Window> boundedTable() {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+                return size() > maxTracked;
+            }
+        };
+    }
+
+    /**
+     * Moments of the last attempts, in a ring whose next slot holds the oldest.
+     */
+    private static final class Window {
+
+        private final long[] hits;
+        private int next;
+
+        Window(int size) {
+            hits = new long[size];
+            Arrays.fill(hits, Long.MIN_VALUE);
+        }
+
+        boolean hasRoom(long now, long windowMillis) {
+            return hits[next] == Long.MIN_VALUE || now - hits[next] >= windowMillis;
+        }
+
+        void add(long now) {
+            hits[next] = now;
+            next = (next + 1) % hits.length;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.goldeneggs.Config.Security;
+
+import com.goldeneggs.Dto.PasswordHashingStatsDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller exposing the load of the password hashing executor.
+ */
+@RestController
+@RequestMapping("/api/v1/security")
+@RequiredArgsConstructor
+@CrossOrigin("*")
+public class PasswordHashingController {
+
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final LoginAttemptThrottle loginAttemptThrottle;
+
+    /**
+     * Retrieves the queue depth and hash latency of the password hashing executor,
+     * along with the number of throttled login attempts.
+     *
+     * @return the hashing statistics.
+     */
+    @GetMapping("/hashing/stats")
+    public ResponseEntity<PasswordHashingStatsDto> getHashingStats() {
+        PasswordHashingStatsDto stats = passwordEncoder.stats();
+        stats.setThrottledLogins(loginAttemptThrottle.throttled());
+        return ResponseEntity.ok(stats);
+    }
+}
@@ -1,8 +1,11 @@
 package com.goldeneggs.Config.Security;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -10,7 +13,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -63,11 +65,17 @@ public class SecurityConfig {
                                 // ENDPOINTS PROTEGIDOS
                                 .requestMatchers("/api/v1/orders/**").hasAnyAuthority("ADMIN", "EMPLOYEE")
                                 .requestMatchers("/api/v1/visits/count").hasAuthority("ADMIN")
+                                .requestMatchers("/api/v1/visits/stats").hasAuthority("ADMIN")
+                                .requestMatchers("/api/v1/visits/unique").hasAuthority("ADMIN")
+                                .requestMatchers("/api/v1/visits/counts").hasAuthority("ADMIN")
+                                .requestMatchers("/api/v1/dashboard/**").hasAuthority("ADMIN")
                                 .requestMatchers("/api/v1/bills/**").hasAnyAuthority("ADMIN", "EMPLOYEE")
                                 .requestMatchers("/api/v1/eggs/**").hasAnyAuthority("ADMIN", "EMPLOYEE")
                                 .requestMatchers("/api/v1/inventories/**").hasAnyAuthority("ADMIN", "EMPLOYEE")
                                 .requestMatchers("/api/v1/payments/**").hasAnyAuthority("ADMIN", "EMPLOYEE")
                                 .requestMatchers("/api/v1/reports/**").hasAuthority("ADMIN")
+                                .requestMatchers("/api/v1/reconciliation/**").hasAuthority("ADMIN")
+                                .requestMatchers("/api/v1/security/**").hasAuthority("ADMIN")
                                 .requestMatchers("/api/v1/roles/**").hasAuthority("ADMIN")
                                 .requestMatchers("/api/v1/suppliers/**").hasAnyAuthority("ADMIN", "EMPLOYEE")
                                 .requestMatchers("/api/v1/egg-types/**").hasAnyAuthority("ADMIN", "EMPLOYEE")
@@ -106,8 +114,9 @@ public class SecurityConfig {
     }
 
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    BoundedPasswordEncoder passwordEncoder(@Qualifier("passwordHashingExecutor") ThreadPoolTaskExecutor passwordHashingExecutor,
+                                           @Value("${goldeneggs.security.hashing.timeout-ms:5000}") long timeoutMillis) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingExecutor, timeoutMillis);
     }
 
     @Bean
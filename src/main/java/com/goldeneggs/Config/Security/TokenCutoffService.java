@@ -0,0 +1,104 @@
+package com.goldeneggs.Config.Security;
+
+import com.goldeneggs.Dto.TokenCutoffDto;
+import com.goldeneggs.User.User;
+import com.goldeneggs.User.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the "tokens valid after" moment of the users whose tokens were revoked, so that
+ * stateless authentication can reject their older tokens without querying the database.
+ * <p>
+ * Only revocations younger than the lifetime of a stateless token matter, since older
+ * tokens have expired anyway, so the set stays small. It is reloaded from the users table
+ * every few seconds to pick up revocations made by other instances; revocations made by
+ * this instance apply immediately. Tokens are compared by their issue time, which has a
+ * precision of one second, so a token issued in the same second as the revocation is kept.
+ * </p>
+ */
+@Service
+public class TokenCutoffService {
+
+    private final UserRepository userRepository;
+    private final boolean stateless;
+    private final long tokenLifetimeMillis;
+
+    /**
+     * Epoch second before which the tokens of each user are rejected.
+     */
+    private final Map<Long, Long> cutoffs = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the service.
+     *
+     * @param userRepository      repository storing the cutoff of each user.
+     * @param stateless           whether stateless authentication is enabled.
+     * @param tokenLifetimeMillis lifetime of the tokens issued in stateless mode.
+     */
+    public TokenCutoffService(UserRepository userRepository,
+                              @Value("${goldeneggs.security.jwt.stateless:false}") boolean stateless,
+                              @Value("${goldeneggs.security.jwt.stateless-expiration-ms:900000}") long tokenLifetimeMillis) {
+        this.userRepository = userRepository;
+        this.stateless = stateless;
+        this.tokenLifetimeMillis = tokenLifetimeMillis;
+    }
+
+    /**
+     * Invalidates every token issued to a user so far. The caller must save the user.
+     *
+     * @param user the user whose tokens are revoked.
+     */
+    public void revokeTokens(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        user.setTokensValidAfter(now);
+        if (user.getId() != null) {
+            cutoffs.merge(user.getId(), epochSecond(now), Math::max);
+        }
+    }
+
+    /**
+     * Tells whether a token was issued before the tokens of its user were revoked.
+     *
+     * @param userId   the ID of the user the token was issued to.
+     * @param issuedAt the issue time of the token.
+     * @return {@code true} if the token must be rejected.
+     */
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        Long cutoff = cutoffs.get(userId);
+        if (cutoff == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.getTime() / 1000 < cutoff;
+    }
+
+    /**
+     * Reloads the revocations that may still affect unexpired tokens and forgets the older ones.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${goldeneggs.security.jwt.cutoff-refresh-ms:30000}")
+    public void refresh() {
+        if (!stateless) {
+            return;
+        }
+        LocalDateTime since = LocalDateTime.now().minusNanos(tokenLifetimeMillis * 1_000_000);
+        for (TokenCutoffDto cutoff : userRepository.findTokenCutoffsSince(since)) {
+            cutoffs.merge(cutoff.getUserId(), epochSecond(cutoff.getTokensValidAfter()), Math::max);
+        }
+        long oldest = epochSecond(since);
+        cutoffs.values().removeIf(cutoff -> cutoff <= oldest);
+    }
+
+    private static long epochSecond(LocalDateTime moment) {
+        return moment.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+}
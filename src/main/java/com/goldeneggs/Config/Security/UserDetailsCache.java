@@ -0,0 +1,129 @@
+package com.goldeneggs.Config.Security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded, expiring cache of the user details loaded for authentication.
+ * <p>
+ * Entries expire after a fixed time and the least recently used one is dropped when the
+ * cache is full. Each lookup returns a new {@link UserDetails}, because Spring Security
+ * erases the credentials of the principal after a login and would otherwise wipe the
+ * cached password. Services that change a user evict it so the next request sees the change.
+ * </p>
+ */
+@Component
+public class UserDetailsCache {
+
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    /**
+     * Cached details by username, least recently used first. Guarded by {@code this}.
+     */
+    private final LinkedHashMap<String, Entry> entries;
+
+    /**
+     * Creates the cache.
+     *
+     * @param ttlSeconds seconds an entry is kept for; zero disables the cache.
+     * @param maxEntries maximum number of users kept; at least one.
+     */
+    public UserDetailsCache(@Value("${goldeneggs.security.user-cache.ttl-seconds:300}") long ttlSeconds,
+                            @Value("${goldeneggs.security.user-cache.max-entries:10000}") int maxEntries) {
+        this.ttlNanos = Math.max(0, ttlSeconds) * 1_000_000_000L;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > UserDetailsCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Retrieves a copy of the cached details of a user.
+     *
+     * @param username the username of the user.
+     * @return the details, or {@code null} if they are not cached or have expired.
+     */
+    public UserDetails get(String username) {
+        return get(username, System.nanoTime());
+    }
+
+    synchronized UserDetails get(String username, long nowNanos) {
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            return null;
+        }
+        if (nowNanos - entry.loadedAt() >= ttlNanos) {
+            entries.remove(username);
+            return null;
+        }
+        return new User(entry.username(), entry.password(), entry.enabled(), true, true, true, entry.authorities());
+    }
+
+    /**
+     * Caches the details of a user.
+     *
+     * @param userDetails the details just loaded from the database.
+     */
+    public void put(UserDetails userDetails) {
+        put(userDetails, System.nanoTime());
+    }
+
+    synchronized void put(UserDetails userDetails, long nowNanos) {
+        if (ttlNanos == 0) {
+            return;
+        }
+        entries.put(userDetails.getUsername(), new Entry(userDetails.getUsername(), userDetails.getPassword(),
+                userDetails.isEnabled(), List.copyOf(userDetails.getAuthorities()), nowNanos));
+    }
+
+    /**
+     * Removes a user from the cache. When called inside a transaction the user is removed
+     * again after the commit, so a request that loads it in the meantime cannot cache the old data.
+     *
+     * @param username the username of the user.
+     */
+    public void evict(String username) {
+        if (username == null) {
+            return;
+        }
+        remove(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(username);
+                }
+            });
+        }
+    }
+
+    /**
+     * Retrieves the number of cached users, including those that expired but were not looked up since.
+     *
+     * @return the number of entries.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized void remove(String username) {
+        entries.remove(username);
+    }
+
+    private record Entry(String username, String password, boolean enabled, List<GrantedAuthority> authorities,
+                         long loadedAt) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.goldeneggs.Config.Security;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * JWT whose signature and expiration were checked.
+ *
+ * @param username        the subject of the token.
+ * @param claims          the claims of the token; shared between the requests that present it,
+ *                        so they must not be modified.
+ * @param expiresAtMillis the expiration of the token, in milliseconds since the epoch.
+ */
+public record VerifiedToken(String username, Claims claims, long expiresAtMillis) {
+}
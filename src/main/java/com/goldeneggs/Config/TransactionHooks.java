@@ -0,0 +1,32 @@
+package com.goldeneggs.Config;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Helpers to run work at the boundaries of the current transaction.
+ */
+public final class TransactionHooks {
+
+    private TransactionHooks() {
+    }
+
+    /**
+     * Runs an action once the current transaction commits, or right away when there is none.
+     * The action is dropped if the transaction rolls back.
+     *
+     * @param action the action to run.
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.goldeneggs.Dashboard;
+
+import com.goldeneggs.Dto.Dashboard.DashboardDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exposing the composite admin dashboard.
+ */
+@RestController
+@RequestMapping("/api/v1/dashboard")
+@RequiredArgsConstructor
+@CrossOrigin("*")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    /**
+     * Retrieves every figure of the admin home page in one payload.
+     * Sections are computed concurrently; a slow or failing section is reported
+     * with its status instead of failing the whole request.
+     *
+     * @return a {@code ResponseEntity} containing the {@link DashboardDto}.
+     */
+    @GetMapping
+    public ResponseEntity<DashboardDto> getDashboard() {
+        return ResponseEntity.ok(dashboardService.getDashboard());
+    }
+}
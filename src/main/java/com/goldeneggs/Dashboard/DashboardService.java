@@ -0,0 +1,170 @@
+package com.goldeneggs.Dashboard;
+
+import com.goldeneggs.Bill.BillService;
+import com.goldeneggs.Dto.Dashboard.DashboardDto;
+import com.goldeneggs.Dto.Dashboard.DashboardSectionDto;
+import com.goldeneggs.Egg.EggService;
+import com.goldeneggs.LatencyHistogram.LatencyHistogramService;
+import com.goldeneggs.LatencyHistogram.LatencyMetric;
+import com.goldeneggs.Order.OrderService;
+import com.goldeneggs.Pay.PayService;
+import com.goldeneggs.User.UserService;
+import com.goldeneggs.WebVisit.WebVisitService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Builds the admin home page in a single call.
+ * <p>
+ * Each section is an independent query that runs on the bounded dashboard executor.
+ * Sections that do not finish within the configured timeout are reported as TIMEOUT
+ * instead of delaying the whole payload, and their task is cancelled so it stops holding
+ * a worker thread. A blocked JDBC call does not react to the interrupt, so each section
+ * also runs in a transaction whose timeout is the section timeout; Spring passes what is
+ * left of it to every query of the section as its query timeout.
+ * </p>
+ */
+@Service
+public class DashboardService {
+
+    /**
+     * Number of days covered by the latency percentiles.
+     */
+    private static final int LATENCY_WINDOW_DAYS = 30;
+
+    private final UserService userService;
+    private final OrderService orderService;
+    private final BillService billService;
+    private final PayService payService;
+    private final EggService eggService;
+    private final WebVisitService webVisitService;
+    private final LatencyHistogramService latencyHistogramService;
+    private final TransactionTemplate sectionTransaction;
+    private final Executor executor;
+    private final long sectionTimeoutMs;
+
+    /**
+     * Constructs the dashboard service.
+     *
+     * @param userService      service used for user counts.
+     * @param orderService     service used for order counts.
+     * @param billService      service used for billing figures.
+     * @param payService       service used for income and expenses.
+     * @param eggService       service used for the egg stock.
+     * @param webVisitService  service used for web visits.
+     * @param latencyHistogramService service used for fulfilment latencies.
+     * @param transactionManager transaction manager bounding the queries of each section.
+     * @param executor         bounded executor running the sections.
+     * @param sectionTimeoutMs maximum time a section may take, in milliseconds.
+     */
+    public DashboardService(UserService userService,
+                            OrderService orderService,
+                            BillService billService,
+                            PayService payService,
+                            EggService eggService,
+                            WebVisitService webVisitService,
+                            LatencyHistogramService latencyHistogramService,
+                            PlatformTransactionManager transactionManager,
+                            @Qualifier("dashboardExecutor") Executor executor,
+                            @Value("${goldeneggs.dashboard.section-timeout-ms:2000}") long sectionTimeoutMs) {
+        this.userService = userService;
+        this.orderService = orderService;
+        this.billService = billService;
+        this.payService = payService;
+        this.eggService = eggService;
+        this.webVisitService = webVisitService;
+        this.latencyHistogramService = latencyHistogramService;
+        this.executor = executor;
+        this.sectionTimeoutMs = sectionTimeoutMs;
+        this.sectionTransaction = new TransactionTemplate(transactionManager);
+        // Transaction timeouts are whole seconds.
+        this.sectionTransaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(sectionTimeoutMs + 999)));
+    }
+
+    /**
+     * Runs every dashboard section concurrently and collects the results.
+     *
+     * @return the dashboard payload, with one entry per section.
+     */
+    public DashboardDto getDashboard() {
+        long start = System.nanoTime();
+
+        Map<String, CompletableFuture<DashboardSectionDto>> futures = new LinkedHashMap<>();
+        sections().forEach((name, query) -> futures.put(name, submit(query)));
+
+        DashboardDto dashboard = new DashboardDto();
+        futures.forEach((name, future) -> dashboard.getSections().put(name, future.join()));
+        dashboard.setElapsedMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return dashboard;
+    }
+
+    /**
+     * Declares the dashboard sections in display order.
+     */
+    private Map<String, Supplier<Object>> sections() {
+        Map<String, Supplier<Object>> sections = new LinkedHashMap<>();
+        sections.put("clients", userService::countClients);
+        sections.put("employees", userService::countEmployees);
+        sections.put("ordersThisMonth", orderService::countOrdersInCurrentMonth);
+        sections.put("billsThisMonth", billService::countCustomerBillsInCurrentMonth);
+        sections.put("salesThisMonth", billService::getMonthlySalesTotal);
+        sections.put("bestCustomerThisMonth", billService::getBestCustomerOfMonth);
+        sections.put("incomeThisMonth", payService::totalIncomeCurrentMonth);
+        sections.put("expensesThisMonth", payService::totalExpensesCurrentMonth);
+        sections.put("totalIncome", payService::totalIncome);
+        sections.put("totalEggs", eggService::getTotalEggQuantity);
+        sections.put("visits", webVisitService::getVisitCount);
+        sections.put("orderToBillLatency",
+                () -> latencyHistogramService.recentPercentiles(LatencyMetric.ORDER_TO_BILL, LATENCY_WINDOW_DAYS));
+        sections.put("orderToPaymentLatency",
+                () -> latencyHistogramService.recentPercentiles(LatencyMetric.ORDER_TO_PAYMENT, LATENCY_WINDOW_DAYS));
+        return sections;
+    }
+
+    private CompletableFuture<DashboardSectionDto> submit(Supplier<Object> query) {
+        long start = System.nanoTime();
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            try {
+                result.complete(sectionTransaction.execute(status -> query.get()));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }, null);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(
+                    new DashboardSectionDto(DashboardSectionDto.STATUS_REJECTED, null, 0));
+        }
+        return result.orTimeout(sectionTimeoutMs, TimeUnit.MILLISECONDS)
+                .handle((value, error) -> {
+                    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    if (error == null) {
+                        return new DashboardSectionDto(DashboardSectionDto.STATUS_OK, value, elapsed);
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (cause instanceof TimeoutException) {
+                        // Frees the worker: a queued task never starts, a running one is interrupted.
+                        task.cancel(true);
+                        return new DashboardSectionDto(DashboardSectionDto.STATUS_TIMEOUT, null, elapsed);
+                    }
+                    return new DashboardSectionDto(DashboardSectionDto.STATUS_ERROR, null, elapsed);
+                });
+    }
+}
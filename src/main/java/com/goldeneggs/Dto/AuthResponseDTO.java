@@ -18,6 +18,11 @@ public class AuthResponseDTO {
      */
     private String tokenType = "Bearer ";
 
+    /**
+     * The refresh token used to obtain the next access token, if one was issued.
+     */
+    private String refreshToken;
+
     /**
      * Constructor for creating the response DTO with the access token.
      *
@@ -29,4 +34,15 @@ public class AuthResponseDTO {
         }
         this.accessToken = accessToken;
     }
-}
\ No newline at end of file
+
+    /**
+     * Constructor for creating the response DTO with the access token and its refresh token.
+     *
+     * @param accessToken  The access token to be sent in the response.
+     * @param refreshToken The refresh token that renews it.
+     */
+    public AuthResponseDTO(String accessToken, String refreshToken) {
+        this(accessToken);
+        this.refreshToken = refreshToken;
+    }
+}
@@ -3,6 +3,8 @@ package com.goldeneggs.Dto;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
+import java.sql.Date;
+
 @Data
 @AllArgsConstructor
 public class BillDto {
@@ -14,6 +16,11 @@ public class BillDto {
     private String orderDate;
     private String orderState;
 
-
+    /**
+     * Constructor used by JPQL projections, which select the raw date columns.
+     */
+    public BillDto(Long id, Date issueDate, boolean paid, double totalPrice,
+                   String customerName, Date orderDate, String orderState) {
+        this(id, issueDate.toString(), paid, totalPrice, customerName, orderDate.toString(), orderState);
+    }
 }
-
@@ -0,0 +1,19 @@
+package com.goldeneggs.Dto.Dashboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Payload of the composite admin dashboard: every section keyed by its name.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DashboardDto {
+    private Map<String, DashboardSectionDto> sections = new LinkedHashMap<>();
+    private long elapsedMs;
+}
@@ -0,0 +1,34 @@
+package com.goldeneggs.Dto.Dashboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of one section of the composite dashboard.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DashboardSectionDto {
+
+    public static final String STATUS_OK = "OK";
+    public static final String STATUS_TIMEOUT = "TIMEOUT";
+    public static final String STATUS_ERROR = "ERROR";
+    public static final String STATUS_REJECTED = "REJECTED";
+
+    /**
+     * Outcome of the section: OK, TIMEOUT, ERROR or REJECTED.
+     */
+    private String status;
+
+    /**
+     * Value computed by the section, or {@code null} when it did not complete.
+     */
+    private Object value;
+
+    /**
+     * Time spent on the section, in milliseconds.
+     */
+    private long elapsedMs;
+}
@@ -0,0 +1,27 @@
+package com.goldeneggs.Dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Load of the password hashing executor and hash latency since the application started.
+ */
+@Data
+@NoArgsConstructor
+public class PasswordHashingStatsDto {
+    private int poolSize;
+    private int activeThreads;
+    private int queueDepth;
+    private int queueCapacity;
+    private long completed;
+    /**
+     * Hashes refused because the queue was full or the caller waited too long.
+     */
+    private long rejected;
+    private double averageMillis;
+    private double maxMillis;
+    /**
+     * Login attempts refused by the per-username and per-IP throttle before any hashing.
+     */
+    private long throttledLogins;
+}
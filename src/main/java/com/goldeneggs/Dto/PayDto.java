@@ -0,0 +1,30 @@
+package com.goldeneggs.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.sql.Date;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class PayDto {
+    private Long id;
+    private double amountPaid;
+    private String paymentMethod;
+    private String paidAt;
+    private Long billId;
+    private String billIssueDate;
+    private double billTotalPrice;
+    private Long customerId;
+    private String customerName;
+
+    /**
+     * Constructor used by JPQL projections, which select the raw date columns.
+     */
+    public PayDto(Long id, double amountPaid, String paymentMethod, LocalDateTime paidAt, Long billId,
+                  Date billIssueDate, double billTotalPrice, Long customerId, String customerName) {
+        this(id, amountPaid, paymentMethod, paidAt != null ? paidAt.toString() : null, billId,
+                billIssueDate != null ? billIssueDate.toString() : null, billTotalPrice, customerId, customerName);
+    }
+}
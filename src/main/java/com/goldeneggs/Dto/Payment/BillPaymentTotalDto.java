@@ -0,0 +1,18 @@
+package com.goldeneggs.Dto.Payment;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A bill next to the sum of the payments that reference it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BillPaymentTotalDto {
+    private Long billId;
+    private double totalPrice;
+    private boolean paid;
+    private double amountPaid;
+}
@@ -0,0 +1,16 @@
+package com.goldeneggs.Dto.Payment;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A row of a payment import that was rejected, and why.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaymentImportErrorDto {
+    private long line;
+    private String message;
+}
@@ -0,0 +1,24 @@
+package com.goldeneggs.Dto.Payment;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a payment import.
+ * Only the first rejected rows and mismatches are listed; the counters cover all of them.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaymentImportResultDto {
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+    private List<PaymentImportErrorDto> errors = new ArrayList<>();
+    private long mismatchCount;
+    private List<BillPaymentTotalDto> mismatches = new ArrayList<>();
+}
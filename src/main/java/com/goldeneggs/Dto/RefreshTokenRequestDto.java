@@ -0,0 +1,15 @@
+package com.goldeneggs.Dto;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object carrying a refresh token.
+ */
+@Data
+public class RefreshTokenRequestDto {
+
+    /**
+     * The refresh token issued with the last access token.
+     */
+    private String refreshToken;
+}
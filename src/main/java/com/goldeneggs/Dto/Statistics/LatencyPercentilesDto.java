@@ -0,0 +1,20 @@
+package com.goldeneggs.Dto.Statistics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Percentiles of a latency distribution, in seconds.
+ * Percentiles are {@code null} when no samples were recorded.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LatencyPercentilesDto {
+    private String metric;
+    private long samples;
+    private Long p50Seconds;
+    private Long p90Seconds;
+    private Long p99Seconds;
+}
@@ -0,0 +1,17 @@
+package com.goldeneggs.Dto.Statistics;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single position of a leaderboard: the subject key, its display label and its score.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RankingEntryDto {
+    private String key;
+    private String label;
+    private Double score;
+}
@@ -19,4 +19,6 @@ public class StatisticsKpiDto {
     public String dayWithLeastSales;
     public int cancelledOrders;
     public double averageTimeOrderToBill; // in hours
+    public LatencyPercentilesDto orderToBillLatency;
+    public LatencyPercentilesDto orderToPaymentLatency;
 }
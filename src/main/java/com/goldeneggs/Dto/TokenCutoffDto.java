@@ -0,0 +1,18 @@
+package com.goldeneggs.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Moment before which the tokens of a user are rejected.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TokenCutoffDto {
+    private Long userId;
+    private LocalDateTime tokensValidAfter;
+}
@@ -0,0 +1,18 @@
+package com.goldeneggs.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Unique attributes of a user: ID, username, email and phone number.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserIdentityDto {
+    private Long id;
+    private String username;
+    private String email;
+    private String phoneNumber;
+}
@@ -0,0 +1,21 @@
+package com.goldeneggs.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Row of the user directory: the contact details of a user, without password or roles.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserSummaryDto {
+    private Long id;
+    private String name;
+    private String username;
+    private String email;
+    private String phoneNumber;
+    private String address;
+    private boolean enabled;
+}
@@ -0,0 +1,30 @@
+package com.goldeneggs.Dto.WebVisit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * State of the web visit buffer since the application started.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class VisitBufferStatsDto {
+    private int capacity;
+    private int buffered;
+    private long recorded;
+    private long flushed;
+    /**
+     * Visits discarded because the buffer was full.
+     */
+    private long dropped;
+    /**
+     * Visits lost because their batch could not be written.
+     */
+    private long failed;
+    /**
+     * Visits ignored because the same IP had already been counted within the throttle window.
+     */
+    private long suppressed;
+}
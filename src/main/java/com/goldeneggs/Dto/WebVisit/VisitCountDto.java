@@ -0,0 +1,19 @@
+package com.goldeneggs.Dto.WebVisit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of web visits in an hour or a day.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class VisitCountDto {
+    /**
+     * Start of the hour (yyyy-MM-ddTHH:mm) or the day (yyyy-MM-dd).
+     */
+    private String period;
+    private long visits;
+}
@@ -14,9 +14,8 @@ import com.goldeneggs.OrderEgg.OrderEgg;
 import com.goldeneggs.OrderEgg.OrderEggRepository;
 import com.goldeneggs.OrderEgg.OrderEggService;
 import com.goldeneggs.Pay.PayService;
-import com.goldeneggs.Supplier.SupplierRepository;
+import com.goldeneggs.ReferenceData.ReferenceDataRegistry;
 import com.goldeneggs.TypeEgg.TypeEgg;
-import com.goldeneggs.TypeEgg.TypeEggRepository;
 import com.goldeneggs.User.User;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
@@ -34,10 +33,7 @@ public class EggServiceImpl implements EggService {
     private EggRepository eggRepository;
 
     @Autowired
-    private TypeEggRepository typeEggRepository;
-
-    @Autowired
-    private SupplierRepository supplierRepository;
+    private ReferenceDataRegistry referenceDataRegistry;
 
     @Autowired
     private OrderEggRepository orderEggRepository;
@@ -197,7 +193,7 @@ public class EggServiceImpl implements EggService {
         if (quantity <= 0) {
             return false;
         }
-        TypeEgg typeEgg = typeEggRepository.findByType(type);
+        TypeEgg typeEgg = referenceDataRegistry.findTypeEgg(type).orElse(null);
 
         List<Egg> matchingEggs = eggRepository.findEggsByColorAndType(color, typeEgg);
         if (matchingEggs.isEmpty()) {
@@ -271,7 +267,7 @@ public class EggServiceImpl implements EggService {
             return false;
         }
 
-        TypeEgg typeEgg = typeEggRepository.findByType(type);
+        TypeEgg typeEgg = referenceDataRegistry.findTypeEgg(type).orElse(null);
         if (typeEgg == null) {
             return false;
         }
@@ -365,7 +361,7 @@ public class EggServiceImpl implements EggService {
         if (!EggValidator.validateTypeEgg(egg.getType())) {
             throw new InvalidEggDataException("Type egg not valid");
         }
-        if(!typeEggRepository.existsById(egg.getType().getId())){
+        if(!referenceDataRegistry.typeEggExists(egg.getType().getId())){
             throw new InvalidEggDataException("Type egg does not exist");
         }
         if (!EggValidator.validateColor(egg.getColor())) {
@@ -383,7 +379,7 @@ public class EggServiceImpl implements EggService {
         if (!EggValidator.validateSupplier(egg.getSupplier())) {
             throw new InvalidEggDataException("Supplier invalid");
         }
-        if(!supplierRepository.existsById(egg.getSupplier().getId())){
+        if(!referenceDataRegistry.supplierExists(egg.getSupplier().getId())){
             throw new InvalidEggDataException("Supplier does not exist");
         }
         if (!EggValidator.validateAviableQuantity(egg.getAvibleQuantity())) {
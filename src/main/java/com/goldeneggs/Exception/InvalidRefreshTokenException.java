@@ -0,0 +1,7 @@
+package com.goldeneggs.Exception;
+
+public class InvalidRefreshTokenException extends RuntimeException {
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.goldeneggs.Exception;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
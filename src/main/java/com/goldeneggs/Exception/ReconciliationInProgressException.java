@@ -0,0 +1,7 @@
+package com.goldeneggs.Exception;
+
+public class ReconciliationInProgressException extends RuntimeException {
+    public ReconciliationInProgressException(String message) {
+        super(message);
+    }
+}
@@ -2,8 +2,12 @@ package com.goldeneggs.InventoryMovement;
 
 import com.goldeneggs.Egg.Egg;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 
 /**
@@ -13,4 +17,24 @@ import java.util.Optional;
 public interface InventoryMovementRepository extends JpaRepository<InventoryMovement, Long> {
     Optional<InventoryMovement> findTopByEggOrderByMovementDateDesc(Egg egg);
 
+    /**
+     * Deletes the inventory movements of the given orders in one statement.
+     *
+     * @param orderIds the IDs of the orders.
+     * @return the number of movements deleted.
+     */
+    @Modifying
+    @Query("DELETE FROM InventoryMovement m WHERE m.order.id IN :orderIds")
+    int deleteAllByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Unlinks a user from the inventory movements they recorded for other users' orders,
+     * keeping the movements in the inventory history.
+     *
+     * @param userId the ID of the user.
+     * @return the number of movements updated.
+     */
+    @Modifying
+    @Query("UPDATE InventoryMovement m SET m.user = null WHERE m.user.id = :userId")
+    int clearUser(@Param("userId") Long userId);
 }
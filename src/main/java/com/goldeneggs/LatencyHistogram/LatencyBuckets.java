@@ -0,0 +1,77 @@
+package com.goldeneggs.LatencyHistogram;
+
+import java.util.Arrays;
+
+/**
+ * Fixed bucket layout shared by every latency histogram.
+ * <p>
+ * Bounds grow roughly geometrically from one minute to thirty days, so a day of
+ * latencies fits in at most {@link #COUNT} counters while percentiles stay accurate
+ * to the width of one bucket. The last bucket is unbounded.
+ * </p>
+ */
+public final class LatencyBuckets {
+
+    /**
+     * Inclusive upper bound of each bucket, in seconds.
+     */
+    private static final long[] UPPER_BOUNDS = {
+            60, 5 * 60, 15 * 60, 30 * 60,
+            3_600, 2 * 3_600, 4 * 3_600, 8 * 3_600, 12 * 3_600,
+            86_400, 2 * 86_400, 3 * 86_400, 5 * 86_400, 7 * 86_400, 14 * 86_400, 30 * 86_400
+    };
+
+    /**
+     * Number of buckets, including the unbounded one.
+     */
+    public static final int COUNT = UPPER_BOUNDS.length + 1;
+
+    private LatencyBuckets() {
+    }
+
+    /**
+     * Finds the bucket of a latency.
+     *
+     * @param seconds the latency in seconds; negative values count as zero.
+     * @return the bucket index, between 0 and {@code COUNT - 1}.
+     */
+    public static int indexOf(long seconds) {
+        int position = Arrays.binarySearch(UPPER_BOUNDS, Math.max(0, seconds));
+        return position >= 0 ? position : -position - 1;
+    }
+
+    /**
+     * Retrieves the upper bound of a bucket.
+     *
+     * @param index the bucket index.
+     * @return the upper bound in seconds, or {@code null} for the unbounded bucket.
+     */
+    public static Long upperBound(int index) {
+        return index < UPPER_BOUNDS.length ? UPPER_BOUNDS[index] : null;
+    }
+
+    /**
+     * Estimates a percentile from bucket counts. The result is the upper bound of the
+     * bucket holding the requested rank, or the last finite bound when it falls in the
+     * unbounded bucket.
+     *
+     * @param counts     the count of each bucket.
+     * @param percentile the percentile, between 0 and 100.
+     * @return the estimated latency in seconds, or {@code null} if the histogram is empty.
+     */
+    public static Long percentile(long[] counts, double percentile) {
+        long total = Arrays.stream(counts).sum();
+        if (total == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i < UPPER_BOUNDS.length ? UPPER_BOUNDS[i] : UPPER_BOUNDS[UPPER_BOUNDS.length - 1];
+            }
+        }
+        return UPPER_BOUNDS[UPPER_BOUNDS.length - 1];
+    }
+}
@@ -0,0 +1,56 @@
+package com.goldeneggs.LatencyHistogram;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Date;
+
+/**
+ * Number of latencies of one metric that fell into one bucket on one day.
+ * <p>
+ * A day's histogram is at most {@link LatencyBuckets#COUNT} rows, so percentiles over
+ * any date range are computed from a handful of counters instead of every bill.
+ * </p>
+ */
+@Entity
+@Table(name = "latency_histograms",
+        uniqueConstraints = @UniqueConstraint(name = "uk_latency_histograms_bucket",
+                columnNames = {"metric", "event_day", "bucket"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LatencyHistogramBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Latency being measured.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "metric", nullable = false, length = 30)
+    private LatencyMetric metric;
+
+    /**
+     * Day the measured event completed.
+     */
+    @Column(name = "event_day", nullable = false)
+    private Date day;
+
+    /**
+     * Index of the bucket in {@link LatencyBuckets}.
+     */
+    @Column(name = "bucket", nullable = false)
+    private int bucket;
+
+    /**
+     * Number of latencies that fell into the bucket.
+     */
+    @Column(name = "hits", nullable = false)
+    private long hits;
+}
@@ -0,0 +1,45 @@
+package com.goldeneggs.LatencyHistogram;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.util.List;
+
+/**
+ * Repository for managing {@link LatencyHistogramBucket} entities.
+ */
+@Repository
+public interface LatencyHistogramRepository extends JpaRepository<LatencyHistogramBucket, Long> {
+
+    /**
+     * Adds one latency to a bucket, creating the row on first use.
+     *
+     * @param metric The metric name.
+     * @param day    The day the event completed.
+     * @param bucket The bucket index.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO latency_histograms (metric, event_day, bucket, hits) " +
+            "VALUES (:metric, :day, :bucket, 1) " +
+            "ON DUPLICATE KEY UPDATE hits = hits + 1",
+            nativeQuery = true)
+    void increment(@Param("metric") String metric, @Param("day") Date day, @Param("bucket") int bucket);
+
+    /**
+     * Sums the buckets of a metric over a date range.
+     *
+     * @param metric The metric.
+     * @param from   The first day (inclusive).
+     * @param to     The last day (inclusive).
+     * @return One {@code [bucket, hits]} pair per non-empty bucket.
+     */
+    @Query("SELECT h.bucket, SUM(h.hits) FROM LatencyHistogramBucket h " +
+            "WHERE h.metric = :metric AND h.day BETWEEN :from AND :to GROUP BY h.bucket")
+    List<Object[]> sumByBucket(@Param("metric") LatencyMetric metric,
+                               @Param("from") Date from,
+                               @Param("to") Date to);
+}
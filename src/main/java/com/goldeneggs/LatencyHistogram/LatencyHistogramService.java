@@ -0,0 +1,110 @@
+package com.goldeneggs.LatencyHistogram;
+
+import com.goldeneggs.Bill.Bill;
+import com.goldeneggs.Dto.Statistics.LatencyPercentilesDto;
+import com.goldeneggs.Order.Order;
+import com.goldeneggs.Pay.Pay;
+import com.goldeneggs.Pay.PayBillResolver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Tracks the distribution of order-to-bill and order-to-payment latencies.
+ * <p>
+ * Each bill or payment adds one hit to the day's fixed-bucket histogram in the same
+ * transaction that creates it, and percentiles are estimated from the summed buckets
+ * of the requested days. Records created before the exact timestamps were stored are
+ * not measured.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class LatencyHistogramService {
+
+    private final LatencyHistogramRepository histogramRepository;
+    private final PayBillResolver payBillResolver;
+
+    /**
+     * Records the time between placing an order and issuing its bill.
+     *
+     * @param bill the newly issued bill.
+     */
+    @Transactional
+    public void recordBill(Bill bill) {
+        if (bill == null || bill.getOrder() == null) {
+            return;
+        }
+        record(LatencyMetric.ORDER_TO_BILL, bill.getOrder().getPlacedAt(), bill.getIssuedAt());
+    }
+
+    /**
+     * Records the time between placing an order and registering its payment.
+     *
+     * @param pay the newly registered payment.
+     */
+    @Transactional
+    public void recordPay(Pay pay) {
+        if (pay == null || pay.getBill() == null) {
+            return;
+        }
+        Bill bill = payBillResolver.resolve(pay.getBill());
+        if (bill.getOrder() == null) {
+            return;
+        }
+        record(LatencyMetric.ORDER_TO_PAYMENT, bill.getOrder().getPlacedAt(), pay.getPaidAt());
+    }
+
+    /**
+     * Estimates the p50, p90 and p99 of a latency over a date range.
+     *
+     * @param metric the latency to report.
+     * @param from   the first day (inclusive).
+     * @param to     the last day (inclusive).
+     * @return the percentiles and number of samples.
+     */
+    public LatencyPercentilesDto percentiles(LatencyMetric metric, LocalDate from, LocalDate to) {
+        long[] counts = new long[LatencyBuckets.COUNT];
+        List<Object[]> rows = histogramRepository.sumByBucket(metric, Date.valueOf(from), Date.valueOf(to));
+        for (Object[] row : rows) {
+            int bucket = ((Number) row[0]).intValue();
+            if (bucket >= 0 && bucket < counts.length) {
+                counts[bucket] += ((Number) row[1]).longValue();
+            }
+        }
+        long samples = 0;
+        for (long count : counts) {
+            samples += count;
+        }
+        return new LatencyPercentilesDto(metric.name(), samples,
+                LatencyBuckets.percentile(counts, 50),
+                LatencyBuckets.percentile(counts, 90),
+                LatencyBuckets.percentile(counts, 99));
+    }
+
+    /**
+     * Estimates the percentiles of a latency over the last days, today included.
+     *
+     * @param metric the latency to report.
+     * @param days   the number of days to cover.
+     * @return the percentiles and number of samples.
+     */
+    public LatencyPercentilesDto recentPercentiles(LatencyMetric metric, int days) {
+        LocalDate today = LocalDate.now();
+        return percentiles(metric, today.minusDays(days - 1L), today);
+    }
+
+    private void record(LatencyMetric metric, LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) {
+            return;
+        }
+        long seconds = Duration.between(start, end).getSeconds();
+        histogramRepository.increment(metric.name(), Date.valueOf(end.toLocalDate()), LatencyBuckets.indexOf(seconds));
+    }
+}
@@ -0,0 +1,17 @@
+package com.goldeneggs.LatencyHistogram;
+
+/**
+ * Fulfilment latencies tracked in {@link LatencyHistogramBucket} rows.
+ */
+public enum LatencyMetric {
+
+    /**
+     * Time from placing an order to issuing its bill.
+     */
+    ORDER_TO_BILL,
+
+    /**
+     * Time from placing an order to registering its payment.
+     */
+    ORDER_TO_PAYMENT
+}
@@ -0,0 +1,27 @@
+package com.goldeneggs.MonthlyCounter;
+
+/**
+ * Month-to-date indicators kept in {@link MonthlyCounter} rows.
+ */
+public enum CounterMetric {
+
+    /**
+     * Number of bills issued to users with the "CUSTOMER" role.
+     */
+    CUSTOMER_BILLS,
+
+    /**
+     * Number of orders placed, excluding inventory purchases.
+     */
+    ORDERS,
+
+    /**
+     * Amount paid for bills of customer orders.
+     */
+    INCOME,
+
+    /**
+     * Amount paid for bills of inventory purchases.
+     */
+    EXPENSES
+}
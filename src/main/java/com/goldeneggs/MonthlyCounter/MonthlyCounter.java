@@ -0,0 +1,48 @@
+package com.goldeneggs.MonthlyCounter;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running value of one indicator within one calendar month.
+ * <p>
+ * Rows are adjusted in the same transaction as the bills, orders and payments that
+ * affect them, so a month-to-date KPI is a single-row read instead of a range scan.
+ * </p>
+ */
+@Entity
+@Table(name = "monthly_counters",
+        uniqueConstraints = @UniqueConstraint(name = "uk_monthly_counters_metric",
+                columnNames = {"period", "metric"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthlyCounter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Month the value belongs to, formatted as yyyy-MM.
+     */
+    @Column(name = "period", nullable = false, length = 7)
+    private String period;
+
+    /**
+     * Indicator being counted.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "metric", nullable = false, length = 30)
+    private CounterMetric metric;
+
+    /**
+     * Accumulated value (a count or an amount, depending on the metric).
+     */
+    @Column(name = "total", nullable = false)
+    private double total;
+}
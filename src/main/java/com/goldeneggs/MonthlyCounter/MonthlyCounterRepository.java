@@ -0,0 +1,51 @@
+package com.goldeneggs.MonthlyCounter;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for managing {@link MonthlyCounter} entities.
+ */
+@Repository
+public interface MonthlyCounterRepository extends JpaRepository<MonthlyCounter, Long> {
+
+    /**
+     * Adds the given amount to a counter, creating the row on first use.
+     *
+     * @param period The month, formatted as yyyy-MM.
+     * @param metric The metric name.
+     * @param amount The amount to add (may be negative when a record is removed).
+     */
+    @Modifying
+    @Query(value = "INSERT INTO monthly_counters (period, metric, total) " +
+            "VALUES (:period, :metric, :amount) " +
+            "ON DUPLICATE KEY UPDATE total = total + VALUES(total)",
+            nativeQuery = true)
+    void increment(@Param("period") String period,
+                   @Param("metric") String metric,
+                   @Param("amount") double amount);
+
+    /**
+     * Retrieves the value of a counter.
+     *
+     * @param period The month, formatted as yyyy-MM.
+     * @param metric The metric.
+     * @return The accumulated value, if the counter exists.
+     */
+    @Query("SELECT c.total FROM MonthlyCounter c WHERE c.period = :period AND c.metric = :metric")
+    Optional<Double> findValue(@Param("period") String period, @Param("metric") CounterMetric metric);
+
+    /**
+     * Removes every counter of a month, before it is rebuilt.
+     *
+     * @param period The month, formatted as yyyy-MM.
+     */
+    @Modifying
+    @Query("DELETE FROM MonthlyCounter c WHERE c.period = :period")
+    void deleteByPeriod(@Param("period") String period);
+}
@@ -0,0 +1,291 @@
+package com.goldeneggs.MonthlyCounter;
+
+import com.goldeneggs.Bill.Bill;
+import com.goldeneggs.Bill.BillRepository;
+import com.goldeneggs.Config.TransactionHooks;
+import com.goldeneggs.Order.Order;
+import com.goldeneggs.Order.OrderRepository;
+import com.goldeneggs.Pay.Pay;
+import com.goldeneggs.Pay.PayBillResolver;
+import com.goldeneggs.Pay.PayRepository;
+import com.goldeneggs.User.UserSegment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maintains the month-to-date counters of bills, orders and payments.
+ * <p>
+ * Every write that affects a KPI adjusts its {@link MonthlyCounter} row in the same
+ * transaction. Reads of the current month are served from an in-memory cache that is
+ * invalidated once those transactions commit, so the dashboards never scan the bills,
+ * orders or payments tables and closed months are never recomputed.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class MonthlyCounterService {
+
+    private final MonthlyCounterRepository counterRepository;
+    private final BillRepository billRepository;
+    private final OrderRepository orderRepository;
+    private final PayRepository payRepository;
+    private final PayBillResolver payBillResolver;
+
+    private final Map<String, Double> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Number of evictions of each month. A value read from the table is only cached if no
+     * eviction of its month happened while it was being read, so a read racing a commit
+     * cannot store the value from before that commit.
+     */
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+
+    /**
+     * Counts a newly issued bill. Bills of users without the "CUSTOMER" role are ignored.
+     *
+     * @param bill the issued bill.
+     */
+    @Transactional
+    public void recordBill(Bill bill) {
+        applyBill(bill, 1);
+    }
+
+    /**
+     * Discounts a bill, used when a bill is updated or deleted.
+     *
+     * @param bill the bill as it was recorded.
+     */
+    @Transactional
+    public void removeBill(Bill bill) {
+        applyBill(bill, -1);
+    }
+
+    /**
+     * Counts a newly placed order. Inventory purchases are ignored.
+     *
+     * @param order the placed order.
+     */
+    @Transactional
+    public void recordOrder(Order order) {
+        applyOrder(order, 1);
+    }
+
+    /**
+     * Discounts an order, used when an order is updated or deleted.
+     *
+     * @param order the order as it was recorded.
+     */
+    @Transactional
+    public void removeOrder(Order order) {
+        applyOrder(order, -1);
+    }
+
+    /**
+     * Adds a payment to the income or expenses of the month its bill was issued.
+     *
+     * @param pay the registered payment.
+     */
+    @Transactional
+    public void recordPay(Pay pay) {
+        applyPay(pay, 1);
+    }
+
+    /**
+     * Adds a batch of payments, issuing one update per month and metric instead of one per payment.
+     *
+     * @param pays the registered payments.
+     */
+    @Transactional
+    public void recordPays(Collection<Pay> pays) {
+        Map<String, Double> totals = new TreeMap<>();
+        for (Pay pay : pays) {
+            Bill bill = pay != null ? payBillResolver.resolve(pay.getBill()) : null;
+            if (bill == null || bill.getIssueDate() == null || bill.getOrder() == null) {
+                continue;
+            }
+            totals.merge(cacheKey(periodOf(bill.getIssueDate()), metricOf(bill)), pay.getAmountPaid(), Double::sum);
+        }
+        totals.forEach((key, amount) -> {
+            int separator = key.indexOf('|');
+            increment(key.substring(0, separator), CounterMetric.valueOf(key.substring(separator + 1)), amount);
+        });
+    }
+
+    /**
+     * Subtracts a payment, used when a payment is updated or deleted.
+     *
+     * @param pay the payment as it was recorded.
+     */
+    @Transactional
+    public void removePay(Pay pay) {
+        applyPay(pay, -1);
+    }
+
+    /**
+     * Retrieves the value of a metric for the current month.
+     *
+     * @param metric the metric to read.
+     * @return the month-to-date value, or 0.0 if nothing was recorded yet.
+     */
+    public double currentValue(CounterMetric metric) {
+        YearMonth month = YearMonth.now();
+        String key = cacheKey(month.toString(), metric);
+        Double cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        String period = month.toString();
+        String prefix = period + "|";
+        cache.keySet().removeIf(existing -> !existing.startsWith(prefix));
+        generations.keySet().removeIf(existing -> !existing.equals(period));
+
+        long generation = generations.getOrDefault(period, 0L);
+        double loaded = value(month, metric);
+        generations.compute(period, (ignored, current) -> {
+            if ((current == null ? 0L : current) == generation) {
+                cache.put(key, loaded);
+            }
+            return current;
+        });
+        return loaded;
+    }
+
+    /**
+     * Retrieves the value of a metric for the current month as a count.
+     *
+     * @param metric the metric to read.
+     * @return the month-to-date count.
+     */
+    public long currentCount(CounterMetric metric) {
+        return Math.round(currentValue(metric));
+    }
+
+    /**
+     * Retrieves the value of a metric for any month, straight from the counters table.
+     *
+     * @param month  the month to read.
+     * @param metric the metric to read.
+     * @return the value of the month, or 0.0 if nothing was recorded.
+     */
+    public double value(YearMonth month, CounterMetric metric) {
+        return counterRepository.findValue(month.toString(), metric).orElse(0.0);
+    }
+
+    /**
+     * Recomputes the counters of a month from its bills, orders and payments.
+     *
+     * @param month the month to rebuild.
+     */
+    @Transactional
+    public void rebuild(YearMonth month) {
+        String period = month.toString();
+        Date start = Date.valueOf(month.atDay(1));
+        Date end = Date.valueOf(month.atEndOfMonth());
+
+        counterRepository.deleteByPeriod(period);
+        increment(period, CounterMetric.CUSTOMER_BILLS,
+                orZero(billRepository.countCustomerBillsInCurrentMonth(start, end)));
+        increment(period, CounterMetric.ORDERS,
+                orZero(orderRepository.countOrdersInCurrentMonth(start, end)));
+        increment(period, CounterMetric.INCOME,
+                orZero(payRepository.sumAmountPaidInCurrentMonth(start, end)));
+        increment(period, CounterMetric.EXPENSES,
+                orZero(payRepository.sumAmountSaleInCurrentMonth(start, end)));
+        TransactionHooks.afterCommit(() -> evict(period));
+    }
+
+    /**
+     * Fills the counters table from the existing records the first time the application
+     * starts with an empty table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        if (counterRepository.count() > 0) {
+            return;
+        }
+        YearMonth first = earliest(billRepository.findEarliestIssueDate(), orderRepository.findEarliestOrderDate());
+        if (first == null) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        for (YearMonth month = first; !month.isAfter(current); month = month.plusMonths(1)) {
+            rebuild(month);
+        }
+    }
+
+    private void applyBill(Bill bill, int sign) {
+        if (bill == null || bill.getIssueDate() == null || bill.getOrder() == null
+                || UserSegment.of(bill.getOrder().getUser()) != UserSegment.CUSTOMER) {
+            return;
+        }
+        increment(periodOf(bill.getIssueDate()), CounterMetric.CUSTOMER_BILLS, sign);
+    }
+
+    private void applyOrder(Order order, int sign) {
+        if (order == null || order.getOrderDate() == null || Order.STATE_INVENTORY.equals(order.getState())) {
+            return;
+        }
+        increment(periodOf(order.getOrderDate()), CounterMetric.ORDERS, sign);
+    }
+
+    private void applyPay(Pay pay, int sign) {
+        if (pay == null) {
+            return;
+        }
+        Bill bill = payBillResolver.resolve(pay.getBill());
+        if (bill == null || bill.getIssueDate() == null || bill.getOrder() == null) {
+            return;
+        }
+        increment(periodOf(bill.getIssueDate()), metricOf(bill), sign * pay.getAmountPaid());
+    }
+
+    private static CounterMetric metricOf(Bill bill) {
+        return Order.STATE_INVENTORY.equals(bill.getOrder().getState())
+                ? CounterMetric.EXPENSES
+                : CounterMetric.INCOME;
+    }
+
+    private void increment(String period, CounterMetric metric, double amount) {
+        counterRepository.increment(period, metric.name(), amount);
+        TransactionHooks.afterCommit(() -> {
+            generations.merge(period, 1L, Long::sum);
+            cache.remove(cacheKey(period, metric));
+        });
+    }
+
+    private void evict(String period) {
+        generations.merge(period, 1L, Long::sum);
+        cache.keySet().removeIf(key -> key.startsWith(period + "|"));
+    }
+
+    private static YearMonth earliest(Date first, Date second) {
+        if (first == null && second == null) {
+            return null;
+        }
+        Date earliest = first == null ? second : second == null || first.before(second) ? first : second;
+        return YearMonth.from(earliest.toLocalDate());
+    }
+
+    private static String periodOf(Date date) {
+        return YearMonth.from(date.toLocalDate()).toString();
+    }
+
+    private static String cacheKey(String period, CounterMetric metric) {
+        return period + "|" + metric.name();
+    }
+
+    private static double orZero(Number value) {
+        return value != null ? value.doubleValue() : 0.0;
+    }
+}
@@ -0,0 +1,61 @@
+package com.goldeneggs.MonthlyRanking;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Accumulated score of a customer or product within one calendar month.
+ * <p>
+ * Rows are incremented as bills are issued, so a month's leaderboard is read
+ * with an indexed top-K query instead of aggregating every bill.
+ * </p>
+ */
+@Entity
+@Table(name = "monthly_rankings",
+        uniqueConstraints = @UniqueConstraint(name = "uk_monthly_rankings_subject",
+                columnNames = {"period", "category", "subject_key"}),
+        indexes = @Index(name = "idx_monthly_rankings_score", columnList = "period, category, score"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthlyRanking {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Month the score belongs to, formatted as yyyy-MM.
+     */
+    @Column(name = "period", nullable = false, length = 7)
+    private String period;
+
+    /**
+     * Whether the subject is a customer or a product.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "category", nullable = false, length = 20)
+    private RankingCategory category;
+
+    /**
+     * Stable key of the subject (user ID for customers, "type - color" for products).
+     */
+    @Column(name = "subject_key", nullable = false, length = 100)
+    private String subjectKey;
+
+    /**
+     * Display name of the subject, refreshed on every increment.
+     */
+    @Column(name = "label", nullable = false)
+    private String label;
+
+    /**
+     * Accumulated score (amount billed for customers, lines sold for products).
+     */
+    @Column(name = "score", nullable = false)
+    private double score;
+}
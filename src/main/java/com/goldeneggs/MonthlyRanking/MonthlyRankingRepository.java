@@ -0,0 +1,89 @@
+package com.goldeneggs.MonthlyRanking;
+
+import com.goldeneggs.Dto.Statistics.RankingEntryDto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for managing {@link MonthlyRanking} entities.
+ */
+@Repository
+public interface MonthlyRankingRepository extends JpaRepository<MonthlyRanking, Long> {
+
+    /**
+     * Adds the given amount to the score of a subject, creating the row on first use.
+     *
+     * @param period   The month, formatted as yyyy-MM.
+     * @param category The category name.
+     * @param key      The subject key.
+     * @param label    The current display label of the subject.
+     * @param amount   The amount to add (may be negative when a bill is removed).
+     */
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rankings (period, category, subject_key, label, score) " +
+            "VALUES (:period, :category, :key, :label, :amount) " +
+            "ON DUPLICATE KEY UPDATE score = score + VALUES(score), label = VALUES(label)",
+            nativeQuery = true)
+    void increment(@Param("period") String period,
+                   @Param("category") String category,
+                   @Param("key") String key,
+                   @Param("label") String label,
+                   @Param("amount") double amount);
+
+    /**
+     * Retrieves the current score of a subject within a month.
+     *
+     * @param period   The month, formatted as yyyy-MM.
+     * @param category The category of the subject.
+     * @param key      The subject key.
+     * @return The accumulated score, if the subject has one.
+     */
+    @Query("SELECT r.score FROM MonthlyRanking r " +
+            "WHERE r.period = :period AND r.category = :category AND r.subjectKey = :key")
+    Optional<Double> findScore(@Param("period") String period,
+                               @Param("category") RankingCategory category,
+                               @Param("key") String key);
+
+    /**
+     * Retrieves the highest scoring subjects of a month.
+     *
+     * @param period   The month, formatted as yyyy-MM.
+     * @param category The category of the subjects.
+     * @param pageable Limits the number of positions returned.
+     * @return The leaderboard of the month, best first.
+     */
+    @Query("SELECT new com.goldeneggs.Dto.Statistics.RankingEntryDto(r.subjectKey, r.label, r.score) " +
+            "FROM MonthlyRanking r WHERE r.period = :period AND r.category = :category AND r.score > 0 " +
+            "ORDER BY r.score DESC")
+    List<RankingEntryDto> findTop(@Param("period") String period,
+                                  @Param("category") RankingCategory category,
+                                  Pageable pageable);
+
+    /**
+     * Retrieves the highest scoring subjects across every month.
+     *
+     * @param category The category of the subjects.
+     * @param pageable Limits the number of positions returned.
+     * @return The all-time leaderboard, best first.
+     */
+    @Query("SELECT new com.goldeneggs.Dto.Statistics.RankingEntryDto(r.subjectKey, MAX(r.label), SUM(r.score)) " +
+            "FROM MonthlyRanking r WHERE r.category = :category " +
+            "GROUP BY r.subjectKey HAVING SUM(r.score) > 0 ORDER BY SUM(r.score) DESC")
+    List<RankingEntryDto> findTopAllTime(@Param("category") RankingCategory category, Pageable pageable);
+
+    /**
+     * Removes every score of a month, before it is rebuilt from its bills.
+     *
+     * @param period The month, formatted as yyyy-MM.
+     */
+    @Modifying
+    @Query("DELETE FROM MonthlyRanking r WHERE r.period = :period")
+    void deleteByPeriod(@Param("period") String period);
+}
@@ -0,0 +1,299 @@
+package com.goldeneggs.MonthlyRanking;
+
+import com.goldeneggs.Bill.Bill;
+import com.goldeneggs.Bill.BillRepository;
+import com.goldeneggs.Config.TransactionHooks;
+import com.goldeneggs.Dto.Statistics.RankingEntryDto;
+import com.goldeneggs.OrderEgg.OrderEgg;
+import com.goldeneggs.User.User;
+import com.goldeneggs.User.UserSegment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maintains the monthly leaderboards of customers and products.
+ * <p>
+ * Scores are accumulated in {@link MonthlyRanking} rows as bills are issued. The current
+ * and previous months are additionally served from bounded {@link TopKTracker}s, so the
+ * dashboards never aggregate or sort the whole bills table.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class MonthlyRankingService {
+
+    /**
+     * Number of positions kept per month and category.
+     */
+    public static final int TRACKED_POSITIONS = 10;
+
+    private final MonthlyRankingRepository rankingRepository;
+    private final BillRepository billRepository;
+
+    private final Map<String, TopKTracker> trackers = new ConcurrentHashMap<>();
+
+    /**
+     * Number of commits that changed the leaderboards of each tracked month. A tracker warmed
+     * from the table is only installed if no commit landed on its month during the warm-up,
+     * since that commit could not offer its scores to a tracker that was not installed yet.
+     * Commits bump the version and offer their scores under the same lock as the install.
+     */
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a newly issued bill to the leaderboards of its month.
+     * Bills of users without the "CUSTOMER" role are ignored.
+     *
+     * @param bill the issued bill.
+     */
+    @Transactional
+    public void recordBill(Bill bill) {
+        applyBill(bill, 1);
+    }
+
+    /**
+     * Removes a bill from the leaderboards of its month, used when a bill is updated or deleted.
+     *
+     * @param bill the bill as it was recorded.
+     */
+    @Transactional
+    public void removeBill(Bill bill) {
+        applyBill(bill, -1);
+    }
+
+    /**
+     * Retrieves the customers who spent the most during a month.
+     *
+     * @param month the month to rank.
+     * @param limit the maximum number of customers returned.
+     * @return the leaderboard, best first.
+     */
+    public List<RankingEntryDto> topCustomers(YearMonth month, int limit) {
+        return top(month, RankingCategory.CUSTOMER, limit);
+    }
+
+    /**
+     * Retrieves the products sold the most during a month.
+     *
+     * @param month the month to rank.
+     * @param limit the maximum number of products returned.
+     * @return the leaderboard, best first.
+     */
+    public List<RankingEntryDto> topProducts(YearMonth month, int limit) {
+        return top(month, RankingCategory.PRODUCT, limit);
+    }
+
+    /**
+     * Retrieves the customers who spent the most across every month.
+     *
+     * @param limit the maximum number of customers returned.
+     * @return the leaderboard, best first.
+     */
+    public List<RankingEntryDto> topCustomersAllTime(int limit) {
+        return rankingRepository.findTopAllTime(RankingCategory.CUSTOMER, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Retrieves the products sold the most across every month.
+     *
+     * @param limit the maximum number of products returned.
+     * @return the leaderboard, best first.
+     */
+    public List<RankingEntryDto> topProductsAllTime(int limit) {
+        return rankingRepository.findTopAllTime(RankingCategory.PRODUCT, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Retrieves the name of the customer who spent the most during a month.
+     *
+     * @param month the month to rank.
+     * @return the customer name, or empty if nobody bought anything that month.
+     */
+    public Optional<String> bestCustomer(YearMonth month) {
+        return topCustomers(month, 1).stream()
+                .findFirst()
+                .map(RankingEntryDto::getLabel);
+    }
+
+    /**
+     * Recomputes the leaderboards of a month from its bills.
+     *
+     * @param month the month to rebuild.
+     */
+    @Transactional
+    public void rebuild(YearMonth month) {
+        String period = month.toString();
+        rankingRepository.deleteByPeriod(period);
+        List<Bill> bills = billRepository.findBySegmentBetween(
+                Date.valueOf(month.atDay(1)), Date.valueOf(month.atEndOfMonth()), UserSegment.CUSTOMER);
+        for (Bill bill : bills) {
+            increment(bill, 1);
+        }
+        TransactionHooks.afterCommit(() -> evict(period));
+    }
+
+    /**
+     * Fills the ranking table from the existing bills the first time the application
+     * starts with an empty table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        if (rankingRepository.count() > 0) {
+            return;
+        }
+        Date earliest = billRepository.findEarliestIssueDate();
+        if (earliest == null) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        for (YearMonth month = YearMonth.from(earliest.toLocalDate()); !month.isAfter(current); month = month.plusMonths(1)) {
+            rebuild(month);
+        }
+    }
+
+    private void applyBill(Bill bill, int sign) {
+        if (!isCustomerBill(bill)) {
+            return;
+        }
+        String period = periodOf(bill);
+        List<Subject> touched = increment(bill, sign);
+
+        if (sign < 0) {
+            // A score went down, so the bounded trackers may no longer be exact.
+            TransactionHooks.afterCommit(() -> evict(period));
+            return;
+        }
+
+        Map<Subject, Double> scores = new LinkedHashMap<>();
+        for (Subject subject : touched) {
+            rankingRepository.findScore(period, subject.category(), subject.key())
+                    .ifPresent(score -> scores.put(subject, score));
+        }
+        TransactionHooks.afterCommit(() -> versions.compute(period, (ignored, version) -> {
+            scores.forEach((subject, score) -> {
+                TopKTracker tracker = trackers.get(trackerKey(period, subject.category()));
+                if (tracker != null) {
+                    tracker.offer(subject.key(), subject.label(), score);
+                }
+            });
+            return version == null ? 1L : version + 1;
+        }));
+    }
+
+    /**
+     * Applies the bill to the ranking rows.
+     *
+     * @return the subjects whose score changed.
+     */
+    private List<Subject> increment(Bill bill, int sign) {
+        List<Subject> touched = new ArrayList<>();
+        if (!isCustomerBill(bill)) {
+            return touched;
+        }
+        String period = periodOf(bill);
+        User user = bill.getOrder().getUser();
+        Subject customer = new Subject(RankingCategory.CUSTOMER, String.valueOf(user.getId()), user.getName());
+        rankingRepository.increment(period, customer.category().name(), customer.key(),
+                customer.label(), sign * bill.getTotalPrice());
+        touched.add(customer);
+
+        List<OrderEgg> lines = bill.getOrder().getOrderEggs();
+        if (lines == null) {
+            return touched;
+        }
+        Map<String, Integer> linesByProduct = new LinkedHashMap<>();
+        for (OrderEgg line : lines) {
+            if (line != null && line.getType() != null) {
+                linesByProduct.merge(line.getType() + " - " + line.getColor(), 1, Integer::sum);
+            }
+        }
+        linesByProduct.forEach((product, count) -> {
+            Subject subject = new Subject(RankingCategory.PRODUCT, product, product);
+            rankingRepository.increment(period, subject.category().name(), subject.key(),
+                    subject.label(), sign * count);
+            touched.add(subject);
+        });
+        return touched;
+    }
+
+    private List<RankingEntryDto> top(YearMonth month, RankingCategory category, int limit) {
+        if (limit > TRACKED_POSITIONS || !isTrackedMonth(month)) {
+            return rankingRepository.findTop(month.toString(), category, PageRequest.of(0, limit));
+        }
+        String period = month.toString();
+        String key = trackerKey(period, category);
+        TopKTracker tracker = trackers.get(key);
+        if (tracker != null) {
+            return tracker.top(limit);
+        }
+        trackers.keySet().removeIf(existing -> !isTrackedMonth(YearMonth.parse(existing.substring(0, 7))));
+        versions.keySet().removeIf(existing -> !isTrackedMonth(YearMonth.parse(existing)));
+
+        long version = versions.getOrDefault(period, 0L);
+        TopKTracker warmed = warm(month, category);
+        versions.compute(period, (ignored, current) -> {
+            if ((current == null ? 0L : current) == version) {
+                trackers.putIfAbsent(key, warmed);
+            }
+            return current;
+        });
+        return warmed.top(limit);
+    }
+
+    private TopKTracker warm(YearMonth month, RankingCategory category) {
+        TopKTracker tracker = new TopKTracker(TRACKED_POSITIONS);
+        rankingRepository.findTop(month.toString(), category, PageRequest.of(0, TRACKED_POSITIONS))
+                .forEach(entry -> tracker.offer(entry.getKey(), entry.getLabel(), entry.getScore()));
+        return tracker;
+    }
+
+    private void evict(String period) {
+        versions.compute(period, (ignored, version) -> {
+            trackers.keySet().removeIf(key -> key.startsWith(period + "|"));
+            return version == null ? 1L : version + 1;
+        });
+    }
+
+    private static boolean isTrackedMonth(YearMonth month) {
+        YearMonth current = YearMonth.now();
+        return month.equals(current) || month.equals(current.minusMonths(1));
+    }
+
+    private static String trackerKey(String period, RankingCategory category) {
+        return period + "|" + category.name();
+    }
+
+    private static String periodOf(Bill bill) {
+        LocalDate issued = bill.getIssueDate().toLocalDate();
+        return YearMonth.from(issued).toString();
+    }
+
+    private static boolean isCustomerBill(Bill bill) {
+        if (bill == null || bill.getIssueDate() == null || bill.getOrder() == null) {
+            return false;
+        }
+        User user = bill.getOrder().getUser();
+        return user != null && user.getId() != null && UserSegment.of(user) == UserSegment.CUSTOMER;
+    }
+
+    /**
+     * Customer or product whose score was changed by a bill.
+     */
+    private record Subject(RankingCategory category, String key, String label) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.goldeneggs.MonthlyRanking;
+
+/**
+ * Kind of subject tracked in a {@link MonthlyRanking}.
+ */
+public enum RankingCategory {
+
+    /**
+     * Customers ranked by the amount billed to them. Keyed by user ID.
+     */
+    CUSTOMER,
+
+    /**
+     * Products ranked by the number of order lines sold. Keyed by "type - color".
+     */
+    PRODUCT
+}
@@ -0,0 +1,94 @@
+package com.goldeneggs.MonthlyRanking;
+
+import com.goldeneggs.Dto.Statistics.RankingEntryDto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded in-memory leaderboard holding at most {@code k} subjects.
+ * <p>
+ * Subjects are offered with their new accumulated score. As long as scores only grow,
+ * the tracker stays exact: a subject outside the top-K can only enter it by being
+ * offered a score above the current minimum. Decreasing scores must be handled by
+ * discarding the tracker and warming it again from the ranking table.
+ * </p>
+ */
+public class TopKTracker {
+
+    private final int k;
+    private final Map<String, RankingEntryDto> entries;
+
+    /**
+     * Creates an empty tracker.
+     *
+     * @param k Maximum number of subjects kept.
+     */
+    public TopKTracker(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        this.k = k;
+        this.entries = new HashMap<>(k * 2);
+    }
+
+    /**
+     * Offers the current score of a subject.
+     *
+     * @param key   Stable key of the subject.
+     * @param label Display name of the subject.
+     * @param score Accumulated score of the subject.
+     */
+    public synchronized void offer(String key, String label, double score) {
+        RankingEntryDto existing = entries.get(key);
+        if (existing != null) {
+            existing.setLabel(label);
+            existing.setScore(score);
+            return;
+        }
+        if (entries.size() < k) {
+            entries.put(key, new RankingEntryDto(key, label, score));
+            return;
+        }
+        RankingEntryDto min = minimum();
+        if (score > min.getScore()) {
+            entries.remove(min.getKey());
+            entries.put(key, new RankingEntryDto(key, label, score));
+        }
+    }
+
+    /**
+     * Returns the tracked subjects, best first.
+     *
+     * @param limit Maximum number of positions to return.
+     * @return A copy of the leaderboard.
+     */
+    public synchronized List<RankingEntryDto> top(int limit) {
+        List<RankingEntryDto> result = new ArrayList<>(entries.size());
+        for (RankingEntryDto entry : entries.values()) {
+            result.add(new RankingEntryDto(entry.getKey(), entry.getLabel(), entry.getScore()));
+        }
+        result.sort(Comparator.comparing(RankingEntryDto::getScore).reversed());
+        return result.size() > limit ? result.subList(0, limit) : result;
+    }
+
+    /**
+     * @return the maximum number of subjects kept.
+     */
+    public int capacity() {
+        return k;
+    }
+
+    private RankingEntryDto minimum() {
+        RankingEntryDto min = null;
+        for (RankingEntryDto entry : entries.values()) {
+            if (min == null || entry.getScore() < min.getScore()) {
+                min = entry;
+            }
+        }
+        return min;
+    }
+}
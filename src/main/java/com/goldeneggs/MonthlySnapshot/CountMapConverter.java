@@ -0,0 +1,18 @@
+package com.goldeneggs.MonthlySnapshot;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import jakarta.persistence.Converter;
+
+import java.util.Map;
+
+/**
+ * Converts a map of counts (by order state or by day) to JSON.
+ */
+@Converter
+public class CountMapConverter extends JsonAttributeConverter<Map<String, Long>> {
+
+    public CountMapConverter() {
+        super(new TypeReference<>() {
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package com.goldeneggs.MonthlySnapshot;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+
+/**
+ * Stores a structured snapshot attribute as a JSON document in a text column.
+ *
+ * @param <T> the attribute type.
+ */
+abstract class JsonAttributeConverter<T> implements AttributeConverter<T, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final TypeReference<T> type;
+
+    protected JsonAttributeConverter(TypeReference<T> type) {
+        this.type = type;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(T attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        try {
+            return MAPPER.writeValueAsString(attribute);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize snapshot attribute", e);
+        }
+    }
+
+    @Override
+    public T convertToEntityAttribute(String json) {
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        try {
+            return MAPPER.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read snapshot attribute", e);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.goldeneggs.MonthlySnapshot;
+
+import com.goldeneggs.Dto.Statistics.RankingEntryDto;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Frozen figures of a closed calendar month.
+ * <p>
+ * Snapshots are written once by the month-close job and never updated, so the
+ * analytics read past months from a single row instead of recomputing them from
+ * bills and orders. The same structure is built on the fly for the open month.
+ * Only bills and orders of users with the "CUSTOMER" role are counted.
+ * </p>
+ */
+@Entity
+@Immutable
+@Table(name = "monthly_snapshots",
+        uniqueConstraints = @UniqueConstraint(name = "uk_monthly_snapshots_period", columnNames = "period"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthlySnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Month the snapshot belongs to, formatted as yyyy-MM.
+     */
+    @Column(name = "period", nullable = false, length = 7)
+    private String period;
+
+    /**
+     * Moment the month was closed; {@code null} for the live view of the open month.
+     */
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+
+    /**
+     * Amount billed to customers.
+     */
+    @Column(name = "total_sales", nullable = false)
+    private double totalSales;
+
+    /**
+     * Number of bills issued to customers.
+     */
+    @Column(name = "customer_bills", nullable = false)
+    private long customerBills;
+
+    /**
+     * Number of those bills that are paid.
+     */
+    @Column(name = "paid_bills", nullable = false)
+    private long paidBills;
+
+    /**
+     * Payments received for customer orders.
+     */
+    @Column(name = "income", nullable = false)
+    private double income;
+
+    /**
+     * Payments made for inventory purchases.
+     */
+    @Column(name = "expenses", nullable = false)
+    private double expenses;
+
+    /**
+     * Number of orders placed by customers.
+     */
+    @Column(name = "orders", nullable = false)
+    private long orders;
+
+    /**
+     * Sum of the totals of those orders, used to average the ticket across months.
+     */
+    @Column(name = "orders_total", nullable = false)
+    private double ordersTotal;
+
+    /**
+     * Date of the last customer order of the month, if any.
+     */
+    @Column(name = "last_order_date")
+    private java.sql.Date lastOrderDate;
+
+    /**
+     * Day of the month with the lowest billed amount, if any.
+     */
+    @Column(name = "least_sales_day")
+    private java.sql.Date leastSalesDay;
+
+    /**
+     * Amount billed on {@link #leastSalesDay}.
+     */
+    @Column(name = "least_sales_amount")
+    private Double leastSalesAmount;
+
+    /**
+     * Sum of the hours between order and bill, used to average the lead time across months.
+     */
+    @Column(name = "order_to_bill_hours", nullable = false)
+    private long orderToBillHours;
+
+    /**
+     * Number of bills included in {@link #orderToBillHours}.
+     */
+    @Column(name = "order_to_bill_count", nullable = false)
+    private long orderToBillCount;
+
+    /**
+     * Customer orders by state.
+     */
+    @Convert(converter = CountMapConverter.class)
+    @Column(name = "orders_by_state", columnDefinition = "TEXT")
+    @Builder.Default
+    private Map<String, Long> ordersByState = new LinkedHashMap<>();
+
+    /**
+     * Customer orders by day (yyyy-MM-dd).
+     */
+    @Convert(converter = CountMapConverter.class)
+    @Column(name = "orders_by_day", columnDefinition = "TEXT")
+    @Builder.Default
+    private Map<String, Long> ordersByDay = new LinkedHashMap<>();
+
+    /**
+     * Best customers of the month.
+     */
+    @Convert(converter = RankingListConverter.class)
+    @Column(name = "top_customers", columnDefinition = "TEXT")
+    @Builder.Default
+    private List<RankingEntryDto> topCustomers = new ArrayList<>();
+
+    /**
+     * Most sold products of the month.
+     */
+    @Convert(converter = RankingListConverter.class)
+    @Column(name = "top_products", columnDefinition = "TEXT")
+    @Builder.Default
+    private List<RankingEntryDto> topProducts = new ArrayList<>();
+}
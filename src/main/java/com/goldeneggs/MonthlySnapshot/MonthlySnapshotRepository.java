@@ -0,0 +1,38 @@
+package com.goldeneggs.MonthlySnapshot;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for managing {@link MonthlySnapshot} entities.
+ */
+@Repository
+public interface MonthlySnapshotRepository extends JpaRepository<MonthlySnapshot, Long> {
+
+    /**
+     * Retrieves the snapshot of a closed month.
+     *
+     * @param period The month, formatted as yyyy-MM.
+     * @return The snapshot, if the month was closed.
+     */
+    Optional<MonthlySnapshot> findByPeriod(String period);
+
+    /**
+     * Retrieves every snapshot in chronological order.
+     *
+     * @return The snapshots of all closed months.
+     */
+    List<MonthlySnapshot> findAllByOrderByPeriodAsc();
+
+    /**
+     * Retrieves the latest closed month.
+     *
+     * @return The latest period, formatted as yyyy-MM, or {@code null} if no month was closed.
+     */
+    @Query("SELECT MAX(s.period) FROM MonthlySnapshot s")
+    String findLatestPeriod();
+}
@@ -0,0 +1,222 @@
+package com.goldeneggs.MonthlySnapshot;
+
+import com.goldeneggs.Bill.Bill;
+import com.goldeneggs.Bill.BillRepository;
+import com.goldeneggs.MonthlyRanking.MonthlyRankingService;
+import com.goldeneggs.Order.Order;
+import com.goldeneggs.Order.OrderRepository;
+import com.goldeneggs.Pay.PayRepository;
+import com.goldeneggs.User.UserSegment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closes calendar months into immutable {@link MonthlySnapshot}s and serves the
+ * monthly figures to the analytics.
+ * <p>
+ * Closed months are read from their snapshot; only the open month is computed from
+ * bills, orders and payments, so the cost of a report depends on the volume of the
+ * current month rather than on the whole history.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class MonthlySnapshotService {
+
+    /**
+     * Number of customers and products frozen per month.
+     */
+    public static final int TOP_POSITIONS = 10;
+
+    private final MonthlySnapshotRepository snapshotRepository;
+    private final BillRepository billRepository;
+    private final OrderRepository orderRepository;
+    private final PayRepository payRepository;
+    private final MonthlyRankingService monthlyRankingService;
+
+    /**
+     * Retrieves the figures of a month: its snapshot when the month is closed,
+     * or a live computation for the open month (and for closed months that were
+     * not snapshotted yet).
+     *
+     * @param month the month to read.
+     * @return the figures of the month.
+     */
+    public MonthlySnapshot get(YearMonth month) {
+        return findClosed(month).orElseGet(() -> summarize(month));
+    }
+
+    /**
+     * Retrieves the snapshot of a month if the month is closed and was already snapshotted.
+     *
+     * @param month the month to read.
+     * @return the frozen snapshot, or empty for the open month.
+     */
+    public Optional<MonthlySnapshot> findClosed(YearMonth month) {
+        if (!month.isBefore(YearMonth.now())) {
+            return Optional.empty();
+        }
+        return snapshotRepository.findByPeriod(month.toString());
+    }
+
+    /**
+     * Retrieves the figures of every month with activity, oldest first.
+     * Closed months come from their snapshots and the open month is computed live.
+     *
+     * @return the monthly figures, one per month.
+     */
+    public List<MonthlySnapshot> history() {
+        List<MonthlySnapshot> months = new ArrayList<>(snapshotRepository.findAllByOrderByPeriodAsc());
+        YearMonth current = YearMonth.now();
+        YearMonth next = months.isEmpty()
+                ? firstMonthWithActivity()
+                : YearMonth.parse(months.get(months.size() - 1).getPeriod()).plusMonths(1);
+        if (next == null) {
+            next = current;
+        }
+        for (YearMonth month = next; !month.isAfter(current); month = month.plusMonths(1)) {
+            months.add(summarize(month));
+        }
+        return months;
+    }
+
+    /**
+     * Freezes a closed month into its snapshot. Closing a month twice keeps the first snapshot.
+     * <p>
+     * The leaderboards of the month are rebuilt from its bills first: the snapshot can never
+     * change afterwards, and on startup the ranking table may not have been filled yet.
+     * </p>
+     *
+     * @param month the month to close; it must be before the current month.
+     * @return the snapshot of the month.
+     * @throws IllegalArgumentException if the month is not closed yet.
+     */
+    @Transactional
+    public MonthlySnapshot close(YearMonth month) {
+        if (!month.isBefore(YearMonth.now())) {
+            throw new IllegalArgumentException("Month " + month + " is still open");
+        }
+        return snapshotRepository.findByPeriod(month.toString())
+                .orElseGet(() -> {
+                    monthlyRankingService.rebuild(month);
+                    MonthlySnapshot snapshot = summarize(month);
+                    snapshot.setClosedAt(LocalDateTime.now());
+                    return snapshotRepository.save(snapshot);
+                });
+    }
+
+    /**
+     * Month-close job: snapshots every finished month that has no snapshot yet.
+     * Runs at the start of each month and once when the application starts, so
+     * months missed while the application was down are backfilled.
+     */
+    @Scheduled(cron = "${goldeneggs.snapshots.close-cron:0 5 0 1 * *}")
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void closeFinishedMonths() {
+        String latest = snapshotRepository.findLatestPeriod();
+        YearMonth first = latest != null ? YearMonth.parse(latest).plusMonths(1) : firstMonthWithActivity();
+        if (first == null) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        for (YearMonth month = first; month.isBefore(current); month = month.plusMonths(1)) {
+            close(month);
+        }
+    }
+
+    /**
+     * Computes the figures of a month from its bills, orders and payments.
+     *
+     * @param month the month to compute.
+     * @return an unsaved snapshot of the month.
+     */
+    public MonthlySnapshot summarize(YearMonth month) {
+        Date start = Date.valueOf(month.atDay(1));
+        Date end = Date.valueOf(month.atEndOfMonth());
+
+        List<Bill> bills = billRepository.findBySegmentBetween(start, end, UserSegment.CUSTOMER);
+        List<Order> orders = orderRepository.findBySegmentBetween(start, end, UserSegment.CUSTOMER);
+
+        MonthlySnapshot snapshot = new MonthlySnapshot();
+        snapshot.setPeriod(month.toString());
+
+        Map<LocalDate, Double> salesByDay = new TreeMap<>();
+        for (Bill bill : bills) {
+            snapshot.setTotalSales(snapshot.getTotalSales() + bill.getTotalPrice());
+            snapshot.setCustomerBills(snapshot.getCustomerBills() + 1);
+            if (bill.isPaid()) {
+                snapshot.setPaidBills(snapshot.getPaidBills() + 1);
+            }
+            if (bill.getIssueDate() != null) {
+                salesByDay.merge(bill.getIssueDate().toLocalDate(), bill.getTotalPrice(), Double::sum);
+                if (bill.getOrder().getOrderDate() != null) {
+                    long diff = bill.getIssueDate().getTime() - bill.getOrder().getOrderDate().getTime();
+                    snapshot.setOrderToBillHours(snapshot.getOrderToBillHours() + TimeUnit.MILLISECONDS.toHours(diff));
+                    snapshot.setOrderToBillCount(snapshot.getOrderToBillCount() + 1);
+                }
+            }
+        }
+        salesByDay.entrySet().stream()
+                .min(Map.Entry.comparingByValue())
+                .ifPresent(least -> {
+                    snapshot.setLeastSalesDay(Date.valueOf(least.getKey()));
+                    snapshot.setLeastSalesAmount(least.getValue());
+                });
+
+        Map<String, Long> ordersByDay = new TreeMap<>();
+        for (Order order : orders) {
+            snapshot.setOrders(snapshot.getOrders() + 1);
+            snapshot.setOrdersTotal(snapshot.getOrdersTotal() + order.getTotalPrice());
+            if (order.getState() != null) {
+                snapshot.getOrdersByState().merge(order.getState(), 1L, Long::sum);
+            }
+            if (order.getOrderDate() != null) {
+                ordersByDay.merge(order.getOrderDate().toLocalDate().toString(), 1L, Long::sum);
+            }
+        }
+        snapshot.getOrdersByDay().putAll(ordersByDay);
+        orders.stream()
+                .map(Order::getOrderDate)
+                .filter(date -> date != null)
+                .max(Comparator.naturalOrder())
+                .ifPresent(snapshot::setLastOrderDate);
+
+        snapshot.setIncome(orZero(payRepository.sumAmountPaidInCurrentMonth(start, end)));
+        snapshot.setExpenses(orZero(payRepository.sumAmountSaleInCurrentMonth(start, end)));
+        snapshot.setTopCustomers(new ArrayList<>(monthlyRankingService.topCustomers(month, TOP_POSITIONS)));
+        snapshot.setTopProducts(new ArrayList<>(monthlyRankingService.topProducts(month, TOP_POSITIONS)));
+        return snapshot;
+    }
+
+    private YearMonth firstMonthWithActivity() {
+        Date firstBill = billRepository.findEarliestIssueDate();
+        Date firstOrder = orderRepository.findEarliestOrderDate();
+        if (firstBill == null && firstOrder == null) {
+            return null;
+        }
+        Date first = firstBill == null ? firstOrder
+                : firstOrder == null || firstBill.before(firstOrder) ? firstBill : firstOrder;
+        return YearMonth.from(first.toLocalDate());
+    }
+
+    private static double orZero(Double value) {
+        return value != null ? value : 0.0;
+    }
+}
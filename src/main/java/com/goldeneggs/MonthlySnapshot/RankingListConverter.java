@@ -0,0 +1,19 @@
+package com.goldeneggs.MonthlySnapshot;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.goldeneggs.Dto.Statistics.RankingEntryDto;
+import jakarta.persistence.Converter;
+
+import java.util.List;
+
+/**
+ * Converts a frozen leaderboard to JSON.
+ */
+@Converter
+public class RankingListConverter extends JsonAttributeConverter<List<RankingEntryDto>> {
+
+    public RankingListConverter() {
+        super(new TypeReference<>() {
+        });
+    }
+}
@@ -4,7 +4,10 @@ import com.goldeneggs.OrderEgg.OrderEgg;
 import com.goldeneggs.User.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
 import java.sql.Date;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -59,6 +62,13 @@ public class Order {
     @Temporal(TemporalType.DATE)
     private Date orderDate;
 
+    /**
+     * Exact moment the order was placed, used to measure fulfilment latencies.
+     */
+    @CreationTimestamp
+    @Column(name = "placed_at", updatable = false)
+    private LocalDateTime placedAt;
+
     /**
      * Current state of the order.
      */
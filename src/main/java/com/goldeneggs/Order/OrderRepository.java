@@ -1,11 +1,15 @@
 package com.goldeneggs.Order;
 
 import com.goldeneggs.User.User;
+import com.goldeneggs.User.UserSegment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -33,6 +37,18 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o FROM Order o WHERE o.orderDate BETWEEN :start AND :end")
     List<Order> findOrdersInCurrentMonth(@Param("start") Date start, @Param("end") Date end);
 
+    /**
+     * Retrieves the orders placed within a date range by users of the given segment.
+     *
+     * @param start   The start date (inclusive).
+     * @param end     The end date (inclusive).
+     * @param segment The segment of the users whose orders should be retrieved.
+     * @return the matching orders.
+     */
+    @Query("SELECT o FROM Order o WHERE o.orderDate BETWEEN :start AND :end AND o.user.segment = :segment")
+    List<Order> findBySegmentBetween(@Param("start") Date start, @Param("end") Date end,
+                                     @Param("segment") UserSegment segment);
+
     /**
      * Counts the number of orders placed within the specified date range for the current month.
      *
@@ -60,5 +76,42 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o FROM Order o WHERE o.user.id = :id")
     List<Order> getOrdersByUserId(Long id);
 
+    /**
+     * Retrieves the date of the oldest order.
+     *
+     * @return the earliest order date, or {@code null} if there are no orders.
+     */
+    @Query("SELECT MIN(o.orderDate) FROM Order o")
+    java.sql.Date findEarliestOrderDate();
+
+    /**
+     * Retrieves the IDs of the orders of a user that follow the given ID, in ascending order.
+     *
+     * @param userId   the ID of the user.
+     * @param afterId  the ID after which to start, 0 to start from the first order.
+     * @param pageable the chunk size; only the first page is meant to be requested.
+     * @return the IDs of the next orders of the user.
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.user.id = :userId AND o.id > :afterId ORDER BY o.id")
+    List<Long> findIdsByUserIdAfter(@Param("userId") Long userId, @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Retrieves the dates of the given orders.
+     *
+     * @param ids the IDs of the orders.
+     * @return the distinct order dates.
+     */
+    @Query("SELECT DISTINCT o.orderDate FROM Order o WHERE o.id IN :ids")
+    List<java.sql.Date> findOrderDatesByIdIn(@Param("ids") Collection<Long> ids);
 
+    /**
+     * Deletes the given orders in one statement. Their lines, bills, payments and
+     * inventory movements must have been deleted first.
+     *
+     * @param ids the IDs of the orders.
+     * @return the number of orders deleted.
+     */
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 }
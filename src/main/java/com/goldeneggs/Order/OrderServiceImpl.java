@@ -10,12 +10,15 @@ import com.goldeneggs.Egg.Egg;
 import com.goldeneggs.Egg.EggService;
 import com.goldeneggs.Exception.InvalidOrderDataException;
 import com.goldeneggs.Exception.ResourceNotFoundException;
+import com.goldeneggs.MonthlyCounter.CounterMetric;
+import com.goldeneggs.MonthlyCounter.MonthlyCounterService;
 import com.goldeneggs.Pay.PayService;
 import com.goldeneggs.User.User;
 import com.goldeneggs.OrderEgg.OrderEgg;
 import com.goldeneggs.User.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -43,6 +46,8 @@ public class OrderServiceImpl implements OrderService {
 
     private final EggService eggService;
 
+    private final MonthlyCounterService monthlyCounterService;
+
     /**
      * Constructs an instance of the OrderServiceImpl class.
      *
@@ -50,14 +55,16 @@ public class OrderServiceImpl implements OrderService {
      * @param billService The service responsible for generating bills for orders.
      * @param payService The service responsible for processing payments for orders.
      * @param userRepository The repository used to manage and retrieve user data.
+     * @param monthlyCounterService The service maintaining the month-to-date order counter.
      */
     @Autowired
-    public OrderServiceImpl(OrderRepository orderRepository, BillService billService, PayService payService, UserRepository userRepository, EggService eggService) {
+    public OrderServiceImpl(OrderRepository orderRepository, BillService billService, PayService payService, UserRepository userRepository, EggService eggService, MonthlyCounterService monthlyCounterService) {
         this.orderRepository = orderRepository;
         this.userRepository = userRepository;
         this.billService = billService;
         this.payService = payService;
         this.eggService = eggService;
+        this.monthlyCounterService = monthlyCounterService;
     }
 
 
@@ -102,6 +109,7 @@ public class OrderServiceImpl implements OrderService {
      * @return The saved order or throws error
      */
     @Override
+    @Transactional
     public Order saveOrder(OrderRequestDTO dto) {
         User user = userRepository.findById(dto.getIdCustomer())
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
@@ -136,22 +144,31 @@ public class OrderServiceImpl implements OrderService {
         }).collect(Collectors.toList());
 
         savedOrder.setOrderEggs(orderEggs);
-        return orderRepository.save(savedOrder); // actualizar con los huevos
+        Order completed = orderRepository.save(savedOrder); // actualizar con los huevos
+        monthlyCounterService.recordOrder(completed);
+        return completed;
     }
 
     @Override
+    @Transactional
     public Order updateOrder(Long id, Order order) {
         Order existing = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order with ID " + id + " not found."));
 
         validateOrderOrThrow(existing);
+        monthlyCounterService.removeOrder(Order.builder()
+                .orderDate(existing.getOrderDate())
+                .state(existing.getState())
+                .build());
 
         existing.setUser(order.getUser());
         existing.setOrderEggs(order.getOrderEggs());
         existing.setTotalPrice(order.getTotalPrice());
         existing.setOrderDate(order.getOrderDate());
         existing.setState(order.getState());
-        return orderRepository.save(existing);
+        Order saved = orderRepository.save(existing);
+        monthlyCounterService.recordOrder(saved);
+        return saved;
     }
 
     /**
@@ -161,10 +178,12 @@ public class OrderServiceImpl implements OrderService {
      * @throws ResourceNotFoundException If the order with the given ID does not exist.
      */
     @Override
+    @Transactional
     public void deleteOrder(Long id) {
         Order order = orderRepository.findById(id).orElseThrow(() ->
                 new ResourceNotFoundException("Order with ID " + id + " not found.")
         );
+        monthlyCounterService.removeOrder(order);
         orderRepository.delete(order);
     }
 
@@ -184,21 +203,14 @@ public class OrderServiceImpl implements OrderService {
     }
 
     /**
-     * Counts the number of orders placed within the current month.
-     * This method calculates the start and end dates of the current month
-     * and queries the order repository to determine the total count of orders
-     * placed during this period.
+     * Counts the number of orders placed within the current month, excluding inventory purchases.
+     * The value is read from the month-to-date counters maintained by {@link MonthlyCounterService}.
      *
      * @return The total count of orders placed in the current month. Returns 0 if no orders are found.
      */
     @Override
     public Long countOrdersInCurrentMonth() {
-        LocalDate now = LocalDate.now();
-        Date start = Date.from(now.withDayOfMonth(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
-        Date end = Date.from(now.atStartOfDay(ZoneId.systemDefault()).toInstant());
-
-        Long count = orderRepository.countOrdersInCurrentMonth(start, end);
-        return count != null ? count : 0L;
+        return monthlyCounterService.currentCount(CounterMetric.ORDERS);
     }
 
     public void validateOrderOrThrow(Order order) {
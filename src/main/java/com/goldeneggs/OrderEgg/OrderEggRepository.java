@@ -2,9 +2,13 @@ package com.goldeneggs.OrderEgg;
 
 import com.goldeneggs.Egg.Egg;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+
 /**
  * Repository for managing order egg entities.
  */
@@ -17,4 +21,13 @@ public interface OrderEggRepository extends JpaRepository<OrderEgg, Long> {
             "AND oe.order.state <> :excludedState")
     boolean existsByTypeAndColorInActiveOrders(String type, String color, String excludedState);
 
+    /**
+     * Deletes the lines of the given orders in one statement.
+     *
+     * @param orderIds the IDs of the orders.
+     * @return the number of lines deleted.
+     */
+    @Modifying
+    @Query("DELETE FROM OrderEgg oe WHERE oe.order.id IN :orderIds")
+    int deleteAllByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
 }
@@ -5,8 +5,10 @@ import com.goldeneggs.Bill.Bill;
 import com.goldeneggs.User.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
 
 import java.io.Serializable;
+import java.time.LocalDateTime;
 
 /**
  * Represents a payment made by a customer for a bill.
@@ -26,17 +28,17 @@ public class Pay implements Serializable {
     /**
      * Customer who made the payment.
      */
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false)
-    @JsonIgnoreProperties("pays")
+    @JsonIgnoreProperties({"pays", "password", "hibernateLazyInitializer", "handler"})
     private User user;
 
     /**
      * Bill associated with this payment.
      */
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "bill_id", nullable = false)
-    @JsonIgnoreProperties("pays")
+    @JsonIgnoreProperties({"pays", "hibernateLazyInitializer", "handler"})
     private Bill bill;
 
     /**
@@ -50,4 +52,11 @@ public class Pay implements Serializable {
      */
     @Column(name = "payment_method", nullable = false)
     private String paymentMethod;
+
+    /**
+     * Exact moment the payment was registered, used to measure order-to-payment latency.
+     */
+    @CreationTimestamp
+    @Column(name = "paid_at", updatable = false)
+    private LocalDateTime paidAt;
 }
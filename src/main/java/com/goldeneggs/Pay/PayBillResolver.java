@@ -0,0 +1,34 @@
+package com.goldeneggs.Pay;
+
+import com.goldeneggs.Bill.Bill;
+import com.goldeneggs.Bill.BillRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Completes the bill of a payment before its order or issue date is read.
+ * <p>
+ * Payments received through the API only carry the bill ID, so the bill is loaded
+ * when its issue date or order is missing. Bills that cannot be loaded are returned
+ * as they came, and callers skip them when the fields they need are still missing.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class PayBillResolver {
+
+    private final BillRepository billRepository;
+
+    /**
+     * Loads the bill of a payment if only its ID is known.
+     *
+     * @param bill the bill referenced by the payment, possibly {@code null}.
+     * @return the stored bill, or {@code bill} if it is already complete or cannot be loaded.
+     */
+    public Bill resolve(Bill bill) {
+        if (bill == null || bill.getId() == null || (bill.getIssueDate() != null && bill.getOrder() != null)) {
+            return bill;
+        }
+        return billRepository.findById(bill.getId()).orElse(bill);
+    }
+}
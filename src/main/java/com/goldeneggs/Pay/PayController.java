@@ -1,13 +1,22 @@
 package com.goldeneggs.Pay;
 
+import com.goldeneggs.Dto.PayDto;
 import com.goldeneggs.Exception.InvalidPayDataException;
 import com.goldeneggs.Exception.ResourceNotFoundException;
+import com.goldeneggs.PaymentLedger.PaymentLedgerEntry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Set;
 
 /**
  * REST controller for managing payments.
@@ -17,6 +26,19 @@ import java.util.List;
 @CrossOrigin("*")
 public class PayController {
 
+    /**
+     * Properties the payment pages may be sorted by. Sorting by anything else is refused rather
+     * than passed on to the query.
+     */
+    private static final Set<String> SORTABLE = Set.of("id", "amountPaid", "paymentMethod", "paidAt");
+
+    /**
+     * Properties the ledger pages may be sorted by: the columns of the entries themselves.
+     * The running balances are left out, since they only read correctly in entry order.
+     */
+    private static final Set<String> LEDGER_SORTABLE = Set.of("id", "type", "payId", "billId", "customerId",
+            "paymentMethod", "amount", "income", "entryDay", "recordedAt");
+
     @Autowired
     private PayService payService;
 
@@ -53,13 +75,18 @@ public class PayController {
     }
 
     /**
-     * Retrieves all payments.
+     * Retrieves a page of payments, newest first unless another sort is requested.
      *
-     * @return List of all payments.
+     * @param pageable Page to retrieve, taken from the {@code page}, {@code size} and {@code sort} parameters.
+     * @return A page of payments, or 400 Bad Request if the sort is not allowed.
      */
     @GetMapping("/getAll")
-    public ResponseEntity<List<Pay>> getAll() {
-        return ResponseEntity.ok(payService.getAll());
+    public ResponseEntity<Page<PayDto>> getAll(
+            @PageableDefault(size = 20, sort = "id", direction = Sort.Direction.DESC) Pageable pageable) {
+        if (!isSortable(pageable, SORTABLE)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return ResponseEntity.ok(payService.getAll(pageable));
     }
 
     /**
@@ -108,6 +135,53 @@ public class PayController {
         return ResponseEntity.ok(total);
     }
 
+    /**
+     * Returns the income accounted between two days, read from the payment ledger.
+     *
+     * @param from First day, formatted as yyyy-MM-dd.
+     * @param to   Last day, formatted as yyyy-MM-dd.
+     * @return Income of the period as {@code Double}, or 400 if the days are not valid.
+     */
+    @GetMapping("/income")
+    public ResponseEntity<Double> getIncomeBetween(@RequestParam String from, @RequestParam String to) {
+        try {
+            LocalDate start = LocalDate.parse(from);
+            LocalDate end = LocalDate.parse(to);
+            if (end.isBefore(start)) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            return ResponseEntity.ok(payService.incomeBetween(start, end));
+        } catch (DateTimeParseException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Returns a page of the payment ledger, newest entries first unless another sort is requested.
+     *
+     * @param pageable Page to retrieve, taken from the {@code page}, {@code size} and {@code sort} parameters.
+     * @return A page of ledger entries, or 400 Bad Request if the sort is not allowed.
+     */
+    @GetMapping("/ledger")
+    public ResponseEntity<Page<PaymentLedgerEntry>> getLedger(
+            @PageableDefault(size = 50, sort = "id", direction = Sort.Direction.DESC) Pageable pageable) {
+        if (!isSortable(pageable, LEDGER_SORTABLE)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return ResponseEntity.ok(payService.getLedger(pageable));
+    }
+
+    /**
+     * Returns the audit trail of a payment.
+     *
+     * @param id ID of the payment.
+     * @return The ledger entries of the payment, oldest first.
+     */
+    @GetMapping("/ledger/{id}")
+    public ResponseEntity<List<PaymentLedgerEntry>> getLedgerOfPay(@PathVariable Long id) {
+        return ResponseEntity.ok(payService.getLedgerOfPay(id));
+    }
+
     /**
      * Returns the total income from payments made during the current month.
      *
@@ -129,4 +203,15 @@ public class PayController {
         Double total = payService.totalExpensesCurrentMonth();
         return ResponseEntity.ok(total);
     }
+
+    /**
+     * Tells whether the requested page is sorted only by allowed properties.
+     *
+     * @param pageable The requested page.
+     * @param sortable The properties the page may be sorted by.
+     * @return {@code true} if the sort can be passed to the repository.
+     */
+    private static boolean isSortable(Pageable pageable, Set<String> sortable) {
+        return pageable.getSort().stream().allMatch(order -> sortable.contains(order.getProperty()));
+    }
 }
@@ -1,11 +1,18 @@
 package com.goldeneggs.Pay;
 
 import com.goldeneggs.Bill.Bill;
+import com.goldeneggs.Dto.PayDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 
 /**
  * Repository for managing Pay entities.
@@ -20,6 +27,26 @@ public interface PayRepository extends JpaRepository<Pay, Long> {
      */
     void deleteAllByBill(Bill bill);
 
+    /**
+     * Retrieves all payment records associated with a specific bill.
+     *
+     * @param bill The bill whose payments are to be retrieved.
+     * @return The payments of the bill.
+     */
+    List<Pay> findAllByBill(Bill bill);
+
+    /**
+     * Retrieves a page of payments projected onto {@link PayDto}, reading only the
+     * payment, bill and customer columns the listing needs in a single query.
+     *
+     * @param pageable the page to retrieve and its sort order.
+     * @return a page of payments.
+     */
+    @Query(value = "SELECT new com.goldeneggs.Dto.PayDto(p.id, p.amountPaid, p.paymentMethod, p.paidAt, " +
+            "b.id, b.issueDate, b.totalPrice, u.id, u.name) FROM Pay p JOIN p.bill b JOIN p.user u",
+            countQuery = "SELECT COUNT(p) FROM Pay p")
+    Page<PayDto> findAllDtos(Pageable pageable);
+
     /**
      * Calculates the total sum of all payments made.
      *
@@ -54,5 +81,44 @@ public interface PayRepository extends JpaRepository<Pay, Long> {
             "WHERE p.bill.issueDate BETWEEN :start AND :end " +
             "AND p.bill.order.state = 'INVENTORY'")
     Double sumAmountSaleInCurrentMonth(@Param("start") Date start, @Param("end") Date end);
-}
 
+    /**
+     * Retrieves the payments of the bills of the given orders, with their bill and order.
+     *
+     * @param orderIds the IDs of the orders.
+     * @return the payments of the orders.
+     */
+    @Query("SELECT p FROM Pay p JOIN FETCH p.bill b JOIN FETCH b.order o WHERE o.id IN :orderIds")
+    List<Pay> findAllByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Deletes the payments of the bills of the given orders in one statement.
+     *
+     * @param orderIds the IDs of the orders.
+     * @return the number of payments deleted.
+     */
+    @Modifying
+    @Query("DELETE FROM Pay p WHERE p.bill.id IN (SELECT b.id FROM Bill b WHERE b.order.id IN :orderIds)")
+    int deleteAllByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Retrieves a chunk of the payments made by a user, with their bill and order.
+     * Used for the payments left once the user's own orders are gone.
+     *
+     * @param userId   the ID of the user.
+     * @param pageable the chunk size; only the first page is meant to be requested.
+     * @return the next payments of the user.
+     */
+    @Query("SELECT p FROM Pay p JOIN FETCH p.bill b JOIN FETCH b.order WHERE p.user.id = :userId ORDER BY p.id")
+    List<Pay> findChunkByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Deletes the given payments in one statement.
+     *
+     * @param ids the IDs of the payments.
+     * @return the number of payments deleted.
+     */
+    @Modifying
+    @Query("DELETE FROM Pay p WHERE p.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+}
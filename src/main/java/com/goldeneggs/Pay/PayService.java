@@ -1,9 +1,14 @@
 package com.goldeneggs.Pay;
 
 import com.goldeneggs.Bill.Bill;
+import com.goldeneggs.Dto.PayDto;
 import com.goldeneggs.Exception.ResourceNotFoundException;
+import com.goldeneggs.PaymentLedger.PaymentLedgerEntry;
 import org.apache.coyote.BadRequestException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -16,11 +21,12 @@ import java.util.List;
 public interface PayService {
 
     /**
-     * Retrieves all payments in the system.
+     * Retrieves a page of the payments in the system.
      *
-     * @return A list of all payments.
+     * @param pageable The page to retrieve and its sort order.
+     * @return A page of payments, with only the fields the listing shows.
      */
-    List<Pay> getAll();
+    Page<PayDto> getAll(Pageable pageable);
 
     /**
      * Retrieves a payment by its ID.
@@ -81,6 +87,31 @@ public interface PayService {
      */
     Double totalIncome();
 
+    /**
+     * Calculates the income accounted between two days, inventory payments excluded.
+     *
+     * @param from The first day (inclusive).
+     * @param to   The last day (inclusive).
+     * @return The income of the period as a {@code Double}.
+     */
+    Double incomeBetween(LocalDate from, LocalDate to);
+
+    /**
+     * Retrieves a page of the payment ledger, newest entries first.
+     *
+     * @param pageable The page to retrieve.
+     * @return A page of ledger entries.
+     */
+    Page<PaymentLedgerEntry> getLedger(Pageable pageable);
+
+    /**
+     * Retrieves the ledger entries of a payment, which form its audit trail.
+     *
+     * @param id The ID of the payment.
+     * @return The entries of the payment, oldest first.
+     */
+    List<PaymentLedgerEntry> getLedgerOfPay(Long id);
+
     /**
      * Calculates the total income from all payments made in the last calendar month.
      *
@@ -2,16 +2,22 @@ package com.goldeneggs.Pay;
 
 import com.goldeneggs.Bill.Bill;
 import com.goldeneggs.Bill.BillRepository;
+import com.goldeneggs.Dto.PayDto;
 import com.goldeneggs.Exception.InvalidPayDataException;
 import com.goldeneggs.Exception.ResourceNotFoundException;
+import com.goldeneggs.LatencyHistogram.LatencyHistogramService;
+import com.goldeneggs.MonthlyCounter.CounterMetric;
+import com.goldeneggs.MonthlyCounter.MonthlyCounterService;
+import com.goldeneggs.PaymentLedger.PaymentLedgerEntry;
+import com.goldeneggs.PaymentLedger.PaymentLedgerService;
 import com.goldeneggs.User.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.ZoneId;
-import java.util.Date;
 import java.util.List;
 
 /**
@@ -32,12 +38,21 @@ public class PayServiceImpl implements PayService {
     @Autowired
     private BillRepository  billRepository;
 
+    @Autowired
+    private MonthlyCounterService monthlyCounterService;
+
+    @Autowired
+    private LatencyHistogramService latencyHistogramService;
+
+    @Autowired
+    private PaymentLedgerService paymentLedgerService;
+
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<Pay> getAll() {
-        return payRepository.findAll();
+    public Page<PayDto> getAll(Pageable pageable) {
+        return payRepository.findAllDtos(pageable);
     }
 
     /**
@@ -53,85 +68,114 @@ public class PayServiceImpl implements PayService {
      * {@inheritDoc}
      */
     @Override
+    @Transactional
     public Pay save(Pay pay) {
         validatePayOrThrow(pay);
-        return payRepository.save(pay);
+        Pay saved = payRepository.save(pay);
+        monthlyCounterService.recordPay(saved);
+        latencyHistogramService.recordPay(saved);
+        paymentLedgerService.recordPayment(saved);
+        return saved;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Transactional
     public Pay update(Long id, Pay updatedPay) {
         Pay existing = payRepository.findById(id)
                         .orElseThrow(() -> new ResourceNotFoundException("Pay with ID " + id + " not found"));
 
         validatePayOrThrow(updatedPay);
+        Pay previous = Pay.builder()
+                .id(existing.getId())
+                .user(existing.getUser())
+                .bill(existing.getBill())
+                .amountPaid(existing.getAmountPaid())
+                .paymentMethod(existing.getPaymentMethod())
+                .build();
+        monthlyCounterService.removePay(previous);
+        paymentLedgerService.recordReversal(previous);
         existing.setUser(updatedPay.getUser());
         existing.setBill(updatedPay.getBill());
         existing.setAmountPaid(updatedPay.getAmountPaid());
         existing.setPaymentMethod(updatedPay.getPaymentMethod());
 
-        return payRepository.save(existing);
+        Pay saved = payRepository.save(existing);
+        monthlyCounterService.recordPay(saved);
+        paymentLedgerService.recordPayment(saved);
+        return saved;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Transactional
     public void delete(Long id) {
-        if (!payRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Cannot delete. Payment not found with ID: " + id);
-        }
+        Pay pay = payRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Cannot delete. Payment not found with ID: " + id));
+        monthlyCounterService.removePay(pay);
+        paymentLedgerService.recordReversal(pay);
         payRepository.deleteById(id);
     }
 
     /**
      * Calculates the total income from all payments in the system.
-     * If no payments exist, returns 0.0.
+     * The value is the running balance of the payment ledger, so no payment is scanned.
      *
      * @return The total sum of all payments as a {@code Double}, or 0.0 if no payments exist.
      */
     @Override
     public Double totalIncome() {
-        Double total = payRepository.sumAllByAmountPaid();
-        return total != null ? total : 0.0;
+        return paymentLedgerService.totalIncome();
     }
 
     /**
-     * Calculates the total income from all payments made in the last month.
-     * If no payments exist for the specified month, returns 0.0.
-     *
-     * @return The total sum of payments made in the last month as a {@code Double}, or 0.0 if no payments exist.
+     * {@inheritDoc}
      */
     @Override
-    public Double totalIncomeCurrentMonth() {
-        LocalDate now = LocalDate.now();
-        Date startOfMonth = Date.from(now.withDayOfMonth(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
-        Date today = Date.from(now.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    public Double incomeBetween(LocalDate from, LocalDate to) {
+        return paymentLedgerService.incomeBetween(from, to);
+    }
 
-        Double total = payRepository.sumAmountPaidInCurrentMonth(startOfMonth, today);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<PaymentLedgerEntry> getLedger(Pageable pageable) {
+        return paymentLedgerService.entries(pageable);
+    }
 
-        return total != null ? total : 0.0;
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<PaymentLedgerEntry> getLedgerOfPay(Long id) {
+        return paymentLedgerService.history(id);
     }
 
     /**
-     * Calculates the total income from all payments made in the last month.
-     * If no payments exist for the specified month, returns 0.0.
+     * Calculates the total income from all payments made in the current month.
+     * The value is read from the month-to-date counters maintained by {@link MonthlyCounterService}.
      *
-     * @return The total sum of payments made in the last month as a {@code Double}, or 0.0 if no payments exist.
+     * @return The total sum of payments made in the current month as a {@code Double}, or 0.0 if no payments exist.
      */
+    @Override
+    public Double totalIncomeCurrentMonth() {
+        return monthlyCounterService.currentValue(CounterMetric.INCOME);
+    }
 
+    /**
+     * Calculates the total paid for inventory purchases in the current month.
+     * The value is read from the month-to-date counters maintained by {@link MonthlyCounterService}.
+     *
+     * @return The total sum of inventory payments made in the current month as a {@code Double}, or 0.0 if none exist.
+     */
     @Override
     public Double totalExpensesCurrentMonth() {
-        LocalDate now = LocalDate.now();
-        Date startOfMonth = Date.from(now.withDayOfMonth(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
-        Date today = Date.from(now.atStartOfDay(ZoneId.systemDefault()).toInstant());
-
-        Double total = payRepository.sumAmountSaleInCurrentMonth(startOfMonth, today);
-        total = total/30;
-
-        return total != null ? total : 0.0;
+        return monthlyCounterService.currentValue(CounterMetric.EXPENSES);
     }
 
     /**
@@ -180,6 +224,7 @@ public class PayServiceImpl implements PayService {
      *                       Must not be null or empty.
      */
     @Override
+    @Transactional
     public void createPayForBill(Bill bill, String paymentMethod) {
        Pay pay = new Pay();
        pay.setBill(bill);
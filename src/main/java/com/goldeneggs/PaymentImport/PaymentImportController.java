@@ -0,0 +1,43 @@
+package com.goldeneggs.PaymentImport;
+
+import com.goldeneggs.Dto.Payment.PaymentImportResultDto;
+import com.goldeneggs.Exception.InvalidPayDataException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * REST controller for importing payment files.
+ */
+@RestController
+@RequestMapping("/api/v1/payments")
+@CrossOrigin("*")
+public class PaymentImportController {
+
+    @Autowired
+    private PaymentImportService paymentImportService;
+
+    /**
+     * Imports the payments of a CSV file and reconciles the bills they pay.
+     *
+     * @param file CSV file with the columns bill_id, customer_id, amount_paid and payment_method.
+     * @return The outcome of the import, or 400 Bad Request if the file cannot be read.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importPayments(@RequestParam("file") MultipartFile file) {
+        try (InputStream input = file.getInputStream()) {
+            PaymentImportResultDto result = paymentImportService.importCsv(input);
+            return ResponseEntity.ok(result);
+        } catch (InvalidPayDataException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (IOException e) {
+            return new ResponseEntity<>("The file could not be read", HttpStatus.BAD_REQUEST);
+        }
+    }
+}
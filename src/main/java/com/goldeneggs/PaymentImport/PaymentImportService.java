@@ -0,0 +1,272 @@
+package com.goldeneggs.PaymentImport;
+
+import com.goldeneggs.Bill.Bill;
+import com.goldeneggs.Bill.BillRepository;
+import com.goldeneggs.Dto.Payment.BillPaymentTotalDto;
+import com.goldeneggs.Dto.Payment.PaymentImportErrorDto;
+import com.goldeneggs.Dto.Payment.PaymentImportResultDto;
+import com.goldeneggs.Exception.InvalidPayDataException;
+import com.goldeneggs.MonthlyCounter.MonthlyCounterService;
+import com.goldeneggs.Pay.Pay;
+import com.goldeneggs.Pay.PayValidator;
+import com.goldeneggs.PaymentLedger.PaymentLedgerService;
+import com.goldeneggs.Reconciliation.ReconciliationService;
+import com.goldeneggs.User.User;
+import com.goldeneggs.User.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports the payment confirmations sent by the bank as CSV files.
+ * <p>
+ * The file is read line by line and processed in chunks. Each chunk resolves its bills
+ * and users with one query each, inserts its payments with a single batched statement and
+ * updates the counters and the ledger once, all in its own transaction. Once every chunk
+ * is stored, the bills that received payments are reconciled against their totals.
+ * </p>
+ * <p>
+ * The file must start with a header naming the columns {@code bill_id}, {@code customer_id},
+ * {@code amount_paid} and {@code payment_method}, in any order. Rows that cannot be imported
+ * are skipped and reported with their line number.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class PaymentImportService {
+
+    static final int CHUNK_SIZE = 1000;
+
+    /**
+     * Maximum number of rejected rows and mismatches listed in the result.
+     */
+    static final int MAX_LISTED = 100;
+
+    static final List<String> COLUMNS = List.of("bill_id", "customer_id", "amount_paid", "payment_method");
+
+    private static final String INSERT_PAY = "INSERT INTO pays (customer_id, bill_id, amount_paid, " +
+            "payment_method, paid_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BillRepository billRepository;
+    private final UserRepository userRepository;
+    private final MonthlyCounterService monthlyCounterService;
+    private final PaymentLedgerService paymentLedgerService;
+    private final ReconciliationService reconciliationService;
+
+    /**
+     * Imports the payments of a CSV file.
+     * <p>
+     * Chunks are committed as they are processed, so if a chunk fails the payments of the
+     * previous ones are kept.
+     * </p>
+     *
+     * @param input the contents of the file, encoded in UTF-8.
+     * @return the number of rows read, imported and rejected, and the mismatches found.
+     * @throws InvalidPayDataException if the file is empty or its header lacks a column.
+     * @throws IOException             if the file cannot be read.
+     */
+    public PaymentImportResultDto importCsv(InputStream input) throws IOException {
+        PaymentImportResultDto result = new PaymentImportResultDto();
+        Set<Long> paidBills = new LinkedHashSet<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null) {
+                throw new InvalidPayDataException("The file is empty");
+            }
+            int[] positions = positions(header);
+            List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+            long line = 1;
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                result.setRowsRead(result.getRowsRead() + 1);
+                Row row = parse(line, text, positions, result);
+                if (row == null) {
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk, result, paidBills);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, result, paidBills);
+            }
+        }
+        reconciliationService.reconcile(paidBills, mismatch -> addMismatch(result, mismatch));
+        return result;
+    }
+
+    private void importChunk(List<Row> rows, PaymentImportResultDto result, Set<Long> paidBills) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<Long> billIds = rows.stream().map(Row::billId).collect(Collectors.toSet());
+            Set<Long> userIds = rows.stream().map(Row::customerId).collect(Collectors.toSet());
+            Map<Long, Bill> bills = billRepository.findByIdIn(billIds).stream()
+                    .collect(Collectors.toMap(Bill::getId, Function.identity()));
+            Set<Long> users = new HashSet<>(userRepository.findExistingIds(userIds));
+
+            LocalDateTime paidAt = LocalDateTime.now();
+            List<Pay> pays = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                Bill bill = bills.get(row.billId());
+                if (bill == null) {
+                    reject(result, row.line(), "Bill does not exist");
+                } else if (!users.contains(row.customerId())) {
+                    reject(result, row.line(), "User does not exist");
+                } else {
+                    User user = new User();
+                    user.setId(row.customerId());
+                    pays.add(Pay.builder()
+                            .user(user)
+                            .bill(bill)
+                            .amountPaid(row.amountPaid())
+                            .paymentMethod(row.paymentMethod())
+                            .paidAt(paidAt)
+                            .build());
+                }
+            }
+            if (pays.isEmpty()) {
+                return;
+            }
+            insert(pays);
+            monthlyCounterService.recordPays(pays);
+            paymentLedgerService.recordPayments(pays);
+            result.setImported(result.getImported() + pays.size());
+            pays.forEach(pay -> paidBills.add(pay.getBill().getId()));
+        });
+    }
+
+    /**
+     * Inserts the payments with one batched statement and assigns them their generated IDs.
+     */
+    private void insert(List<Pay> pays) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_PAY, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Pay pay = pays.get(i);
+                        statement.setLong(1, pay.getUser().getId());
+                        statement.setLong(2, pay.getBill().getId());
+                        statement.setDouble(3, pay.getAmountPaid());
+                        statement.setString(4, pay.getPaymentMethod());
+                        statement.setTimestamp(5, Timestamp.valueOf(pay.getPaidAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return pays.size();
+                    }
+                },
+                keys);
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for (int i = 0; i < pays.size() && i < generated.size(); i++) {
+            Object id = generated.get(i).values().stream().findFirst().orElse(null);
+            if (id instanceof Number number) {
+                pays.get(i).setId(number.longValue());
+            }
+        }
+    }
+
+    /**
+     * Finds the position of each expected column in the header.
+     */
+    private static int[] positions(String header) {
+        String[] names = header.replace("\uFEFF", "").split(",", -1);
+        int[] positions = new int[COLUMNS.size()];
+        for (int column = 0; column < COLUMNS.size(); column++) {
+            positions[column] = -1;
+            for (int i = 0; i < names.length; i++) {
+                if (COLUMNS.get(column).equalsIgnoreCase(names[i].trim())) {
+                    positions[column] = i;
+                }
+            }
+            if (positions[column] < 0) {
+                throw new InvalidPayDataException("Missing column: " + COLUMNS.get(column));
+            }
+        }
+        return positions;
+    }
+
+    private static Row parse(long line, String text, int[] positions, PaymentImportResultDto result) {
+        String[] values = text.split(",", -1);
+        for (int position : positions) {
+            if (position >= values.length) {
+                reject(result, line, "Missing values");
+                return null;
+            }
+        }
+        long billId;
+        long customerId;
+        double amountPaid;
+        try {
+            billId = Long.parseLong(values[positions[0]].trim());
+            customerId = Long.parseLong(values[positions[1]].trim());
+            amountPaid = Double.parseDouble(values[positions[2]].trim());
+        } catch (NumberFormatException e) {
+            reject(result, line, "Invalid number");
+            return null;
+        }
+        String paymentMethod = values[positions[3]].trim().toUpperCase(Locale.ROOT);
+        if (!PayValidator.validateAmountPaid(amountPaid)) {
+            reject(result, line, "Invalid amount");
+            return null;
+        }
+        if (!PayValidator.validatePaymentMethod(paymentMethod)) {
+            reject(result, line, "Invalid payment method");
+            return null;
+        }
+        return new Row(line, billId, customerId, amountPaid, paymentMethod);
+    }
+
+    private static void reject(PaymentImportResultDto result, long line, String message) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getErrors().size() < MAX_LISTED) {
+            result.getErrors().add(new PaymentImportErrorDto(line, message));
+        }
+    }
+
+    private static void addMismatch(PaymentImportResultDto result, BillPaymentTotalDto mismatch) {
+        result.setMismatchCount(result.getMismatchCount() + 1);
+        if (result.getMismatches().size() < MAX_LISTED) {
+            result.getMismatches().add(mismatch);
+        }
+    }
+
+    /**
+     * Row of the file that passed the checks that do not need the database.
+     */
+    private record Row(long line, long billId, long customerId, double amountPaid, String paymentMethod) {
+    }
+}
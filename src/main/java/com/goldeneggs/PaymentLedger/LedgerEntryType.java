@@ -0,0 +1,22 @@
+package com.goldeneggs.PaymentLedger;
+
+/**
+ * Reason a {@link PaymentLedgerEntry} was appended.
+ */
+public enum LedgerEntryType {
+
+    /**
+     * Payment that existed before the ledger did, carried over when it was first filled.
+     */
+    OPENING,
+
+    /**
+     * Payment registered or amended.
+     */
+    PAYMENT,
+
+    /**
+     * Cancels a previous entry because its payment was amended or deleted.
+     */
+    REVERSAL
+}
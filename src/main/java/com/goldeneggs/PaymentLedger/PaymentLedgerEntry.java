@@ -0,0 +1,113 @@
+package com.goldeneggs.PaymentLedger;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Append-only record of one movement of money.
+ * <p>
+ * Each entry stores the running balances right after it was written, so the income of
+ * any period is the difference between two balances instead of a sum over the payments.
+ * Entries are never updated or deleted: amended and deleted payments are cancelled by a
+ * {@link LedgerEntryType#REVERSAL}, which keeps the ledger usable as an audit trail.
+ * </p>
+ */
+@Entity
+@Immutable
+@Table(name = "payment_ledger", indexes = {
+        @Index(name = "idx_payment_ledger_day", columnList = "entry_day, id"),
+        @Index(name = "idx_payment_ledger_method_day", columnList = "payment_method, entry_day, id"),
+        @Index(name = "idx_payment_ledger_pay", columnList = "pay_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Why the entry was written.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, length = 16)
+    private LedgerEntryType type;
+
+    /**
+     * ID of the payment the entry refers to. Kept after the payment is deleted.
+     */
+    @Column(name = "pay_id")
+    private Long payId;
+
+    /**
+     * ID of the bill that was paid.
+     */
+    @Column(name = "bill_id")
+    private Long billId;
+
+    /**
+     * ID of the user who made the payment.
+     */
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    /**
+     * Method used to pay (e.g., cash, card).
+     */
+    @Column(name = "payment_method", nullable = false)
+    private String paymentMethod;
+
+    /**
+     * Signed amount of the movement, negative for reversals.
+     */
+    @Column(name = "amount", nullable = false)
+    private double amount;
+
+    /**
+     * Whether the movement counts as income, i.e. it does not pay an inventory purchase.
+     */
+    @Column(name = "income", nullable = false)
+    private boolean income;
+
+    /**
+     * Day the movement is accounted to.
+     */
+    @Column(name = "entry_day", nullable = false)
+    private LocalDate entryDay;
+
+    /**
+     * Moment the entry was written.
+     */
+    @CreationTimestamp
+    @Column(name = "recorded_at", updatable = false)
+    private LocalDateTime recordedAt;
+
+    /**
+     * Total of every payment after this entry.
+     */
+    @Column(name = "balance", nullable = false)
+    private double balance;
+
+    /**
+     * Total of the income payments after this entry.
+     */
+    @Column(name = "income_balance", nullable = false)
+    private double incomeBalance;
+
+    /**
+     * Total of the payments made with {@link #paymentMethod} after this entry.
+     */
+    @Column(name = "method_balance", nullable = false)
+    private double methodBalance;
+}
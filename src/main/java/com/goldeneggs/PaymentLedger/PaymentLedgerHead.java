@@ -0,0 +1,40 @@
+package com.goldeneggs.PaymentLedger;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Current value of one running balance of the payment ledger.
+ * <p>
+ * Heads are incremented before an entry is appended, which locks them until the
+ * transaction ends, so concurrent payments get consecutive balances.
+ * </p>
+ */
+@Entity
+@Table(name = "payment_ledger_heads",
+        uniqueConstraints = @UniqueConstraint(name = "uk_payment_ledger_heads_key", columnNames = "head_key"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentLedgerHead {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Balance being tracked: every payment, income only, or one payment method.
+     */
+    @Column(name = "head_key", nullable = false, length = 128)
+    private String headKey;
+
+    /**
+     * Current balance.
+     */
+    @Column(name = "balance", nullable = false)
+    private double balance;
+}
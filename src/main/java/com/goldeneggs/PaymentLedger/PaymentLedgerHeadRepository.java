@@ -0,0 +1,38 @@
+package com.goldeneggs.PaymentLedger;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for managing {@link PaymentLedgerHead} entities.
+ */
+@Repository
+public interface PaymentLedgerHeadRepository extends JpaRepository<PaymentLedgerHead, Long> {
+
+    /**
+     * Adds the given amount to a balance, creating the row on first use.
+     *
+     * @param headKey The balance to adjust.
+     * @param amount  The amount to add (negative for reversals).
+     */
+    @Modifying
+    @Query(value = "INSERT INTO payment_ledger_heads (head_key, balance) " +
+            "VALUES (:headKey, :amount) " +
+            "ON DUPLICATE KEY UPDATE balance = balance + VALUES(balance)",
+            nativeQuery = true)
+    void increment(@Param("headKey") String headKey, @Param("amount") double amount);
+
+    /**
+     * Retrieves the current value of a balance.
+     *
+     * @param headKey The balance to read.
+     * @return The balance, if anything was recorded for it.
+     */
+    @Query("SELECT h.balance FROM PaymentLedgerHead h WHERE h.headKey = :headKey")
+    Optional<Double> findBalance(@Param("headKey") String headKey);
+}
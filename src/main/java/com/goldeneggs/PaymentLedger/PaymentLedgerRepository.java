@@ -0,0 +1,41 @@
+package com.goldeneggs.PaymentLedger;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for managing {@link PaymentLedgerEntry} entities.
+ */
+@Repository
+public interface PaymentLedgerRepository extends JpaRepository<PaymentLedgerEntry, Long> {
+
+    /**
+     * Retrieves the last entry accounted to the given day or before it.
+     *
+     * @param day The last day to consider.
+     * @return The latest entry, if there is any.
+     */
+    Optional<PaymentLedgerEntry> findFirstByEntryDayLessThanEqualOrderByEntryDayDescIdDesc(LocalDate day);
+
+    /**
+     * Retrieves the last entry of a payment method accounted to the given day or before it.
+     *
+     * @param paymentMethod The payment method.
+     * @param day           The last day to consider.
+     * @return The latest entry of the method, if there is any.
+     */
+    Optional<PaymentLedgerEntry> findFirstByPaymentMethodAndEntryDayLessThanEqualOrderByEntryDayDescIdDesc(
+            String paymentMethod, LocalDate day);
+
+    /**
+     * Retrieves every entry of a payment, oldest first.
+     *
+     * @param payId The ID of the payment.
+     * @return The entries of the payment.
+     */
+    List<PaymentLedgerEntry> findByPayIdOrderByIdAsc(Long payId);
+}
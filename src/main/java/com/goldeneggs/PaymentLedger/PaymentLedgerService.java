@@ -0,0 +1,269 @@
+package com.goldeneggs.PaymentLedger;
+
+import com.goldeneggs.Bill.Bill;
+import com.goldeneggs.Order.Order;
+import com.goldeneggs.Pay.Pay;
+import com.goldeneggs.Pay.PayBillResolver;
+import com.goldeneggs.Pay.PayRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the append-only payment ledger and answers income questions from it.
+ * <p>
+ * Every payment, amendment and deletion appends an entry carrying the running balances
+ * at that point. The all-time income is read from a single head row, and the income of
+ * a period is the difference between the balances of two entries found through an index,
+ * so neither depends on how many payments exist.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class PaymentLedgerService {
+
+    static final String ALL = "ALL";
+    static final String INCOME = "INCOME";
+    static final String METHOD_PREFIX = "METHOD:";
+
+    private static final String INSERT_ENTRY = "INSERT INTO payment_ledger (entry_type, pay_id, bill_id, " +
+            "customer_id, payment_method, amount, income, entry_day, recorded_at, balance, income_balance, " +
+            "method_balance) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final PaymentLedgerRepository ledgerRepository;
+    private final PaymentLedgerHeadRepository headRepository;
+    private final PayRepository payRepository;
+    private final PayBillResolver payBillResolver;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Appends a newly registered payment, accounted to the current day.
+     *
+     * @param pay the saved payment.
+     * @return the appended entry.
+     */
+    @Transactional
+    public PaymentLedgerEntry recordPayment(Pay pay) {
+        return append(LedgerEntryType.PAYMENT, pay, 1, LocalDate.now());
+    }
+
+    /**
+     * Appends a batch of newly registered payments, accounted to the current day.
+     * <p>
+     * Each head is advanced once for the whole batch and the entries are written with a
+     * single batched insert. The running balances are derived from the advanced heads, so
+     * they match what appending the payments one by one would have stored.
+     * </p>
+     *
+     * @param pays the saved payments, in the order they were registered.
+     */
+    @Transactional
+    public void recordPayments(List<Pay> pays) {
+        appendAll(LedgerEntryType.PAYMENT, pays, 1);
+    }
+
+    /**
+     * Cancels a payment that is being amended or deleted, accounted to the current day.
+     *
+     * @param pay the payment as it was recorded.
+     * @return the appended entry.
+     */
+    @Transactional
+    public PaymentLedgerEntry recordReversal(Pay pay) {
+        return append(LedgerEntryType.REVERSAL, pay, -1, LocalDate.now());
+    }
+
+    /**
+     * Cancels a batch of payments that are being deleted, accounted to the current day.
+     * The heads are moved back once for the whole batch, as in {@link #recordPayments(List)}.
+     *
+     * @param pays the payments as they were recorded.
+     */
+    @Transactional
+    public void recordReversals(List<Pay> pays) {
+        appendAll(LedgerEntryType.REVERSAL, pays, -1);
+    }
+
+    /**
+     * Retrieves the total of every payment ever registered.
+     *
+     * @return the total, or 0.0 if there are no payments.
+     */
+    public double totalIncome() {
+        return headRepository.findBalance(ALL).orElse(0.0);
+    }
+
+    /**
+     * Retrieves the income accounted between two days, inventory payments excluded.
+     *
+     * @param from the first day (inclusive).
+     * @param to   the last day (inclusive).
+     * @return the income of the period.
+     */
+    public double incomeBetween(LocalDate from, LocalDate to) {
+        return incomeBalanceAt(to) - incomeBalanceAt(from.minusDays(1));
+    }
+
+    /**
+     * Retrieves the amount paid with a payment method between two days.
+     *
+     * @param paymentMethod the payment method.
+     * @param from          the first day (inclusive).
+     * @param to            the last day (inclusive).
+     * @return the amount paid with the method in the period.
+     */
+    public double methodTotalBetween(String paymentMethod, LocalDate from, LocalDate to) {
+        return methodBalanceAt(paymentMethod, to) - methodBalanceAt(paymentMethod, from.minusDays(1));
+    }
+
+    /**
+     * Retrieves a page of the ledger.
+     *
+     * @param pageable the page to retrieve and its sort order.
+     * @return a page of entries.
+     */
+    public Page<PaymentLedgerEntry> entries(Pageable pageable) {
+        return ledgerRepository.findAll(pageable);
+    }
+
+    /**
+     * Retrieves the audit trail of a payment.
+     *
+     * @param payId the ID of the payment.
+     * @return the entries of the payment, oldest first.
+     */
+    public List<PaymentLedgerEntry> history(Long payId) {
+        return ledgerRepository.findByPayIdOrderByIdAsc(payId);
+    }
+
+    /**
+     * Carries the existing payments over the first time the application starts with an empty ledger.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        if (ledgerRepository.count() > 0) {
+            return;
+        }
+        payRepository.findAll().stream()
+                .map(pay -> new Opening(pay, openingDay(pay)))
+                .sorted(Comparator.comparing(Opening::day)
+                        .thenComparing(opening -> opening.pay().getId(), Comparator.nullsFirst(Comparator.naturalOrder())))
+                .forEach(opening -> append(LedgerEntryType.OPENING, opening.pay(), 1, opening.day()));
+    }
+
+    private void appendAll(LedgerEntryType type, List<Pay> pays, int sign) {
+        if (pays.isEmpty()) {
+            return;
+        }
+        List<Bill> bills = pays.stream().map(pay -> payBillResolver.resolve(pay.getBill())).toList();
+        double allTotal = 0.0;
+        double incomeTotal = 0.0;
+        Map<String, Double> methodTotals = new TreeMap<>();
+        for (int i = 0; i < pays.size(); i++) {
+            double amount = sign * pays.get(i).getAmountPaid();
+            allTotal += amount;
+            incomeTotal += isIncome(bills.get(i)) ? amount : 0.0;
+            methodTotals.merge(pays.get(i).getPaymentMethod(), amount, Double::sum);
+        }
+
+        // Same lock order as append: ALL, INCOME, then the methods.
+        headRepository.increment(ALL, allTotal);
+        headRepository.increment(INCOME, incomeTotal);
+        methodTotals.forEach((method, amount) -> headRepository.increment(METHOD_PREFIX + method, amount));
+
+        double balance = headRepository.findBalance(ALL).orElse(0.0) - allTotal;
+        double incomeBalance = headRepository.findBalance(INCOME).orElse(0.0) - incomeTotal;
+        Map<String, Double> methodBalances = new HashMap<>();
+        methodTotals.forEach((method, amount) -> methodBalances.put(method,
+                headRepository.findBalance(METHOD_PREFIX + method).orElse(0.0) - amount));
+
+        LocalDate day = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(pays.size());
+        for (int i = 0; i < pays.size(); i++) {
+            Pay pay = pays.get(i);
+            Bill bill = bills.get(i);
+            boolean income = isIncome(bill);
+            double amount = sign * pay.getAmountPaid();
+            balance += amount;
+            incomeBalance += income ? amount : 0.0;
+            double methodBalance = methodBalances.merge(pay.getPaymentMethod(), amount, Double::sum);
+            rows.add(new Object[]{
+                    type.name(), pay.getId(), bill != null ? bill.getId() : null,
+                    pay.getUser() != null ? pay.getUser().getId() : null, pay.getPaymentMethod(), amount, income,
+                    day, now, balance, incomeBalance, methodBalance});
+        }
+        jdbcTemplate.batchUpdate(INSERT_ENTRY, rows);
+    }
+
+    private PaymentLedgerEntry append(LedgerEntryType type, Pay pay, int sign, LocalDate day) {
+        Bill bill = payBillResolver.resolve(pay.getBill());
+        boolean income = isIncome(bill);
+        double amount = sign * pay.getAmountPaid();
+        String methodKey = METHOD_PREFIX + pay.getPaymentMethod();
+
+        headRepository.increment(ALL, amount);
+        headRepository.increment(INCOME, income ? amount : 0.0);
+        headRepository.increment(methodKey, amount);
+
+        return ledgerRepository.save(PaymentLedgerEntry.builder()
+                .type(type)
+                .payId(pay.getId())
+                .billId(bill != null ? bill.getId() : null)
+                .customerId(pay.getUser() != null ? pay.getUser().getId() : null)
+                .paymentMethod(pay.getPaymentMethod())
+                .amount(amount)
+                .income(income)
+                .entryDay(day)
+                .balance(headRepository.findBalance(ALL).orElse(0.0))
+                .incomeBalance(headRepository.findBalance(INCOME).orElse(0.0))
+                .methodBalance(headRepository.findBalance(methodKey).orElse(0.0))
+                .build());
+    }
+
+    private static boolean isIncome(Bill bill) {
+        return bill == null || bill.getOrder() == null
+                || !Order.STATE_INVENTORY.equals(bill.getOrder().getState());
+    }
+
+    private double incomeBalanceAt(LocalDate day) {
+        return ledgerRepository.findFirstByEntryDayLessThanEqualOrderByEntryDayDescIdDesc(day)
+                .map(PaymentLedgerEntry::getIncomeBalance)
+                .orElse(0.0);
+    }
+
+    private double methodBalanceAt(String paymentMethod, LocalDate day) {
+        return ledgerRepository.findFirstByPaymentMethodAndEntryDayLessThanEqualOrderByEntryDayDescIdDesc(paymentMethod, day)
+                .map(PaymentLedgerEntry::getMethodBalance)
+                .orElse(0.0);
+    }
+
+    private LocalDate openingDay(Pay pay) {
+        if (pay.getPaidAt() != null) {
+            return pay.getPaidAt().toLocalDate();
+        }
+        Bill bill = pay.getBill();
+        return bill != null && bill.getIssueDate() != null ? bill.getIssueDate().toLocalDate() : LocalDate.now();
+    }
+
+    /**
+     * Existing payment waiting to be carried over, with the day it is accounted to.
+     */
+    private record Opening(Pay pay, LocalDate day) {
+    }
+}
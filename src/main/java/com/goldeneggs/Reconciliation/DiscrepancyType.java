@@ -0,0 +1,19 @@
+package com.goldeneggs.Reconciliation;
+
+/**
+ * Ways in which a bill can disagree with the payments that reference it.
+ */
+public enum DiscrepancyType {
+    /**
+     * The bill is marked as paid but its payments do not reach its total.
+     */
+    UNDERPAID,
+    /**
+     * The payments of the bill exceed its total.
+     */
+    OVERPAID,
+    /**
+     * The payments of the bill cover its total but it is not marked as paid.
+     */
+    NOT_MARKED_PAID
+}
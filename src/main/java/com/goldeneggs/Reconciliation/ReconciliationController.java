@@ -0,0 +1,79 @@
+package com.goldeneggs.Reconciliation;
+
+import com.goldeneggs.Exception.ReconciliationInProgressException;
+import com.goldeneggs.Exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for reconciling bills against their payments.
+ */
+@RestController
+@RequestMapping("/api/v1/reconciliation")
+@RequiredArgsConstructor
+@CrossOrigin("*")
+public class ReconciliationController {
+
+    private final ReconciliationService reconciliationService;
+
+    /**
+     * Starts a reconciliation of every bill in the background, or resumes the interrupted one.
+     *
+     * @return 202 Accepted with the run, or 409 Conflict if a run is already executing.
+     */
+    @PostMapping("/runs")
+    public ResponseEntity<?> start() {
+        try {
+            return new ResponseEntity<>(reconciliationService.start(), HttpStatus.ACCEPTED);
+        } catch (ReconciliationInProgressException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        }
+    }
+
+    /**
+     * Retrieves the most recent run and its progress.
+     *
+     * @return the run, or 404 Not Found if no run was ever started.
+     */
+    @GetMapping("/runs/latest")
+    public ResponseEntity<ReconciliationRun> getLatest() {
+        return reconciliationService.latestRun()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Retrieves a run and its progress.
+     *
+     * @param id ID of the run.
+     * @return the run, or 404 Not Found.
+     */
+    @GetMapping("/runs/{id}")
+    public ResponseEntity<ReconciliationRun> get(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(reconciliationService.getRun(id));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Retrieves a page of the discrepancies reported by a run.
+     *
+     * @param id       ID of the run.
+     * @param pageable Page to retrieve, taken from the {@code page}, {@code size} and {@code sort} parameters.
+     * @return a page of discrepancies, in the order the bills were checked unless another sort is requested.
+     */
+    @GetMapping("/runs/{id}/discrepancies")
+    public ResponseEntity<Page<ReconciliationDiscrepancy>> getDiscrepancies(
+            @PathVariable Long id,
+            @PageableDefault(size = 50, sort = "id", direction = Sort.Direction.ASC) Pageable pageable) {
+        return ResponseEntity.ok(reconciliationService.discrepancies(id, pageable));
+    }
+}
@@ -0,0 +1,64 @@
+package com.goldeneggs.Reconciliation;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A bill that did not agree with its payments during a reconciliation run,
+ * with the figures that were compared.
+ */
+@Entity
+@Immutable
+@Table(name = "reconciliation_discrepancies", indexes = {
+        @Index(name = "idx_reconciliation_discrepancies_run", columnList = "run_id, id"),
+        @Index(name = "idx_reconciliation_discrepancies_bill", columnList = "bill_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReconciliationDiscrepancy {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "bill_id", nullable = false)
+    private Long billId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "discrepancy_type", nullable = false, length = 24)
+    private DiscrepancyType type;
+
+    /**
+     * Total of the bill.
+     */
+    @Column(name = "total_price", nullable = false)
+    private double totalPrice;
+
+    /**
+     * Whether the bill was marked as paid.
+     */
+    @Column(name = "paid", nullable = false)
+    private boolean paid;
+
+    /**
+     * Sum of the payments of the bill.
+     */
+    @Column(name = "amount_paid", nullable = false)
+    private double amountPaid;
+
+    @CreationTimestamp
+    @Column(name = "detected_at", updatable = false)
+    private LocalDateTime detectedAt;
+}
@@ -0,0 +1,22 @@
+package com.goldeneggs.Reconciliation;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for managing {@link ReconciliationDiscrepancy} entities.
+ */
+@Repository
+public interface ReconciliationDiscrepancyRepository extends JpaRepository<ReconciliationDiscrepancy, Long> {
+
+    /**
+     * Retrieves a page of the discrepancies reported by a run.
+     *
+     * @param runId    the ID of the run.
+     * @param pageable the page to retrieve and its sort order.
+     * @return a page of discrepancies.
+     */
+    Page<ReconciliationDiscrepancy> findByRunId(Long runId, Pageable pageable);
+}
@@ -0,0 +1,60 @@
+package com.goldeneggs.Reconciliation;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a reconciliation of every bill against its payments.
+ * <p>
+ * Bills are checked in ascending ID order and the run stores the last ID it checked
+ * in the same transaction as the discrepancies of each chunk, so an interrupted run
+ * resumes right after the last committed chunk without reporting a bill twice.
+ * </p>
+ */
+@Entity
+@Table(name = "reconciliation_runs", indexes = {
+        @Index(name = "idx_reconciliation_runs_status", columnList = "status, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReconciliationRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private ReconciliationStatus status;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    /**
+     * Checkpoint: ID of the last bill checked, 0 before the first chunk.
+     */
+    @Column(name = "last_bill_id", nullable = false)
+    private long lastBillId;
+
+    /**
+     * Number of bills checked so far.
+     */
+    @Column(name = "bills_checked", nullable = false)
+    private long billsChecked;
+
+    /**
+     * Number of discrepancies reported so far.
+     */
+    @Column(name = "discrepancies", nullable = false)
+    private long discrepancies;
+}
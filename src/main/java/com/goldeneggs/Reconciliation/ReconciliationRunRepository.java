@@ -0,0 +1,28 @@
+package com.goldeneggs.Reconciliation;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for managing {@link ReconciliationRun} entities.
+ */
+@Repository
+public interface ReconciliationRunRepository extends JpaRepository<ReconciliationRun, Long> {
+
+    /**
+     * Retrieves the most recent run in the given state.
+     *
+     * @param status the state of the run.
+     * @return the run, if any.
+     */
+    Optional<ReconciliationRun> findFirstByStatusOrderByIdDesc(ReconciliationStatus status);
+
+    /**
+     * Retrieves the most recent run.
+     *
+     * @return the run, if any.
+     */
+    Optional<ReconciliationRun> findFirstByOrderByIdDesc();
+}
@@ -0,0 +1,260 @@
+package com.goldeneggs.Reconciliation;
+
+import com.goldeneggs.Bill.BillRepository;
+import com.goldeneggs.Dto.Payment.BillPaymentTotalDto;
+import com.goldeneggs.Exception.ReconciliationInProgressException;
+import com.goldeneggs.Exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Matches the total and paid flag of each bill against the sum of the payments that reference it.
+ * <p>
+ * Bills are checked in chunks, each summed by a single grouped query, so only one chunk
+ * of totals is held in memory at a time. A full run walks every bill in ID order and
+ * writes what it finds to the discrepancy report, committing its checkpoint with each
+ * chunk so it can resume after a restart. Runs execute on a dedicated thread, one at a time.
+ * </p>
+ */
+@Service
+public class ReconciliationService {
+
+    static final int CHUNK_SIZE = 500;
+
+    /**
+     * Largest difference between the bill total and the amount paid that is still a match.
+     */
+    static final double TOLERANCE = 0.005;
+
+    private final BillRepository billRepository;
+    private final ReconciliationRunRepository runRepository;
+    private final ReconciliationDiscrepancyRepository discrepancyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+
+    /**
+     * Creates the service.
+     *
+     * @param billRepository        repository used to sum the payments of the bills.
+     * @param runRepository         repository storing the progress of the runs.
+     * @param discrepancyRepository repository storing the report.
+     * @param transactionTemplate   template running each chunk in its own transaction.
+     * @param executor              single-threaded executor running full reconciliations.
+     */
+    public ReconciliationService(BillRepository billRepository,
+                                 ReconciliationRunRepository runRepository,
+                                 ReconciliationDiscrepancyRepository discrepancyRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 @Qualifier("reconciliationExecutor") Executor executor) {
+        this.billRepository = billRepository;
+        this.runRepository = runRepository;
+        this.discrepancyRepository = discrepancyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+    }
+
+    /**
+     * Reconciles the given bills without recording a run.
+     *
+     * @param billIds    the IDs of the bills to check.
+     * @param onMismatch receives every bill that does not agree with its payments.
+     * @return the number of bills that were checked.
+     */
+    public long reconcile(Collection<Long> billIds, Consumer<BillPaymentTotalDto> onMismatch) {
+        long checked = 0;
+        List<Long> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (Long billId : billIds) {
+            chunk.add(billId);
+            if (chunk.size() == CHUNK_SIZE) {
+                checked += reconcileChunk(chunk, onMismatch);
+                chunk = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            checked += reconcileChunk(chunk, onMismatch);
+        }
+        return checked;
+    }
+
+    /**
+     * Starts a reconciliation of every bill in the background, or resumes the interrupted one.
+     *
+     * @return the run that was started or resumed.
+     * @throws ReconciliationInProgressException if a run is already executing.
+     */
+    public ReconciliationRun start() {
+        Optional<ReconciliationRun> interrupted =
+                runRepository.findFirstByStatusOrderByIdDesc(ReconciliationStatus.RUNNING);
+        ReconciliationRun run = interrupted.orElseGet(() -> runRepository.save(ReconciliationRun.builder()
+                .status(ReconciliationStatus.RUNNING)
+                .startedAt(LocalDateTime.now())
+                .build()));
+        Long runId = run.getId();
+        try {
+            executor.execute(() -> runToCompletion(runId));
+        } catch (TaskRejectedException e) {
+            if (interrupted.isEmpty()) {
+                // Left RUNNING, the new run would shadow the real one and be resumed after a restart.
+                run.setStatus(ReconciliationStatus.FAILED);
+                run.setFinishedAt(LocalDateTime.now());
+                runRepository.save(run);
+            }
+            throw new ReconciliationInProgressException("A reconciliation is already running");
+        }
+        return run;
+    }
+
+    /**
+     * Nightly job: reconciles every bill, picking up the interrupted run if there is one.
+     */
+    @Scheduled(cron = "${goldeneggs.reconciliation.cron:0 30 2 * * *}")
+    public void scheduledRun() {
+        try {
+            start();
+        } catch (ReconciliationInProgressException ignored) {
+            // The run in progress already covers every bill.
+        }
+    }
+
+    /**
+     * Resumes the run that was interrupted when the application stopped, if any.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        if (runRepository.findFirstByStatusOrderByIdDesc(ReconciliationStatus.RUNNING).isPresent()) {
+            scheduledRun();
+        }
+    }
+
+    /**
+     * Checks the bills of a run chunk by chunk until none are left.
+     *
+     * @param runId the ID of the run.
+     */
+    void runToCompletion(Long runId) {
+        while (Boolean.TRUE.equals(transactionTemplate.execute(status -> advance(runId)))) {
+            // Each iteration commits one chunk and its checkpoint.
+        }
+    }
+
+    /**
+     * Checks the chunk that follows the checkpoint of a run and stores what it finds.
+     *
+     * @return {@code true} if there may be more bills to check.
+     */
+    private boolean advance(Long runId) {
+        ReconciliationRun run = runRepository.findById(runId)
+                .orElseThrow(() -> new ResourceNotFoundException("Reconciliation run not found with ID: " + runId));
+        if (run.getStatus() != ReconciliationStatus.RUNNING) {
+            return false;
+        }
+        List<BillPaymentTotalDto> totals = billRepository.findPaymentTotalsAfter(
+                run.getLastBillId(), PageRequest.of(0, CHUNK_SIZE));
+        List<ReconciliationDiscrepancy> found = new ArrayList<>();
+        for (BillPaymentTotalDto total : totals) {
+            DiscrepancyType type = classify(total);
+            if (type != null) {
+                found.add(ReconciliationDiscrepancy.builder()
+                        .runId(runId)
+                        .billId(total.getBillId())
+                        .type(type)
+                        .totalPrice(total.getTotalPrice())
+                        .paid(total.isPaid())
+                        .amountPaid(total.getAmountPaid())
+                        .build());
+            }
+        }
+        discrepancyRepository.saveAll(found);
+
+        if (!totals.isEmpty()) {
+            run.setLastBillId(totals.get(totals.size() - 1).getBillId());
+        }
+        run.setBillsChecked(run.getBillsChecked() + totals.size());
+        run.setDiscrepancies(run.getDiscrepancies() + found.size());
+        boolean more = totals.size() == CHUNK_SIZE;
+        if (!more) {
+            run.setStatus(ReconciliationStatus.COMPLETED);
+            run.setFinishedAt(LocalDateTime.now());
+        }
+        runRepository.save(run);
+        return more;
+    }
+
+    /**
+     * Retrieves the most recent run.
+     *
+     * @return the run, if any was ever started.
+     */
+    public Optional<ReconciliationRun> latestRun() {
+        return runRepository.findFirstByOrderByIdDesc();
+    }
+
+    /**
+     * Retrieves a run by its ID.
+     *
+     * @param runId the ID of the run.
+     * @return the run.
+     * @throws ResourceNotFoundException if the run does not exist.
+     */
+    public ReconciliationRun getRun(Long runId) {
+        return runRepository.findById(runId)
+                .orElseThrow(() -> new ResourceNotFoundException("Reconciliation run not found with ID: " + runId));
+    }
+
+    /**
+     * Retrieves a page of the discrepancies reported by a run.
+     *
+     * @param runId    the ID of the run.
+     * @param pageable the page to retrieve and its sort order.
+     * @return a page of discrepancies.
+     */
+    public Page<ReconciliationDiscrepancy> discrepancies(Long runId, Pageable pageable) {
+        return discrepancyRepository.findByRunId(runId, pageable);
+    }
+
+    /**
+     * Tells how a bill disagrees with its payments.
+     *
+     * @param total the bill and the sum of its payments.
+     * @return the kind of discrepancy, or {@code null} if the bill agrees with its payments.
+     */
+    public static DiscrepancyType classify(BillPaymentTotalDto total) {
+        double difference = total.getAmountPaid() - total.getTotalPrice();
+        if (difference > TOLERANCE) {
+            return DiscrepancyType.OVERPAID;
+        }
+        if (total.isPaid() && difference < -TOLERANCE) {
+            return DiscrepancyType.UNDERPAID;
+        }
+        if (!total.isPaid() && difference >= -TOLERANCE) {
+            return DiscrepancyType.NOT_MARKED_PAID;
+        }
+        return null;
+    }
+
+    private int reconcileChunk(List<Long> billIds, Consumer<BillPaymentTotalDto> onMismatch) {
+        List<BillPaymentTotalDto> totals = billRepository.sumPaymentsByBillIds(billIds);
+        for (BillPaymentTotalDto total : totals) {
+            if (classify(total) != null) {
+                onMismatch.accept(total);
+            }
+        }
+        return totals.size();
+    }
+}
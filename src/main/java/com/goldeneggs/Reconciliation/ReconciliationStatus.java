@@ -0,0 +1,19 @@
+package com.goldeneggs.Reconciliation;
+
+/**
+ * State of a reconciliation run.
+ */
+public enum ReconciliationStatus {
+    /**
+     * The run has bills left to check. A run found in this state after a restart is resumed.
+     */
+    RUNNING,
+    /**
+     * Every bill was checked.
+     */
+    COMPLETED,
+    /**
+     * The run was created but could not be handed to the executor, so no bill was checked.
+     */
+    FAILED
+}
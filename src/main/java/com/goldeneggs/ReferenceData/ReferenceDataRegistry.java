@@ -0,0 +1,198 @@
+package com.goldeneggs.ReferenceData;
+
+import com.goldeneggs.Role.Role;
+import com.goldeneggs.Role.RoleRepository;
+import com.goldeneggs.Supplier.Supplier;
+import com.goldeneggs.Supplier.SupplierRepository;
+import com.goldeneggs.TypeEgg.TypeEgg;
+import com.goldeneggs.TypeEgg.TypeEggRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * In-memory copy of the small reference tables: roles, egg types and suppliers.
+ * <p>
+ * These tables hold a few dozen rows and almost never change, yet registrations, egg saves
+ * and every cart line looked them up. The registry loads them when the application starts
+ * and answers lookups and existence checks from memory. The services that write them call
+ * the matching {@code refresh} method afterwards, and the whole registry is reloaded every
+ * few minutes to pick up the writes of other instances. A miss is confirmed against the
+ * database before it is reported, so a row created elsewhere is never refused as missing.
+ * </p>
+ * <p>
+ * The entities handed out are shared between callers and must not be modified.
+ * </p>
+ */
+@Component
+public class ReferenceDataRegistry {
+
+    private final RoleRepository roleRepository;
+    private final TypeEggRepository typeEggRepository;
+    private final SupplierRepository supplierRepository;
+
+    /**
+     * Current copy of the tables; replaced as a whole under {@code this}, never modified once published.
+     */
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of(), Map.of(), Set.of());
+
+    /**
+     * Creates the registry.
+     *
+     * @param roleRepository     repository of the roles.
+     * @param typeEggRepository  repository of the egg types.
+     * @param supplierRepository repository of the suppliers.
+     */
+    public ReferenceDataRegistry(RoleRepository roleRepository,
+                                 TypeEggRepository typeEggRepository,
+                                 SupplierRepository supplierRepository) {
+        this.roleRepository = roleRepository;
+        this.typeEggRepository = typeEggRepository;
+        this.supplierRepository = supplierRepository;
+    }
+
+    /**
+     * Retrieves a role by its ID.
+     *
+     * @param id the ID of the role.
+     * @return the role, if it exists.
+     */
+    public Optional<Role> findRole(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Role role = snapshot.roles().get(id);
+        if (role != null) {
+            return Optional.of(role);
+        }
+        Optional<Role> stored = roleRepository.findById(id);
+        stored.ifPresent(ignored -> refreshRoles());
+        return stored;
+    }
+
+    /**
+     * Retrieves an egg type by its exact name.
+     *
+     * @param type the name of the egg type (AAA, AA, A, B).
+     * @return the egg type, if it exists.
+     */
+    public Optional<TypeEgg> findTypeEgg(String type) {
+        if (type == null) {
+            return Optional.empty();
+        }
+        TypeEgg typeEgg = snapshot.typeEggsByType().get(type);
+        if (typeEgg != null) {
+            return Optional.of(typeEgg);
+        }
+        TypeEgg stored = typeEggRepository.findByType(type);
+        if (stored != null) {
+            refreshTypeEggs();
+        }
+        return Optional.ofNullable(stored);
+    }
+
+    /**
+     * Tells whether an egg type exists.
+     *
+     * @param id the ID of the egg type.
+     * @return {@code true} if it exists.
+     */
+    public boolean typeEggExists(Long id) {
+        if (id == null) {
+            return false;
+        }
+        if (snapshot.typeEggsById().containsKey(id)) {
+            return true;
+        }
+        if (typeEggRepository.existsById(id)) {
+            refreshTypeEggs();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Tells whether a supplier exists.
+     *
+     * @param id the ID of the supplier.
+     * @return {@code true} if it exists.
+     */
+    public boolean supplierExists(Long id) {
+        if (id == null) {
+            return false;
+        }
+        if (snapshot.supplierIds().contains(id)) {
+            return true;
+        }
+        if (supplierRepository.existsById(id)) {
+            refreshSuppliers();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reloads every table; runs at startup and then every few minutes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${goldeneggs.reference-data.refresh-ms:300000}", initialDelayString = "${goldeneggs.reference-data.refresh-ms:300000}")
+    public void refresh() {
+        refreshRoles();
+        refreshTypeEggs();
+        refreshSuppliers();
+    }
+
+    /**
+     * Reloads the roles, after one was created, renamed or deleted.
+     */
+    public synchronized void refreshRoles() {
+        Map<Long, Role> roles = new HashMap<>();
+        for (Role role : roleRepository.findAll()) {
+            roles.put(role.getId(), role);
+        }
+        Snapshot current = snapshot;
+        snapshot = new Snapshot(Map.copyOf(roles), current.typeEggsById(), current.typeEggsByType(), current.supplierIds());
+    }
+
+    /**
+     * Reloads the egg types, after one was created, renamed or deleted.
+     */
+    public synchronized void refreshTypeEggs() {
+        Map<Long, TypeEgg> byId = new HashMap<>();
+        Map<String, TypeEgg> byType = new HashMap<>();
+        for (TypeEgg typeEgg : typeEggRepository.findAll()) {
+            byId.put(typeEgg.getId(), typeEgg);
+            byType.putIfAbsent(typeEgg.getType(), typeEgg);
+        }
+        Snapshot current = snapshot;
+        snapshot = new Snapshot(current.roles(), Map.copyOf(byId), Map.copyOf(byType), current.supplierIds());
+    }
+
+    /**
+     * Reloads the suppliers, after one was created or deleted.
+     */
+    public synchronized void refreshSuppliers() {
+        Set<Long> ids = new HashSet<>();
+        for (Supplier supplier : supplierRepository.findAll()) {
+            ids.add(supplier.getId());
+        }
+        Snapshot current = snapshot;
+        snapshot = new Snapshot(current.roles(), current.typeEggsById(), current.typeEggsByType(), Set.copyOf(ids));
+    }
+
+    /**
+     * The reference tables as last loaded.
+     */
+    private record Snapshot(Map<Long, Role> roles,
+                            Map<Long, TypeEgg> typeEggsById,
+                            Map<String, TypeEgg> typeEggsByType,
+                            Set<Long> supplierIds) {
+    }
+}
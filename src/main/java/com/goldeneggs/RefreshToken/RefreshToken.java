@@ -0,0 +1,65 @@
+package com.goldeneggs.RefreshToken;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Refresh token issued to a user, stored as the SHA-256 hash of its value.
+ * <p>
+ * Every refresh replaces the token with a new one of the same family. A token that is
+ * presented again after it was used means it was stolen, so its whole family is revoked.
+ * </p>
+ */
+@Entity
+@Table(name = "refresh_tokens",
+        uniqueConstraints = @UniqueConstraint(name = "uk_refresh_tokens_hash", columnNames = "token_hash"),
+        indexes = {
+                @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+                @Index(name = "idx_refresh_tokens_user", columnList = "user_id"),
+                @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Hex-encoded SHA-256 hash of the token.
+     */
+    @Column(name = "token_hash", length = 64, nullable = false)
+    private String tokenHash;
+
+    /**
+     * Identifies the chain of tokens that descend from the same login.
+     */
+    @Column(name = "family_id", length = 36, nullable = false)
+    private String familyId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * Moment the token was exchanged for a new one, or {@code null} if it is still unused.
+     */
+    @Column(name = "used_at")
+    private LocalDateTime usedAt;
+
+    @Column(name = "revoked", nullable = false)
+    private boolean revoked;
+}
@@ -0,0 +1,61 @@
+package com.goldeneggs.RefreshToken;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository for managing {@link RefreshToken} entities.
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Retrieves a token by its hash and locks it, so that it can be exchanged only once.
+     *
+     * @param tokenHash the hash of the token.
+     * @return the token, if it exists.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Revokes every token of a family.
+     *
+     * @param familyId the family to revoke.
+     * @return the number of tokens revoked.
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.familyId = :familyId AND r.revoked = false")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    /**
+     * Revokes every token of a user.
+     *
+     * @param userId the ID of the user.
+     * @return the number of tokens revoked.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.userId = :userId AND r.revoked = false")
+    int revokeAllByUserId(@Param("userId") Long userId);
+
+    /**
+     * Deletes the tokens that have expired.
+     *
+     * @param now the current moment.
+     * @return the number of rows deleted.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
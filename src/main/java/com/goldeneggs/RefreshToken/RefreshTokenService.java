@@ -0,0 +1,164 @@
+package com.goldeneggs.RefreshToken;
+
+import com.goldeneggs.Exception.InvalidRefreshTokenException;
+import com.goldeneggs.User.User;
+import com.goldeneggs.User.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues and rotates the refresh tokens that renew the short-lived access tokens.
+ * <p>
+ * Tokens are random values of which only the SHA-256 hash is stored. Each refresh marks the
+ * presented token as used and issues the next one of the same family, so the database is
+ * read once per refresh instead of once per request. Presenting a used token again revokes
+ * the whole family, which logs out both the thief and the legitimate client.
+ * </p>
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository repository;
+    private final UserRepository userRepository;
+    private final int lifetimeDays;
+
+    /**
+     * Creates the service.
+     *
+     * @param repository     repository storing the hashed tokens.
+     * @param userRepository repository used to check that the user is still active.
+     * @param lifetimeDays   days a refresh token stays valid if unused; at least one.
+     */
+    public RefreshTokenService(RefreshTokenRepository repository,
+                               UserRepository userRepository,
+                               @Value("${goldeneggs.security.refresh.expiration-days:14}") int lifetimeDays) {
+        this.repository = repository;
+        this.userRepository = userRepository;
+        this.lifetimeDays = Math.max(1, lifetimeDays);
+    }
+
+    /**
+     * Issues the first refresh token of a new family, on login.
+     *
+     * @param userId the ID of the user.
+     * @return the token, to be handed to the client.
+     */
+    public String issue(Long userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for the next one of its family.
+     *
+     * @param token the token presented by the client.
+     * @return the user and the new token.
+     * @throws InvalidRefreshTokenException if the token is unknown, expired, revoked or already used,
+     *                                      or its user was disabled or deleted.
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public RotatedRefreshToken rotate(String token) {
+        RefreshToken stored = find(token);
+        if (stored.isRevoked()) {
+            throw new InvalidRefreshTokenException("Refresh token revoked");
+        }
+        if (stored.getUsedAt() != null) {
+            repository.revokeFamily(stored.getFamilyId());
+            throw new InvalidRefreshTokenException("Refresh token already used");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (!stored.getExpiresAt().isAfter(now)) {
+            throw new InvalidRefreshTokenException("Refresh token expired");
+        }
+        User user = userRepository.findById(stored.getUserId())
+                .filter(User::isEnabled)
+                .orElse(null);
+        if (user == null) {
+            repository.revokeFamily(stored.getFamilyId());
+            throw new InvalidRefreshTokenException("User is not active");
+        }
+
+        stored.setUsedAt(now);
+        repository.save(stored);
+        return new RotatedRefreshToken(user, issue(user.getId(), stored.getFamilyId()));
+    }
+
+    /**
+     * Revokes the family of a refresh token, on logout. Unknown tokens are ignored.
+     *
+     * @param token the token presented by the client.
+     */
+    @Transactional
+    public void revoke(String token) {
+        if (token == null || token.isBlank()) {
+            return;
+        }
+        repository.findByTokenHash(hash(token))
+                .ifPresent(stored -> repository.revokeFamily(stored.getFamilyId()));
+    }
+
+    /**
+     * Revokes every refresh token of a user, for instance when their password changes.
+     *
+     * @param userId the ID of the user.
+     */
+    public void revokeAll(Long userId) {
+        repository.revokeAllByUserId(userId);
+    }
+
+    /**
+     * Nightly job: deletes the tokens that have expired.
+     */
+    @Scheduled(cron = "${goldeneggs.security.refresh.purge-cron:0 15 3 * * *}")
+    public void purgeExpired() {
+        repository.deleteExpired(LocalDateTime.now());
+    }
+
+    private String issue(Long userId, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        LocalDateTime now = LocalDateTime.now();
+        repository.save(RefreshToken.builder()
+                .tokenHash(hash(token))
+                .familyId(familyId)
+                .userId(userId)
+                .createdAt(now)
+                .expiresAt(now.plusDays(lifetimeDays))
+                .build());
+        return token;
+    }
+
+    private RefreshToken find(String token) {
+        if (token == null || token.isBlank()) {
+            throw new InvalidRefreshTokenException("Refresh token is required");
+        }
+        return repository.findByTokenHash(hash(token))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
+    }
+
+    /**
+     * Hex-encoded SHA-256 hash of a token.
+     */
+    static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.goldeneggs.RefreshToken;
+
+import com.goldeneggs.User.User;
+
+/**
+ * Outcome of exchanging a refresh token.
+ *
+ * @param user         the user the token belongs to.
+ * @param refreshToken the new refresh token, which replaces the one presented.
+ */
+public record RotatedRefreshToken(User user, String refreshToken) {
+}
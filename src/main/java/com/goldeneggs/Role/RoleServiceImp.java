@@ -3,6 +3,7 @@ package com.goldeneggs.Role;
 import com.goldeneggs.Exception.DuplicateRoleNameException;
 import com.goldeneggs.Exception.InvalidRoleDataException;
 import com.goldeneggs.Exception.ResourceNotFoundException;
+import com.goldeneggs.ReferenceData.ReferenceDataRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -18,6 +19,9 @@ public class RoleServiceImp implements RoleService {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private ReferenceDataRegistry referenceDataRegistry;
+
     /**
      * Retrieves a role by its ID.
      *
@@ -57,7 +61,9 @@ public class RoleServiceImp implements RoleService {
         if (roleRepository.findByNameIgnoreCase(role.getName()).isPresent()) {
             throw new DuplicateRoleNameException("Role name already exists: " + role.getName());
         }
-        return roleRepository.save(role);
+        Role saved = roleRepository.save(role);
+        referenceDataRegistry.refreshRoles();
+        return saved;
     }
 
     /**
@@ -84,6 +90,7 @@ public class RoleServiceImp implements RoleService {
 
         existingRole.setName(role.getName());
         roleRepository.save(existingRole);
+        referenceDataRegistry.refreshRoles();
     }
 
     /**
@@ -98,5 +105,6 @@ public class RoleServiceImp implements RoleService {
             throw new ResourceNotFoundException("Role not found with id " + id);
         }
         roleRepository.deleteById(id);
+        referenceDataRegistry.refreshRoles();
     }
 }
@@ -3,9 +3,13 @@ package com.goldeneggs.Statistics;
 
 import com.goldeneggs.Dto.Statistics.StatisticsResponseDto;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+
 /**
  * REST controller for handling statistical data endpoints.
  */
@@ -31,4 +35,21 @@ public class StatisticsController {
     public ResponseEntity<StatisticsResponseDto> getGeneralStatistics() {
         return ResponseEntity.ok(statisticsService.getGeneralStatistics());
     }
+
+    /**
+     * Handles the HTTP GET request to retrieve the statistics of a single month.
+     * Closed months are answered from their snapshot.
+     *
+     * @param month the month, formatted as yyyy-MM.
+     * @return a {@code ResponseEntity} containing the statistics of the month,
+     *         or 400 if the month is not valid.
+     */
+    @GetMapping("/monthly/{month}")
+    public ResponseEntity<StatisticsResponseDto> getMonthlyStatistics(@PathVariable String month) {
+        try {
+            return ResponseEntity.ok(statisticsService.getMonthlyStatistics(YearMonth.parse(month)));
+        } catch (DateTimeParseException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
 }
@@ -1,35 +1,39 @@
 package com.goldeneggs.Statistics;
 
-import com.goldeneggs.Bill.Bill;
-import com.goldeneggs.Bill.BillRepository;
 import com.goldeneggs.Dto.Statistics.*;
-import com.goldeneggs.Order.Order;
-import com.goldeneggs.Order.OrderRepository;
-import com.goldeneggs.Role.Role;
+import com.goldeneggs.LatencyHistogram.LatencyHistogramService;
+import com.goldeneggs.LatencyHistogram.LatencyMetric;
+import com.goldeneggs.MonthlyRanking.MonthlyRankingService;
+import com.goldeneggs.MonthlySnapshot.MonthlySnapshot;
+import com.goldeneggs.MonthlySnapshot.MonthlySnapshotService;
 import com.goldeneggs.User.UserRepository;
 import com.goldeneggs.Egg.EggRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 
-import java.time.Instant;
 import java.time.LocalDate;
-import java.time.ZoneId;
+import java.time.YearMonth;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 /**
  * Service class for calculating business statistics.
+ * <p>
+ * Figures are assembled from the monthly snapshots: closed months are read from
+ * their frozen snapshot and only the open month is computed from live data.
+ * </p>
  */
 @Service
 @RequiredArgsConstructor
 public class StatisticsService {
 
-    private final BillRepository billRepository;
-    private final OrderRepository orderRepository;
+    private static final int TOP_POSITIONS = 5;
+
     private final EggRepository eggRepository;
     private final UserRepository userRepository;
+    private final MonthlyRankingService monthlyRankingService;
+    private final MonthlySnapshotService monthlySnapshotService;
+    private final LatencyHistogramService latencyHistogramService;
 
     /**
      * Retrieves general statistical data related to bills and orders,
@@ -46,149 +50,128 @@ public class StatisticsService {
      *         general statistics and chart data.
      */
     public StatisticsResponseDto getGeneralStatistics() {
-        StatisticsResponseDto response = new StatisticsResponseDto();
-        StatisticsKpiDto kpis = new StatisticsKpiDto();
-        StatisticsChartDto charts = new StatisticsChartDto();
-
-        List<Bill> bills = billRepository.findAll();
-        List<Order> orders = orderRepository.findAll();
-
-        if (bills == null || bills.isEmpty() || orders == null || orders.isEmpty()) {
-            response.kpis = kpis;
-            response.charts = charts;
-            return response;
+        List<MonthlySnapshot> months = monthlySnapshotService.history();
+        if (isEmpty(months)) {
+            return emptyResponse();
         }
+        StatisticsResponseDto response = buildResponse(months,
+                monthlyRankingService.topCustomersAllTime(TOP_POSITIONS),
+                monthlyRankingService.topProductsAllTime(TOP_POSITIONS));
+        LocalDate today = LocalDate.now();
+        response.kpis.orderToBillLatency =
+                latencyHistogramService.percentiles(LatencyMetric.ORDER_TO_BILL, LocalDate.EPOCH, today);
+        response.kpis.orderToPaymentLatency =
+                latencyHistogramService.percentiles(LatencyMetric.ORDER_TO_PAYMENT, LocalDate.EPOCH, today);
+        return response;
+    }
 
-        List<Bill> incomeBills = bills.stream()
-                .filter(b -> b != null && b.getOrder() != null && b.getOrder().getUser() != null &&
-                        b.getOrder().getUser().getRoles() != null &&
-                        b.getOrder().getUser().getRoles().stream()
-                                .map(Role::getName)
-                                .anyMatch(role -> role.equalsIgnoreCase("CUSTOMER")))
-                .toList();
-
-        List<Order> incomeOrders = orders.stream()
-                .filter(o -> o != null && o.getUser() != null &&
-                        o.getUser().getRoles() != null &&
-                        o.getUser().getRoles().stream()
-                                .map(Role::getName)
-                                .anyMatch(role -> role.equalsIgnoreCase("CUSTOMER")))
-                .toList();
-
-        kpis.totalSales = incomeBills.stream()
-                .mapToDouble(b -> b != null ? b.getTotalPrice() : 0)
-                .sum();
-
-        kpis.totalOrders = incomeOrders.size();
-
-        kpis.paidOrders = (int) incomeBills.stream()
-                .filter(b -> b != null && b.isPaid())
-                .count();
-
-        kpis.unpaidOrders = incomeBills.size() - kpis.paidOrders;
+    /**
+     * Retrieves the same statistics as {@link #getGeneralStatistics()} restricted to one month.
+     * A closed month is answered from its snapshot alone.
+     *
+     * @param month the month to report.
+     * @return the statistics of the month.
+     */
+    public StatisticsResponseDto getMonthlyStatistics(YearMonth month) {
+        MonthlySnapshot snapshot = monthlySnapshotService.get(month);
+        if (isEmpty(List.of(snapshot))) {
+            return emptyResponse();
+        }
+        StatisticsResponseDto response = buildResponse(List.of(snapshot),
+                limit(snapshot.getTopCustomers()),
+                limit(snapshot.getTopProducts()));
+        response.kpis.orderToBillLatency = latencyHistogramService.percentiles(
+                LatencyMetric.ORDER_TO_BILL, month.atDay(1), month.atEndOfMonth());
+        response.kpis.orderToPaymentLatency = latencyHistogramService.percentiles(
+                LatencyMetric.ORDER_TO_PAYMENT, month.atDay(1), month.atEndOfMonth());
+        return response;
+    }
 
-        kpis.averageTicket = incomeOrders.isEmpty() ? 0 :
-                incomeOrders.stream()
-                        .filter(o -> o != null)
-                        .mapToDouble(Order::getTotalPrice)
-                        .average()
-                        .orElse(0);
+    private StatisticsResponseDto buildResponse(List<MonthlySnapshot> months,
+                                                List<RankingEntryDto> topCustomers,
+                                                List<RankingEntryDto> topProducts) {
+        StatisticsResponseDto response = new StatisticsResponseDto();
+        StatisticsKpiDto kpis = new StatisticsKpiDto();
+        StatisticsChartDto charts = new StatisticsChartDto();
 
-        Map<String, Double> customerSpending = new HashMap<>();
-        for (Bill bill : incomeBills) {
-            if (bill != null && bill.getOrder() != null && bill.getOrder().getUser() != null) {
-                String name = bill.getOrder().getUser().getName();
-                customerSpending.merge(name, bill.getTotalPrice(), Double::sum);
+        long bills = 0;
+        long paid = 0;
+        long orders = 0;
+        double ordersTotal = 0;
+        long leadHours = 0;
+        long leadCount = 0;
+        Map<String, Long> ordersByState = new HashMap<>();
+        Map<String, Long> ordersByDay = new TreeMap<>();
+        MonthlySnapshot leastSales = null;
+        java.sql.Date lastOrderDate = null;
+
+        for (MonthlySnapshot month : months) {
+            kpis.totalSales += month.getTotalSales();
+            bills += month.getCustomerBills();
+            paid += month.getPaidBills();
+            orders += month.getOrders();
+            ordersTotal += month.getOrdersTotal();
+            leadHours += month.getOrderToBillHours();
+            leadCount += month.getOrderToBillCount();
+            if (month.getOrdersByState() != null) {
+                month.getOrdersByState().forEach((state, count) -> ordersByState.merge(state, count, Long::sum));
+            }
+            if (month.getOrdersByDay() != null) {
+                month.getOrdersByDay().forEach((day, count) -> ordersByDay.merge(day, count, Long::sum));
+            }
+            if (month.getLeastSalesAmount() != null &&
+                    (leastSales == null || month.getLeastSalesAmount() < leastSales.getLeastSalesAmount())) {
+                leastSales = month;
+            }
+            if (month.getLastOrderDate() != null &&
+                    (lastOrderDate == null || month.getLastOrderDate().after(lastOrderDate))) {
+                lastOrderDate = month.getLastOrderDate();
             }
         }
 
-        kpis.bestCustomer = customerSpending.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("N/A");
-
-        Map<String, Long> productSales = incomeOrders.stream()
-                .filter(o -> o != null && o.getOrderEggs() != null)
-                .flatMap(order -> order.getOrderEggs().stream())
-                .filter(egg -> egg != null && egg.getType() != null)
-                .map(egg -> egg.getType() + " - " + egg.getColor())
-                .collect(Collectors.groupingBy(name -> name, Collectors.counting()));
+        kpis.totalOrders = (int) orders;
+        kpis.paidOrders = (int) paid;
+        kpis.unpaidOrders = (int) (bills - paid);
+        kpis.averageTicket = orders == 0 ? 0 : ordersTotal / orders;
 
-        kpis.mostSoldProduct = productSales.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
+        kpis.bestCustomer = topCustomers.stream()
+                .findFirst()
+                .map(RankingEntryDto::getLabel)
                 .orElse("N/A");
 
-        kpis.lastOrderDate = incomeOrders.stream()
-                .filter(o -> o != null && o.getOrderDate() != null)
-                .max(Comparator.comparing(Order::getOrderDate))
-                .map(o -> o.getOrderDate().toString())
+        kpis.mostSoldProduct = topProducts.stream()
+                .findFirst()
+                .map(RankingEntryDto::getLabel)
                 .orElse("N/A");
 
-        Map<LocalDate, Double> salesPerDay = incomeBills.stream()
-                .filter(b -> b != null && b.getIssueDate() != null)
-                .collect(Collectors.groupingBy(
-                        b -> convertToLocalDate(b.getIssueDate()),
-                        Collectors.summingDouble(Bill::getTotalPrice)
-                ));
-
-        kpis.dayWithLeastSales = salesPerDay.entrySet().stream()
-                .min(Map.Entry.comparingByValue())
-                .map(e -> e.getKey().toString())
-                .orElse("N/A");
+        kpis.lastOrderDate = lastOrderDate != null ? lastOrderDate.toString() : "N/A";
+        kpis.dayWithLeastSales = leastSales != null ? leastSales.getLeastSalesDay().toString() : "N/A";
+        kpis.cancelledOrders = (int) countState(ordersByState, "cancelled");
+        kpis.averageTimeOrderToBill = leadCount == 0 ? 0 : (double) leadHours / leadCount;
 
-        kpis.cancelledOrders = (int) incomeOrders.stream()
-                .filter(o -> o != null && "cancelled".equalsIgnoreCase(o.getState()))
-                .count();
-
-        kpis.averageTimeOrderToBill = incomeBills.stream()
-                .filter(b -> b != null && b.getOrder() != null &&
-                        b.getIssueDate() != null && b.getOrder().getOrderDate() != null)
-                .mapToLong(b -> {
-                    long diff = b.getIssueDate().getTime() - b.getOrder().getOrderDate().getTime();
-                    return TimeUnit.MILLISECONDS.toHours(diff);
-                })
-                .average().orElse(0);
-
-        charts.ordersOverTime = incomeOrders.stream()
-                .filter(o -> o != null && o.getOrderDate() != null)
-                .collect(Collectors.groupingBy(
-                        o -> convertToLocalDate(o.getOrderDate()),
-                        Collectors.counting()
-                ))
-                .entrySet().stream()
+        charts.ordersOverTime = ordersByDay.entrySet().stream()
                 .map(e -> {
                     TimeSeriesPointDto dto = new TimeSeriesPointDto();
-                    dto.name = e.getKey().toString();
+                    dto.name = e.getKey();
                     dto.orders = e.getValue().intValue();
                     return dto;
                 }).toList();
 
         charts.ordersByState = Arrays.asList("pending", "delivered", "cancelled").stream()
-                .map(state -> {
-                    DistributionDto dto = new DistributionDto();
-                    dto.name = state;
-                    dto.value = incomeOrders.stream()
-                            .filter(o -> o != null && state.equalsIgnoreCase(o.getState()))
-                            .count();
-                    return dto;
-                }).toList();
+                .map(state -> new DistributionDto(state, countState(ordersByState, state)))
+                .toList();
 
         charts.paidVsUnpaid = List.of(
                 new DistributionDto("Pagadas", kpis.paidOrders),
                 new DistributionDto("No pagadas", kpis.unpaidOrders)
         );
 
-        charts.topCustomers = customerSpending.entrySet().stream()
-                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
-                .limit(5)
-                .map(e -> new DistributionDto(e.getKey(), e.getValue()))
+        charts.topCustomers = topCustomers.stream()
+                .map(e -> new DistributionDto(e.getLabel(), e.getScore()))
                 .toList();
 
-        charts.topProducts = productSales.entrySet().stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                .limit(5)
-                .map(e -> new DistributionDto(e.getKey(), e.getValue()))
+        charts.topProducts = topProducts.stream()
+                .map(e -> new DistributionDto(e.getLabel(), e.getScore()))
                 .toList();
 
         response.kpis = kpis;
@@ -196,18 +179,25 @@ public class StatisticsService {
         return response;
     }
 
-    /**
-     * Converts a java.util.Date, java.sql.Date, or java.sql.Timestamp to LocalDate.
-     */
-    private LocalDate convertToLocalDate(Date date) {
-        if (date instanceof java.sql.Timestamp timestamp) {
-            return timestamp.toLocalDateTime().toLocalDate();
-        } else if (date instanceof java.sql.Date sqlDate) {
-            return sqlDate.toLocalDate();
-        } else if (date != null) {
-            return Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate();
-        }
-        return null;
+    private static boolean isEmpty(List<MonthlySnapshot> months) {
+        return months.stream().allMatch(month -> month.getCustomerBills() == 0 && month.getOrders() == 0);
     }
 
+    private static StatisticsResponseDto emptyResponse() {
+        StatisticsResponseDto response = new StatisticsResponseDto();
+        response.kpis = new StatisticsKpiDto();
+        response.charts = new StatisticsChartDto();
+        return response;
+    }
+
+    private static long countState(Map<String, Long> ordersByState, String state) {
+        return ordersByState.entrySet().stream()
+                .filter(e -> state.equalsIgnoreCase(e.getKey()))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    private static List<RankingEntryDto> limit(List<RankingEntryDto> entries) {
+        return entries == null ? List.of() : entries.stream().limit(TOP_POSITIONS).toList();
+    }
 }
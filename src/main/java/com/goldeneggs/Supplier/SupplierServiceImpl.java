@@ -2,6 +2,7 @@ package com.goldeneggs.Supplier;
 
 import com.goldeneggs.Exception.InvalidSupplierDataException;
 import com.goldeneggs.Exception.ResourceNotFoundException;
+import com.goldeneggs.ReferenceData.ReferenceDataRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -21,6 +22,12 @@ public class SupplierServiceImpl implements SupplierService {
     @Autowired
     private SupplierRepository supplierRepository;
 
+    /**
+     * Registry answering supplier existence checks; reloaded after suppliers are created or deleted.
+     */
+    @Autowired
+    private ReferenceDataRegistry referenceDataRegistry;
+
     /**
      * Retrieves all suppliers.
      *
@@ -61,7 +68,9 @@ public class SupplierServiceImpl implements SupplierService {
             throw new InvalidSupplierDataException("A supplier with the same name and address already exists.");
         }
 
-        return supplierRepository.save(supplier);
+        Supplier saved = supplierRepository.save(supplier);
+        referenceDataRegistry.refreshSuppliers();
+        return saved;
     }
 
     /**
@@ -108,5 +117,6 @@ public class SupplierServiceImpl implements SupplierService {
             throw new ResourceNotFoundException("Supplier not found with id " + id);
         }
         supplierRepository.deleteById(id);
+        referenceDataRegistry.refreshSuppliers();
     }
 }
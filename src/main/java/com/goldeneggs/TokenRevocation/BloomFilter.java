@@ -0,0 +1,81 @@
+package com.goldeneggs.TokenRevocation;
+
+/**
+ * Fixed-size Bloom filter of strings.
+ * <p>
+ * Answers "definitely absent" or "possibly present" without allocating: the value is hashed
+ * char by char and the probe positions are derived from that single 64-bit hash by double
+ * hashing. Not thread-safe; a filter must not be modified once it is shared.
+ * </p>
+ */
+public class BloomFilter {
+
+    private final long[] bits;
+    private final int bitCount;
+    private final int hashes;
+
+    /**
+     * Creates a filter sized for the expected number of values and false positive rate.
+     *
+     * @param expectedInsertions    number of values the filter is sized for; at least one.
+     * @param falsePositiveRate     wanted probability of "possibly present" for an absent value.
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(1, expectedInsertions);
+        double m = -n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        this.bitCount = (int) Math.max(64, Math.min(Integer.MAX_VALUE - 63, Math.ceil(m)));
+        this.hashes = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.bits = new long[(bitCount + 63) / 64];
+    }
+
+    /**
+     * Adds a value to the filter.
+     *
+     * @param value the value to add.
+     */
+    public void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            int index = Math.floorMod(h1 + i * h2, bitCount);
+            bits[index >>> 6] |= 1L << index;
+        }
+    }
+
+    /**
+     * Tells whether a value may have been added.
+     *
+     * @param value the value to look up.
+     * @return {@code false} if the value was never added, {@code true} if it possibly was.
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            int index = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits[index >>> 6] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the chars, followed by the MurmurHash3 finalizer.
+     */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,37 @@
+package com.goldeneggs.TokenRevocation;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Token that was revoked before its expiration, identified by its ID (the {@code jti} claim).
+ * <p>
+ * Rows are deleted once the token would have expired anyway.
+ * </p>
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+
+    @Id
+    @Column(name = "jti", length = 36, nullable = false)
+    private String jti;
+
+    /**
+     * Expiration of the token.
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+}
@@ -0,0 +1,37 @@
+package com.goldeneggs.TokenRevocation;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for managing {@link RevokedToken} entities.
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Retrieves the revoked tokens that have not expired yet.
+     *
+     * @param now the current moment.
+     * @return the tokens expiring after it.
+     */
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    /**
+     * Deletes the revoked tokens that have expired.
+     *
+     * @param now the current moment.
+     * @return the number of rows deleted.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
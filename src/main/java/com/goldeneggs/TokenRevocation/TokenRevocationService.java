@@ -0,0 +1,144 @@
+package com.goldeneggs.TokenRevocation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Denylist of the tokens revoked before their expiration, such as those of users who logged out.
+ * <p>
+ * Revocations are stored in the {@code revoked_tokens} table, so they survive restarts and are
+ * shared between instances, and are held in memory behind a Bloom filter: the check made on
+ * every request answers from the filter alone for the tokens that were never revoked. The
+ * denylist is reloaded from the table every few seconds, which also picks up the revocations
+ * of other instances, and rows are deleted once their token has expired.
+ * </p>
+ */
+@Service
+public class TokenRevocationService {
+
+    static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final RevokedTokenRepository repository;
+    private final int expectedRevocations;
+
+    /**
+     * In-memory copy of the denylist; replaced as a whole, never modified once published.
+     */
+    private volatile Denylist denylist;
+
+    /**
+     * Creates the service.
+     *
+     * @param repository          repository storing the revocations.
+     * @param expectedRevocations number of unexpired revocations the Bloom filter is sized for.
+     */
+    public TokenRevocationService(RevokedTokenRepository repository,
+                                  @Value("${goldeneggs.security.revocation.expected-tokens:10000}") int expectedRevocations) {
+        this.repository = repository;
+        this.expectedRevocations = Math.max(1, expectedRevocations);
+        this.denylist = Denylist.of(new HashMap<>(), this.expectedRevocations);
+    }
+
+    /**
+     * Revokes a token until its expiration.
+     *
+     * @param jti       the ID of the token.
+     * @param expiresAt the expiration of the token.
+     */
+    public void revoke(String jti, Date expiresAt) {
+        if (jti == null || expiresAt == null || expiresAt.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        repository.save(RevokedToken.builder()
+                .jti(jti)
+                .expiresAt(toLocalDateTime(expiresAt.getTime()))
+                .revokedAt(LocalDateTime.now())
+                .build());
+        synchronized (this) {
+            Map<String, Long> entries = new HashMap<>(denylist.entries());
+            entries.put(jti, expiresAt.getTime());
+            denylist = Denylist.of(entries, expectedRevocations);
+        }
+    }
+
+    /**
+     * Tells whether a token was revoked.
+     *
+     * @param jti the ID of the token.
+     * @return {@code true} if the token must be rejected.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        Denylist current = denylist;
+        if (!current.filter().mightContain(jti)) {
+            return false;
+        }
+        Long expiresAt = current.entries().get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * Reloads the denylist from the table and deletes the revocations of expired tokens.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${goldeneggs.security.revocation.refresh-ms:30000}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        repository.deleteExpired(now);
+        Map<String, Long> stored = new HashMap<>();
+        for (RevokedToken token : repository.findByExpiresAtAfter(now)) {
+            stored.put(token.getJti(), toEpochMilli(token.getExpiresAt()));
+        }
+        long nowMillis = System.currentTimeMillis();
+        synchronized (this) {
+            // Keep the revocations made here while the table was read.
+            denylist.entries().forEach((jti, expiresAt) -> {
+                if (expiresAt > nowMillis) {
+                    stored.putIfAbsent(jti, expiresAt);
+                }
+            });
+            denylist = Denylist.of(stored, expectedRevocations);
+        }
+    }
+
+    /**
+     * Retrieves the number of unexpired revocations held in memory.
+     *
+     * @return the size of the denylist.
+     */
+    public int size() {
+        return denylist.entries().size();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneId.systemDefault());
+    }
+
+    private static long toEpochMilli(LocalDateTime moment) {
+        return moment.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Revoked tokens by ID with their expiration, and the Bloom filter in front of them.
+     */
+    private record Denylist(Map<String, Long> entries, BloomFilter filter) {
+
+        static Denylist of(Map<String, Long> entries, int expectedRevocations) {
+            BloomFilter filter = new BloomFilter(Math.max(expectedRevocations, 2 * entries.size()), FALSE_POSITIVE_RATE);
+            entries.keySet().forEach(filter::put);
+            return new Denylist(entries, filter);
+        }
+    }
+}
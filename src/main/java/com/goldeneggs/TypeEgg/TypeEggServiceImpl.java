@@ -2,6 +2,7 @@ package com.goldeneggs.TypeEgg;
 
 import com.goldeneggs.Exception.InvalidTypeEggDataException;
 import com.goldeneggs.Exception.ResourceNotFoundException;
+import com.goldeneggs.ReferenceData.ReferenceDataRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -17,6 +18,9 @@ public class TypeEggServiceImpl implements TypeEggService {
     @Autowired
     private TypeEggRepository typeEggRepository;
 
+    @Autowired
+    private ReferenceDataRegistry referenceDataRegistry;
+
     /**
      * Saves a TypeEgg entity to the repository. Validates the input entity and ensures that the type
      * does not already exist (case insensitive). If the ID is provided, it checks that the specified
@@ -53,7 +57,9 @@ public class TypeEggServiceImpl implements TypeEggService {
             }
         }
 
-        return typeEggRepository.save(typeEgg);
+        TypeEgg saved = typeEggRepository.save(typeEgg);
+        referenceDataRegistry.refreshTypeEggs();
+        return saved;
     }
 
     /**
@@ -75,7 +81,9 @@ public class TypeEggServiceImpl implements TypeEggService {
         }
 
         existing.setType(updated.getType());
-        return typeEggRepository.save(existing);
+        TypeEgg saved = typeEggRepository.save(existing);
+        referenceDataRegistry.refreshTypeEggs();
+        return saved;
     }
 
     /**
@@ -112,5 +120,6 @@ public class TypeEggServiceImpl implements TypeEggService {
             throw new ResourceNotFoundException("Type Egg not found with id " + id);
         }
         typeEggRepository.deleteById(id);
+        referenceDataRegistry.refreshTypeEggs();
     }
 }
@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
+import java.time.LocalDateTime;
 import java.util.*;
 
 /**
@@ -15,7 +16,11 @@ import java.util.*;
 @Entity
 @Data
 @Builder
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_name", columnList = "name"),
+        @Index(name = "idx_users_segment", columnList = "segment"),
+        @Index(name = "idx_users_tokens_valid_after", columnList = "tokens_valid_after")
+})
 @AllArgsConstructor
 public class User {
 
@@ -47,15 +52,63 @@ public class User {
     /**
      * Many-to-many relationship with the Role entity.
      * A user can have multiple roles.
+     * <p>
+     * Nothing is cascaded: roles are managed through the role service, and the instances
+     * assigned here come from the shared reference data registry. Saving a user only writes
+     * the links to its roles, never a possibly stale copy of a role, and deleting a user
+     * leaves its roles in place.
+     * </p>
      */
-    @ManyToMany(fetch = FetchType.EAGER, cascade = CascadeType.ALL)
+    @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id", referencedColumnName = "id"),
             inverseJoinColumns = @JoinColumn(name = "role_id", referencedColumnName = "id"))
     private List<Role> roles = new ArrayList<>();
 
+    /**
+     * Classification derived from {@link #roles}, kept in sync whenever the roles change.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "segment", length = 16)
+    private UserSegment segment;
+
+    /**
+     * Moment before which the tokens issued to the user are no longer accepted, or {@code null}
+     * if none were revoked. Only checked in stateless authentication mode.
+     */
+    @Column(name = "tokens_valid_after")
+    private LocalDateTime tokensValidAfter;
+
+    /**
+     * Moment the user was soft-deleted, or {@code null} if the account was never deleted.
+     * A soft-deleted user is disabled and hidden from the user lists, but their orders,
+     * bills and payments are kept.
+     */
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
     public User() {
     }
 
+    /**
+     * Replaces the roles of the user and recomputes its segment.
+     *
+     * @param roles the new roles.
+     */
+    public void setRoles(List<Role> roles) {
+        this.roles = roles;
+        this.segment = UserSegment.of(roles);
+    }
+
+    /**
+     * Recomputes the segment before the user is written, so users built without
+     * {@link #setRoles(List)} are stored with it too.
+     */
+    @PrePersist
+    @PreUpdate
+    void syncSegment() {
+        this.segment = UserSegment.of(roles);
+    }
+
     /**
      * Enables the user account by setting 'enabled' to true.
      */
@@ -3,10 +3,15 @@ package com.goldeneggs.User;
 import com.goldeneggs.Dto.RegisterDto;
 import com.goldeneggs.Dto.UpdateUserDto;
 import com.goldeneggs.Dto.UserDataDto;
+import com.goldeneggs.Dto.UserSummaryDto;
 import com.goldeneggs.Exception.InvalidUserDataException;
+import com.goldeneggs.Exception.PasswordHashingBusyException;
 import com.goldeneggs.Exception.ResourceNotFoundException;
 import com.goldeneggs.Exception.UserAlreadyExistsException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,12 +19,20 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/users")
 @CrossOrigin("*")
 public class UserController {
 
+    /**
+     * Properties the user directory may be sorted by: the fields of {@link UserSummaryDto}.
+     * Anything else, such as the password hash, is refused rather than passed on to the query.
+     */
+    private static final Set<String> SORTABLE =
+            Set.of("id", "name", "username", "email", "phoneNumber", "address", "enabled");
+
     @Autowired
     private UserService userService;
 
@@ -31,6 +44,7 @@ public class UserController {
      * @return a {@link ResponseEntity} containing the created user on success,
      *         a conflict message if the user already exists,
      *         a bad request message for invalid data,
+     *         a too-many-requests message if password hashing is saturated,
      *         or an internal server error message for unexpected errors
      */
     @PostMapping("/register")
@@ -42,6 +56,8 @@ public class UserController {
             return buildErrorResponse(e.getMessage(), HttpStatus.CONFLICT);
         } catch (IllegalArgumentException | InvalidUserDataException e) {
             return buildErrorResponse(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (PasswordHashingBusyException e) {
+            return buildErrorResponse(e.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
         }
     }
 
@@ -84,13 +100,22 @@ public class UserController {
     }
 
     /**
-     * Retrieves a list of all users in the system.
+     * Retrieves a page of the user directory, sorted by name unless another sort is requested.
      *
-     * @return a {@code ResponseEntity} containing a list of users as a {@code List<User>} object
+     * @param q        text the name, username, email or phone number must start with; optional.
+     * @param role     name of a role the users must hold; optional.
+     * @param pageable the page to retrieve, taken from the {@code page}, {@code size} and {@code sort} parameters.
+     * @return a {@code ResponseEntity} containing a page of {@link UserSummaryDto} objects,
+     *         or bad request if the sort is not allowed
      */
     @GetMapping("/getAll")
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<Page<UserSummaryDto>> getAllUsers(@RequestParam(required = false) String q,
+                                                            @RequestParam(required = false) String role,
+                                                            @PageableDefault(size = 20, sort = "name") Pageable pageable) {
+        if (!isSortable(pageable)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(userService.getAllUsers(q, role, pageable));
     }
 
     /**
@@ -126,6 +151,7 @@ public class UserController {
      * @return a {@code ResponseEntity} containing the updated user object if successful,
      *         a bad request message if the input is invalid,
      *         a not-found message if the user does not exist,
+     *         a too-many-requests message if password hashing is saturated,
      *         or an internal server error message in case of unexpected errors
      */
     @PatchMapping("/updatepass/password/{id}")
@@ -138,6 +164,8 @@ public class UserController {
             return buildErrorResponse(e.getMessage(), HttpStatus.NOT_FOUND);
         } catch (IllegalArgumentException e) {
             return buildErrorResponse(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (PasswordHashingBusyException e) {
+            return buildErrorResponse(e.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
         }
     }
 
@@ -184,14 +212,20 @@ public class UserController {
      * Handles exceptions for when the user is not found or other unexpected errors.
      *
      * @param id the unique identifier of the user to be deleted
+     * @param soft whether to only soft-delete the user, keeping their orders, bills and payments
      * @return a {@code ResponseEntity} with no content if the deletion is successful,
      *         a not-found message if the user does not exist,
      *         or an internal server error message in case of unexpected errors
      */
     @DeleteMapping("/delete/{id}")
-    public ResponseEntity<?> deleteUser(@PathVariable Long id) {
+    public ResponseEntity<?> deleteUser(@PathVariable Long id,
+                                        @RequestParam(defaultValue = "false") boolean soft) {
         try {
-            userService.deleteUser(id);
+            if (soft) {
+                userService.softDeleteUser(id);
+            } else {
+                userService.deleteUser(id);
+            }
             return ResponseEntity.noContent().build();
         } catch (ResourceNotFoundException e) {
             return buildErrorResponse(e.getMessage(), HttpStatus.NOT_FOUND);
@@ -219,13 +253,19 @@ public class UserController {
     }
 
     /**
-     * Retrieves all users with the role CUSTOMER.
+     * Retrieves a page of the enabled users with the role CUSTOMER, sorted by name unless another sort is requested.
      *
-     * @return list of customers
+     * @param q        text the name, username, email or phone number must start with; optional.
+     * @param pageable the page to retrieve, taken from the {@code page}, {@code size} and {@code sort} parameters.
+     * @return page of customers, no content if the page is empty, or bad request if the sort is not allowed
      */
     @GetMapping("/getAllCustomers")
-    public ResponseEntity<List<User>> getAllCustomers() {
-        List<User> customers = userService.getAllCustomers();
+    public ResponseEntity<Page<UserSummaryDto>> getAllCustomers(@RequestParam(required = false) String q,
+                                                                @PageableDefault(size = 20, sort = "name") Pageable pageable) {
+        if (!isSortable(pageable)) {
+            return ResponseEntity.badRequest().build();
+        }
+        Page<UserSummaryDto> customers = userService.getAllCustomers(q, pageable);
         if (customers.isEmpty()) {
             return ResponseEntity.noContent().build();
         }
@@ -233,17 +273,23 @@ public class UserController {
     }
 
     /**
-     * Retrieves all users with the role CUSTOMER.
+     * Retrieves a page of the enabled users with the role EMPLOYEE, sorted by name unless another sort is requested.
      *
-     * @return list of customers
+     * @param q        text the name, username, email or phone number must start with; optional.
+     * @param pageable the page to retrieve, taken from the {@code page}, {@code size} and {@code sort} parameters.
+     * @return page of employees, no content if the page is empty, or bad request if the sort is not allowed
      */
     @GetMapping("/getAllEmployee")
-    public ResponseEntity<List<User>> getAllEmployee() {
-        List<User> customers = userService.getAllEmployee();
-        if (customers.isEmpty()) {
+    public ResponseEntity<Page<UserSummaryDto>> getAllEmployee(@RequestParam(required = false) String q,
+                                                               @PageableDefault(size = 20, sort = "name") Pageable pageable) {
+        if (!isSortable(pageable)) {
+            return ResponseEntity.badRequest().build();
+        }
+        Page<UserSummaryDto> employees = userService.getAllEmployee(q, pageable);
+        if (employees.isEmpty()) {
             return ResponseEntity.noContent().build();
         }
-        return ResponseEntity.ok(customers);
+        return ResponseEntity.ok(employees);
     }
 
     /**
@@ -271,5 +317,14 @@ public class UserController {
         error.put("message", message);
         return ResponseEntity.status(status).body(error);
     }
-}
 
+    /**
+     * Tells whether the requested page is sorted only by properties in {@link #SORTABLE}.
+     *
+     * @param pageable the requested page
+     * @return true if the sort can be passed to the repository
+     */
+    private static boolean isSortable(Pageable pageable) {
+        return pageable.getSort().stream().allMatch(order -> SORTABLE.contains(order.getProperty()));
+    }
+}
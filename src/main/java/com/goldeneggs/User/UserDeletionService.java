@@ -0,0 +1,139 @@
+package com.goldeneggs.User;
+
+import com.goldeneggs.Bill.BillRepository;
+import com.goldeneggs.InventoryMovement.InventoryMovementRepository;
+import com.goldeneggs.Order.OrderRepository;
+import com.goldeneggs.OrderEgg.OrderEggRepository;
+import com.goldeneggs.Pay.Pay;
+import com.goldeneggs.Pay.PayRepository;
+import com.goldeneggs.PaymentLedger.PaymentLedgerService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Deletes the records that hang from a user, with set-based statements.
+ * <p>
+ * The orders of the user are walked by ID in chunks. For each chunk the payments are reversed
+ * in the payment ledger with one batch, and then the payments, bills, order lines, inventory
+ * movements and orders are deleted with one statement each, in that dependency order. The
+ * cost therefore grows with the size of the account, not with the size of the tables, and the
+ * statements never carry more than a chunk of IDs.
+ * </p>
+ */
+@Service
+public class UserDeletionService {
+
+    private final OrderRepository orderRepository;
+    private final OrderEggRepository orderEggRepository;
+    private final BillRepository billRepository;
+    private final PayRepository payRepository;
+    private final InventoryMovementRepository inventoryMovementRepository;
+    private final PaymentLedgerService paymentLedgerService;
+    private final int chunkSize;
+
+    /**
+     * Creates the service.
+     *
+     * @param orderRepository             repository of the orders.
+     * @param orderEggRepository          repository of the order lines.
+     * @param billRepository              repository of the bills.
+     * @param payRepository               repository of the payments.
+     * @param inventoryMovementRepository repository of the inventory movements.
+     * @param paymentLedgerService        ledger in which the deleted payments are reversed.
+     * @param chunkSize                   orders, or payments, deleted per statement; at least one.
+     */
+    public UserDeletionService(OrderRepository orderRepository,
+                               OrderEggRepository orderEggRepository,
+                               BillRepository billRepository,
+                               PayRepository payRepository,
+                               InventoryMovementRepository inventoryMovementRepository,
+                               PaymentLedgerService paymentLedgerService,
+                               @Value("${goldeneggs.users.delete-chunk-size:500}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.orderEggRepository = orderEggRepository;
+        this.billRepository = billRepository;
+        this.payRepository = payRepository;
+        this.inventoryMovementRepository = inventoryMovementRepository;
+        this.paymentLedgerService = paymentLedgerService;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Deletes the orders of a user along with their payments, bills, lines and inventory movements,
+     * then the payments the user made on other bills, and unlinks the user from the inventory
+     * movements they recorded for other orders. The user itself is left to the caller.
+     *
+     * @param userId the ID of the user.
+     * @return the months whose records were deleted, whose counters must be rebuilt.
+     */
+    @Transactional
+    public Set<YearMonth> deleteRecordsOf(Long userId) {
+        Set<YearMonth> affectedMonths = new TreeSet<>();
+
+        long afterId = 0;
+        List<Long> orderIds;
+        do {
+            orderIds = orderRepository.findIdsByUserIdAfter(userId, afterId, PageRequest.of(0, chunkSize));
+            if (!orderIds.isEmpty()) {
+                deleteOrders(orderIds, affectedMonths);
+                afterId = orderIds.get(orderIds.size() - 1);
+            }
+        } while (orderIds.size() == chunkSize);
+
+        List<Pay> pays;
+        do {
+            pays = payRepository.findChunkByUserId(userId, PageRequest.of(0, chunkSize));
+            if (!pays.isEmpty()) {
+                deletePays(pays, affectedMonths);
+            }
+        } while (pays.size() == chunkSize);
+
+        inventoryMovementRepository.clearUser(userId);
+        return affectedMonths;
+    }
+
+    private void deleteOrders(List<Long> orderIds, Set<YearMonth> affectedMonths) {
+        orderRepository.findOrderDatesByIdIn(orderIds).forEach(date -> addMonth(date, affectedMonths));
+        billRepository.findIssueDatesByOrderIdIn(orderIds).forEach(date -> addMonth(date, affectedMonths));
+        List<Pay> pays = payRepository.findAllByOrderIdIn(orderIds);
+        addBillMonths(pays, affectedMonths);
+        paymentLedgerService.recordReversals(pays);
+
+        payRepository.deleteAllByOrderIdIn(orderIds);
+        billRepository.deleteAllByOrderIdIn(orderIds);
+        orderEggRepository.deleteAllByOrderIdIn(orderIds);
+        inventoryMovementRepository.deleteAllByOrderIdIn(orderIds);
+        orderRepository.deleteAllByIdIn(orderIds);
+    }
+
+    private void deletePays(List<Pay> pays, Set<YearMonth> affectedMonths) {
+        addBillMonths(pays, affectedMonths);
+        paymentLedgerService.recordReversals(pays);
+        payRepository.deleteAllByIdIn(pays.stream().map(Pay::getId).toList());
+    }
+
+    /**
+     * Payments are counted in the month their bill was issued, not the month they were made.
+     */
+    private static void addBillMonths(List<Pay> pays, Set<YearMonth> affectedMonths) {
+        for (Pay pay : pays) {
+            if (pay.getBill() != null) {
+                addMonth(pay.getBill().getIssueDate(), affectedMonths);
+            }
+        }
+    }
+
+    private static void addMonth(Date date, Set<YearMonth> affectedMonths) {
+        if (date != null) {
+            affectedMonths.add(YearMonth.from(date.toLocalDate()));
+        }
+    }
+}
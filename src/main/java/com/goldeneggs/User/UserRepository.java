@@ -1,10 +1,18 @@
 package com.goldeneggs.User;
 
+import com.goldeneggs.Dto.TokenCutoffDto;
+import com.goldeneggs.Dto.UserIdentityDto;
+import com.goldeneggs.Dto.UserSummaryDto;
 import com.goldeneggs.Exception.ResourceNotFoundException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,14 +26,6 @@ public interface UserRepository extends JpaRepository<User,Long> {
      */
     Optional<User> findByUsername(String username);
 
-    /**
-     * Checks if a user exists in the database based on their unique username.
-     *
-     * @param username The username to check for existence. Must not be null or empty.
-     * @return A Boolean value: true if a user with the specified username exists, otherwise false.
-     */
-    Boolean existsByUsername(String username);
-
     /**
      * Counts the number of users associated with a specific role name.
      *
@@ -36,29 +36,55 @@ public interface UserRepository extends JpaRepository<User,Long> {
     Long countUsersByRoleName(@Param("roleName") String roleName);
 
     /**
-     * Checks if a user exists in the database based on their unique email address.
+     * Retrieves, in one query, the users holding any of the given unique values.
+     * A {@code null} value matches nothing.
      *
-     * @param email The email address to check for existence. Must not be null or empty.
-     * @return A boolean value: true if a user with the specified email exists, otherwise false.
+     * @param id          the user ID to look for.
+     * @param username    the username to look for.
+     * @param email       the email to look for.
+     * @param phoneNumber the phone number to look for.
+     * @return the unique attributes of every user holding at least one of the values.
      */
-    boolean existsByEmail(String email);
+    @Query("SELECT new com.goldeneggs.Dto.UserIdentityDto(u.id, u.username, u.email, u.phoneNumber) FROM User u " +
+            "WHERE u.id = :id OR u.username = :username OR u.email = :email OR u.phoneNumber = :phoneNumber")
+    List<UserIdentityDto> findIdentitiesHolding(@Param("id") Long id,
+                                                @Param("username") String username,
+                                                @Param("email") String email,
+                                                @Param("phoneNumber") String phoneNumber);
 
     /**
-     * Checks if a user exists in the database based on their unique phone number.
+     * Retrieves a page of the user directory projected onto {@link UserSummaryDto}.
+     * Soft-deleted users are left out.
+     * <p>
+     * The prefix is matched against the start of the name, username, email and phone number.
+     * Each of those columns is indexed and a prefix LIKE can use the index, so the database
+     * answers the search with index range scans instead of reading the table. A {@code null} filter
+     * matches every user.
+     * </p>
      *
-     * @param phoneNumber The phone number to check for existence. Must not be null or empty.
-     * @return A boolean value: true if a user with the specified phone number exists, otherwise false.
+     * @param prefix   the LIKE pattern of the prefix, with its wildcards escaped with {@code !}.
+     * @param roleName the name of a role the users must hold.
+     * @param enabled  whether the users must be enabled or disabled.
+     * @param pageable the page to retrieve and its sort order.
+     * @return a page of users.
      */
-    boolean existsByPhoneNumber(String phoneNumber);
-
-    /**
-     * Retrieves a list of users that are associated with a specific role name and are enabled.
-     *
-     * @param roleName The name of the role to filter the users by. Must not be null or empty.
-     * @return A list of User objects that have the specified role name and are enabled.
-     */
-    @Query("SELECT u FROM User u JOIN u.roles r WHERE r.name = :roleName AND u.enabled = true")
-    List<User> findAllByRoleNameAndEnabledIsTrue(@Param("roleName") String roleName);
+    @Query(value = "SELECT new com.goldeneggs.Dto.UserSummaryDto(u.id, u.name, u.username, u.email, " +
+            "u.phoneNumber, u.address, u.enabled) FROM User u WHERE u.deletedAt IS NULL " +
+            "AND (:enabled IS NULL OR u.enabled = :enabled) " +
+            "AND (:roleName IS NULL OR EXISTS " +
+            "(SELECT x FROM User x JOIN x.roles r WHERE x.id = u.id AND r.name = :roleName)) " +
+            "AND (:prefix IS NULL OR u.name LIKE :prefix ESCAPE '!' OR u.username LIKE :prefix ESCAPE '!' " +
+            "OR u.email LIKE :prefix ESCAPE '!' OR u.phoneNumber LIKE :prefix ESCAPE '!')",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE u.deletedAt IS NULL " +
+                    "AND (:enabled IS NULL OR u.enabled = :enabled) " +
+                    "AND (:roleName IS NULL OR EXISTS " +
+                    "(SELECT x FROM User x JOIN x.roles r WHERE x.id = u.id AND r.name = :roleName)) " +
+                    "AND (:prefix IS NULL OR u.name LIKE :prefix ESCAPE '!' OR u.username LIKE :prefix ESCAPE '!' " +
+                    "OR u.email LIKE :prefix ESCAPE '!' OR u.phoneNumber LIKE :prefix ESCAPE '!')")
+    Page<UserSummaryDto> searchDirectory(@Param("prefix") String prefix,
+                                         @Param("roleName") String roleName,
+                                         @Param("enabled") Boolean enabled,
+                                         Pageable pageable);
 
     /**
      * To get user by id
@@ -72,10 +98,61 @@ public interface UserRepository extends JpaRepository<User,Long> {
     }
     /**
      * Retrieves a list of users that are associated with a specific role name and are disabled.
+     * Soft-deleted users are left out.
      *
      * @param roleName The name of the role to filter the users by. Must not be null or empty.
      * @return A list of User objects that have the specified role name and are enabled.
      */
-    @Query("SELECT u FROM User u JOIN u.roles r WHERE r.name = :roleName AND u.enabled = false")
+    @Query("SELECT u FROM User u JOIN u.roles r WHERE r.name = :roleName AND u.enabled = false AND u.deletedAt IS NULL")
     List<User> findAllByRoleNameAndDisabledIsTrue(@Param("roleName") String roleName);
+
+    /**
+     * Assigns a segment to the users that do not have one yet and hold any of the given roles.
+     *
+     * @param segment the segment to assign.
+     * @param roles   the role names, in upper case, that qualify a user for the segment.
+     * @return the number of users updated.
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.segment = :segment WHERE u.segment IS NULL AND EXISTS " +
+            "(SELECT x FROM User x JOIN x.roles r WHERE x.id = u.id AND UPPER(r.name) IN :roles)")
+    int assignSegmentWhereMissing(@Param("segment") UserSegment segment, @Param("roles") Collection<String> roles);
+
+    /**
+     * Assigns a segment to every user that still does not have one.
+     *
+     * @param segment the segment to assign.
+     * @return the number of users updated.
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.segment = :segment WHERE u.segment IS NULL")
+    int assignSegmentToRemaining(@Param("segment") UserSegment segment);
+
+    /**
+     * Retrieves which of the given IDs belong to existing users.
+     *
+     * @param ids the IDs to check.
+     * @return the IDs that exist.
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Retrieves the ID of a user by their username.
+     *
+     * @param username the username of the user.
+     * @return the ID, or an empty Optional if no user has that username.
+     */
+    @Query("SELECT u.id FROM User u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
+
+    /**
+     * Retrieves the users whose tokens were revoked after the given moment.
+     *
+     * @param since the earliest revocation of interest.
+     * @return the ID of each user and the moment their tokens became invalid.
+     */
+    @Query("SELECT new com.goldeneggs.Dto.TokenCutoffDto(u.id, u.tokensValidAfter) FROM User u " +
+            "WHERE u.tokensValidAfter > :since")
+    List<TokenCutoffDto> findTokenCutoffsSince(@Param("since") LocalDateTime since);
 }
@@ -0,0 +1,72 @@
+package com.goldeneggs.User;
+
+import com.goldeneggs.Role.Role;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Classification of a user derived from their roles, stored on the user so that
+ * analytics queries can filter on a single indexed column instead of joining roles.
+ */
+public enum UserSegment {
+
+    /**
+     * Users with the "CUSTOMER" role.
+     */
+    CUSTOMER,
+
+    /**
+     * Users with the "EMPLOYEE" or "ADMIN" role.
+     */
+    COMPANY,
+
+    /**
+     * Users without any of the roles above.
+     */
+    OTHER;
+
+    /**
+     * Role names, in upper case, that place a user in the {@link #COMPANY} segment.
+     */
+    public static final Set<String> COMPANY_ROLES = Set.of("EMPLOYEE", "ADMIN");
+
+    /**
+     * Role names, in upper case, that place a user in the {@link #CUSTOMER} segment.
+     */
+    public static final Set<String> CUSTOMER_ROLES = Set.of("CUSTOMER");
+
+    /**
+     * Derives the segment of a set of roles. The customer role takes precedence.
+     *
+     * @param roles the roles of the user, may be {@code null}.
+     * @return the matching segment, {@link #OTHER} if none applies.
+     */
+    public static UserSegment of(Collection<Role> roles) {
+        List<String> names = roles == null ? List.of() : roles.stream()
+                .filter(role -> role != null && role.getName() != null)
+                .map(role -> role.getName().toUpperCase())
+                .toList();
+        if (names.stream().anyMatch(CUSTOMER_ROLES::contains)) {
+            return CUSTOMER;
+        }
+        if (names.stream().anyMatch(COMPANY_ROLES::contains)) {
+            return COMPANY;
+        }
+        return OTHER;
+    }
+
+    /**
+     * Returns the segment of a user, deriving it from the roles when it has not been stored yet.
+     *
+     * @param user the user, may be {@code null}.
+     * @return the segment of the user, {@link #OTHER} for {@code null}.
+     */
+    public static UserSegment of(User user) {
+        if (user == null) {
+            return OTHER;
+        }
+        return user.getSegment() != null ? user.getSegment() : of(user.getRoles());
+    }
+}
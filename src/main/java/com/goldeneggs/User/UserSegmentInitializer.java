@@ -0,0 +1,36 @@
+package com.goldeneggs.User;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Fills the {@link UserSegment} of users stored before the column existed.
+ * <p>
+ * Runs ahead of the other startup backfills, since the counters, rankings and snapshots
+ * they build filter on the segment.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class UserSegmentInitializer {
+
+    private final UserRepository userRepository;
+
+    /**
+     * Assigns a segment to every user that does not have one. The customer role takes
+     * precedence, matching {@link UserSegment#of(java.util.Collection)}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void initialize() {
+        userRepository.assignSegmentWhereMissing(UserSegment.CUSTOMER, UserSegment.CUSTOMER_ROLES);
+        userRepository.assignSegmentWhereMissing(UserSegment.COMPANY, UserSegment.COMPANY_ROLES);
+        userRepository.assignSegmentToRemaining(UserSegment.OTHER);
+    }
+}
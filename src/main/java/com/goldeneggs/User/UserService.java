@@ -3,6 +3,9 @@ package com.goldeneggs.User;
 import com.goldeneggs.Dto.RegisterDto;
 import com.goldeneggs.Dto.UpdateUserDto;
 import com.goldeneggs.Dto.UserDataDto;
+import com.goldeneggs.Dto.UserSummaryDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
@@ -37,11 +40,15 @@ public interface UserService {
     UserDataDto getUserByUsername(String username);
 
     /**
-     * Retrieves all users in the system.
+     * Retrieves a page of the user directory, optionally narrowed by a search prefix and a role.
+     * Soft-deleted users are left out.
      *
-     * @return A list of all User objects.
+     * @param query    text the name, username, email or phone number must start with, or {@code null}.
+     * @param roleName name of a role the users must hold, or {@code null}.
+     * @param pageable the page to retrieve and its sort order.
+     * @return A page of user summaries.
      */
-    List<User> getAllUsers();
+    Page<UserSummaryDto> getAllUsers(String query, String roleName, Pageable pageable);
 
     /**
      * Deletes a user by their ID.
@@ -50,6 +57,14 @@ public interface UserService {
      */
     void deleteUser(Long id);
 
+    /**
+     * Soft-deletes a user by their ID, keeping their records.
+     *
+     * @param id The ID of the user to soft-delete.
+     * @return The soft-deleted User entity.
+     */
+    User softDeleteUser(Long id);
+
     /**
      * Updates a user based on the provided data.
      *
@@ -85,11 +100,13 @@ public interface UserService {
     User activateUser(Long id);
 
     /**
-     * Retrieves a list of all customers in the system.
+     * Retrieves a page of the enabled customers, optionally narrowed by a search prefix.
      *
-     * @return A list of User objects representing all customers.
+     * @param query    text the name, username, email or phone number must start with, or {@code null}.
+     * @param pageable the page to retrieve and its sort order.
+     * @return A page of customer summaries.
      */
-    List<User> getAllCustomers();
+    Page<UserSummaryDto> getAllCustomers(String query, Pageable pageable);
 
     /**
      * Counts the total number of clients in the system.
@@ -106,11 +123,13 @@ public interface UserService {
     Long countEmployees();
 
     /**
-     * Retrieves a list of all employee in the system.
+     * Retrieves a page of the enabled employees, optionally narrowed by a search prefix.
      *
-     * @return A list of User objects representing all employee.
+     * @param query    text the name, username, email or phone number must start with, or {@code null}.
+     * @param pageable the page to retrieve and its sort order.
+     * @return A page of employee summaries.
      */
-    List<User> getAllEmployee();
+    Page<UserSummaryDto> getAllEmployee(String query, Pageable pageable);
 
     /**
      * Retrives a list of all employee disable in the system
@@ -1,25 +1,34 @@
 package com.goldeneggs.User;
 
 
-import com.goldeneggs.Bill.BillRepository;
+import com.goldeneggs.Config.Security.TokenCutoffService;
+import com.goldeneggs.Config.Security.UserDetailsCache;
 import com.goldeneggs.Dto.RegisterDto;
 import com.goldeneggs.Dto.UpdateUserDto;
 import com.goldeneggs.Dto.UserDataDto;
+import com.goldeneggs.Dto.UserSummaryDto;
 import com.goldeneggs.Exception.InvalidUserDataException;
 import com.goldeneggs.Exception.ResourceNotFoundException;
 import com.goldeneggs.Exception.UserAlreadyExistsException;
-import com.goldeneggs.Order.Order;
-import com.goldeneggs.Order.OrderRepository;
-import com.goldeneggs.Pay.PayRepository;
+import com.goldeneggs.MonthlyCounter.MonthlyCounterService;
+import com.goldeneggs.MonthlyRanking.MonthlyRankingService;
+import com.goldeneggs.ReferenceData.ReferenceDataRegistry;
+import com.goldeneggs.RefreshToken.RefreshTokenService;
 import com.goldeneggs.Role.Role;
-import com.goldeneggs.Role.RoleRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 public class UserServiceImpl implements UserService {
@@ -28,26 +37,38 @@ public class UserServiceImpl implements UserService {
     private UserRepository userRepository;
 
     @Autowired
-    private RoleRepository roleRepository;
+    private ReferenceDataRegistry referenceDataRegistry;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
     @Autowired
-    private OrderRepository orderRepository;
+    private UserDeletionService userDeletionService;
 
     @Autowired
-    private BillRepository billRepository;
+    private UserUniquenessChecker uniquenessChecker;
 
     @Autowired
-    private PayRepository payRepository;
+    private MonthlyCounterService monthlyCounterService;
+
+    @Autowired
+    private MonthlyRankingService monthlyRankingService;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private TokenCutoffService tokenCutoffService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
 
     /**
-     * Registers a new user if the username and ID do not already exist.
+     * Registers a new user if its ID, username, email and phone number are not already taken.
      *
      * @param registerDto Data transfer object containing user registration data.
      * @return The saved User entity.
-     * @throws UserAlreadyExistsException if the username or ID already exists.
+     * @throws UserAlreadyExistsException if any of those values is taken; every conflict is listed.
      * @throws ResourceNotFoundException if the specified role is not found.
      */
     @Override
@@ -59,21 +80,8 @@ public class UserServiceImpl implements UserService {
             throw new InvalidUserDataException(ex.getMessage());
         }
 
-        if (userRepository.existsByUsername(registerDto.getUsername())) {
-            throw new UserAlreadyExistsException("Username '" + registerDto.getUsername() + "' already exists");
-        }
-
-        if (userRepository.existsById(registerDto.getId())) {
-            throw new UserAlreadyExistsException("User with ID " + registerDto.getId() + " already exists");
-        }
-
-        if (userRepository.existsByEmail(registerDto.getEmail())) {
-            throw new UserAlreadyExistsException("Email '" + registerDto.getEmail() + "' already exists");
-        }
-
-        if (userRepository.existsByPhoneNumber(registerDto.getPhoneNumber())) {
-            throw new UserAlreadyExistsException("Phone number '" + registerDto.getPhoneNumber() + "' already exists");
-        }
+        uniquenessChecker.checkNew(registerDto.getId(), registerDto.getUsername(),
+                registerDto.getEmail(), registerDto.getPhoneNumber());
 
         User user = new User();
         user.setUsername(registerDto.getUsername());
@@ -88,7 +96,12 @@ public class UserServiceImpl implements UserService {
         Role role = getRoleOrThrow(registerDto.getRoleId());
         user.setRoles(Collections.singletonList(role));
 
-        return userRepository.save(user);
+        try {
+            return userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw uniquenessChecker.translateNew(e, registerDto.getId(), registerDto.getUsername(),
+                    registerDto.getEmail(), registerDto.getPhoneNumber());
+        }
     }
 
     /**
@@ -129,11 +142,12 @@ public class UserServiceImpl implements UserService {
      * This method performs the following operations:
      * - Retrieves the user by their ID. If the user does not exist, a
      *   ResourceNotFoundException is thrown.
-     * - Searches for all orders associated with the user.
-     * - Iterates through each order and finds associated bills. For each bill,
-     *   all payments linked to the bill are deleted, followed by the deletion of the bill itself.
-     * - Deletes all orders associated with the user.
-     * - Deletes the user.
+     * - Deletes the payments, bills, order lines, inventory movements and orders of the
+     *   user with set-based statements, chunk by chunk, reversing the payments in the
+     *   payment ledger (see {@link UserDeletionService}).
+     * - Revokes the tokens of the user and deletes the user.
+     * - Rebuilds the month-to-date counters and the leaderboards of every month the removed
+     *   records belonged to, so the deleted customer leaves the rankings too.
      *
      * This method is transactional to ensure atomicity and consistency of the deletion
      * process.
@@ -146,22 +160,38 @@ public class UserServiceImpl implements UserService {
     public void deleteUser(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
-        List<Order> orders = orderRepository.findAll().stream()
-                .filter(order -> order.getUser().getId().equals(userId))
-                .toList();
-
-        for (Order order : orders) {
-            billRepository.findAll().stream()
-                    .filter(bill -> bill.getOrder().getId().equals(order.getId()))
-                    .findFirst()
-                    .ifPresent(bill -> {
-                        payRepository.deleteAllByBill(bill);
-                        billRepository.delete(bill);
-                    });
-
-            orderRepository.delete(order);
-        }
+
+        Set<YearMonth> affectedMonths = userDeletionService.deleteRecordsOf(userId);
+        tokenCutoffService.revokeTokens(user);
+        refreshTokenService.revokeAll(userId);
         userRepository.delete(user);
+        userDetailsCache.evict(user.getUsername());
+        for (YearMonth month : affectedMonths) {
+            monthlyCounterService.rebuild(month);
+            // Also evicts the in-memory trackers of the month once the deletion commits.
+            monthlyRankingService.rebuild(month);
+        }
+    }
+
+    /**
+     * Soft-deletes a user: the account is disabled, its tokens are revoked and it is hidden
+     * from the user lists, while its orders, bills and payments are kept.
+     *
+     * @param id The ID of the user to soft-delete.
+     * @return The updated User entity.
+     * @throws ResourceNotFoundException if no user with the given ID is found.
+     */
+    @Override
+    public User softDeleteUser(Long id) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + id));
+        user.disabled();
+        user.setDeletedAt(LocalDateTime.now());
+        tokenCutoffService.revokeTokens(user);
+        refreshTokenService.revokeAll(id);
+        User saved = userRepository.save(user);
+        userDetailsCache.evict(user.getUsername());
+        return saved;
     }
 
     /**
@@ -187,30 +217,27 @@ public class UserServiceImpl implements UserService {
 
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + id));
+        String previousUsername = user.getUsername();
 
         if (updateUserDto.getName() != null && !updateUserDto.getName().isBlank()) {
             user.setName(updateUserDto.getName());
         }
 
-        if (updateUserDto.getUsername() != null && !user.getUsername().equals(updateUserDto.getUsername())) {
-            if (userRepository.existsByUsername(updateUserDto.getUsername())) {
-                throw new UserAlreadyExistsException("Username '" + updateUserDto.getUsername() + "' already exists");
-            }
-            user.setUsername(updateUserDto.getUsername());
+        String newUsername = changed(user.getUsername(), updateUserDto.getUsername());
+        String newEmail = changed(user.getEmail(), updateUserDto.getEmail());
+        String newPhoneNumber = changed(user.getPhoneNumber(), updateUserDto.getPhoneNumber());
+        uniquenessChecker.checkChanges(id, newUsername, newEmail, newPhoneNumber);
+
+        if (newUsername != null) {
+            user.setUsername(newUsername);
         }
 
-        if (updateUserDto.getEmail() != null && !user.getEmail().equals(updateUserDto.getEmail())) {
-            if (userRepository.existsByEmail(updateUserDto.getEmail())) {
-                throw new UserAlreadyExistsException("Email '" + updateUserDto.getEmail() + "' already exists");
-            }
-            user.setEmail(updateUserDto.getEmail());
+        if (newEmail != null) {
+            user.setEmail(newEmail);
         }
 
-        if (updateUserDto.getPhoneNumber() != null && !user.getPhoneNumber().equals(updateUserDto.getPhoneNumber())) {
-            if (userRepository.existsByPhoneNumber(updateUserDto.getPhoneNumber())) {
-                throw new UserAlreadyExistsException("Phone number '" + updateUserDto.getPhoneNumber() + "' already exists");
-            }
-            user.setPhoneNumber(updateUserDto.getPhoneNumber());
+        if (newPhoneNumber != null) {
+            user.setPhoneNumber(newPhoneNumber);
         }
 
         if (updateUserDto.getAddress() != null && !updateUserDto.getAddress().isBlank()) {
@@ -222,7 +249,29 @@ public class UserServiceImpl implements UserService {
             user.setRoles(Collections.singletonList(newRole));
         }
 
-        return userRepository.save(user);
+        if (!Objects.equals(user.getUsername(), previousUsername) || updateUserDto.getRoleId() != null) {
+            tokenCutoffService.revokeTokens(user);
+        }
+
+        User saved;
+        try {
+            saved = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw uniquenessChecker.translateChanges(e, id, newUsername, newEmail, newPhoneNumber);
+        }
+        userDetailsCache.evict(previousUsername);
+        return saved;
+    }
+
+    /**
+     * Returns the requested value of a unique attribute if it differs from the current one.
+     *
+     * @param current   the current value.
+     * @param requested the requested value, or {@code null} to keep the current one.
+     * @return the requested value, or {@code null} if it does not change anything.
+     */
+    private static String changed(String current, String requested) {
+        return requested != null && !requested.equals(current) ? requested : null;
     }
 
     /**
@@ -237,11 +286,15 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + id));
         user.disabled();
-        return userRepository.save(user);
+        tokenCutoffService.revokeTokens(user);
+        refreshTokenService.revokeAll(id);
+        User saved = userRepository.save(user);
+        userDetailsCache.evict(user.getUsername());
+        return saved;
     }
 
     /**
-     * Activates a previously disabled user account.
+     * Activates a previously disabled user account, restoring it if it was soft-deleted.
      *
      * @param id The ID of the user to activate.
      * @return The updated User entity with the enabled status.
@@ -252,7 +305,10 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + id));
         user.enabled();
-        return userRepository.save(user);
+        user.setDeletedAt(null);
+        User saved = userRepository.save(user);
+        userDetailsCache.evict(user.getUsername());
+        return saved;
     }
 
     /**
@@ -274,40 +330,42 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
 
         user.setPassword(passwordEncoder.encode(newPassword));
+        tokenCutoffService.revokeTokens(user);
+        refreshTokenService.revokeAll(userId);
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userDetailsCache.evict(user.getUsername());
+        return saved;
     }
 
     /**
-     * Retrieves a list of all users.
-     *
-     * @return A list of all User entities.
+     * {@inheritDoc}
      */
     @Override
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public Page<UserSummaryDto> getAllUsers(String query, String roleName, Pageable pageable) {
+        String role = roleName == null || roleName.isBlank() ? null : roleName.trim();
+        return userRepository.searchDirectory(prefixPattern(query), role, null, pageable);
     }
 
     /**
      * Helper method to find a role by ID or throw an exception if not found.
+     * Roles are answered from the reference data registry.
      *
      * @param roleId The ID of the role.
      * @return The Role entity.
      * @throws ResourceNotFoundException if the role is not found.
      */
     protected Role getRoleOrThrow(Long roleId) {
-        return roleRepository.findById(roleId)
+        return referenceDataRegistry.findRole(roleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Role not found with ID: " + roleId));
     }
 
     /**
-     * Retrieves all users that have the CUSTOMER role.
-     *
-     * @return list of users with role CUSTOMER
+     * {@inheritDoc}
      */
     @Override
-    public List<User> getAllCustomers() {
-        return userRepository.findAllByRoleNameAndEnabledIsTrue("CUSTOMER");
+    public Page<UserSummaryDto> getAllCustomers(String query, Pageable pageable) {
+        return userRepository.searchDirectory(prefixPattern(query), "CUSTOMER", true, pageable);
     }
 
 
@@ -335,11 +393,26 @@ public class UserServiceImpl implements UserService {
      * {@inheritDoc}
      */
     @Override
-    public List<User> getAllEmployee(){return userRepository.findAllByRoleNameAndEnabledIsTrue("EMPLOYEE");}
+    public Page<UserSummaryDto> getAllEmployee(String query, Pageable pageable) {
+        return userRepository.searchDirectory(prefixPattern(query), "EMPLOYEE", true, pageable);
+    }
 
     /**
      * {@inheritDoc}
      */
     @Override
     public List<User> getAllDisabledEmployess(){return userRepository.findAllByRoleNameAndDisabledIsTrue("EMPLOYEE");}
+
+    /**
+     * Turns a search text into the LIKE pattern of its prefix, escaping its wildcards with {@code !}.
+     *
+     * @param query the search text, or {@code null}.
+     * @return the pattern, or {@code null} if there is nothing to search for.
+     */
+    static String prefixPattern(String query) {
+        if (query == null || query.isBlank()) {
+            return null;
+        }
+        return query.trim().replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
 }
@@ -0,0 +1,160 @@
+package com.goldeneggs.User;
+
+import com.goldeneggs.Dto.UserIdentityDto;
+import com.goldeneggs.Exception.UserAlreadyExistsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Checks that the ID, username, email and phone number of a user are not already taken.
+ * <p>
+ * The candidate values are looked up with a single query, and every conflict found is
+ * reported at once in the message of a {@link UserAlreadyExistsException}. The username,
+ * email and phone number are also protected by unique constraints, so when the pre-check is
+ * turned off ({@code goldeneggs.users.uniqueness-precheck=false}) the constraint violation
+ * raised by the save is translated into the same exception instead. The ID is still checked
+ * then, by primary key: saving a user whose ID is taken would overwrite that user rather
+ * than fail.
+ * </p>
+ */
+@Component
+public class UserUniquenessChecker {
+
+    private final UserRepository userRepository;
+    private final boolean precheck;
+
+    /**
+     * Creates the checker.
+     *
+     * @param userRepository repository of the users.
+     * @param precheck       whether the values are looked up before the user is saved.
+     */
+    public UserUniquenessChecker(UserRepository userRepository,
+                                 @Value("${goldeneggs.users.uniqueness-precheck:true}") boolean precheck) {
+        this.userRepository = userRepository;
+        this.precheck = precheck;
+    }
+
+    /**
+     * Checks the unique values of a user about to be registered.
+     *
+     * @param id          the ID of the new user.
+     * @param username    the username of the new user.
+     * @param email       the email of the new user.
+     * @param phoneNumber the phone number of the new user.
+     * @throws UserAlreadyExistsException if any of the values is taken.
+     */
+    public void checkNew(Long id, String username, String email, String phoneNumber) {
+        if (!precheck) {
+            if (id != null && userRepository.existsById(id)) {
+                throw new UserAlreadyExistsException(idTaken(id));
+            }
+            return;
+        }
+        throwIfTaken(null, id, username, email, phoneNumber);
+    }
+
+    /**
+     * Checks the values an existing user is about to change to. Values left unchanged are
+     * passed as {@code null}.
+     *
+     * @param userId      the ID of the user being updated.
+     * @param username    the new username, or {@code null}.
+     * @param email       the new email, or {@code null}.
+     * @param phoneNumber the new phone number, or {@code null}.
+     * @throws UserAlreadyExistsException if any of the values is taken by another user.
+     */
+    public void checkChanges(Long userId, String username, String email, String phoneNumber) {
+        if (precheck) {
+            throwIfTaken(userId, null, username, email, phoneNumber);
+        }
+    }
+
+    /**
+     * Translates the constraint violation raised while registering a user.
+     *
+     * @param e           the violation.
+     * @param id          the ID of the new user.
+     * @param username    the username of the new user.
+     * @param email       the email of the new user.
+     * @param phoneNumber the phone number of the new user.
+     * @return a {@link UserAlreadyExistsException} listing the taken values, or {@code e} if none is taken.
+     */
+    public RuntimeException translateNew(DataIntegrityViolationException e,
+                                         Long id, String username, String email, String phoneNumber) {
+        return translate(e, null, id, username, email, phoneNumber);
+    }
+
+    /**
+     * Translates the constraint violation raised while updating a user.
+     *
+     * @param e           the violation.
+     * @param userId      the ID of the user being updated.
+     * @param username    the new username, or {@code null}.
+     * @param email       the new email, or {@code null}.
+     * @param phoneNumber the new phone number, or {@code null}.
+     * @return a {@link UserAlreadyExistsException} listing the taken values, or {@code e} if none is taken.
+     */
+    public RuntimeException translateChanges(DataIntegrityViolationException e,
+                                             Long userId, String username, String email, String phoneNumber) {
+        return translate(e, userId, null, username, email, phoneNumber);
+    }
+
+    private void throwIfTaken(Long excludedId, Long id, String username, String email, String phoneNumber) {
+        List<String> conflicts = conflicts(excludedId, id, username, email, phoneNumber);
+        if (!conflicts.isEmpty()) {
+            throw new UserAlreadyExistsException(String.join("; ", conflicts));
+        }
+    }
+
+    private RuntimeException translate(DataIntegrityViolationException e,
+                                       Long excludedId, Long id, String username, String email, String phoneNumber) {
+        List<String> conflicts = conflicts(excludedId, id, username, email, phoneNumber);
+        return conflicts.isEmpty() ? e : new UserAlreadyExistsException(String.join("; ", conflicts));
+    }
+
+    private List<String> conflicts(Long excludedId, Long id, String username, String email, String phoneNumber) {
+        List<String> conflicts = new ArrayList<>();
+        if (id == null && username == null && email == null && phoneNumber == null) {
+            return conflicts;
+        }
+
+        boolean usernameTaken = false;
+        boolean idTaken = false;
+        boolean emailTaken = false;
+        boolean phoneNumberTaken = false;
+        for (UserIdentityDto holder : userRepository.findIdentitiesHolding(id, username, email, phoneNumber)) {
+            if (excludedId != null && excludedId.equals(holder.getId())) {
+                continue;
+            }
+            // MySQL compares these columns case-insensitively.
+            usernameTaken |= username != null && username.equalsIgnoreCase(holder.getUsername());
+            idTaken |= id != null && Objects.equals(id, holder.getId());
+            emailTaken |= email != null && email.equalsIgnoreCase(holder.getEmail());
+            phoneNumberTaken |= phoneNumber != null && phoneNumber.equalsIgnoreCase(holder.getPhoneNumber());
+        }
+
+        if (usernameTaken) {
+            conflicts.add("Username '" + username + "' already exists");
+        }
+        if (idTaken) {
+            conflicts.add(idTaken(id));
+        }
+        if (emailTaken) {
+            conflicts.add("Email '" + email + "' already exists");
+        }
+        if (phoneNumberTaken) {
+            conflicts.add("Phone number '" + phoneNumber + "' already exists");
+        }
+        return conflicts;
+    }
+
+    private static String idTaken(Long id) {
+        return "User with ID " + id + " already exists";
+    }
+}
@@ -0,0 +1,42 @@
+package com.goldeneggs.VisitCount;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Number of web visits received during one hour.
+ * <p>
+ * Rows are computed from the raw visits by the hourly rollup job, which lets the raw
+ * visits be deleted once they are older than the retention window.
+ * </p>
+ */
+@Entity
+@Table(name = "visit_counts",
+        uniqueConstraints = @UniqueConstraint(name = "uk_visit_counts_bucket", columnNames = "bucket_start"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VisitCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * First moment of the hour.
+     */
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    /**
+     * Number of visits received during the hour.
+     */
+    @Column(name = "visits", nullable = false)
+    private long visits;
+}
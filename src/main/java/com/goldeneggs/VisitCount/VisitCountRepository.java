@@ -0,0 +1,62 @@
+package com.goldeneggs.VisitCount;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for managing {@link VisitCount} entities.
+ */
+@Repository
+public interface VisitCountRepository extends JpaRepository<VisitCount, Long> {
+
+    /**
+     * Recomputes the hourly counts of a period from the raw visits, replacing the counts
+     * already stored for those hours.
+     *
+     * @param from the first hour to recompute (inclusive).
+     * @param to   the end of the period (exclusive), at the start of an hour.
+     * @return the number of rows inserted or updated, as reported by the database.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO visit_counts (bucket_start, visits) " +
+            "SELECT DATE_ADD(DATE(w.timestamp), INTERVAL HOUR(w.timestamp) HOUR) AS bucket, COUNT(*) " +
+            "FROM web_visit w WHERE w.timestamp >= :from AND w.timestamp < :to " +
+            "GROUP BY bucket " +
+            "ON DUPLICATE KEY UPDATE visits = VALUES(visits)",
+            nativeQuery = true)
+    int rollUp(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Retrieves the start of the latest hour that has a count.
+     *
+     * @return the latest hour, or {@code null} if nothing was rolled up yet.
+     */
+    @Query("SELECT MAX(v.bucketStart) FROM VisitCount v")
+    LocalDateTime findLatestBucketStart();
+
+    /**
+     * Sums every hourly count.
+     *
+     * @return the number of visits rolled up so far.
+     */
+    @Query("SELECT COALESCE(SUM(v.visits), 0) FROM VisitCount v")
+    long sumVisits();
+
+    /**
+     * Retrieves the hourly counts of a period.
+     *
+     * @param from the first hour (inclusive).
+     * @param to   the end of the period (exclusive).
+     * @return the counts of the hours that had visits, oldest first.
+     */
+    List<VisitCount> findByBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+            LocalDateTime from, LocalDateTime to);
+}
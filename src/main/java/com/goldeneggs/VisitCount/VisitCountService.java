@@ -0,0 +1,158 @@
+package com.goldeneggs.VisitCount;
+
+import com.goldeneggs.Dto.WebVisit.VisitCountDto;
+import com.goldeneggs.WebVisit.WebVisitRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rolls the raw web visits up into hourly counts and enforces their retention.
+ * <p>
+ * Every hour the job recomputes the counts of the hours completed since the previous
+ * run, plus a short lookback for visits that were written late, and then deletes the
+ * raw visits older than the retention window in small chunks. Counts and ranges are
+ * read from the rollups, so their cost depends on the time span, not on the traffic.
+ * </p>
+ */
+@Service
+public class VisitCountService {
+
+    /**
+     * Hours before the latest rollup that are recomputed on each run.
+     */
+    static final int LOOKBACK_HOURS = 2;
+
+    private final VisitCountRepository countRepository;
+    private final WebVisitRepository webVisitRepository;
+    private final int retentionDays;
+    private final int deleteChunkSize;
+
+    /**
+     * Creates the service.
+     *
+     * @param countRepository    repository of the hourly counts.
+     * @param webVisitRepository repository of the raw visits.
+     * @param retentionDays      days the raw visits are kept for; at least one.
+     * @param deleteChunkSize    maximum number of raw visits deleted per statement; at least one.
+     */
+    public VisitCountService(VisitCountRepository countRepository,
+                             WebVisitRepository webVisitRepository,
+                             @Value("${goldeneggs.visits.retention-days:30}") int retentionDays,
+                             @Value("${goldeneggs.visits.delete-chunk-size:5000}") int deleteChunkSize) {
+        this.countRepository = countRepository;
+        this.webVisitRepository = webVisitRepository;
+        this.retentionDays = Math.max(1, retentionDays);
+        this.deleteChunkSize = Math.max(1, deleteChunkSize);
+    }
+
+    /**
+     * Hourly job: rolls up the completed hours and deletes the raw visits past the retention window.
+     */
+    @Scheduled(cron = "${goldeneggs.visits.rollup-cron:0 5 * * * *}")
+    public void rollUpAndPurge() {
+        LocalDateTime rolledUpTo = rollUp(LocalDateTime.now());
+        if (rolledUpTo != null) {
+            purge(rolledUpTo, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Recomputes the counts of the hours completed since the previous rollup.
+     *
+     * @param now the current moment.
+     * @return the end of the rolled-up period, or {@code null} if there are no visits at all.
+     */
+    LocalDateTime rollUp(LocalDateTime now) {
+        LocalDateTime end = now.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime latest = countRepository.findLatestBucketStart();
+        LocalDateTime start = latest != null
+                ? latest.minusHours(LOOKBACK_HOURS)
+                : webVisitRepository.findEarliestTimestamp();
+        if (start == null) {
+            return null;
+        }
+        start = start.truncatedTo(ChronoUnit.HOURS);
+        if (start.isBefore(end)) {
+            countRepository.rollUp(start, end);
+        }
+        return end;
+    }
+
+    /**
+     * Deletes, chunk by chunk, the raw visits that are past the retention window and already rolled up.
+     *
+     * @param rolledUpTo the end of the rolled-up period.
+     * @param now        the current moment.
+     * @return the number of visits deleted.
+     */
+    long purge(LocalDateTime rolledUpTo, LocalDateTime now) {
+        LocalDateTime retainedFrom = now.minusDays(retentionDays).truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime cutoff = retainedFrom.isBefore(rolledUpTo) ? retainedFrom : rolledUpTo;
+        long deleted = 0;
+        int chunk;
+        do {
+            chunk = webVisitRepository.deleteOlderThan(cutoff, deleteChunkSize);
+            deleted += chunk;
+        } while (chunk == deleteChunkSize);
+        return deleted;
+    }
+
+    /**
+     * Counts every visit ever received: the rolled-up hours plus the raw visits that came after them.
+     *
+     * @return the total number of stored visits.
+     */
+    public long totalVisits() {
+        LocalDateTime latest = countRepository.findLatestBucketStart();
+        if (latest == null) {
+            return webVisitRepository.count();
+        }
+        return countRepository.sumVisits() + webVisitRepository.countByTimestampGreaterThanEqual(latest.plusHours(1));
+    }
+
+    /**
+     * Retrieves the hourly counts between two days. Only completed, rolled-up hours are included.
+     *
+     * @param from the first day (inclusive).
+     * @param to   the last day (inclusive).
+     * @return one entry per hour that had visits, oldest first.
+     */
+    public List<VisitCountDto> hourly(LocalDate from, LocalDate to) {
+        List<VisitCountDto> counts = new ArrayList<>();
+        for (VisitCount count : counts(from, to)) {
+            counts.add(new VisitCountDto(count.getBucketStart().toString(), count.getVisits()));
+        }
+        return counts;
+    }
+
+    /**
+     * Retrieves the daily counts between two days. Only completed, rolled-up hours are included.
+     *
+     * @param from the first day (inclusive).
+     * @param to   the last day (inclusive).
+     * @return one entry per day that had visits, oldest first.
+     */
+    public List<VisitCountDto> daily(LocalDate from, LocalDate to) {
+        Map<LocalDate, Long> totals = new LinkedHashMap<>();
+        for (VisitCount count : counts(from, to)) {
+            totals.merge(count.getBucketStart().toLocalDate(), count.getVisits(), Long::sum);
+        }
+        List<VisitCountDto> counts = new ArrayList<>(totals.size());
+        totals.forEach((day, visits) -> counts.add(new VisitCountDto(day.toString(), visits)));
+        return counts;
+    }
+
+    private List<VisitCount> counts(LocalDate from, LocalDate to) {
+        return countRepository.findByBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+                from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+    }
+}
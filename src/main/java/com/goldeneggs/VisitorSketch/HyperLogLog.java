@@ -0,0 +1,128 @@
+package com.goldeneggs.VisitorSketch;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * HyperLogLog sketch estimating the number of distinct values added to it.
+ * <p>
+ * The sketch keeps {@value #REGISTERS} one-byte registers, so it always takes 16 KB
+ * whatever the number of values, and estimates with a standard error of about 0.8%.
+ * Sketches are merged by keeping the highest value of each register, which is what
+ * allows per-day sketches to be combined into any range. Instances are not thread-safe.
+ * </p>
+ */
+public final class HyperLogLog {
+
+    static final int PRECISION = 14;
+    public static final int REGISTERS = 1 << PRECISION;
+
+    private static final int MAX_RANK = 64 - PRECISION + 1;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final byte[] registers;
+
+    /**
+     * Creates an empty sketch.
+     */
+    public HyperLogLog() {
+        this(new byte[REGISTERS]);
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    /**
+     * Restores a sketch from its serialized registers.
+     *
+     * @param bytes the registers, as returned by {@link #toBytes()}.
+     * @return the sketch.
+     * @throws IllegalArgumentException if the array does not hold a sketch of this precision.
+     */
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != REGISTERS) {
+            throw new IllegalArgumentException("Invalid sketch size");
+        }
+        return new HyperLogLog(bytes.clone());
+    }
+
+    /**
+     * Serializes the registers of the sketch.
+     *
+     * @return a copy of the registers.
+     */
+    public byte[] toBytes() {
+        return registers.clone();
+    }
+
+    /**
+     * Adds a value to the sketch.
+     *
+     * @param value the value to add.
+     * @return {@code true} if the sketch changed.
+     */
+    public boolean add(String value) {
+        long hash = hash(value);
+        int index = (int) (hash >>> (64 - PRECISION));
+        long rest = hash << PRECISION;
+        int rank = rest == 0 ? MAX_RANK : Math.min(Long.numberOfLeadingZeros(rest) + 1, MAX_RANK);
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Adds every value of another sketch to this one.
+     *
+     * @param other the sketch to merge.
+     */
+    public void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTERS; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * Estimates the number of distinct values added to the sketch.
+     *
+     * @return the estimated cardinality.
+     */
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += Math.scalb(1.0, -register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            // Small cardinalities are estimated more precisely by linear counting.
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the UTF-8 bytes, followed by the MurmurHash3 finalizer so that
+     * short, similar values such as IP addresses spread over every bit.
+     */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,15 @@
+package com.goldeneggs.VisitorSketch;
+
+/**
+ * Period covered by a visitor sketch.
+ */
+public enum SketchGranularity {
+    /**
+     * A calendar day, identified as yyyy-MM-dd.
+     */
+    DAY,
+    /**
+     * A calendar month, identified as yyyy-MM.
+     */
+    MONTH
+}
@@ -0,0 +1,47 @@
+package com.goldeneggs.VisitorSketch;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * HyperLogLog sketch of the IPs that visited the site during a day or a month.
+ */
+@Entity
+@Table(name = "visitor_sketches",
+        uniqueConstraints = @UniqueConstraint(name = "uk_visitor_sketches_period",
+                columnNames = {"granularity", "period"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VisitorSketch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 8)
+    private SketchGranularity granularity;
+
+    /**
+     * Day (yyyy-MM-dd) or month (yyyy-MM) the sketch covers.
+     */
+    @Column(name = "period", nullable = false, length = 10)
+    private String period;
+
+    /**
+     * Registers of the {@link HyperLogLog}.
+     */
+    @Lob
+    @Column(name = "registers", nullable = false, length = HyperLogLog.REGISTERS)
+    private byte[] registers;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,37 @@
+package com.goldeneggs.VisitorSketch;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for managing {@link VisitorSketch} entities.
+ */
+@Repository
+public interface VisitorSketchRepository extends JpaRepository<VisitorSketch, Long> {
+
+    /**
+     * Retrieves the sketch of a period and locks it until the transaction ends,
+     * so concurrent flushes merge into it one after the other.
+     *
+     * @param granularity the kind of period.
+     * @param period      the period.
+     * @return the sketch, if any visit was recorded in the period.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<VisitorSketch> findByGranularityAndPeriod(SketchGranularity granularity, String period);
+
+    /**
+     * Retrieves the sketches of several periods.
+     *
+     * @param granularity the kind of the periods.
+     * @param periods     the periods.
+     * @return the sketches that exist.
+     */
+    List<VisitorSketch> findByGranularityAndPeriodIn(SketchGranularity granularity, Collection<String> periods);
+}
@@ -0,0 +1,178 @@
+package com.goldeneggs.VisitorSketch;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estimates the number of distinct visitors of the site over any date range.
+ * <p>
+ * Each visit adds its IP to the sketches of its day and month. The additions are kept
+ * in memory and merged into the stored sketches every few seconds; since merging is
+ * idempotent, several instances can flush into the same rows. A range is answered by
+ * merging the sketches of the whole months it covers and of its remaining days, so the
+ * visits table is never scanned.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class VisitorSketchService {
+
+    private final VisitorSketchRepository sketchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Sketches of the visits recorded since the last flush, by period. Guarded by {@code this}.
+     */
+    private Map<PeriodKey, HyperLogLog> pending = new HashMap<>();
+
+    /**
+     * Adds a visitor to the sketches of the day and month of the visit.
+     *
+     * @param ip        the IP of the visitor.
+     * @param timestamp the moment of the visit.
+     */
+    public synchronized void record(String ip, LocalDateTime timestamp) {
+        if (ip == null || timestamp == null) {
+            return;
+        }
+        LocalDate day = timestamp.toLocalDate();
+        pending.computeIfAbsent(PeriodKey.day(day), ignored -> new HyperLogLog()).add(ip);
+        pending.computeIfAbsent(PeriodKey.month(YearMonth.from(day)), ignored -> new HyperLogLog()).add(ip);
+    }
+
+    /**
+     * Estimates the number of distinct visitors between two days.
+     *
+     * @param from the first day (inclusive).
+     * @param to   the last day (inclusive).
+     * @return the estimated number of distinct IPs.
+     */
+    public long uniqueVisitors(LocalDate from, LocalDate to) {
+        List<String> days = new ArrayList<>();
+        List<String> months = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+            LocalDate first = month.atDay(1);
+            LocalDate last = month.atEndOfMonth();
+            if (!from.isAfter(first) && !to.isBefore(last)) {
+                months.add(month.toString());
+            } else {
+                LocalDate end = to.isBefore(last) ? to : last;
+                for (LocalDate day = from.isAfter(first) ? from : first; !day.isAfter(end); day = day.plusDays(1)) {
+                    days.add(day.toString());
+                }
+            }
+        }
+
+        HyperLogLog union = new HyperLogLog();
+        if (!days.isEmpty()) {
+            sketchRepository.findByGranularityAndPeriodIn(SketchGranularity.DAY, days)
+                    .forEach(sketch -> union.merge(HyperLogLog.fromBytes(sketch.getRegisters())));
+        }
+        if (!months.isEmpty()) {
+            sketchRepository.findByGranularityAndPeriodIn(SketchGranularity.MONTH, months)
+                    .forEach(sketch -> union.merge(HyperLogLog.fromBytes(sketch.getRegisters())));
+        }
+        synchronized (this) {
+            pending.forEach((key, sketch) -> {
+                List<String> periods = key.granularity() == SketchGranularity.DAY ? days : months;
+                if (periods.contains(key.period())) {
+                    union.merge(sketch);
+                }
+            });
+        }
+        return union.estimate();
+    }
+
+    /**
+     * Merges the visitors recorded since the last flush into the stored sketches.
+     * If the merge fails they are kept for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${goldeneggs.visitors.flush-interval-ms:10000}")
+    public void flush() {
+        Map<PeriodKey, HyperLogLog> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(this::mergeIntoStored));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                batch.forEach((key, sketch) ->
+                        pending.computeIfAbsent(key, ignored -> new HyperLogLog()).merge(sketch));
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the visitors still in memory before the application stops.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Builds the sketches from the stored visits the first time the application starts without any.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (sketchRepository.count() > 0) {
+            return;
+        }
+        jdbcTemplate.query("SELECT ip, timestamp FROM web_visit", resultSet -> {
+            Timestamp timestamp = resultSet.getTimestamp("timestamp");
+            record(resultSet.getString("ip"), timestamp != null ? timestamp.toLocalDateTime() : null);
+        });
+        flush();
+    }
+
+    private void mergeIntoStored(PeriodKey key, HyperLogLog additions) {
+        VisitorSketch stored = sketchRepository.findByGranularityAndPeriod(key.granularity(), key.period())
+                .orElseGet(() -> VisitorSketch.builder()
+                        .granularity(key.granularity())
+                        .period(key.period())
+                        .build());
+        HyperLogLog merged = stored.getRegisters() != null
+                ? HyperLogLog.fromBytes(stored.getRegisters())
+                : new HyperLogLog();
+        merged.merge(additions);
+        stored.setRegisters(merged.toBytes());
+        stored.setUpdatedAt(LocalDateTime.now());
+        sketchRepository.save(stored);
+    }
+
+    /**
+     * Identifies the sketch of a period.
+     */
+    record PeriodKey(SketchGranularity granularity, String period) {
+
+        static PeriodKey day(LocalDate day) {
+            return new PeriodKey(SketchGranularity.DAY, day.toString());
+        }
+
+        static PeriodKey month(YearMonth month) {
+            return new PeriodKey(SketchGranularity.MONTH, month.toString());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.goldeneggs.WebVisit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-IP sliding-window limiter for web visits.
+ * <p>
+ * Each IP may register a limited number of visits within any window of time; the hits
+ * beyond that are duplicates of a visit already counted (a reload loop, a bot) and are
+ * suppressed before they reach the buffer. The recent visits of each IP are kept in a
+ * small ring, and only the most recently seen IPs are tracked: when the table is full the
+ * IP idle for the longest is forgotten, so memory stays bounded whatever the traffic.
+ * </p>
+ */
+@Component
+public class VisitThrottle {
+
+    private final long windowMillis;
+    private final int maxPerWindow;
+    private final int maxTrackedIps;
+
+    /**
+     * Recent visits by IP, least recently seen first. Guarded by {@code this}.
+     */
+    private final LinkedHashMap<String, Window> windows;
+
+    private long suppressed;
+
+    /**
+     * Creates the throttle.
+     *
+     * @param windowSeconds length of the sliding window; at least one.
+     * @param maxPerWindow  visits counted per IP within a window; at least one.
+     * @param maxTrackedIps maximum number of IPs remembered; at least one.
+     */
+    public VisitThrottle(@Value("${goldeneggs.visits.throttle.window-seconds:60}") int windowSeconds,
+                         @Value("${goldeneggs.visits.throttle.max-per-window:1}") int maxPerWindow,
+                         @Value("${goldeneggs.visits.throttle.max-tracked-ips:10000}") int maxTrackedIps) {
+        this.windowMillis = Math.max(1, windowSeconds) * 1000L;
+        this.maxPerWindow = Math.max(1, maxPerWindow);
+        this.maxTrackedIps = Math.max(1, maxTrackedIps);
+        this.windows = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+                return size() > VisitThrottle.this.maxTrackedIps;
+            }
+        };
+    }
+
+    /**
+     * Tells whether a visit from the given IP should be counted now.
+     *
+     * @param ip the IP of the visitor.
+     * @return {@code true} if the visit is counted, {@code false} if it is suppressed.
+     */
+    public boolean tryAcquire(String ip) {
+        return tryAcquire(ip, System.currentTimeMillis());
+    }
+
+    /**
+     * Tells whether a visit from the given IP should be counted at the given moment.
+     *
+     * @param ip        the IP of the visitor.
+     * @param nowMillis the moment of the visit, in milliseconds since the epoch.
+     * @return {@code true} if the visit is counted, {@code false} if it is suppressed.
+     */
+    synchronized boolean tryAcquire(String ip, long nowMillis) {
+        if (ip == null) {
+            return true;
+        }
+        Window window = windows.computeIfAbsent(ip, ignored -> new Window(maxPerWindow));
+        if (!window.tryAdd(nowMillis, windowMillis)) {
+            suppressed++;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves the number of visits suppressed since the application started.
+     *
+     * @return the number of suppressed visits.
+     */
+    public synchronized long suppressed() {
+        return suppressed;
+    }
+
+    /**
+     * Retrieves the number of IPs currently remembered.
+     *
+     * @return the number of tracked IPs.
+     */
+    public synchronized int tracked() {
+        return windows.size();
+    }
+
+    /**
+     * Moments of the last visits counted for an IP, in a ring whose next slot holds the oldest.
+     */
+    private static final class Window {
+
+        private final long[] hits;
+        private int next;
+
+        Window(int size) {
+            hits = new long[size];
+            Arrays.fill(hits, Long.MIN_VALUE);
+        }
+
+        boolean tryAdd(long now, long windowMillis) {
+            if (hits[next] != Long.MIN_VALUE && now - hits[next] < windowMillis) {
+                return false;
+            }
+            hits[next] = now;
+            next = (next + 1) % hits.length;
+            return true;
+        }
+    }
+}
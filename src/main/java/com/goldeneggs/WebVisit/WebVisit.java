@@ -14,6 +14,9 @@ import java.time.LocalDateTime;
  *
  */
 @Entity
+@Table(name = "web_visit", indexes = {
+        @Index(name = "idx_web_visit_timestamp", columnList = "timestamp")
+})
 @Data
 public class WebVisit {
 
@@ -1,11 +1,20 @@
 package com.goldeneggs.WebVisit;
 
+import com.goldeneggs.Dto.WebVisit.VisitBufferStatsDto;
+import com.goldeneggs.Dto.WebVisit.VisitCountDto;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/visits")
 public class WebVisitController {
@@ -37,4 +46,62 @@ public class WebVisitController {
     public long getVisitCount() {
         return service.getVisitCount();
     }
-}
\ No newline at end of file
+
+    /**
+     * Estimates the number of distinct visitors between two days, counted by IP.
+     *
+     * @param from first day, formatted as yyyy-MM-dd.
+     * @param to   last day, formatted as yyyy-MM-dd.
+     * @return the approximate number of unique visitors, or 400 if the days are not valid.
+     */
+    @GetMapping("/unique")
+    public ResponseEntity<Long> getUniqueVisitors(@RequestParam String from, @RequestParam String to) {
+        try {
+            LocalDate start = LocalDate.parse(from);
+            LocalDate end = LocalDate.parse(to);
+            if (end.isBefore(start)) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            return ResponseEntity.ok(service.getUniqueVisitors(start, end));
+        } catch (DateTimeParseException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Retrieves the number of visits per hour or per day between two days.
+     * Only completed hours that were already rolled up are included.
+     *
+     * @param from        first day, formatted as yyyy-MM-dd.
+     * @param to          last day, formatted as yyyy-MM-dd.
+     * @param granularity {@code HOUR} (default) or {@code DAY}.
+     * @return the counts of the periods that had visits, or 400 if the parameters are not valid.
+     */
+    @GetMapping("/counts")
+    public ResponseEntity<List<VisitCountDto>> getVisitCounts(@RequestParam String from, @RequestParam String to,
+                                                              @RequestParam(defaultValue = "HOUR") String granularity) {
+        try {
+            LocalDate start = LocalDate.parse(from);
+            LocalDate end = LocalDate.parse(to);
+            boolean daily = "DAY".equalsIgnoreCase(granularity);
+            if (end.isBefore(start) || (!daily && !"HOUR".equalsIgnoreCase(granularity))) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            return ResponseEntity.ok(service.getVisitCounts(start, end, daily));
+        } catch (DateTimeParseException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Retrieves the state of the buffer that holds visits until they are written,
+     * including how many were dropped because it was full and how many repeated
+     * visits were suppressed.
+     *
+     * @return the counters of the visit buffer.
+     */
+    @GetMapping("/stats")
+    public VisitBufferStatsDto getBufferStats() {
+        return service.getBufferStats();
+    }
+}
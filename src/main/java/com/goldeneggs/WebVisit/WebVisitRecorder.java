@@ -0,0 +1,139 @@
+package com.goldeneggs.WebVisit;
+
+import com.goldeneggs.Dto.WebVisit.VisitBufferStatsDto;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind recorder for web visits.
+ * <p>
+ * Visits are appended to a bounded ring buffer and written to the database in batched
+ * inserts, every few seconds or as soon as a full batch is waiting, so a page view never
+ * waits for a connection. When the buffer is full new visits are dropped and counted
+ * instead of blocking the request. The buffer is flushed when the application stops.
+ * </p>
+ */
+@Component
+public class WebVisitRecorder {
+
+    private static final String INSERT_VISIT = "INSERT INTO web_visit (ip, timestamp) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Executor flushExecutor;
+    private final ArrayBlockingQueue<WebVisit> buffer;
+    private final int capacity;
+    private final int batchSize;
+
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong flushed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    /**
+     * Creates the recorder.
+     *
+     * @param jdbcTemplate  template used for the batched inserts.
+     * @param flushExecutor executor that flushes the buffer when a batch is waiting.
+     * @param capacity      maximum number of visits held in memory.
+     * @param batchSize     number of visits written per insert.
+     */
+    public WebVisitRecorder(JdbcTemplate jdbcTemplate,
+                            @Qualifier("visitFlushExecutor") Executor flushExecutor,
+                            @Value("${goldeneggs.visits.buffer-capacity:10000}") int capacity,
+                            @Value("${goldeneggs.visits.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushExecutor = flushExecutor;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Appends a visit to the buffer without waiting.
+     *
+     * @param visit the visit to record.
+     * @return {@code true} if the visit was buffered, {@code false} if it was dropped.
+     */
+    public boolean record(WebVisit visit) {
+        if (!buffer.offer(visit)) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        recorded.incrementAndGet();
+        if (buffer.size() >= batchSize) {
+            try {
+                flushExecutor.execute(this::flush);
+            } catch (TaskRejectedException ignored) {
+                // A flush is already pending; it will pick this visit up.
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the buffered visits in batches until the buffer is empty.
+     * A batch that cannot be written is counted as failed and the rest stay buffered for the next flush.
+     *
+     * @return the number of visits written.
+     */
+    @Scheduled(fixedDelayString = "${goldeneggs.visits.flush-interval-ms:2000}")
+    public synchronized int flush() {
+        int written = 0;
+        List<WebVisit> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT_VISIT, batch.stream()
+                        .map(visit -> new Object[]{visit.getIp(), Timestamp.valueOf(visit.getTimestamp())})
+                        .toList());
+            } catch (DataAccessException e) {
+                failed.addAndGet(batch.size());
+                break;
+            }
+            written += batch.size();
+            flushed.addAndGet(batch.size());
+            batch.clear();
+        }
+        return written;
+    }
+
+    /**
+     * Writes whatever is still buffered before the application stops.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Retrieves the number of visits waiting to be written.
+     *
+     * @return the number of buffered visits.
+     */
+    public int pending() {
+        return buffer.size();
+    }
+
+    /**
+     * Retrieves the counters of the buffer.
+     *
+     * @return the capacity, current size and counters of the buffer.
+     */
+    public VisitBufferStatsDto stats() {
+        return new VisitBufferStatsDto(capacity, buffer.size(), recorded.get(), flushed.get(), dropped.get(),
+                failed.get(), 0);
+    }
+}
@@ -1,8 +1,43 @@
 package com.goldeneggs.WebVisit;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 
 @Repository
 public interface WebVisitRepository extends JpaRepository<WebVisit, Long> {
+
+    /**
+     * Counts the visits received from the given moment on.
+     *
+     * @param from the first moment (inclusive).
+     * @return the number of visits.
+     */
+    long countByTimestampGreaterThanEqual(LocalDateTime from);
+
+    /**
+     * Retrieves the moment of the oldest stored visit.
+     *
+     * @return the oldest timestamp, or {@code null} if there are no visits.
+     */
+    @Query("SELECT MIN(w.timestamp) FROM WebVisit w")
+    LocalDateTime findEarliestTimestamp();
+
+    /**
+     * Deletes up to {@code limit} of the visits received before the given moment, in their own transaction.
+     *
+     * @param before the cutoff (exclusive).
+     * @param limit  the maximum number of rows to delete.
+     * @return the number of rows deleted.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM web_visit WHERE timestamp < :before ORDER BY timestamp LIMIT :limit",
+            nativeQuery = true)
+    int deleteOlderThan(@Param("before") LocalDateTime before, @Param("limit") int limit);
 }
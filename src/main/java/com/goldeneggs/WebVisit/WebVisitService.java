@@ -1,41 +1,98 @@
 package com.goldeneggs.WebVisit;
 
+import com.goldeneggs.Dto.WebVisit.VisitBufferStatsDto;
+import com.goldeneggs.Dto.WebVisit.VisitCountDto;
+import com.goldeneggs.VisitCount.VisitCountService;
+import com.goldeneggs.VisitorSketch.VisitorSketchService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 public class WebVisitService {
 
-    private final WebVisitRepository repository;
+    private final VisitThrottle throttle;
+    private final WebVisitRecorder recorder;
+    private final VisitorSketchService visitorSketchService;
+    private final VisitCountService visitCountService;
 
-    public WebVisitService(WebVisitRepository repository) {
-        this.repository = repository;
+    public WebVisitService(VisitThrottle throttle, WebVisitRecorder recorder,
+                           VisitorSketchService visitorSketchService, VisitCountService visitCountService) {
+        this.throttle = throttle;
+        this.recorder = recorder;
+        this.visitorSketchService = visitorSketchService;
+        this.visitCountService = visitCountService;
     }
 
     /**
      * Saves a record of a web visit, capturing the visitor's IP address
-     * and the current timestamp. This information is persisted into the
-     * repository for future reference or analysis.
+     * and the current timestamp. The visit is handed to the {@link WebVisitRecorder},
+     * which writes it to the database in a later batch, and the visitor is added
+     * to the unique-visitor sketches. Repeated visits from an IP that the
+     * {@link VisitThrottle} suppresses are ignored.
      *
      * @param request the HttpServletRequest object containing the details
      *                of the web request, such as the client's IP address.
      */
     public void saveVisit(HttpServletRequest request) {
+        String ip = request.getRemoteAddr();
+        if (!throttle.tryAcquire(ip)) {
+            return;
+        }
         WebVisit visit = new WebVisit();
         visit.setTimestamp(LocalDateTime.now());
-        visit.setIp(request.getRemoteAddr());
+        visit.setIp(ip);
 
-        repository.save(visit);
+        recorder.record(visit);
+        visitorSketchService.record(visit.getIp(), visit.getTimestamp());
     }
 
     /**
-     * Retrieves the total count of web visit records stored in the repository.
+     * Retrieves the total count of web visits, including those still waiting to be written.
+     * Visits older than the retention window are counted through their hourly rollups.
      *
      * @return the total number of web visit records.
      */
     public long getVisitCount() {
-        return repository.count();
+        return visitCountService.totalVisits() + recorder.pending();
+    }
+
+    /**
+     * Retrieves the number of visits per hour or per day between two days,
+     * read from the hourly rollups.
+     *
+     * @param from  the first day (inclusive).
+     * @param to    the last day (inclusive).
+     * @param daily {@code true} for one entry per day, {@code false} for one per hour.
+     * @return the counts of the periods that had visits, oldest first.
+     */
+    public List<VisitCountDto> getVisitCounts(LocalDate from, LocalDate to, boolean daily) {
+        return daily ? visitCountService.daily(from, to) : visitCountService.hourly(from, to);
+    }
+
+    /**
+     * Estimates the number of distinct visitors between two days, counted by IP.
+     *
+     * @param from the first day (inclusive).
+     * @param to   the last day (inclusive).
+     * @return the approximate number of unique visitors.
+     */
+    public long getUniqueVisitors(LocalDate from, LocalDate to) {
+        return visitorSketchService.uniqueVisitors(from, to);
+    }
+
+    /**
+     * Retrieves the state of the visit buffer, including the visits dropped because it was full
+     * and those suppressed by the throttle.
+     *
+     * @return the counters of the buffer.
+     */
+    public VisitBufferStatsDto getBufferStats() {
+        VisitBufferStatsDto stats = recorder.stats();
+        stats.setSuppressed(throttle.suppressed());
+        return stats;
     }
 }
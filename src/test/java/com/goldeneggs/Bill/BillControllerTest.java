@@ -18,10 +18,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.YearMonth;
 import java.util.Collections;
 import java.util.List;
 
@@ -51,7 +57,9 @@ public class BillControllerTest {
 
     @BeforeEach
     void setUp() {
-            mockMvc = MockMvcBuilders.standaloneSetup(billController).build();
+            mockMvc = MockMvcBuilders.standaloneSetup(billController)
+                    .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                    .build();
 
         //Create test role
         Role role = new Role();
@@ -200,43 +208,92 @@ public class BillControllerTest {
                 .andExpect(content().string(String.valueOf(bill.getTotalPrice())));
     }
 
+    @Test
+    void testGetSalesTotalOfMonth() throws Exception {
+        when(billService.getSalesTotal(YearMonth.of(2025, 3))).thenReturn(980.0);
+
+        mockMvc.perform(get("/api/v1/bills/salesTotal/2025-03"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("980.0"));
+    }
+
+    @Test
+    void testGetSalesTotalOfMonth_InvalidMonth() throws Exception {
+        mockMvc.perform(get("/api/v1/bills/salesTotal/marzo"))
+                .andExpect(status().isBadRequest());
+
+        verify(billService, never()).getSalesTotal(any());
+    }
+
     @Test
     void testGetAllCustomerBills() throws Exception {
-        when(billService.getAllBillsForCustomers()).thenReturn(List.of(billDto));
+        when(billService.getAllBillsForCustomers(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(billDto), PageRequest.of(0, 20), 1));
 
         mockMvc.perform(get("/api/v1/bills/getAllOfCustomers"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(billDto.getId()))
-                .andExpect(jsonPath("$[0].issueDate").value(billDto.getIssueDate()))
-                .andExpect(jsonPath("$[0].paid").value(billDto.isPaid()))
-                .andExpect(jsonPath("$[0].totalPrice").value(billDto.getTotalPrice()))
-                .andExpect(jsonPath("$[0].customerName").value(billDto.getCustomerName()))
-                .andExpect(jsonPath("$[0].orderDate").value(billDto.getOrderDate()))
-                .andExpect(jsonPath("$[0].orderState").value(billDto.getOrderState()));
+                .andExpect(jsonPath("$.content[0].id").value(billDto.getId()))
+                .andExpect(jsonPath("$.content[0].issueDate").value(billDto.getIssueDate()))
+                .andExpect(jsonPath("$.content[0].paid").value(billDto.isPaid()))
+                .andExpect(jsonPath("$.content[0].totalPrice").value(billDto.getTotalPrice()))
+                .andExpect(jsonPath("$.content[0].customerName").value(billDto.getCustomerName()))
+                .andExpect(jsonPath("$.content[0].orderDate").value(billDto.getOrderDate()))
+                .andExpect(jsonPath("$.content[0].orderState").value(billDto.getOrderState()));
     }
 
     @Test
     void testGetAllCompanyBills() throws Exception {
-        when(billService.getAllBillsForCompany()).thenReturn(List.of(billDto));
+        when(billService.getAllBillsForCompany(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(billDto), PageRequest.of(0, 20), 1));
 
         mockMvc.perform(get("/api/v1/bills/getAllOfCompany"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(billDto.getId()))
-                .andExpect(jsonPath("$[0].issueDate").value(billDto.getIssueDate()))
-                .andExpect(jsonPath("$[0].paid").value(billDto.isPaid()))
-                .andExpect(jsonPath("$[0].totalPrice").value(billDto.getTotalPrice()))
-                .andExpect(jsonPath("$[0].customerName").value(billDto.getCustomerName()))
-                .andExpect(jsonPath("$[0].orderDate").value(billDto.getOrderDate()))
-                .andExpect(jsonPath("$[0].orderState").value(billDto.getOrderState()));
+                .andExpect(jsonPath("$.content[0].id").value(billDto.getId()))
+                .andExpect(jsonPath("$.content[0].issueDate").value(billDto.getIssueDate()))
+                .andExpect(jsonPath("$.content[0].paid").value(billDto.isPaid()))
+                .andExpect(jsonPath("$.content[0].totalPrice").value(billDto.getTotalPrice()))
+                .andExpect(jsonPath("$.content[0].customerName").value(billDto.getCustomerName()))
+                .andExpect(jsonPath("$.content[0].orderDate").value(billDto.getOrderDate()))
+                .andExpect(jsonPath("$.content[0].orderState").value(billDto.getOrderState()));
     }
 
     @Test
     void testGetAll() throws Exception {
-        when(billService.getAll()).thenReturn(List.of(billDto));
+        when(billService.getAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(billDto), PageRequest.of(0, 20), 1));
 
         mockMvc.perform(get("/api/v1/bills/getAll"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(billDto.getId()));
+                .andExpect(jsonPath("$.content[0].id").value(billDto.getId()));
+
+        verify(billService).getAll(PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "issueDate")));
+    }
+
+    @Test
+    void testGetAll_RequestedPage() throws Exception {
+        Pageable requested = PageRequest.of(2, 5, Sort.by(Sort.Direction.ASC, "totalPrice"));
+        when(billService.getAll(requested)).thenReturn(new PageImpl<>(List.of(billDto), requested, 11));
+
+        mockMvc.perform(get("/api/v1/bills/getAll")
+                        .param("page", "2")
+                        .param("size", "5")
+                        .param("sort", "totalPrice,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(billDto.getId()))
+                .andExpect(jsonPath("$.totalElements").value(11));
+    }
+
+    @Test
+    void testGetAll_UnknownSort() throws Exception {
+        mockMvc.perform(get("/api/v1/bills/getAll").param("sort", "order.user.password,asc"))
+                .andExpect(status().isBadRequest());
+
+        verify(billService, never()).getAll(any(Pageable.class));
+    }
+
+    @Test
+    void testGetBillsByCustomer_UnknownSort() throws Exception {
+        mockMvc.perform(get("/api/v1/bills/byCustomer/{id}", 1L).param("sort", "customerName"))
+                .andExpect(status().isBadRequest());
+
+        verify(billService, never()).getBillsByCustomer(anyLong(), any(Pageable.class));
     }
 
     @Test
@@ -316,19 +373,19 @@ public class BillControllerTest {
     void testGetBillsByCustomer_Success() throws Exception {
         Long customerId = 1L;
 
-        when(billService.getBillsByCustomer(customerId)).thenReturn(List.of(billDto));
+        when(billService.getBillsByCustomer(eq(customerId), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(billDto), PageRequest.of(0, 20), 1));
 
         mockMvc.perform(get("/api/v1/bills/byCustomer/{id}", customerId))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(billDto.getId()))
-                .andExpect(jsonPath("$[0].customerName").value(billDto.getCustomerName()));
+                .andExpect(jsonPath("$.content[0].id").value(billDto.getId()))
+                .andExpect(jsonPath("$.content[0].customerName").value(billDto.getCustomerName()));
     }
 
     @Test
     void testGetBillsByCustomer_NotFound() throws Exception {
         Long customerId = 1L;
 
-        when(billService.getBillsByCustomer(customerId)).thenThrow(new ResourceNotFoundException("Customer not found"));
+        when(billService.getBillsByCustomer(eq(customerId), any(Pageable.class))).thenThrow(new ResourceNotFoundException("Customer not found"));
 
         mockMvc.perform(get("/api/v1/bills/byCustomer/{id}", customerId))
                 .andExpect(status().isNotFound());
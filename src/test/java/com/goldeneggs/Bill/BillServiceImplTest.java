@@ -2,27 +2,46 @@ package com.goldeneggs.Bill;
 
 import com.goldeneggs.Dto.BillDto;
 import com.goldeneggs.Dto.RegisterDto;
+import com.goldeneggs.Dto.Statistics.RankingEntryDto;
 import com.goldeneggs.Egg.Egg;
 import com.goldeneggs.Exception.InvalidBillDataException;
 import com.goldeneggs.Exception.ResourceNotFoundException;
+import com.goldeneggs.LatencyHistogram.LatencyHistogramService;
+import com.goldeneggs.MonthlyCounter.CounterMetric;
+import com.goldeneggs.MonthlyCounter.MonthlyCounterRepository;
+import com.goldeneggs.MonthlyCounter.MonthlyCounterService;
+import com.goldeneggs.MonthlyRanking.MonthlyRankingService;
+import com.goldeneggs.MonthlySnapshot.MonthlySnapshot;
+import com.goldeneggs.MonthlySnapshot.MonthlySnapshotService;
 import com.goldeneggs.OrderEgg.OrderEgg;
+import com.goldeneggs.Pay.PayBillResolver;
+import com.goldeneggs.Pay.PayRepository;
 import com.goldeneggs.Role.Role;
 import com.goldeneggs.Supplier.Supplier;
 import com.goldeneggs.TypeEgg.TypeEgg;
 import com.goldeneggs.User.User;
+import com.goldeneggs.User.UserSegment;
 import com.goldeneggs.Order.Order;
+import com.goldeneggs.Order.OrderRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.sql.Date;
-import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,6 +53,21 @@ public class BillServiceImplTest {
     @Mock
     private BillRepository billRepository;
 
+    @Mock
+    private MonthlyRankingService monthlyRankingService;
+
+    @Mock
+    private MonthlyCounterService monthlyCounterService;
+
+    @Mock
+    private MonthlySnapshotService monthlySnapshotService;
+
+    @Mock
+    private LatencyHistogramService latencyHistogramService;
+
+    @Mock
+    private OrderRepository orderRepository;
+
     @InjectMocks
     private BillServiceImpl billService;
 
@@ -141,74 +175,21 @@ public class BillServiceImplTest {
                 .build();
     }
 
-    @Test
-    void getAllBills_ShouldReturnListOfBills(){
-        //User bill to the setUp
-        Bill bill2 = Bill.builder()
-                .id(2L)
-                .order(order)
-                .issueDate(new java.sql.Date(System.currentTimeMillis()))
-                .totalPrice(order.getTotalPrice())
-                .paid(false)
-                .build();
-
-        when(billRepository.findAll()).thenReturn(Arrays.asList(bill2,bill));
-
-        List<BillDto> result = billService.getAll();
-
-        assertEquals(2, result.size());
-
-        BillDto dto1 = result.get(1);
-        assertEquals(bill.getId(), dto1.getId());
-        assertEquals(user.getName(), dto1.getCustomerName());
-        assertEquals(order.getOrderDate().toString(), dto1.getOrderDate());
-        assertEquals(order.getState(), dto1.getOrderState());
-        assertEquals(order.getTotalPrice(), dto1.getTotalPrice());
-        assertEquals(bill.isPaid(), dto1.isPaid());
-
-        verify(billRepository).findAll();
+    private BillDto toDto(Bill source) {
+        Order sourceOrder = source.getOrder();
+        return new BillDto(source.getId(), source.getIssueDate(), source.isPaid(), source.getTotalPrice(),
+                sourceOrder.getUser().getName(), sourceOrder.getOrderDate(), sourceOrder.getState());
     }
 
     @Test
-    void getBillsByCustomer_ShouldReturnBillsForSpecificCustomer(){
-        //Create other user
-        User otherUser = new User();
-        otherUser.setId(2L);
-        otherUser.setName("Ana");
-        otherUser.setEmail("ana@example.com");
-        otherUser.setUsername("ana456");
-        otherUser.setAddress("Otra calle");
-        otherUser.setPassword("pass");
-        otherUser.setPhoneNumber("7654321");
-        otherUser.setRoles(Collections.singletonList(role));
-        otherUser.setEnabled(true);
-
-        // Crear una orden para el otro usuario
-        Order otherOrder = Order.builder()
-                .id(2L)
-                .user(otherUser)
-                .orderEggs(Collections.emptyList())
-                .totalPrice(50000.0)
-                .orderDate(new java.sql.Date(System.currentTimeMillis()))
-                .state("PENDIENTE")
-                .build();
-
-        // Crear una factura para el otro usuario
-        Bill otherBill = Bill.builder()
-                .id(2L)
-                .order(otherOrder)
-                .issueDate(new java.sql.Date(System.currentTimeMillis()))
-                .totalPrice(50000.0)
-                .paid(false)
-                .build();
+    void getAllBills_ShouldReturnPageOfBills(){
+        Pageable pageable = PageRequest.of(0, 20);
+        when(billRepository.findAllDtos(pageable)).thenReturn(new PageImpl<>(List.of(toDto(bill)), pageable, 1));
 
-        when(billRepository.findAll()).thenReturn(Arrays.asList(bill, otherBill));
-
-        List<BillDto> result = billService.getBillsByCustomer(user.getId());
-
-        assertEquals(1, result.size());
-        BillDto dto = result.get(0);
+        Page<BillDto> result = billService.getAll(pageable);
 
+        assertEquals(1, result.getTotalElements());
+        BillDto dto = result.getContent().get(0);
         assertEquals(bill.getId(), dto.getId());
         assertEquals(user.getName(), dto.getCustomerName());
         assertEquals(order.getOrderDate().toString(), dto.getOrderDate());
@@ -216,79 +197,62 @@ public class BillServiceImplTest {
         assertEquals(order.getTotalPrice(), dto.getTotalPrice());
         assertEquals(bill.isPaid(), dto.isPaid());
 
-        verify(billRepository).findAll();
+        verify(billRepository, never()).findAll();
     }
 
     @Test
-    void getAllBillsForCompany_ShouldReturnOnlyCompanyBills(){
-        Role employeeRole = new Role();
-        employeeRole.setId(2L);
-        employeeRole.setName("EMPLOYEE");
+    void getBillsByCustomer_ShouldQueryByCustomerId(){
+        Pageable pageable = PageRequest.of(1, 5);
+        when(billRepository.findDtosByCustomerId(user.getId(), pageable))
+                .thenReturn(new PageImpl<>(List.of(toDto(bill)), pageable, 6));
 
-        User employedUser = new User();
-        employedUser.setId(2L);
-        employedUser.setName("felipe123");
-        employedUser.setRoles(Collections.singletonList(employeeRole));
+        Page<BillDto> result = billService.getBillsByCustomer(user.getId(), pageable);
 
-        Order companyOrder = Order.builder()
-                .id(2L)
-                .user(employedUser)
-                .orderEggs(List.of(orderEgg, orderEgg2))
-                .totalPrice(180000.0)
-                .orderDate(new java.sql.Date(System.currentTimeMillis()))
-                .state("ENVIADO")
-                .build();
-
-        Bill companyBill = Bill.builder()
-                .id(2L)
-                .order(companyOrder)
-                .issueDate(new java.sql.Date(System.currentTimeMillis()))
-                .totalPrice(order.getTotalPrice())
-                .paid(true)
-                .build();
+        assertEquals(6, result.getTotalElements());
+        assertEquals(bill.getId(), result.getContent().get(0).getId());
+        verify(billRepository, never()).findAll();
+    }
 
-        when(billRepository.findAll()).thenReturn(List.of(bill,companyBill));
+    @Test
+    void getAllBillsForCompany_ShouldQueryCompanySegment(){
+        Pageable pageable = PageRequest.of(0, 20);
+        when(billRepository.findDtosBySegment(UserSegment.COMPANY, pageable)).thenReturn(Page.empty(pageable));
 
-        List<BillDto> result = billService.getAllBillsForCompany();
+        Page<BillDto> result = billService.getAllBillsForCompany(pageable);
 
-        assertEquals(1, result.size());
-        assertEquals("felipe123", result.get(0).getCustomerName());
+        assertTrue(result.isEmpty());
+        verify(billRepository, never()).findAll();
     }
 
     @Test
-    void getAllBillsForCustomer_ShouldReturnOnlyCustomerBills(){
-        when(billRepository.findAll()).thenReturn(List.of(bill));
+    void getAllBillsForCustomer_ShouldQueryCustomerSegment(){
+        Pageable pageable = PageRequest.of(0, 20);
+        when(billRepository.findDtosBySegment(UserSegment.CUSTOMER, pageable))
+                .thenReturn(new PageImpl<>(List.of(toDto(bill)), pageable, 1));
 
-        List<BillDto> result = billService.getAllBillsForCustomers();
+        Page<BillDto> result = billService.getAllBillsForCustomers(pageable);
 
-        assertEquals(1, result.size());
-        assertEquals(user.getName(), result.get(0).getCustomerName());
+        assertEquals(1, result.getContent().size());
+        assertEquals(user.getName(), result.getContent().get(0).getCustomerName());
     }
 
     @Test
     void getMonthlySalesTotal_ShouldReturnTotalForCurrentMonth() {
-        LocalDate testDate = LocalDate.now();
-        bill.setIssueDate(java.sql.Date.valueOf(testDate));
+        YearMonth month = YearMonth.now();
 
-        when(billRepository.findAll()).thenReturn(List.of(bill));
+        when(billRepository.sumCustomerSalesBetween(Date.valueOf(month.atDay(1)), Date.valueOf(month.atEndOfMonth())))
+                .thenReturn(bill.getTotalPrice());
 
         Double result = billService.getMonthlySalesTotal();
 
         assertEquals(bill.getTotalPrice(), result);
+        verify(billRepository, never()).findAll();
+        verify(billRepository, never()).findByIssueDateBetween(any(Date.class), any(Date.class));
     }
 
     @Test
-    void getMonthlySalesTotal_ShouldIgnoreNOnCustomerOrOldBills(){
-        LocalDate lastMonthDate = LocalDate.now().minusMonths(1);
-        bill.setIssueDate(java.sql.Date.valueOf(lastMonthDate));
-
-        Role employeeRole = new Role();
-        employeeRole.setId(2L);
-        employeeRole.setName("EMPLOYEE");
-        user.setRoles(List.of(employeeRole));
-        bill.setOrder(order);
-
-        when(billRepository.findAll()).thenReturn(List.of(bill));
+    void getMonthlySalesTotal_ShouldReturnZeroWhenNoCustomerBills(){
+        when(billRepository.sumCustomerSalesBetween(any(Date.class), any(Date.class))).thenReturn(0.0);
 
         Double result = billService.getMonthlySalesTotal();
 
@@ -296,63 +260,45 @@ public class BillServiceImplTest {
     }
 
     @Test
-    void getBestCustomerOfMonth_ShouldReturnTopSpendingCustomer(){
-        when(billRepository.findAll()).thenReturn(List.of(bill));
+    void getSalesTotal_ShouldReadClosedMonthFromSnapshot() {
+        YearMonth lastMonth = YearMonth.now().minusMonths(1);
+        MonthlySnapshot snapshot = MonthlySnapshot.builder().period(lastMonth.toString()).totalSales(980.0).build();
+        when(monthlySnapshotService.findClosed(lastMonth)).thenReturn(Optional.of(snapshot));
 
-        String bestCustomer = billService.getBestCustomerOfMonth();
+        Double result = billService.getSalesTotal(lastMonth);
 
-        assertEquals("Felipe", bestCustomer);
-        verify(billRepository).findAll();
+        assertEquals(980.0, result);
+        verifyNoInteractions(billRepository);
     }
 
     @Test
-    void getBestCustomerOfMonth_ShouldIgnoreUsersWithoutCustomerRole() {
-        // Create user with role ADMIN
-        Role adminRole = new Role();
-        adminRole.setId(2L);
-        adminRole.setName("ADMIN");
-
-        User adminUser = new User();
-        adminUser.setId(99L);
-        adminUser.setName("Admin");
-        adminUser.setRoles(List.of(adminRole));
-
-        Order adminOrder = Order.builder()
-                .id(10L)
-                .user(adminUser)
-                .totalPrice(999999.0)
-                .orderDate(new java.sql.Date(System.currentTimeMillis()))
-                .state("PROCESADO")
+    void getBestCustomer_ShouldReadClosedMonthFromSnapshot() {
+        YearMonth lastMonth = YearMonth.now().minusMonths(1);
+        MonthlySnapshot snapshot = MonthlySnapshot.builder()
+                .period(lastMonth.toString())
+                .topCustomers(List.of(new RankingEntryDto("1", "Felipe", 980.0)))
                 .build();
+        when(monthlySnapshotService.findClosed(lastMonth)).thenReturn(Optional.of(snapshot));
 
-        Bill adminBill = Bill.builder()
-                .id(10L)
-                .order(adminOrder)
-                .issueDate(new java.sql.Date(System.currentTimeMillis())) // del mes actual
-                .totalPrice(adminOrder.getTotalPrice())
-                .paid(true)
-                .build();
+        String result = billService.getBestCustomer(lastMonth);
 
-        when(billRepository.findAll()).thenReturn(List.of(adminBill));
-
-        String result = billService.getBestCustomerOfMonth();
-
-        assertEquals("Sin compras este mes", result);
+        assertEquals("Felipe", result);
+        verifyNoInteractions(monthlyRankingService);
     }
 
     @Test
-    void getBestCustomerOfMonth_ShouldIgnoreBillsFromPreviousMonth() {
-        LocalDate lastMonthDate = LocalDate.now().minusMonths(1);
+    void getBestCustomerOfMonth_ShouldReturnTopSpendingCustomer(){
+        when(monthlyRankingService.bestCustomer(YearMonth.now())).thenReturn(Optional.of("Felipe"));
 
-        Bill oldBill = Bill.builder()
-                .id(20L)
-                .order(order)
-                .issueDate(java.sql.Date.valueOf(lastMonthDate))
-                .totalPrice(500000.0)
-                .paid(true)
-                .build();
+        String bestCustomer = billService.getBestCustomerOfMonth();
 
-        when(billRepository.findAll()).thenReturn(List.of(oldBill));
+        assertEquals("Felipe", bestCustomer);
+        verify(billRepository, never()).findAll();
+    }
+
+    @Test
+    void getBestCustomerOfMonth_ShouldReturnDefault_WhenNoPurchases() {
+        when(monthlyRankingService.bestCustomer(YearMonth.now())).thenReturn(Optional.empty());
 
         String result = billService.getBestCustomerOfMonth();
 
@@ -390,6 +336,8 @@ public class BillServiceImplTest {
         assertNotNull(result);
         assertEquals(bill.getId(), result.getId());
         verify(billRepository, times(1)).save(bill);
+        verify(monthlyRankingService).recordBill(bill);
+        verify(monthlyCounterService).recordBill(bill);
     }
 
 
@@ -413,10 +361,49 @@ public class BillServiceImplTest {
 
         assertEquals(updated.getTotalPrice(), result.getTotalPrice());
         assertFalse(result.isPaid());
+        verify(monthlyRankingService).removeBill(any(Bill.class));
+        verify(monthlyCounterService).removeBill(any(Bill.class));
+        verify(monthlyRankingService).recordBill(bill);
+        verify(monthlyCounterService).recordBill(bill);
         verify(billRepository).findById(1L);
         verify(billRepository).save(any(Bill.class));
     }
 
+    @Test
+    void update_WithOnlyTheOrderId_LeavesTheCustomerBillCounterUnchanged() {
+        Map<String, Double> counters = new HashMap<>();
+        MonthlyCounterRepository counterRepository = mock(MonthlyCounterRepository.class);
+        doAnswer(invocation -> counters.merge(invocation.getArgument(0) + "|" + invocation.getArgument(1),
+                invocation.<Double>getArgument(2), Double::sum))
+                .when(counterRepository).increment(anyString(), anyString(), anyDouble());
+        MonthlyCounterService counterService = new MonthlyCounterService(counterRepository,
+                billRepository, mock(OrderRepository.class), mock(PayRepository.class),
+                new PayBillResolver(billRepository));
+        ReflectionTestUtils.setField(billService, "monthlyCounterService", counterService);
+        String key = YearMonth.now() + "|" + CounterMetric.CUSTOMER_BILLS.name();
+
+        Bill posted = Bill.builder()
+                .order(Order.builder().id(1L).build())
+                .issueDate(bill.getIssueDate())
+                .totalPrice(180000.0)
+                .build();
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(billRepository.save(any(Bill.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        Bill saved = billService.save(posted);
+        assertEquals(1.0, counters.get(key));
+
+        when(billRepository.findById(1L)).thenReturn(Optional.of(saved));
+        Bill edited = Bill.builder()
+                .order(Order.builder().id(1L).build())
+                .issueDate(bill.getIssueDate())
+                .totalPrice(99999.0)
+                .build();
+        billService.update(1L, edited);
+
+        assertEquals(1.0, counters.get(key));
+        assertSame(order, saved.getOrder());
+    }
+
     @Test
     void update_ShouldThrowException_WhenBillNotFound() {
         when(billRepository.findById(1L)).thenReturn(Optional.empty());
@@ -480,16 +467,18 @@ public class BillServiceImplTest {
 
     @Test
     void delete_ShouldDeleteBill_WhenExists() {
-        when(billRepository.existsById(1L)).thenReturn(true);
+        when(billRepository.findById(1L)).thenReturn(Optional.of(bill));
 
         billService.delete(1L);
 
+        verify(monthlyRankingService).removeBill(bill);
+        verify(monthlyCounterService).removeBill(bill);
         verify(billRepository).deleteById(1L);
     }
 
     @Test
     void delete_ShouldThrowException_WhenBillNotFound() {
-        when(billRepository.existsById(1L)).thenReturn(false);
+        when(billRepository.findById(1L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> billService.delete(1L));
 
@@ -498,17 +487,17 @@ public class BillServiceImplTest {
 
     @Test
     void countCustomerBillsInCurrentMonth_ShouldReturnCount() {
-        when(billRepository.countCustomerBillsInCurrentMonth(any(Date.class), any(Date.class)))
-                .thenReturn(5L);
+        when(monthlyCounterService.currentCount(CounterMetric.CUSTOMER_BILLS)).thenReturn(5L);
 
         Long result = billService.countCustomerBillsInCurrentMonth();
 
         assertEquals(5L, result);
+        verify(billRepository, never()).countCustomerBillsInCurrentMonth(any(Date.class), any(Date.class));
     }
+
     @Test
-    void countCustomerBillsInCurrentMonth_ShouldReturnZero_WhenNull() {
-        when(billRepository.countCustomerBillsInCurrentMonth(any(Date.class), any(Date.class)))
-                .thenReturn(null);
+    void countCustomerBillsInCurrentMonth_ShouldReturnZero_WhenNoBills() {
+        when(monthlyCounterService.currentCount(CounterMetric.CUSTOMER_BILLS)).thenReturn(0L);
 
         Long result = billService.countCustomerBillsInCurrentMonth();
 
@@ -538,6 +527,9 @@ public class BillServiceImplTest {
         assertTrue(result.isPaid());
         assertEquals(Date.valueOf(LocalDate.now()), result.getIssueDate());
         verify(billRepository).save(any(Bill.class));
+        verify(monthlyRankingService).recordBill(savedBill);
+        verify(monthlyCounterService).recordBill(savedBill);
+        verify(latencyHistogramService).recordBill(savedBill);
     }
 
 }
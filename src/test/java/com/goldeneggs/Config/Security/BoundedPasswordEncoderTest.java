@@ -0,0 +1,103 @@
+package com.goldeneggs.Config.Security;
+
+import com.goldeneggs.Dto.PasswordHashingStatsDto;
+import com.goldeneggs.Exception.PasswordHashingBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BoundedPasswordEncoderTest {
+
+    private ThreadPoolTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void encodeAndMatches_RunOnTheExecutorAndRecordTheLatency() {
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.encode("secret")).thenReturn("hash");
+        when(delegate.matches("secret", "hash")).thenReturn(true);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(delegate, executor, 5_000);
+
+        assertEquals("hash", encoder.encode("secret"));
+        assertTrue(encoder.matches("secret", "hash"));
+
+        PasswordHashingStatsDto stats = encoder.stats();
+        assertEquals(2L, stats.getCompleted());
+        assertEquals(0L, stats.getRejected());
+        assertEquals(1, stats.getPoolSize());
+        assertEquals(1, stats.getQueueCapacity());
+    }
+
+    @Test
+    void encode_Rejects_WhenTheQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(delegate, executor, 5_000);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        while (encoder.stats().getQueueDepth() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("c"));
+
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+        assertEquals(1L, encoder.stats().getRejected());
+    }
+
+    @Test
+    void matches_Rejects_WhenTheHashWaitsLongerThanTheTimeout() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.matches(any(), any())).thenAnswer(invocation -> release.await(5, TimeUnit.SECONDS));
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(delegate, executor, 50);
+
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.matches("secret", "hash"));
+
+        release.countDown();
+        assertEquals(1L, encoder.stats().getRejected());
+    }
+
+    @Test
+    void encode_PropagatesTheExceptionsOfTheDelegate() {
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.encode(any())).thenThrow(new IllegalArgumentException("rawPassword cannot be null"));
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(delegate, executor, 5_000);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> encoder.encode(null));
+        assertEquals("rawPassword cannot be null", exception.getMessage());
+    }
+}
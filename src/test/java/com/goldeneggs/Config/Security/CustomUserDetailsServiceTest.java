@@ -0,0 +1,88 @@
+package com.goldeneggs.Config.Security;
+
+import com.goldeneggs.Role.Role;
+import com.goldeneggs.User.User;
+import com.goldeneggs.User.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Spy
+    private UserDetailsCache userDetailsCache = new UserDetailsCache(300, 100);
+
+    @InjectMocks
+    private CustomUserDetailsService customUserDetailsService;
+
+    private DaoAuthenticationProvider provider;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        provider = new DaoAuthenticationProvider(NoOpPasswordEncoder.getInstance());
+        provider.setUserDetailsService(customUserDetailsService);
+
+        Role role = new Role();
+        role.setId(1L);
+        role.setName("CUSTOMER");
+        user = new User();
+        user.setId(1L);
+        user.setUsername("esteban123");
+        user.setPassword("secret");
+        user.setEnabled(true);
+        user.setRoles(List.of(role));
+    }
+
+    @Test
+    void login_Succeeds_ForAnActiveUser() {
+        when(userRepository.findByUsername("esteban123")).thenReturn(Optional.of(user));
+
+        Authentication authentication = provider.authenticate(
+                new UsernamePasswordAuthenticationToken("esteban123", "secret"));
+
+        assertTrue(authentication.isAuthenticated());
+    }
+
+    @Test
+    void login_IsRefused_ForASoftDeletedUser() {
+        user.disabled();
+        user.setDeletedAt(LocalDateTime.now());
+        when(userRepository.findByUsername("esteban123")).thenReturn(Optional.of(user));
+
+        assertThrows(DisabledException.class, () -> provider.authenticate(
+                new UsernamePasswordAuthenticationToken("esteban123", "secret")));
+        // The second attempt is answered from the cache, which must keep the account disabled.
+        assertThrows(DisabledException.class, () -> provider.authenticate(
+                new UsernamePasswordAuthenticationToken("esteban123", "secret")));
+        verify(userRepository, times(1)).findByUsername("esteban123");
+    }
+
+    @Test
+    void loadUserByUsername_MarksAUserDeletedButStillEnabledAsDisabled() {
+        user.setDeletedAt(LocalDateTime.now());
+        when(userRepository.findByUsername("esteban123")).thenReturn(Optional.of(user));
+
+        assertFalse(customUserDetailsService.loadUserByUsername("esteban123").isEnabled());
+    }
+}
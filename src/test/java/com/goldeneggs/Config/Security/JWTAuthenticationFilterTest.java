@@ -0,0 +1,115 @@
+package com.goldeneggs.Config.Security;
+
+import com.goldeneggs.TokenRevocation.TokenRevocationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JWTAuthenticationFilterTest {
+
+    @Spy
+    private JWTGenerator tokenGenerator = new JWTGenerator();
+
+    @Mock
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Mock
+    private TokenCutoffService tokenCutoffService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @InjectMocks
+    private JWTAuthenticationFilter filter;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void statelessMode_AuthenticatesFromTheClaims() throws Exception {
+        ReflectionTestUtils.setField(tokenGenerator, "stateless", true);
+        ReflectionTestUtils.setField(tokenGenerator, "statelessExpiration", 60_000L);
+        String token = tokenGenerator.generateToken(login("admin", "ADMIN", "EMPLOYEE"), 7L);
+
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals("admin", authentication.getName());
+        assertEquals(List.of("ADMIN", "EMPLOYEE"),
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        verify(tokenCutoffService).isRevoked(eq(7L), any());
+        verifyNoInteractions(customUserDetailsService);
+    }
+
+    @Test
+    void statelessMode_RejectsRevokedTokens() throws Exception {
+        ReflectionTestUtils.setField(tokenGenerator, "stateless", true);
+        ReflectionTestUtils.setField(tokenGenerator, "statelessExpiration", 60_000L);
+        String token = tokenGenerator.generateToken(login("admin", "ADMIN"), 7L);
+        when(tokenCutoffService.isRevoked(eq(7L), any())).thenReturn(true);
+
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(customUserDetailsService);
+    }
+
+    @Test
+    void defaultMode_LoadsTheUser() throws Exception {
+        String token = tokenGenerator.generateToken(login("admin", "ADMIN"), 7L);
+        when(customUserDetailsService.loadUserByUsername("admin"))
+                .thenReturn(new User("admin", "hash", List.of(new SimpleGrantedAuthority("CUSTOMER"))));
+
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals("CUSTOMER", authentication.getAuthorities().iterator().next().getAuthority());
+        verifyNoInteractions(tokenCutoffService);
+    }
+
+    @Test
+    void ignoresTokensRevokedOnLogout() throws Exception {
+        String token = tokenGenerator.generateToken(login("admin", "ADMIN"), 7L);
+        when(tokenRevocationService.isRevoked(tokenGenerator.verify(token).claims().getId())).thenReturn(true);
+
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(customUserDetailsService);
+    }
+
+    private static Authentication login(String username, String... authorities) {
+        return new UsernamePasswordAuthenticationToken(username, null,
+                java.util.Arrays.stream(authorities).map(SimpleGrantedAuthority::new).toList());
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/orders");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,73 @@
+package com.goldeneggs.Config.Security;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JWTGeneratorTest {
+
+    private final JWTGenerator generator = new JWTGenerator();
+
+    @Test
+    void verify_ReturnsTheSubjectAndClaims() {
+        String token = generator.generateToken(login("admin"), 7L);
+
+        VerifiedToken verified = generator.verify(token);
+
+        assertEquals("admin", verified.username());
+        assertEquals(7L, verified.claims().get(JWTGenerator.USER_ID_CLAIM, Long.class));
+        assertEquals(verified.claims().getExpiration().getTime(), verified.expiresAtMillis());
+    }
+
+    @Test
+    void verify_ServesRepeatedTokensFromTheCache() {
+        String token = generator.generateToken(login("admin"), 7L);
+
+        VerifiedToken first = generator.verify(token);
+        VerifiedToken second = generator.verify(token);
+
+        assertSame(first, second);
+        assertEquals(1, generator.verifiedCacheSize());
+    }
+
+    @Test
+    void verify_ChecksTheTokenAgain_OnceItExpired() {
+        String token = generator.generateToken(login("admin"), 7L);
+        VerifiedToken first = generator.verify(token);
+
+        VerifiedToken second = generator.verify(token, first.expiresAtMillis() - 1);
+        assertSame(first, second);
+
+        VerifiedToken third = generator.verify(token, first.expiresAtMillis());
+        assertNotSame(first, third);
+    }
+
+    @Test
+    void verify_RejectsTamperedTokens() {
+        String token = generator.generateToken(login("admin"), 7L);
+        String forged = Jwts.builder()
+                .setSubject("admin")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor("another-key-another-key-another-key-another-key-another-key-0000"
+                        .getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS512)
+                .compact();
+
+        assertThrows(AuthenticationCredentialsNotFoundException.class, () -> generator.verify(forged));
+        assertThrows(AuthenticationCredentialsNotFoundException.class, () -> generator.verify(token + "x"));
+        assertEquals(0, generator.verifiedCacheSize());
+    }
+
+    private static UsernamePasswordAuthenticationToken login(String username) {
+        return new UsernamePasswordAuthenticationToken(username, null, List.of(new SimpleGrantedAuthority("ADMIN")));
+    }
+}
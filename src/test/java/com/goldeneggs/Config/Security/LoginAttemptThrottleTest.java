@@ -0,0 +1,52 @@
+package com.goldeneggs.Config.Security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginAttemptThrottleTest {
+
+    @Test
+    void tryAcquire_ThrottlesAUsername_TriedTooOftenWithinTheWindow() {
+        LoginAttemptThrottle throttle = new LoginAttemptThrottle(60, 2, 100, 100);
+
+        assertTrue(throttle.tryAcquire("admin", "10.0.0.1", 0));
+        assertTrue(throttle.tryAcquire("admin", "10.0.0.2", 1_000));
+        assertFalse(throttle.tryAcquire("admin", "10.0.0.3", 2_000));
+        assertTrue(throttle.tryAcquire("other", "10.0.0.3", 2_000));
+        assertTrue(throttle.tryAcquire("admin", "10.0.0.3", 60_000));
+
+        assertEquals(1L, throttle.throttled());
+    }
+
+    @Test
+    void tryAcquire_ThrottlesAnIp_TryingManyUsernames() {
+        LoginAttemptThrottle throttle = new LoginAttemptThrottle(60, 5, 2, 100);
+
+        assertTrue(throttle.tryAcquire("a", "10.0.0.1", 0));
+        assertTrue(throttle.tryAcquire("b", "10.0.0.1", 0));
+        assertFalse(throttle.tryAcquire("c", "10.0.0.1", 0));
+        assertTrue(throttle.tryAcquire("c", "10.0.0.2", 0));
+    }
+
+    @Test
+    void tryAcquire_DoesNotCountThrottledAttempts() {
+        LoginAttemptThrottle throttle = new LoginAttemptThrottle(60, 5, 1, 100);
+
+        assertTrue(throttle.tryAcquire("a", "10.0.0.1", 0));
+        assertFalse(throttle.tryAcquire("b", "10.0.0.1", 0));
+
+        assertTrue(throttle.tryAcquire("b", "10.0.0.2", 0));
+        assertTrue(throttle.tryAcquire("b", "10.0.0.3", 0));
+    }
+
+    @Test
+    void reset_ForgetsTheAttemptsOfAUsername() {
+        LoginAttemptThrottle throttle = new LoginAttemptThrottle(60, 1, 100, 100);
+
+        assertTrue(throttle.tryAcquire("admin", "10.0.0.1", 0));
+        throttle.reset("admin");
+
+        assertTrue(throttle.tryAcquire("admin", "10.0.0.1", 1_000));
+    }
+}
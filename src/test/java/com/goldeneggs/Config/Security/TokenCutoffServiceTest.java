@@ -0,0 +1,81 @@
+package com.goldeneggs.Config.Security;
+
+import com.goldeneggs.Dto.TokenCutoffDto;
+import com.goldeneggs.User.User;
+import com.goldeneggs.User.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenCutoffServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TokenCutoffService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TokenCutoffService(userRepository, true, 900_000);
+    }
+
+    @Test
+    void revokeTokens_RejectsTheTokensIssuedBefore() {
+        User user = new User();
+        user.setId(7L);
+
+        service.revokeTokens(user);
+
+        assertNotNull(user.getTokensValidAfter());
+        assertTrue(service.isRevoked(7L, date(user.getTokensValidAfter().minusMinutes(1))));
+        assertFalse(service.isRevoked(7L, date(user.getTokensValidAfter().plusSeconds(1))));
+        assertFalse(service.isRevoked(8L, date(user.getTokensValidAfter().minusMinutes(1))));
+    }
+
+    @Test
+    void refresh_LoadsTheRevocationsOfOtherInstances() {
+        LocalDateTime revokedAt = LocalDateTime.now().minusMinutes(1);
+        when(userRepository.findTokenCutoffsSince(any())).thenReturn(List.of(new TokenCutoffDto(7L, revokedAt)));
+
+        service.refresh();
+
+        assertTrue(service.isRevoked(7L, date(revokedAt.minusMinutes(1))));
+    }
+
+    @Test
+    void refresh_ForgetsRevocationsOlderThanTheTokenLifetime() {
+        service = new TokenCutoffService(userRepository, true, 0);
+        User user = new User();
+        user.setId(7L);
+        service.revokeTokens(user);
+
+        service.refresh();
+
+        assertFalse(service.isRevoked(7L, date(user.getTokensValidAfter().minusMinutes(1))));
+    }
+
+    @Test
+    void refresh_DoesNothing_WhenNotStateless() {
+        service = new TokenCutoffService(userRepository, false, 900_000);
+
+        service.refresh();
+
+        verifyNoInteractions(userRepository);
+    }
+
+    private static Date date(LocalDateTime moment) {
+        return Date.from(moment.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
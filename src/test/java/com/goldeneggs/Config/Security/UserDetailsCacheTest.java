@@ -0,0 +1,81 @@
+package com.goldeneggs.Config.Security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserDetailsCacheTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void get_ReturnsACopyThatSurvivesErasedCredentials() {
+        UserDetailsCache cache = new UserDetailsCache(300, 10);
+        cache.put(details("admin"), 0);
+
+        UserDetails first = cache.get("admin", SECOND);
+        ((User) first).eraseCredentials();
+        UserDetails second = cache.get("admin", 2 * SECOND);
+
+        assertNotSame(first, second);
+        assertEquals("hash", second.getPassword());
+        assertEquals(List.of(new SimpleGrantedAuthority("ADMIN")), List.copyOf(second.getAuthorities()));
+    }
+
+    @Test
+    void get_KeepsTheDisabledFlag() {
+        UserDetailsCache cache = new UserDetailsCache(300, 10);
+        cache.put(User.withUsername("former").password("hash").authorities("CUSTOMER").disabled(true).build(), 0);
+
+        assertFalse(cache.get("former", SECOND).isEnabled());
+    }
+
+    @Test
+    void get_ReturnsNull_WhenTheEntryExpired() {
+        UserDetailsCache cache = new UserDetailsCache(300, 10);
+        cache.put(details("admin"), 0);
+
+        assertNull(cache.get("admin", 300 * SECOND));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_DropsTheLeastRecentlyUsedUser_WhenFull() {
+        UserDetailsCache cache = new UserDetailsCache(300, 2);
+        cache.put(details("a"), 0);
+        cache.put(details("b"), 0);
+        cache.get("a", 0);
+        cache.put(details("c"), 0);
+
+        assertNotNull(cache.get("a", 0));
+        assertNull(cache.get("b", 0));
+        assertNotNull(cache.get("c", 0));
+    }
+
+    @Test
+    void evict_RemovesTheUser() {
+        UserDetailsCache cache = new UserDetailsCache(300, 10);
+        cache.put(details("admin"), 0);
+
+        cache.evict("admin");
+
+        assertNull(cache.get("admin", 0));
+    }
+
+    @Test
+    void put_DoesNothing_WhenTheCacheIsDisabled() {
+        UserDetailsCache cache = new UserDetailsCache(0, 10);
+        cache.put(details("admin"), 0);
+
+        assertEquals(0, cache.size());
+    }
+
+    private static UserDetails details(String username) {
+        return new User(username, "hash", List.of(new SimpleGrantedAuthority("ADMIN")));
+    }
+}
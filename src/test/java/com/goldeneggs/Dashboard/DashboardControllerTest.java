@@ -0,0 +1,49 @@
+package com.goldeneggs.Dashboard;
+
+import com.goldeneggs.Dto.Dashboard.DashboardDto;
+import com.goldeneggs.Dto.Dashboard.DashboardSectionDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private DashboardService dashboardService;
+
+    @InjectMocks
+    private DashboardController dashboardController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(dashboardController).build();
+    }
+
+    @Test
+    void getDashboard_ReturnsSections() throws Exception {
+        DashboardDto dashboard = new DashboardDto();
+        dashboard.getSections().put("clients", new DashboardSectionDto(DashboardSectionDto.STATUS_OK, 12L, 3));
+        dashboard.getSections().put("visits", new DashboardSectionDto(DashboardSectionDto.STATUS_TIMEOUT, null, 2000));
+        when(dashboardService.getDashboard()).thenReturn(dashboard);
+
+        mockMvc.perform(get("/api/v1/dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sections.clients.value").value(12))
+                .andExpect(jsonPath("$.sections.visits.status").value("TIMEOUT"));
+
+        verify(dashboardService, times(1)).getDashboard();
+    }
+}
@@ -0,0 +1,165 @@
+package com.goldeneggs.Dashboard;
+
+import com.goldeneggs.Bill.BillService;
+import com.goldeneggs.Dto.Dashboard.DashboardDto;
+import com.goldeneggs.Dto.Dashboard.DashboardSectionDto;
+import com.goldeneggs.Dto.Statistics.LatencyPercentilesDto;
+import com.goldeneggs.Egg.EggService;
+import com.goldeneggs.LatencyHistogram.LatencyHistogramService;
+import com.goldeneggs.LatencyHistogram.LatencyMetric;
+import com.goldeneggs.Order.OrderService;
+import com.goldeneggs.Pay.PayService;
+import com.goldeneggs.User.UserService;
+import com.goldeneggs.WebVisit.WebVisitService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DashboardServiceTest {
+
+    @Mock
+    private UserService userService;
+    @Mock
+    private OrderService orderService;
+    @Mock
+    private BillService billService;
+    @Mock
+    private PayService payService;
+    @Mock
+    private EggService eggService;
+    @Mock
+    private WebVisitService webVisitService;
+    @Mock
+    private LatencyHistogramService latencyHistogramService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ExecutorService executor;
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        dashboardService = new DashboardService(userService, orderService, billService, payService,
+                eggService, webVisitService, latencyHistogramService, transactionManager, executor, 300);
+
+        when(userService.countClients()).thenReturn(12L);
+        when(userService.countEmployees()).thenReturn(3L);
+        when(orderService.countOrdersInCurrentMonth()).thenReturn(40L);
+        when(billService.countCustomerBillsInCurrentMonth()).thenReturn(35L);
+        when(billService.getMonthlySalesTotal()).thenReturn(1500.0);
+        when(billService.getBestCustomerOfMonth()).thenReturn("Juan");
+        when(payService.totalIncomeCurrentMonth()).thenReturn(1400.0);
+        when(payService.totalExpensesCurrentMonth()).thenReturn(300.0);
+        when(payService.totalIncome()).thenReturn(9000.0);
+        when(eggService.getTotalEggQuantity()).thenReturn(600L);
+        when(webVisitService.getVisitCount()).thenReturn(77L);
+        when(latencyHistogramService.recentPercentiles(any(LatencyMetric.class), anyInt()))
+                .thenReturn(new LatencyPercentilesDto("ORDER_TO_BILL", 10, 3_600L, 86_400L, 172_800L));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getDashboard_ReturnsEverySection() {
+        DashboardDto dashboard = dashboardService.getDashboard();
+
+        assertEquals(13, dashboard.getSections().size());
+        assertTrue(dashboard.getSections().values().stream()
+                .allMatch(section -> DashboardSectionDto.STATUS_OK.equals(section.getStatus())));
+        assertEquals(12L, dashboard.getSections().get("clients").getValue());
+        assertEquals("Juan", dashboard.getSections().get("bestCustomerThisMonth").getValue());
+        assertEquals(77L, dashboard.getSections().get("visits").getValue());
+        assertEquals(3_600L, ((LatencyPercentilesDto) dashboard.getSections().get("orderToBillLatency").getValue())
+                .getP50Seconds());
+    }
+
+    @Test
+    void getDashboard_ReportsSlowSectionAsTimeoutWithoutDelayingOthers() {
+        when(webVisitService.getVisitCount()).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return 77L;
+        });
+
+        long start = System.currentTimeMillis();
+        DashboardDto dashboard = dashboardService.getDashboard();
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertTrue(elapsed < 3_000, "dashboard waited for the slow section: " + elapsed + " ms");
+        assertEquals(DashboardSectionDto.STATUS_TIMEOUT, dashboard.getSections().get("visits").getStatus());
+        assertNull(dashboard.getSections().get("visits").getValue());
+        assertEquals(DashboardSectionDto.STATUS_OK, dashboard.getSections().get("clients").getStatus());
+    }
+
+    @Test
+    void getDashboard_CancelsTheTaskOfATimedOutSection() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(webVisitService.getVisitCount()).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return 77L;
+        });
+
+        DashboardDto dashboard = dashboardService.getDashboard();
+
+        assertEquals(DashboardSectionDto.STATUS_TIMEOUT, dashboard.getSections().get("visits").getStatus());
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS), "the slow section kept running after its timeout");
+    }
+
+    @Test
+    void getDashboard_RunsEachSectionWithinTheSectionTimeout() {
+        dashboardService.getDashboard();
+
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, times(13)).getTransaction(definitions.capture());
+        assertTrue(definitions.getAllValues().stream().allMatch(definition -> definition.getTimeout() == 1));
+    }
+
+    @Test
+    void getDashboard_ReportsFailingSectionAsError() {
+        when(payService.totalExpensesCurrentMonth()).thenThrow(new IllegalStateException("boom"));
+
+        DashboardDto dashboard = dashboardService.getDashboard();
+
+        assertEquals(DashboardSectionDto.STATUS_ERROR, dashboard.getSections().get("expensesThisMonth").getStatus());
+        assertEquals(DashboardSectionDto.STATUS_OK, dashboard.getSections().get("incomeThisMonth").getStatus());
+    }
+
+    @Test
+    void getDashboard_ReportsRejectedSections_WhenExecutorIsSaturated() {
+        dashboardService = new DashboardService(userService, orderService, billService, payService,
+                eggService, webVisitService, latencyHistogramService, transactionManager, command -> {
+                    throw new java.util.concurrent.RejectedExecutionException("full");
+                }, 300);
+
+        DashboardDto dashboard = dashboardService.getDashboard();
+
+        assertTrue(dashboard.getSections().values().stream()
+                .allMatch(section -> DashboardSectionDto.STATUS_REJECTED.equals(section.getStatus())));
+    }
+}
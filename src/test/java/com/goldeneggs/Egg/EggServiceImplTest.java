@@ -13,8 +13,8 @@ import com.goldeneggs.OrderEgg.OrderEgg;
 import com.goldeneggs.OrderEgg.OrderEggRepository;
 import com.goldeneggs.OrderEgg.OrderEggService;
 import com.goldeneggs.Pay.PayService;
+import com.goldeneggs.ReferenceData.ReferenceDataRegistry;
 import com.goldeneggs.Supplier.Supplier;
-import com.goldeneggs.Supplier.SupplierRepository;
 import com.goldeneggs.TypeEgg.TypeEgg;
 import com.goldeneggs.User.UserRepository;
 import com.goldeneggs.User.User;
@@ -26,7 +26,6 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
-import com.goldeneggs.TypeEgg.TypeEggRepository;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.sql.Date;
@@ -44,10 +43,7 @@ public class EggServiceImplTest {
     private EggServiceImpl eggService;
 
     @Mock
-    private TypeEggRepository typeEggRepository;
-
-    @Mock
-    private SupplierRepository supplierRepository;
+    private ReferenceDataRegistry referenceDataRegistry;
 
     @Mock
     private EggRepository eggRepository;
@@ -206,7 +202,7 @@ public class EggServiceImplTest {
     void testSaveEgg_TypeDoesNotExist_ShouldThrow() {
         try (MockedStatic<EggValidator> mockedValidator = mockStatic(EggValidator.class)) {
             mockedValidator.when(() -> EggValidator.validateTypeEgg(sampleEgg.getType())).thenReturn(true);
-            when(typeEggRepository.existsById(sampleEgg.getType().getId())).thenReturn(false);
+            when(referenceDataRegistry.typeEggExists(sampleEgg.getType().getId())).thenReturn(false);
 
             InvalidEggDataException exception = assertThrows(InvalidEggDataException.class,
                     () -> eggService.save(sampleEgg, 1L));
@@ -220,7 +216,7 @@ public class EggServiceImplTest {
             mockedValidator.when(() -> EggValidator.validateTypeEgg(sampleEgg.getType())).thenReturn(true);
             mockedValidator.when(() -> EggValidator.validateColor(sampleEgg.getColor())).thenReturn(false);
 
-            when(typeEggRepository.existsById(sampleEgg.getType().getId())).thenReturn(true);
+            when(referenceDataRegistry.typeEggExists(sampleEgg.getType().getId())).thenReturn(true);
 
             InvalidEggDataException exception = assertThrows(InvalidEggDataException.class,
                     () -> eggService.save(sampleEgg, 1L));
@@ -235,7 +231,7 @@ public class EggServiceImplTest {
             mockedValidator.when(() -> EggValidator.validateTypeEgg(sampleEgg.getType())).thenReturn(true);
             mockedValidator.when(() -> EggValidator.validateColor(sampleEgg.getColor())).thenReturn(true);
             mockedValidator.when(() -> EggValidator.validateBuyPrice(sampleEgg.getBuyPrice())).thenReturn(false);
-            when(typeEggRepository.existsById(sampleEgg.getType().getId())).thenReturn(true);
+            when(referenceDataRegistry.typeEggExists(sampleEgg.getType().getId())).thenReturn(true);
 
             InvalidEggDataException exception = assertThrows(InvalidEggDataException.class,
                     () -> eggService.save(sampleEgg, 1L));
@@ -250,7 +246,7 @@ public class EggServiceImplTest {
             mockedValidator.when(() -> EggValidator.validateColor(sampleEgg.getColor())).thenReturn(true);
             mockedValidator.when(() -> EggValidator.validateBuyPrice(sampleEgg.getBuyPrice())).thenReturn(true);
             mockedValidator.when(() -> EggValidator.validateSalePrice(sampleEgg.getBuyPrice(), sampleEgg.getSalePrice())).thenReturn(false);
-            when(typeEggRepository.existsById(sampleEgg.getType().getId())).thenReturn(true);
+            when(referenceDataRegistry.typeEggExists(sampleEgg.getType().getId())).thenReturn(true);
 
             InvalidEggDataException exception = assertThrows(InvalidEggDataException.class,
                     () -> eggService.save(sampleEgg, 1L));
@@ -267,7 +263,7 @@ public class EggServiceImplTest {
             mockedValidator.when(() -> EggValidator.validateSalePrice(sampleEgg.getBuyPrice(), sampleEgg.getSalePrice())).thenReturn(true);
             mockedValidator.when(() -> EggValidator.validateExpirationDate(sampleEgg.getExpirationDate())).thenReturn(true);
             mockedValidator.when(() -> EggValidator.validateSupplier(sampleEgg.getSupplier())).thenReturn(false);
-            when(typeEggRepository.existsById(sampleEgg.getType().getId())).thenReturn(true);
+            when(referenceDataRegistry.typeEggExists(sampleEgg.getType().getId())).thenReturn(true);
 
             InvalidEggDataException exception = assertThrows(InvalidEggDataException.class,
                     () -> eggService.save(sampleEgg, 1L));
@@ -284,8 +280,8 @@ public class EggServiceImplTest {
             mockedValidator.when(() -> EggValidator.validateSalePrice(sampleEgg.getBuyPrice(), sampleEgg.getSalePrice())).thenReturn(true);
             mockedValidator.when(() -> EggValidator.validateExpirationDate(sampleEgg.getExpirationDate())).thenReturn(true);
             mockedValidator.when(() -> EggValidator.validateSupplier(sampleEgg.getSupplier())).thenReturn(true);
-            when(supplierRepository.existsById(sampleEgg.getSupplier().getId())).thenReturn(false);
-            when(typeEggRepository.existsById(sampleEgg.getType().getId())).thenReturn(true);
+            when(referenceDataRegistry.supplierExists(sampleEgg.getSupplier().getId())).thenReturn(false);
+            when(referenceDataRegistry.typeEggExists(sampleEgg.getType().getId())).thenReturn(true);
 
             InvalidEggDataException exception = assertThrows(InvalidEggDataException.class,
                     () -> eggService.save(sampleEgg, 1L));
@@ -303,8 +299,8 @@ public class EggServiceImplTest {
             mockedValidator.when(() -> EggValidator.validateExpirationDate(sampleEgg.getExpirationDate())).thenReturn(true);
             mockedValidator.when(() -> EggValidator.validateSupplier(sampleEgg.getSupplier())).thenReturn(true);
             mockedValidator.when(() -> EggValidator.validateAviableQuantity(sampleEgg.getAvibleQuantity())).thenReturn(false);
-            when(supplierRepository.existsById(sampleEgg.getSupplier().getId())).thenReturn(true);
-            when(typeEggRepository.existsById(sampleEgg.getType().getId())).thenReturn(true);
+            when(referenceDataRegistry.supplierExists(sampleEgg.getSupplier().getId())).thenReturn(true);
+            when(referenceDataRegistry.typeEggExists(sampleEgg.getType().getId())).thenReturn(true);
 
             InvalidEggDataException exception = assertThrows(InvalidEggDataException.class,
                     () -> eggService.save(sampleEgg, 1L));
@@ -372,13 +368,13 @@ public class EggServiceImplTest {
         typeEgg.setId(123L);
         typeEgg.setType("M");
 
-        lenient().when(typeEggRepository.existsById(123L)).thenReturn(true);
+        lenient().when(referenceDataRegistry.typeEggExists(123L)).thenReturn(true);
 
         Supplier supplier = new Supplier();
         supplier.setId(456L);
         supplier.setName("Gallinas Unidas");
 
-        lenient().when(supplierRepository.existsById(456L)).thenReturn(true);
+        lenient().when(referenceDataRegistry.supplierExists(456L)).thenReturn(true);
 
         Egg egg = new Egg();
         egg.setType(typeEgg);
@@ -438,7 +434,7 @@ public class EggServiceImplTest {
                 .expirationDate(Date.valueOf(LocalDate.now().plusDays(5)))
                 .build();
 
-        when(typeEggRepository.findByType("AA")).thenReturn(typeEgg);
+        when(referenceDataRegistry.findTypeEgg("AA")).thenReturn(Optional.of(typeEgg));
         when(eggRepository.findEggsByColorAndType("Blanco", typeEgg))
                 .thenReturn(new ArrayList<>(List.of(egg1, egg2)));
 
@@ -461,7 +457,7 @@ public class EggServiceImplTest {
                 .expirationDate(Date.valueOf(LocalDate.now().plusDays(5)))
                 .build();
 
-        when(typeEggRepository.findByType("AA")).thenReturn(typeEgg);
+        when(referenceDataRegistry.findTypeEgg("AA")).thenReturn(Optional.of(typeEgg));
         when(eggRepository.findEggsByColorAndType("Rojo", typeEgg))
                 .thenReturn(new ArrayList<>(List.of(egg)));
 
@@ -480,12 +476,12 @@ public class EggServiceImplTest {
         assertFalse(eggService.updateEggQuantity(0, "Blanco", "AA", user, order));
         assertFalse(eggService.updateEggQuantity(-10, "Blanco", "AA", user, order));
 
-        verifyNoInteractions(typeEggRepository, eggRepository, inventoryMovementRepository);
+        verifyNoInteractions(referenceDataRegistry, eggRepository, inventoryMovementRepository);
     }
 
     @Test
     void updateEggQuantity_ShouldReturnFalse_WhenTypeNotFound() {
-        when(typeEggRepository.findByType("AAA")).thenReturn(null);
+        when(referenceDataRegistry.findTypeEgg("AAA")).thenReturn(Optional.empty());
 
         boolean result = eggService.updateEggQuantity(30, "Blanco", "AAA", user, order);
 
@@ -502,7 +498,7 @@ public class EggServiceImplTest {
                 .expirationDate(Date.valueOf(LocalDate.now().plusDays(5)))
                 .build();
 
-        when(typeEggRepository.findByType("AA")).thenReturn(typeEgg);
+        when(referenceDataRegistry.findTypeEgg("AA")).thenReturn(Optional.of(typeEgg));
         when(eggRepository.findEggsByColorAndType("Blanco", typeEgg))
                 .thenReturn(new ArrayList<>(List.of(existingEgg)));
 
@@ -519,7 +515,7 @@ public class EggServiceImplTest {
     @Test
     void restockEggs_ShouldCreateNewEgg_WhenNoMatchingEggsExist() {
         // Configurar
-        when(typeEggRepository.findByType("AA")).thenReturn(typeEgg);
+        when(referenceDataRegistry.findTypeEgg("AA")).thenReturn(Optional.of(typeEgg));
         when(eggRepository.findEggsByColorAndType("Blanco", typeEgg))
                 .thenReturn(Collections.emptyList());
 
@@ -546,12 +542,12 @@ public class EggServiceImplTest {
         assertFalse(eggService.restockEggs(0, "Blanco", "AA", user, order));
         assertFalse(eggService.restockEggs(-10, "Blanco", "AA", user, order));
 
-        verifyNoInteractions(typeEggRepository, eggRepository, inventoryMovementRepository);
+        verifyNoInteractions(referenceDataRegistry, eggRepository, inventoryMovementRepository);
     }
 
     @Test
     void restockEggs_ShouldReturnFalse_WhenTypeNotFound() {
-        when(typeEggRepository.findByType("AAA")).thenReturn(null);
+        when(referenceDataRegistry.findTypeEgg("AAA")).thenReturn(Optional.empty());
 
         boolean result = eggService.restockEggs(30, "Blanco", "AAA", user, order);
 
@@ -0,0 +1,45 @@
+package com.goldeneggs.LatencyHistogram;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyBucketsTest {
+
+    @Test
+    void indexOf_PlacesBoundsInTheirOwnBucket() {
+        assertEquals(0, LatencyBuckets.indexOf(0));
+        assertEquals(0, LatencyBuckets.indexOf(60));
+        assertEquals(1, LatencyBuckets.indexOf(61));
+        assertEquals(4, LatencyBuckets.indexOf(3_600));
+        assertEquals(LatencyBuckets.COUNT - 1, LatencyBuckets.indexOf(365L * 86_400));
+    }
+
+    @Test
+    void indexOf_TreatsNegativeLatenciesAsZero() {
+        assertEquals(0, LatencyBuckets.indexOf(-120));
+    }
+
+    @Test
+    void percentile_ReturnsUpperBoundOfTheRankBucket() {
+        long[] counts = new long[LatencyBuckets.COUNT];
+        counts[LatencyBuckets.indexOf(3_600)] = 50;
+        counts[LatencyBuckets.indexOf(86_400)] = 40;
+        counts[LatencyBuckets.indexOf(7 * 86_400)] = 10;
+
+        assertEquals(3_600L, LatencyBuckets.percentile(counts, 50));
+        assertEquals(86_400L, LatencyBuckets.percentile(counts, 90));
+        assertEquals(7 * 86_400L, LatencyBuckets.percentile(counts, 99));
+    }
+
+    @Test
+    void percentile_ReturnsNull_WhenHistogramIsEmpty() {
+        assertNull(LatencyBuckets.percentile(new long[LatencyBuckets.COUNT], 50));
+    }
+
+    @Test
+    void upperBound_IsNullForTheOpenBucket() {
+        assertEquals(60L, LatencyBuckets.upperBound(0));
+        assertNull(LatencyBuckets.upperBound(LatencyBuckets.COUNT - 1));
+    }
+}
@@ -0,0 +1,112 @@
+package com.goldeneggs.LatencyHistogram;
+
+import com.goldeneggs.Bill.Bill;
+import com.goldeneggs.Bill.BillRepository;
+import com.goldeneggs.Dto.Statistics.LatencyPercentilesDto;
+import com.goldeneggs.Order.Order;
+import com.goldeneggs.Pay.Pay;
+import com.goldeneggs.Pay.PayBillResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LatencyHistogramServiceTest {
+
+    @Mock
+    private LatencyHistogramRepository histogramRepository;
+
+    @Mock
+    private BillRepository billRepository;
+
+    private LatencyHistogramService latencyHistogramService;
+
+    private Order order;
+    private Bill bill;
+
+    @BeforeEach
+    void setUp() {
+        latencyHistogramService = new LatencyHistogramService(histogramRepository, new PayBillResolver(billRepository));
+
+        order = Order.builder()
+                .id(3L)
+                .placedAt(LocalDateTime.of(2025, 3, 10, 9, 0))
+                .build();
+        bill = Bill.builder()
+                .id(11L)
+                .order(order)
+                .issuedAt(LocalDateTime.of(2025, 3, 10, 10, 30))
+                .build();
+    }
+
+    @Test
+    void recordBill_AddsLatencyToTheDayOfTheBill() {
+        latencyHistogramService.recordBill(bill);
+
+        verify(histogramRepository).increment("ORDER_TO_BILL", Date.valueOf("2025-03-10"),
+                LatencyBuckets.indexOf(90 * 60));
+    }
+
+    @Test
+    void recordBill_SkipsOrdersWithoutTimestamp() {
+        order.setPlacedAt(null);
+
+        latencyHistogramService.recordBill(bill);
+
+        verifyNoInteractions(histogramRepository);
+    }
+
+    @Test
+    void recordPay_LoadsBill_WhenOnlyIdIsKnown() {
+        when(billRepository.findById(11L)).thenReturn(Optional.of(bill));
+        Pay pay = Pay.builder()
+                .bill(Bill.builder().id(11L).build())
+                .paidAt(LocalDateTime.of(2025, 3, 12, 9, 0))
+                .build();
+
+        latencyHistogramService.recordPay(pay);
+
+        verify(histogramRepository).increment("ORDER_TO_PAYMENT", Date.valueOf("2025-03-12"),
+                LatencyBuckets.indexOf(2 * 86_400));
+    }
+
+    @Test
+    void percentiles_SumsBucketsOfTheRange() {
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+        when(histogramRepository.sumByBucket(LatencyMetric.ORDER_TO_BILL, Date.valueOf(from), Date.valueOf(to)))
+                .thenReturn(List.of(
+                        new Object[]{LatencyBuckets.indexOf(3_600), 90L},
+                        new Object[]{LatencyBuckets.indexOf(86_400), 10L}));
+
+        LatencyPercentilesDto result = latencyHistogramService.percentiles(LatencyMetric.ORDER_TO_BILL, from, to);
+
+        assertEquals("ORDER_TO_BILL", result.getMetric());
+        assertEquals(100, result.getSamples());
+        assertEquals(3_600L, result.getP50Seconds());
+        assertEquals(3_600L, result.getP90Seconds());
+        assertEquals(86_400L, result.getP99Seconds());
+    }
+
+    @Test
+    void percentiles_ReturnsNoValues_WhenNothingWasRecorded() {
+        when(histogramRepository.sumByBucket(any(), any(), any())).thenReturn(List.of());
+
+        LatencyPercentilesDto result = latencyHistogramService.recentPercentiles(LatencyMetric.ORDER_TO_PAYMENT, 30);
+
+        assertEquals(0, result.getSamples());
+        assertNull(result.getP50Seconds());
+    }
+}
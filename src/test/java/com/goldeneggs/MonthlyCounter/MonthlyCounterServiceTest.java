@@ -0,0 +1,223 @@
+package com.goldeneggs.MonthlyCounter;
+
+import com.goldeneggs.Bill.Bill;
+import com.goldeneggs.Bill.BillRepository;
+import com.goldeneggs.Order.Order;
+import com.goldeneggs.Order.OrderRepository;
+import com.goldeneggs.Pay.Pay;
+import com.goldeneggs.Pay.PayBillResolver;
+import com.goldeneggs.Pay.PayRepository;
+import com.goldeneggs.Role.Role;
+import com.goldeneggs.User.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MonthlyCounterServiceTest {
+
+    @Mock
+    private MonthlyCounterRepository counterRepository;
+
+    @Mock
+    private BillRepository billRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private PayRepository payRepository;
+
+    private MonthlyCounterService counterService;
+
+    private User customer;
+    private Order order;
+    private Bill bill;
+    private String period;
+
+    @BeforeEach
+    void setUp() {
+        counterService = new MonthlyCounterService(counterRepository, billRepository, orderRepository,
+                payRepository, new PayBillResolver(billRepository));
+
+        customer = new User();
+        customer.setId(7L);
+        customer.setName("Juan");
+        customer.setRoles(List.of(new Role(1L, "CUSTOMER")));
+
+        order = Order.builder()
+                .id(3L)
+                .user(customer)
+                .totalPrice(150.0)
+                .orderDate(Date.valueOf(LocalDate.now()))
+                .state(Order.STATE_PENDING)
+                .build();
+
+        bill = Bill.builder()
+                .id(11L)
+                .order(order)
+                .issueDate(Date.valueOf(LocalDate.now()))
+                .totalPrice(150.0)
+                .paid(true)
+                .build();
+
+        period = YearMonth.now().toString();
+    }
+
+    @Test
+    void recordBill_IncrementsCustomerBills() {
+        counterService.recordBill(bill);
+
+        verify(counterRepository).increment(period, "CUSTOMER_BILLS", 1.0);
+    }
+
+    @Test
+    void recordBill_IgnoresUsersWithoutCustomerRole() {
+        customer.setRoles(List.of(new Role(2L, "EMPLOYEE")));
+
+        counterService.recordBill(bill);
+
+        verifyNoInteractions(counterRepository);
+    }
+
+    @Test
+    void removeOrder_DecrementsOrders() {
+        counterService.removeOrder(order);
+
+        verify(counterRepository).increment(period, "ORDERS", -1.0);
+    }
+
+    @Test
+    void recordOrder_IgnoresInventoryPurchases() {
+        order.setState(Order.STATE_INVENTORY);
+
+        counterService.recordOrder(order);
+
+        verifyNoInteractions(counterRepository);
+    }
+
+    @Test
+    void recordPay_AddsCustomerPaymentsToIncome() {
+        counterService.recordPay(Pay.builder().bill(bill).amountPaid(150.0).build());
+
+        verify(counterRepository).increment(period, "INCOME", 150.0);
+    }
+
+    @Test
+    void recordPay_AddsInventoryPaymentsToExpenses() {
+        order.setState(Order.STATE_INVENTORY);
+
+        counterService.recordPay(Pay.builder().bill(bill).amountPaid(90.0).build());
+
+        verify(counterRepository).increment(period, "EXPENSES", 90.0);
+    }
+
+    @Test
+    void recordPay_LoadsBill_WhenOnlyIdIsKnown() {
+        when(billRepository.findById(11L)).thenReturn(Optional.of(bill));
+
+        counterService.recordPay(Pay.builder().bill(Bill.builder().id(11L).build()).amountPaid(40.0).build());
+
+        verify(counterRepository).increment(period, "INCOME", 40.0);
+    }
+
+    @Test
+    void recordPays_IncrementsOncePerMonthAndMetric() {
+        Order inventory = Order.builder().id(4L).user(customer).state(Order.STATE_INVENTORY).build();
+        Bill purchase = Bill.builder().id(12L).order(inventory).issueDate(bill.getIssueDate()).build();
+
+        counterService.recordPays(List.of(
+                Pay.builder().bill(bill).amountPaid(100.0).build(),
+                Pay.builder().bill(bill).amountPaid(50.0).build(),
+                Pay.builder().bill(purchase).amountPaid(30.0).build()));
+
+        verify(counterRepository).increment(period, "INCOME", 150.0);
+        verify(counterRepository).increment(period, "EXPENSES", 30.0);
+        verifyNoMoreInteractions(counterRepository);
+    }
+
+    @Test
+    void currentValue_ReadsCounterOnceAndCachesIt() {
+        when(counterRepository.findValue(period, CounterMetric.INCOME)).thenReturn(Optional.of(300.0));
+
+        assertEquals(300.0, counterService.currentValue(CounterMetric.INCOME));
+        assertEquals(300.0, counterService.currentValue(CounterMetric.INCOME));
+
+        verify(counterRepository, times(1)).findValue(period, CounterMetric.INCOME);
+    }
+
+    @Test
+    void currentValue_IsReloadedAfterAWrite() {
+        when(counterRepository.findValue(period, CounterMetric.INCOME))
+                .thenReturn(Optional.of(300.0))
+                .thenReturn(Optional.of(450.0));
+
+        assertEquals(300.0, counterService.currentValue(CounterMetric.INCOME));
+        counterService.recordPay(Pay.builder().bill(bill).amountPaid(150.0).build());
+
+        assertEquals(450.0, counterService.currentValue(CounterMetric.INCOME));
+    }
+
+    @Test
+    void currentValue_DoesNotCacheAReadThatRacedAWrite() {
+        when(counterRepository.findValue(period, CounterMetric.INCOME))
+                .thenAnswer(invocation -> {
+                    // The write commits, and evicts, while the old value is being read.
+                    counterService.recordPay(Pay.builder().bill(bill).amountPaid(150.0).build());
+                    return Optional.of(300.0);
+                })
+                .thenReturn(Optional.of(450.0));
+
+        assertEquals(300.0, counterService.currentValue(CounterMetric.INCOME));
+
+        assertEquals(450.0, counterService.currentValue(CounterMetric.INCOME));
+    }
+
+    @Test
+    void currentCount_ReturnsZero_WhenNothingWasRecorded() {
+        when(counterRepository.findValue(period, CounterMetric.ORDERS)).thenReturn(Optional.empty());
+
+        assertEquals(0L, counterService.currentCount(CounterMetric.ORDERS));
+    }
+
+    @Test
+    void rebuild_RecomputesEveryMetricOfTheMonth() {
+        YearMonth month = YearMonth.of(2025, 2);
+        Date start = Date.valueOf("2025-02-01");
+        Date end = Date.valueOf("2025-02-28");
+        when(billRepository.countCustomerBillsInCurrentMonth(start, end)).thenReturn(4L);
+        when(orderRepository.countOrdersInCurrentMonth(start, end)).thenReturn(6L);
+        when(payRepository.sumAmountPaidInCurrentMonth(start, end)).thenReturn(800.0);
+        when(payRepository.sumAmountSaleInCurrentMonth(start, end)).thenReturn(null);
+
+        counterService.rebuild(month);
+
+        verify(counterRepository).deleteByPeriod("2025-02");
+        verify(counterRepository).increment("2025-02", "CUSTOMER_BILLS", 4.0);
+        verify(counterRepository).increment("2025-02", "ORDERS", 6.0);
+        verify(counterRepository).increment("2025-02", "INCOME", 800.0);
+        verify(counterRepository).increment("2025-02", "EXPENSES", 0.0);
+    }
+
+    @Test
+    void initialize_SkipsBackfill_WhenCountersExist() {
+        when(counterRepository.count()).thenReturn(12L);
+
+        counterService.initialize();
+
+        verify(counterRepository, never()).deleteByPeriod(anyString());
+        verifyNoInteractions(billRepository, orderRepository, payRepository);
+    }
+}
@@ -0,0 +1,188 @@
+package com.goldeneggs.MonthlyRanking;
+
+import com.goldeneggs.Bill.Bill;
+import com.goldeneggs.Bill.BillRepository;
+import com.goldeneggs.Dto.Statistics.RankingEntryDto;
+import com.goldeneggs.Order.Order;
+import com.goldeneggs.OrderEgg.OrderEgg;
+import com.goldeneggs.Role.Role;
+import com.goldeneggs.User.User;
+import com.goldeneggs.User.UserSegment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MonthlyRankingServiceTest {
+
+    @Mock
+    private MonthlyRankingRepository rankingRepository;
+
+    @Mock
+    private BillRepository billRepository;
+
+    @InjectMocks
+    private MonthlyRankingService rankingService;
+
+    private User customer;
+    private Bill bill;
+    private String period;
+
+    @BeforeEach
+    void setUp() {
+        Role role = new Role(1L, "CUSTOMER");
+
+        customer = new User();
+        customer.setId(7L);
+        customer.setName("Juan");
+        customer.setUsername("juan");
+        customer.setRoles(List.of(role));
+
+        OrderEgg white = OrderEgg.builder().type("AA").color("Blanco").quantity(2).build();
+        OrderEgg red = OrderEgg.builder().type("AA").color("Rojo").quantity(1).build();
+
+        Order order = Order.builder()
+                .id(3L)
+                .user(customer)
+                .orderEggs(List.of(white, red))
+                .totalPrice(150.0)
+                .orderDate(Date.valueOf(LocalDate.now()))
+                .state(Order.STATE_PENDING)
+                .build();
+
+        bill = Bill.builder()
+                .id(11L)
+                .order(order)
+                .issueDate(Date.valueOf(LocalDate.now()))
+                .totalPrice(150.0)
+                .paid(true)
+                .build();
+
+        period = YearMonth.now().toString();
+    }
+
+    @Test
+    void recordBill_IncrementsCustomerAndProducts() {
+        rankingService.recordBill(bill);
+
+        verify(rankingRepository).increment(period, "CUSTOMER", "7", "Juan", 150.0);
+        verify(rankingRepository).increment(period, "PRODUCT", "AA - Blanco", "AA - Blanco", 1.0);
+        verify(rankingRepository).increment(period, "PRODUCT", "AA - Rojo", "AA - Rojo", 1.0);
+    }
+
+    @Test
+    void recordBill_IgnoresUsersWithoutCustomerRole() {
+        customer.setRoles(List.of(new Role(2L, "EMPLOYEE")));
+
+        rankingService.recordBill(bill);
+
+        verify(rankingRepository, never()).increment(anyString(), anyString(), anyString(), anyString(), anyDouble());
+    }
+
+    @Test
+    void removeBill_DecrementsScores() {
+        rankingService.removeBill(bill);
+
+        verify(rankingRepository).increment(period, "CUSTOMER", "7", "Juan", -150.0);
+        verify(rankingRepository, never()).findScore(anyString(), any(), anyString());
+    }
+
+    @Test
+    void topCustomers_WarmsTrackerOnceAndFoldsNewBills() {
+        when(rankingRepository.findTop(eq(period), eq(RankingCategory.CUSTOMER), any(Pageable.class)))
+                .thenReturn(List.of(new RankingEntryDto("9", "Ana", 100.0)));
+        when(rankingRepository.findScore(eq(period), any(), anyString())).thenReturn(Optional.of(1.0));
+        when(rankingRepository.findScore(period, RankingCategory.CUSTOMER, "7")).thenReturn(Optional.of(150.0));
+
+        assertEquals("Ana", rankingService.topCustomers(YearMonth.now(), 5).get(0).getLabel());
+
+        rankingService.recordBill(bill);
+        List<RankingEntryDto> top = rankingService.topCustomers(YearMonth.now(), 5);
+
+        assertEquals(2, top.size());
+        assertEquals("Juan", top.get(0).getLabel());
+        assertEquals(150.0, top.get(0).getScore());
+        verify(rankingRepository, times(1))
+                .findTop(eq(period), eq(RankingCategory.CUSTOMER), any(Pageable.class));
+    }
+
+    @Test
+    void topCustomers_DoesNotKeepATrackerWarmedWhileABillCommitted() {
+        AtomicInteger warmUps = new AtomicInteger();
+        when(rankingRepository.findScore(eq(period), any(), anyString())).thenReturn(Optional.of(1.0));
+        when(rankingRepository.findScore(period, RankingCategory.CUSTOMER, "7")).thenReturn(Optional.of(150.0));
+        when(rankingRepository.findTop(eq(period), eq(RankingCategory.CUSTOMER), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    if (warmUps.getAndIncrement() == 0) {
+                        // The bill commits after the table was read but before the tracker is installed.
+                        rankingService.recordBill(bill);
+                        return List.of(new RankingEntryDto("9", "Ana", 100.0));
+                    }
+                    return List.of(new RankingEntryDto("7", "Juan", 150.0), new RankingEntryDto("9", "Ana", 100.0));
+                });
+
+        rankingService.topCustomers(YearMonth.now(), 5);
+        List<RankingEntryDto> top = rankingService.topCustomers(YearMonth.now(), 5);
+
+        assertEquals("Juan", top.get(0).getLabel());
+        assertEquals(2, warmUps.get());
+    }
+
+    @Test
+    void topCustomers_ReadsTableForOlderMonths() {
+        YearMonth old = YearMonth.now().minusMonths(6);
+        when(rankingRepository.findTop(eq(old.toString()), eq(RankingCategory.CUSTOMER), any(Pageable.class)))
+                .thenReturn(List.of(new RankingEntryDto("9", "Ana", 100.0)));
+
+        assertEquals(Optional.of("Ana"), rankingService.bestCustomer(old));
+        assertEquals(Optional.of("Ana"), rankingService.bestCustomer(old));
+
+        verify(rankingRepository, times(2))
+                .findTop(eq(old.toString()), eq(RankingCategory.CUSTOMER), any(Pageable.class));
+    }
+
+    @Test
+    void bestCustomer_ReturnsEmpty_WhenNoScores() {
+        when(rankingRepository.findTop(anyString(), any(), any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        assertTrue(rankingService.bestCustomer(YearMonth.now()).isEmpty());
+    }
+
+    @Test
+    void rebuild_ReplacesScoresOfTheMonth() {
+        YearMonth month = YearMonth.now();
+        when(billRepository.findBySegmentBetween(
+                Date.valueOf(month.atDay(1)), Date.valueOf(month.atEndOfMonth()), UserSegment.CUSTOMER))
+                .thenReturn(List.of(bill));
+
+        rankingService.rebuild(month);
+
+        verify(rankingRepository).deleteByPeriod(period);
+        verify(rankingRepository).increment(period, "CUSTOMER", "7", "Juan", 150.0);
+    }
+
+    @Test
+    void initialize_SkipsBackfill_WhenTableHasRows() {
+        when(rankingRepository.count()).thenReturn(3L);
+
+        rankingService.initialize();
+
+        verify(billRepository, never()).findEarliestIssueDate();
+    }
+}
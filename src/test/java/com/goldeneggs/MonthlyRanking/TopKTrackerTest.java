@@ -0,0 +1,44 @@
+package com.goldeneggs.MonthlyRanking;
+
+import com.goldeneggs.Dto.Statistics.RankingEntryDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKTrackerTest {
+
+    @Test
+    void offer_KeepsOnlyTheHighestScores() {
+        TopKTracker tracker = new TopKTracker(2);
+
+        tracker.offer("1", "Ana", 10);
+        tracker.offer("2", "Luis", 30);
+        tracker.offer("3", "Juan", 20);
+
+        List<RankingEntryDto> top = tracker.top(5);
+        assertEquals(2, top.size());
+        assertEquals("Luis", top.get(0).getLabel());
+        assertEquals("Juan", top.get(1).getLabel());
+    }
+
+    @Test
+    void offer_UpdatesTrackedSubjectInPlace() {
+        TopKTracker tracker = new TopKTracker(2);
+
+        tracker.offer("1", "Ana", 10);
+        tracker.offer("2", "Luis", 30);
+        tracker.offer("1", "Ana Maria", 40);
+
+        List<RankingEntryDto> top = tracker.top(1);
+        assertEquals(1, top.size());
+        assertEquals("Ana Maria", top.get(0).getLabel());
+        assertEquals(40.0, top.get(0).getScore());
+    }
+
+    @Test
+    void constructor_RejectsNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new TopKTracker(0));
+    }
+}
@@ -0,0 +1,201 @@
+package com.goldeneggs.MonthlySnapshot;
+
+import com.goldeneggs.Bill.Bill;
+import com.goldeneggs.Bill.BillRepository;
+import com.goldeneggs.Dto.Statistics.RankingEntryDto;
+import com.goldeneggs.MonthlyRanking.MonthlyRankingService;
+import com.goldeneggs.Order.Order;
+import com.goldeneggs.Order.OrderRepository;
+import com.goldeneggs.Pay.PayRepository;
+import com.goldeneggs.Role.Role;
+import com.goldeneggs.User.User;
+import com.goldeneggs.User.UserSegment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MonthlySnapshotServiceTest {
+
+    @Mock
+    private MonthlySnapshotRepository snapshotRepository;
+
+    @Mock
+    private BillRepository billRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private PayRepository payRepository;
+
+    @Mock
+    private MonthlyRankingService monthlyRankingService;
+
+    @InjectMocks
+    private MonthlySnapshotService snapshotService;
+
+    private final YearMonth march = YearMonth.of(2025, 3);
+    private final Date start = Date.valueOf("2025-03-01");
+    private final Date end = Date.valueOf("2025-03-31");
+
+    private User customer;
+
+    @BeforeEach
+    void setUp() {
+        customer = new User();
+        customer.setId(7L);
+        customer.setName("Juan");
+        customer.setRoles(List.of(new Role(1L, "CUSTOMER")));
+    }
+
+    @Test
+    void summarize_ComputesCustomerFiguresOfTheMonth() {
+        Order first = order(customer, "2025-03-02", 100.0, Order.STATE_COMPLETED);
+        Order second = order(customer, "2025-03-10", 50.0, Order.STATE_CANCELED);
+        when(billRepository.findBySegmentBetween(start, end, UserSegment.CUSTOMER)).thenReturn(List.of(
+                bill(first, "2025-03-03", true),
+                bill(second, "2025-03-10", false)));
+        when(orderRepository.findBySegmentBetween(start, end, UserSegment.CUSTOMER)).thenReturn(List.of(first, second));
+        when(payRepository.sumAmountPaidInCurrentMonth(start, end)).thenReturn(100.0);
+        when(payRepository.sumAmountSaleInCurrentMonth(start, end)).thenReturn(900.0);
+        when(monthlyRankingService.topCustomers(march, MonthlySnapshotService.TOP_POSITIONS))
+                .thenReturn(List.of(new RankingEntryDto("7", "Juan", 150.0)));
+        when(monthlyRankingService.topProducts(march, MonthlySnapshotService.TOP_POSITIONS))
+                .thenReturn(Collections.emptyList());
+
+        MonthlySnapshot snapshot = snapshotService.summarize(march);
+
+        assertEquals("2025-03", snapshot.getPeriod());
+        assertNull(snapshot.getClosedAt());
+        assertEquals(150.0, snapshot.getTotalSales());
+        assertEquals(2, snapshot.getCustomerBills());
+        assertEquals(1, snapshot.getPaidBills());
+        assertEquals(2, snapshot.getOrders());
+        assertEquals(150.0, snapshot.getOrdersTotal());
+        assertEquals(100.0, snapshot.getIncome());
+        assertEquals(900.0, snapshot.getExpenses());
+        assertEquals(Date.valueOf("2025-03-10"), snapshot.getLastOrderDate());
+        assertEquals(Date.valueOf("2025-03-10"), snapshot.getLeastSalesDay());
+        assertEquals(50.0, snapshot.getLeastSalesAmount());
+        assertEquals(24, snapshot.getOrderToBillHours());
+        assertEquals(2, snapshot.getOrderToBillCount());
+        assertEquals(1L, snapshot.getOrdersByState().get(Order.STATE_CANCELED));
+        assertEquals(1L, snapshot.getOrdersByDay().get("2025-03-02"));
+        assertEquals("Juan", snapshot.getTopCustomers().get(0).getLabel());
+    }
+
+    @Test
+    void get_ReadsClosedMonthFromSnapshot() {
+        MonthlySnapshot frozen = MonthlySnapshot.builder().period("2025-03").totalSales(10).build();
+        when(snapshotRepository.findByPeriod("2025-03")).thenReturn(Optional.of(frozen));
+
+        assertSame(frozen, snapshotService.get(march));
+        verifyNoInteractions(billRepository, orderRepository, payRepository);
+    }
+
+    @Test
+    void findClosed_IgnoresTheOpenMonth() {
+        assertTrue(snapshotService.findClosed(YearMonth.now()).isEmpty());
+        verifyNoInteractions(snapshotRepository);
+    }
+
+    @Test
+    void close_KeepsTheExistingSnapshot() {
+        MonthlySnapshot frozen = MonthlySnapshot.builder().period("2025-03").build();
+        when(snapshotRepository.findByPeriod("2025-03")).thenReturn(Optional.of(frozen));
+
+        assertSame(frozen, snapshotService.close(march));
+        verify(snapshotRepository, never()).save(any());
+    }
+
+    @Test
+    void close_BuildsTheLeaderboards_WhenTheRankingTableIsEmpty() {
+        AtomicBoolean rebuilt = new AtomicBoolean();
+        when(snapshotRepository.findByPeriod("2025-03")).thenReturn(Optional.empty());
+        when(billRepository.findBySegmentBetween(start, end, UserSegment.CUSTOMER)).thenReturn(Collections.emptyList());
+        when(orderRepository.findBySegmentBetween(start, end, UserSegment.CUSTOMER)).thenReturn(Collections.emptyList());
+        doAnswer(invocation -> {
+            rebuilt.set(true);
+            return null;
+        }).when(monthlyRankingService).rebuild(march);
+        when(monthlyRankingService.topCustomers(march, MonthlySnapshotService.TOP_POSITIONS)).thenAnswer(invocation ->
+                rebuilt.get() ? List.of(new RankingEntryDto("7", "Juan", 150.0)) : Collections.emptyList());
+        when(snapshotRepository.save(any(MonthlySnapshot.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        MonthlySnapshot snapshot = snapshotService.close(march);
+
+        assertEquals(1, snapshot.getTopCustomers().size());
+        assertEquals("Juan", snapshot.getTopCustomers().get(0).getLabel());
+    }
+
+    @Test
+    void close_RejectsTheOpenMonth() {
+        assertThrows(IllegalArgumentException.class, () -> snapshotService.close(YearMonth.now()));
+    }
+
+    @Test
+    void closeFinishedMonths_SnapshotsEveryMonthAfterTheLatest() {
+        YearMonth current = YearMonth.now();
+        when(snapshotRepository.findLatestPeriod()).thenReturn(current.minusMonths(3).toString());
+        when(snapshotRepository.findByPeriod(anyString())).thenReturn(Optional.empty());
+        when(billRepository.findBySegmentBetween(any(), any(), any())).thenReturn(Collections.emptyList());
+        when(orderRepository.findBySegmentBetween(any(), any(), any())).thenReturn(Collections.emptyList());
+        when(snapshotRepository.save(any(MonthlySnapshot.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        snapshotService.closeFinishedMonths();
+
+        verify(snapshotRepository).save(argThat(s -> s.getPeriod().equals(current.minusMonths(2).toString())
+                && s.getClosedAt() != null));
+        verify(snapshotRepository).save(argThat(s -> s.getPeriod().equals(current.minusMonths(1).toString())));
+        verify(snapshotRepository, times(2)).save(any(MonthlySnapshot.class));
+    }
+
+    @Test
+    void history_AppendsTheOpenMonthToTheSnapshots() {
+        YearMonth current = YearMonth.now();
+        MonthlySnapshot previous = MonthlySnapshot.builder().period(current.minusMonths(1).toString()).build();
+        when(snapshotRepository.findAllByOrderByPeriodAsc()).thenReturn(List.of(previous));
+        when(billRepository.findBySegmentBetween(any(), any(), any())).thenReturn(Collections.emptyList());
+        when(orderRepository.findBySegmentBetween(any(), any(), any())).thenReturn(Collections.emptyList());
+
+        List<MonthlySnapshot> history = snapshotService.history();
+
+        assertEquals(2, history.size());
+        assertSame(previous, history.get(0));
+        assertEquals(current.toString(), history.get(1).getPeriod());
+        verify(billRepository, never()).findEarliestIssueDate();
+    }
+
+    private static Order order(User user, String date, double total, String state) {
+        return Order.builder()
+                .user(user)
+                .orderDate(Date.valueOf(date))
+                .totalPrice(total)
+                .state(state)
+                .build();
+    }
+
+    private static Bill bill(Order order, String date, boolean paid) {
+        return Bill.builder()
+                .order(order)
+                .issueDate(Date.valueOf(date))
+                .totalPrice(order.getTotalPrice())
+                .paid(paid)
+                .build();
+    }
+}
@@ -9,6 +9,8 @@ import com.goldeneggs.Egg.Egg;
 import com.goldeneggs.Egg.EggService;
 import com.goldeneggs.Exception.InvalidOrderDataException;
 import com.goldeneggs.Exception.ResourceNotFoundException;
+import com.goldeneggs.MonthlyCounter.CounterMetric;
+import com.goldeneggs.MonthlyCounter.MonthlyCounterService;
 import com.goldeneggs.OrderEgg.OrderEgg;
 import com.goldeneggs.Pay.PayServiceImpl;
 import com.goldeneggs.Role.Role;
@@ -52,6 +54,9 @@ public class OrderServiceImplTest {
     @Mock
     private EggService eggService;
 
+    @Mock
+    private MonthlyCounterService monthlyCounterService;
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -176,6 +181,8 @@ public class OrderServiceImplTest {
         assertEquals(updated.getState(), result.getState());
         verify(orderRepository).findById(1L);
         verify(orderRepository).save(any(Order.class));
+        verify(monthlyCounterService).removeOrder(argThat(previous -> "ENVIADO".equals(previous.getState())));
+        verify(monthlyCounterService).recordOrder(order);
     }
 
     @Test
@@ -203,6 +210,7 @@ public class OrderServiceImplTest {
 
         // Verify the correct delete method was called
         verify(orderRepository).delete(mockOrder);  // Not deleteById(1L)
+        verify(monthlyCounterService).removeOrder(mockOrder);
     }
 
     @Test
@@ -259,26 +267,17 @@ public class OrderServiceImplTest {
 
     @Test
     void testCountOrdersInCurrentMonth_ReturnsCount() {
-        LocalDate now = LocalDate.now();
-        java.util.Date start = java.util.Date.from(now.withDayOfMonth(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
-        java.util.Date end = java.util.Date.from(now.atStartOfDay(ZoneId.systemDefault()).toInstant());
-
-        when(orderRepository.countOrdersInCurrentMonth(eq(start), eq(end)))
-                .thenReturn(5L);
+        when(monthlyCounterService.currentCount(CounterMetric.ORDERS)).thenReturn(5L);
 
         Long result = orderService.countOrdersInCurrentMonth();
 
         assertEquals(5L, result);
+        verify(orderRepository, never()).countOrdersInCurrentMonth(any(), any());
     }
 
     @Test
-    void testCountOrdersInCurrentMonth_ReturnsZeroWhenNull() {
-        LocalDate now = LocalDate.now();
-        java.util.Date start = java.util.Date.from(now.withDayOfMonth(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
-        java.util.Date end = java.util.Date.from(now.atStartOfDay(ZoneId.systemDefault()).toInstant());
-
-        when(orderRepository.countOrdersInCurrentMonth(start, end))
-                .thenReturn(null);
+    void testCountOrdersInCurrentMonth_ReturnsZeroWhenNoOrders() {
+        when(monthlyCounterService.currentCount(CounterMetric.ORDERS)).thenReturn(0L);
 
         Long result = orderService.countOrdersInCurrentMonth();
 
@@ -431,7 +430,7 @@ public class OrderServiceImplTest {
 
     @Test
     public void testConstructor() {
-        OrderServiceImpl service = new OrderServiceImpl(orderRepository, billService, payService, userRepository, eggService);
+        OrderServiceImpl service = new OrderServiceImpl(orderRepository, billService, payService, userRepository, eggService, monthlyCounterService);
         assertNotNull(service);
     }
 
@@ -0,0 +1,58 @@
+package com.goldeneggs.Pay;
+
+import com.goldeneggs.Bill.Bill;
+import com.goldeneggs.Bill.BillRepository;
+import com.goldeneggs.Order.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PayBillResolverTest {
+
+    @Mock
+    private BillRepository billRepository;
+
+    @InjectMocks
+    private PayBillResolver payBillResolver;
+
+    @Test
+    void resolve_LoadsTheBill_WhenOnlyItsIdIsKnown() {
+        Bill stored = Bill.builder().id(11L).order(Order.builder().id(3L).build())
+                .issueDate(Date.valueOf("2025-03-12")).build();
+        when(billRepository.findById(11L)).thenReturn(Optional.of(stored));
+
+        assertSame(stored, payBillResolver.resolve(Bill.builder().id(11L).build()));
+    }
+
+    @Test
+    void resolve_KeepsACompleteBill() {
+        Bill bill = Bill.builder().id(11L).order(Order.builder().id(3L).build())
+                .issueDate(Date.valueOf("2025-03-12")).build();
+
+        assertSame(bill, payBillResolver.resolve(bill));
+        verifyNoInteractions(billRepository);
+    }
+
+    @Test
+    void resolve_ReturnsTheBillAsItCame_WhenItIsNotStored() {
+        Bill bill = Bill.builder().id(99L).build();
+        when(billRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertSame(bill, payBillResolver.resolve(bill));
+    }
+
+    @Test
+    void resolve_IgnoresMissingBills() {
+        assertNull(payBillResolver.resolve(null));
+        verifyNoInteractions(billRepository);
+    }
+}
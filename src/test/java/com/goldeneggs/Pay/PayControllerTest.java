@@ -2,9 +2,12 @@ package com.goldeneggs.Pay;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.goldeneggs.Bill.Bill;
+import com.goldeneggs.Dto.PayDto;
 import com.goldeneggs.Dto.RegisterDto;
 import com.goldeneggs.Exception.InvalidPayDataException;
 import com.goldeneggs.Exception.ResourceNotFoundException;
+import com.goldeneggs.PaymentLedger.LedgerEntryType;
+import com.goldeneggs.PaymentLedger.PaymentLedgerEntry;
 import com.goldeneggs.Role.Role;
 import com.goldeneggs.User.User;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,11 +16,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 
@@ -46,7 +55,9 @@ public class PayControllerTest {
 
     @BeforeEach
     void setup() {
-        mockMvc = MockMvcBuilders.standaloneSetup(payController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(payController)
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .build();
         objectMapper = new ObjectMapper();
 
         //Create test role
@@ -85,12 +96,25 @@ public class PayControllerTest {
     }
 
     @Test
-    void testGetAllPays_ReturnsList() throws Exception {
-        when(payService.getAll()).thenReturn(List.of(pay));
+    void testGetAllPays_ReturnsPage() throws Exception {
+        PayDto dto = new PayDto(1L, 100.0, "EFECTIVO", "2025-03-02T10:15", 4L, "2025-03-02", 100.0, 7L, "Juan");
+        Pageable expected = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "id"));
+        when(payService.getAll(expected)).thenReturn(new PageImpl<>(List.of(dto), expected, 1));
 
         mockMvc.perform(get("/api/v1/payments/getAll"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(pay.getId()));
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].customerName").value("Juan"))
+                .andExpect(jsonPath("$.content[0].password").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    void testGetAllPays_UnknownSort_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/payments/getAll").param("sort", "user.password,asc"))
+                .andExpect(status().isBadRequest());
+
+        verify(payService, never()).getAll(any(Pageable.class));
     }
 
 
@@ -198,6 +222,67 @@ public class PayControllerTest {
         verify(payService).totalIncome();
     }
 
+    @Test
+    void testGetIncomeBetween() throws Exception {
+        when(payService.incomeBetween(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31))).thenReturn(750.0);
+
+        mockMvc.perform(get("/api/v1/payments/income")
+                        .param("from", "2025-03-01")
+                        .param("to", "2025-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("750.0"));
+    }
+
+    @Test
+    void testGetIncomeBetween_InvalidRange() throws Exception {
+        mockMvc.perform(get("/api/v1/payments/income")
+                        .param("from", "2025-03-31")
+                        .param("to", "2025-03-01"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/payments/income")
+                        .param("from", "marzo")
+                        .param("to", "2025-03-01"))
+                .andExpect(status().isBadRequest());
+
+        verify(payService, never()).incomeBetween(any(), any());
+    }
+
+    @Test
+    void testGetLedger_NewestEntriesFirstByDefault() throws Exception {
+        Pageable expected = PageRequest.of(0, 50, Sort.by(Sort.Direction.DESC, "id"));
+        when(payService.getLedger(expected)).thenReturn(new PageImpl<>(List.of(), expected, 0));
+
+        mockMvc.perform(get("/api/v1/payments/ledger"))
+                .andExpect(status().isOk());
+
+        verify(payService).getLedger(expected);
+    }
+
+    @Test
+    void testGetLedger_UnknownSort_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/payments/ledger").param("sort", "balance"))
+                .andExpect(status().isBadRequest());
+
+        verify(payService, never()).getLedger(any(Pageable.class));
+    }
+
+    @Test
+    void testGetLedgerOfPay() throws Exception {
+        PaymentLedgerEntry entry = PaymentLedgerEntry.builder()
+                .id(3L)
+                .type(LedgerEntryType.PAYMENT)
+                .payId(1L)
+                .paymentMethod("EFECTIVO")
+                .amount(100.0)
+                .build();
+        when(payService.getLedgerOfPay(1L)).thenReturn(List.of(entry));
+
+        mockMvc.perform(get("/api/v1/payments/ledger/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type").value("PAYMENT"))
+                .andExpect(jsonPath("$[0].amount").value(100.0));
+    }
+
     @Test
     void testGetTotalIncomeThisMonth() throws Exception {
         when(payService.totalIncomeCurrentMonth()).thenReturn(1500.0);
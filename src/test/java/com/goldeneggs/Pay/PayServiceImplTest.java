@@ -1,10 +1,15 @@
 package com.goldeneggs.Pay;
 
 import com.goldeneggs.Bill.BillRepository;
+import com.goldeneggs.Dto.PayDto;
 import com.goldeneggs.Dto.RegisterDto;
 import com.goldeneggs.Exception.InvalidPayDataException;
 import com.goldeneggs.Exception.ResourceNotFoundException;
+import com.goldeneggs.LatencyHistogram.LatencyHistogramService;
+import com.goldeneggs.MonthlyCounter.CounterMetric;
+import com.goldeneggs.MonthlyCounter.MonthlyCounterService;
 import com.goldeneggs.Order.Order;
+import com.goldeneggs.PaymentLedger.PaymentLedgerService;
 import com.goldeneggs.Role.Role;
 import com.goldeneggs.User.User;
 import com.goldeneggs.Bill.Bill;
@@ -14,9 +19,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
-import java.time.ZoneId;
 import java.util.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -36,6 +44,15 @@ class PayServiceImplTest {
     @Mock
     private BillRepository billRepository;
 
+    @Mock
+    private MonthlyCounterService monthlyCounterService;
+
+    @Mock
+    private LatencyHistogramService latencyHistogramService;
+
+    @Mock
+    private PaymentLedgerService paymentLedgerService;
+
     private Pay samplePay;
     private User user;
 
@@ -80,13 +97,15 @@ class PayServiceImplTest {
 
     @Test
     void testGetAll() {
-        List<Pay> payList = List.of(samplePay);
-        when(payRepository.findAll()).thenReturn(payList);
+        Pageable pageable = PageRequest.of(0, 20);
+        PayDto dto = new PayDto(1L, 100.0, "EFECTIVO", null, 4L, "2025-03-02", 100.0, 7L, "Juan");
+        when(payRepository.findAllDtos(pageable)).thenReturn(new PageImpl<>(List.of(dto), pageable, 1));
 
-        List<Pay> result = payService.getAll();
+        Page<PayDto> result = payService.getAll(pageable);
 
-        assertEquals(1, result.size());
-        verify(payRepository, times(1)).findAll();
+        assertEquals(1, result.getTotalElements());
+        assertEquals("Juan", result.getContent().get(0).getCustomerName());
+        verify(payRepository, never()).findAll();
     }
 
     @Test
@@ -122,6 +141,9 @@ class PayServiceImplTest {
 
             assertNotNull(result);
             verify(payRepository).save(samplePay);
+            verify(monthlyCounterService).recordPay(samplePay);
+            verify(latencyHistogramService).recordPay(samplePay);
+            verify(paymentLedgerService).recordPayment(samplePay);
         }
     }
 
@@ -150,6 +172,10 @@ class PayServiceImplTest {
 
             assertEquals(200.0, result.getAmountPaid());
             verify(payRepository).save(any(Pay.class));
+            verify(monthlyCounterService).removePay(argThat(pay -> pay.getAmountPaid() == 100.0));
+            verify(monthlyCounterService).recordPay(updated);
+            verify(paymentLedgerService).recordReversal(argThat(pay -> pay.getAmountPaid() == 100.0));
+            verify(paymentLedgerService).recordPayment(updated);
         }
     }
 
@@ -162,42 +188,57 @@ class PayServiceImplTest {
 
     @Test
     void testDelete_Existing() {
-        when(payRepository.existsById(1L)).thenReturn(true);
+        when(payRepository.findById(1L)).thenReturn(Optional.of(samplePay));
         doNothing().when(payRepository).deleteById(1L);
 
         payService.delete(1L);
 
+        verify(monthlyCounterService).removePay(samplePay);
+        verify(paymentLedgerService).recordReversal(samplePay);
         verify(payRepository).deleteById(1L);
     }
 
     @Test
     void testDelete_NotFound() {
-        when(payRepository.existsById(2L)).thenReturn(false);
+        when(payRepository.findById(2L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> payService.delete(2L));
+        verify(payRepository, never()).deleteById(any());
     }
 
     @Test
     void testTotalIncome() {
-        when(payRepository.sumAllByAmountPaid()).thenReturn(500.0);
+        when(paymentLedgerService.totalIncome()).thenReturn(500.0);
 
         Double result = payService.totalIncome();
 
         assertEquals(500.0, result);
+        verify(payRepository, never()).sumAllByAmountPaid();
     }
 
     @Test
-    void testTotalIncome_Null() {
-        when(payRepository.sumAllByAmountPaid()).thenReturn(null);
+    void testTotalIncome_Zero() {
+        when(paymentLedgerService.totalIncome()).thenReturn(0.0);
 
         Double result = payService.totalIncome();
 
         assertEquals(0.0, result);
     }
 
+    @Test
+    void testIncomeBetween() {
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+        when(paymentLedgerService.incomeBetween(from, to)).thenReturn(750.0);
+
+        Double result = payService.incomeBetween(from, to);
+
+        assertEquals(750.0, result);
+    }
+
     @Test
     void testTotalIncomeCurrentMonth() {
-        when(payRepository.sumAmountPaidInCurrentMonth(any(), any())).thenReturn(300.0);
+        when(monthlyCounterService.currentValue(CounterMetric.INCOME)).thenReturn(300.0);
 
         Double result = payService.totalIncomeCurrentMonth();
 
@@ -205,8 +246,8 @@ class PayServiceImplTest {
     }
 
     @Test
-    void testTotalIncomeCurrentMonth_Null() {
-        when(payRepository.sumAmountPaidInCurrentMonth(any(), any())).thenReturn(null);
+    void testTotalIncomeCurrentMonth_Zero() {
+        when(monthlyCounterService.currentValue(CounterMetric.INCOME)).thenReturn(0.0);
 
         Double result = payService.totalIncomeCurrentMonth();
 
@@ -340,47 +381,21 @@ class PayServiceImplTest {
 
     @Test
     void totalExpensesCurrentMonth_ReturnsTotal_WhenExpensesExist() {
-        // Usa el mes actual (como el método real)
-        LocalDate now = LocalDate.now();
-        Date startOfMonth = Date.from(now.withDayOfMonth(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
-        Date today = Date.from(now.atStartOfDay(ZoneId.systemDefault()).toInstant());
-
-        when(payRepository.sumAmountSaleInCurrentMonth(startOfMonth, today)).thenReturn(1500.0);
+        when(monthlyCounterService.currentValue(CounterMetric.EXPENSES)).thenReturn(1500.0);
 
         Double result = payService.totalExpensesCurrentMonth();
 
         assertEquals(1500.0, result);
-        verify(payRepository).sumAmountSaleInCurrentMonth(startOfMonth, today);
+        verify(monthlyCounterService).currentValue(CounterMetric.EXPENSES);
+        verifyNoInteractions(payRepository);
     }
 
     @Test
     void totalExpensesCurrentMonth_ReturnsZero_WhenNoExpenses() {
-        LocalDate now = LocalDate.now();
-        Date startOfMonth = Date.from(now.withDayOfMonth(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
-        Date today = Date.from(now.atStartOfDay(ZoneId.systemDefault()).toInstant());
-
-        // Configura el mock para devolver 0.0 (o null, dependiendo de la implementación real)
-        when(payRepository.sumAmountSaleInCurrentMonth(startOfMonth, today)).thenReturn(0.0);
+        when(monthlyCounterService.currentValue(CounterMetric.EXPENSES)).thenReturn(0.0);
 
         Double result = payService.totalExpensesCurrentMonth();
 
         assertEquals(0.0, result);
-        verify(payRepository, times(1)).sumAmountSaleInCurrentMonth(startOfMonth, today);
     }
-
-    @Test
-    void totalExpensesCurrentMonth_ReturnsZero_WhenRepositoryReturnsNull() {
-        LocalDate now = LocalDate.now();
-        Date startOfMonth = Date.from(now.withDayOfMonth(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
-        Date today = Date.from(now.atStartOfDay(ZoneId.systemDefault()).toInstant());
-
-        // Configura el mock para devolver null (simulando que no hay registros)
-        when(payRepository.sumAmountSaleInCurrentMonth(startOfMonth, today)).thenReturn(null);
-
-        Double result = payService.totalExpensesCurrentMonth();
-
-        assertEquals(0.0, result); // Verifica que maneja el null correctamente
-        verify(payRepository, times(1)).sumAmountSaleInCurrentMonth(startOfMonth, today);
-    }
-
 }
@@ -0,0 +1,193 @@
+package com.goldeneggs.PaymentImport;
+
+import com.goldeneggs.Bill.Bill;
+import com.goldeneggs.Bill.BillRepository;
+import com.goldeneggs.Dto.Payment.BillPaymentTotalDto;
+import com.goldeneggs.Dto.Payment.PaymentImportResultDto;
+import com.goldeneggs.Exception.InvalidPayDataException;
+import com.goldeneggs.MonthlyCounter.MonthlyCounterService;
+import com.goldeneggs.Order.Order;
+import com.goldeneggs.Pay.Pay;
+import com.goldeneggs.PaymentLedger.PaymentLedgerService;
+import com.goldeneggs.Reconciliation.ReconciliationService;
+import com.goldeneggs.User.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private BillRepository billRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private MonthlyCounterService monthlyCounterService;
+
+    @Mock
+    private PaymentLedgerService paymentLedgerService;
+
+    @Mock
+    private ReconciliationService reconciliationService;
+
+    @InjectMocks
+    private PaymentImportService importService;
+
+    private Bill bill;
+
+    @BeforeEach
+    void setUp() {
+        bill = Bill.builder()
+                .id(11L)
+                .order(Order.builder().id(3L).state(Order.STATE_COMPLETED).build())
+                .issueDate(Date.valueOf("2025-03-02"))
+                .totalPrice(150.0)
+                .build();
+    }
+
+    @Test
+    void importCsv_InsertsValidRowsInOneBatchAndReportsTheRest() throws Exception {
+        runTransactionsInline();
+        when(billRepository.findByIdIn(anyCollection())).thenReturn(List.of(bill));
+        when(userRepository.findExistingIds(anyCollection())).thenReturn(List.of(7L));
+        generateKeys(100L, 101L);
+
+        PaymentImportResultDto result = importService.importCsv(csv(
+                "payment_method,bill_id,customer_id,amount_paid",
+                "transferencia,11,7,100.0",
+                "TRANSFERENCIA,11,7,50",
+                "TRANSFERENCIA,99,7,20",
+                "TRANSFERENCIA,11,8,20",
+                "CHEQUE,11,7,20",
+                "TRANSFERENCIA,11,7,-5",
+                "TRANSFERENCIA,abc,7,5",
+                "",
+                "TRANSFERENCIA,11"));
+
+        assertEquals(8, result.getRowsRead());
+        assertEquals(2, result.getImported());
+        assertEquals(6, result.getRejected());
+        assertEquals(List.of(6L, 7L, 8L, 10L, 4L, 5L),
+                result.getErrors().stream().map(error -> error.getLine()).toList());
+        assertEquals("Invalid payment method", result.getErrors().get(0).getMessage());
+        assertEquals("Bill does not exist", result.getErrors().get(4).getMessage());
+        assertEquals("User does not exist", result.getErrors().get(5).getMessage());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Pay>> captor = ArgumentCaptor.forClass(List.class);
+        verify(paymentLedgerService).recordPayments(captor.capture());
+        List<Pay> pays = captor.getValue();
+        assertEquals(List.of(100L, 101L), pays.stream().map(Pay::getId).toList());
+        assertEquals("TRANSFERENCIA", pays.get(0).getPaymentMethod());
+        assertEquals(100.0, pays.get(0).getAmountPaid());
+        assertSame(bill, pays.get(0).getBill());
+        assertEquals(7L, pays.get(0).getUser().getId());
+        verify(monthlyCounterService).recordPays(pays);
+        verify(jdbcTemplate, times(1)).batchUpdate(any(PreparedStatementCreator.class),
+                any(BatchPreparedStatementSetter.class), any(KeyHolder.class));
+    }
+
+    @Test
+    void importCsv_ReconcilesThePaidBillsAndListsMismatches() throws Exception {
+        runTransactionsInline();
+        when(billRepository.findByIdIn(anyCollection())).thenReturn(List.of(bill));
+        when(userRepository.findExistingIds(anyCollection())).thenReturn(List.of(7L));
+        generateKeys(100L);
+        BillPaymentTotalDto mismatch = new BillPaymentTotalDto(11L, 150.0, true, 100.0);
+        when(reconciliationService.reconcile(anyCollection(), any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            assertEquals(List.of(11L), List.copyOf(ids));
+            Consumer<BillPaymentTotalDto> onMismatch = invocation.getArgument(1);
+            onMismatch.accept(mismatch);
+            return 1L;
+        });
+
+        PaymentImportResultDto result = importService.importCsv(csv(
+                "bill_id,customer_id,amount_paid,payment_method",
+                "11,7,100,EFECTIVO"));
+
+        assertEquals(1, result.getMismatchCount());
+        assertEquals(List.of(mismatch), result.getMismatches());
+    }
+
+    @Test
+    void importCsv_SkipsTheDatabase_WhenNoRowIsValid() throws Exception {
+        PaymentImportResultDto result = importService.importCsv(csv(
+                "bill_id,customer_id,amount_paid,payment_method",
+                "11,7,0,EFECTIVO"));
+
+        assertEquals(1, result.getRejected());
+        assertEquals(0, result.getImported());
+        verifyNoInteractions(transactionTemplate, jdbcTemplate, billRepository, monthlyCounterService,
+                paymentLedgerService);
+    }
+
+    @Test
+    void importCsv_Throws_WhenAColumnIsMissing() {
+        InvalidPayDataException exception = assertThrows(InvalidPayDataException.class,
+                () -> importService.importCsv(csv("bill_id,customer_id,amount_paid", "11,7,100")));
+
+        assertEquals("Missing column: payment_method", exception.getMessage());
+        verifyNoInteractions(reconciliationService);
+    }
+
+    @Test
+    void importCsv_Throws_WhenTheFileIsEmpty() {
+        assertThrows(InvalidPayDataException.class, () -> importService.importCsv(csv()));
+    }
+
+    private void runTransactionsInline() {
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private void generateKeys(Long... ids) {
+        when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class))).thenAnswer(invocation -> {
+            KeyHolder keys = invocation.getArgument(2);
+            for (Long id : ids) {
+                keys.getKeyList().add(Map.of("GENERATED_KEY", id));
+            }
+            return new int[ids.length];
+        });
+    }
+
+    private static InputStream csv(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
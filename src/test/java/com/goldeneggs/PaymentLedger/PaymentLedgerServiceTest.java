@@ -0,0 +1,287 @@
+package com.goldeneggs.PaymentLedger;
+
+import com.goldeneggs.Bill.Bill;
+import com.goldeneggs.Bill.BillRepository;
+import com.goldeneggs.Order.Order;
+import com.goldeneggs.Pay.Pay;
+import com.goldeneggs.Pay.PayBillResolver;
+import com.goldeneggs.Pay.PayRepository;
+import com.goldeneggs.User.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentLedgerServiceTest {
+
+    @Mock
+    private PaymentLedgerRepository ledgerRepository;
+
+    @Mock
+    private PaymentLedgerHeadRepository headRepository;
+
+    @Mock
+    private PayRepository payRepository;
+
+    @Mock
+    private BillRepository billRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private PaymentLedgerService ledgerService;
+
+    private Bill bill;
+    private Pay pay;
+
+    @BeforeEach
+    void setUp() {
+        ledgerService = new PaymentLedgerService(ledgerRepository, headRepository, payRepository,
+                new PayBillResolver(billRepository), jdbcTemplate);
+
+        User customer = new User();
+        customer.setId(7L);
+
+        Order order = Order.builder()
+                .id(3L)
+                .user(customer)
+                .state(Order.STATE_COMPLETED)
+                .build();
+
+        bill = Bill.builder()
+                .id(11L)
+                .order(order)
+                .issueDate(Date.valueOf("2025-03-02"))
+                .totalPrice(150.0)
+                .build();
+
+        pay = Pay.builder()
+                .id(5L)
+                .user(customer)
+                .bill(bill)
+                .amountPaid(150.0)
+                .paymentMethod("EFECTIVO")
+                .build();
+    }
+
+    @Test
+    void recordPayment_AdvancesHeadsAndStoresBalances() {
+        when(headRepository.findBalance(PaymentLedgerService.ALL)).thenReturn(Optional.of(1150.0));
+        when(headRepository.findBalance(PaymentLedgerService.INCOME)).thenReturn(Optional.of(650.0));
+        when(headRepository.findBalance("METHOD:EFECTIVO")).thenReturn(Optional.of(400.0));
+        when(ledgerRepository.save(any(PaymentLedgerEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        PaymentLedgerEntry entry = ledgerService.recordPayment(pay);
+
+        verify(headRepository).increment(PaymentLedgerService.ALL, 150.0);
+        verify(headRepository).increment(PaymentLedgerService.INCOME, 150.0);
+        verify(headRepository).increment("METHOD:EFECTIVO", 150.0);
+        assertEquals(LedgerEntryType.PAYMENT, entry.getType());
+        assertEquals(5L, entry.getPayId());
+        assertEquals(11L, entry.getBillId());
+        assertEquals(7L, entry.getCustomerId());
+        assertEquals(LocalDate.now(), entry.getEntryDay());
+        assertTrue(entry.isIncome());
+        assertEquals(1150.0, entry.getBalance());
+        assertEquals(650.0, entry.getIncomeBalance());
+        assertEquals(400.0, entry.getMethodBalance());
+    }
+
+    @Test
+    void recordPayments_AdvancesEachHeadOnceAndInsertsRunningBalances() {
+        Pay second = Pay.builder()
+                .id(6L)
+                .user(pay.getUser())
+                .bill(bill)
+                .amountPaid(50.0)
+                .paymentMethod("TARJETA")
+                .build();
+        when(headRepository.findBalance(PaymentLedgerService.ALL)).thenReturn(Optional.of(1200.0));
+        when(headRepository.findBalance(PaymentLedgerService.INCOME)).thenReturn(Optional.of(700.0));
+        when(headRepository.findBalance("METHOD:EFECTIVO")).thenReturn(Optional.of(400.0));
+        when(headRepository.findBalance("METHOD:TARJETA")).thenReturn(Optional.of(90.0));
+
+        ledgerService.recordPayments(List.of(pay, second));
+
+        verify(headRepository).increment(PaymentLedgerService.ALL, 200.0);
+        verify(headRepository).increment(PaymentLedgerService.INCOME, 200.0);
+        verify(headRepository).increment("METHOD:EFECTIVO", 150.0);
+        verify(headRepository).increment("METHOD:TARJETA", 50.0);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        List<Object[]> rows = captor.getValue();
+        assertEquals(2, rows.size());
+        assertEquals(5L, rows.get(0)[1]);
+        assertEquals(1150.0, rows.get(0)[9]);
+        assertEquals(650.0, rows.get(0)[10]);
+        assertEquals(400.0, rows.get(0)[11]);
+        assertEquals(6L, rows.get(1)[1]);
+        assertEquals(1200.0, rows.get(1)[9]);
+        assertEquals(700.0, rows.get(1)[10]);
+        assertEquals(90.0, rows.get(1)[11]);
+        verify(ledgerRepository, never()).save(any());
+    }
+
+    @Test
+    void recordPayments_DoesNothing_WhenThereAreNoPayments() {
+        ledgerService.recordPayments(List.of());
+
+        verifyNoInteractions(headRepository, jdbcTemplate);
+    }
+
+    @Test
+    void recordReversal_SubtractsTheAmount() {
+        when(ledgerRepository.save(any(PaymentLedgerEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        PaymentLedgerEntry entry = ledgerService.recordReversal(pay);
+
+        verify(headRepository).increment(PaymentLedgerService.ALL, -150.0);
+        verify(headRepository).increment(PaymentLedgerService.INCOME, -150.0);
+        assertEquals(LedgerEntryType.REVERSAL, entry.getType());
+        assertEquals(-150.0, entry.getAmount());
+    }
+
+    @Test
+    void recordReversals_SubtractsEveryAmountInOneBatch() {
+        when(headRepository.findBalance(PaymentLedgerService.ALL)).thenReturn(Optional.of(1000.0));
+        when(headRepository.findBalance(PaymentLedgerService.INCOME)).thenReturn(Optional.of(600.0));
+        when(headRepository.findBalance("METHOD:EFECTIVO")).thenReturn(Optional.of(300.0));
+
+        ledgerService.recordReversals(List.of(pay));
+
+        verify(headRepository).increment(PaymentLedgerService.ALL, -150.0);
+        verify(headRepository).increment(PaymentLedgerService.INCOME, -150.0);
+        verify(headRepository).increment("METHOD:EFECTIVO", -150.0);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        Object[] row = captor.getValue().get(0);
+        assertEquals(LedgerEntryType.REVERSAL.name(), row[0]);
+        assertEquals(-150.0, row[5]);
+        assertEquals(1000.0, row[9]);
+    }
+
+    @Test
+    void recordPayment_InventoryPurchasesAreNotIncome() {
+        bill.getOrder().setState(Order.STATE_INVENTORY);
+        when(ledgerRepository.save(any(PaymentLedgerEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        PaymentLedgerEntry entry = ledgerService.recordPayment(pay);
+
+        verify(headRepository).increment(PaymentLedgerService.ALL, 150.0);
+        verify(headRepository).increment(PaymentLedgerService.INCOME, 0.0);
+        assertFalse(entry.isIncome());
+    }
+
+    @Test
+    void recordPayment_LoadsBillWhenOnlyItsIdIsKnown() {
+        pay.setBill(Bill.builder().id(11L).build());
+        bill.getOrder().setState(Order.STATE_INVENTORY);
+        when(billRepository.findById(11L)).thenReturn(Optional.of(bill));
+        when(ledgerRepository.save(any(PaymentLedgerEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        PaymentLedgerEntry entry = ledgerService.recordPayment(pay);
+
+        assertFalse(entry.isIncome());
+    }
+
+    @Test
+    void totalIncome_ReadsTheHead() {
+        when(headRepository.findBalance(PaymentLedgerService.ALL)).thenReturn(Optional.of(900.0));
+
+        assertEquals(900.0, ledgerService.totalIncome());
+        verifyNoInteractions(payRepository, ledgerRepository);
+    }
+
+    @Test
+    void totalIncome_ReturnsZero_WhenLedgerIsEmpty() {
+        when(headRepository.findBalance(PaymentLedgerService.ALL)).thenReturn(Optional.empty());
+
+        assertEquals(0.0, ledgerService.totalIncome());
+    }
+
+    @Test
+    void incomeBetween_SubtractsBalancesAtBothEnds() {
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+        when(ledgerRepository.findFirstByEntryDayLessThanEqualOrderByEntryDayDescIdDesc(to))
+                .thenReturn(Optional.of(PaymentLedgerEntry.builder().incomeBalance(1200.0).build()));
+        when(ledgerRepository.findFirstByEntryDayLessThanEqualOrderByEntryDayDescIdDesc(LocalDate.of(2025, 2, 28)))
+                .thenReturn(Optional.of(PaymentLedgerEntry.builder().incomeBalance(450.0).build()));
+
+        assertEquals(750.0, ledgerService.incomeBetween(from, to));
+    }
+
+    @Test
+    void incomeBetween_StartsFromZero_BeforeTheFirstEntry() {
+        LocalDate day = LocalDate.of(2025, 3, 1);
+        when(ledgerRepository.findFirstByEntryDayLessThanEqualOrderByEntryDayDescIdDesc(day))
+                .thenReturn(Optional.of(PaymentLedgerEntry.builder().incomeBalance(300.0).build()));
+        when(ledgerRepository.findFirstByEntryDayLessThanEqualOrderByEntryDayDescIdDesc(day.minusDays(1)))
+                .thenReturn(Optional.empty());
+
+        assertEquals(300.0, ledgerService.incomeBetween(day, day));
+    }
+
+    @Test
+    void methodTotalBetween_UsesTheMethodBalances() {
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+        when(ledgerRepository.findFirstByPaymentMethodAndEntryDayLessThanEqualOrderByEntryDayDescIdDesc("EFECTIVO", to))
+                .thenReturn(Optional.of(PaymentLedgerEntry.builder().methodBalance(500.0).build()));
+        when(ledgerRepository.findFirstByPaymentMethodAndEntryDayLessThanEqualOrderByEntryDayDescIdDesc(
+                "EFECTIVO", from.minusDays(1)))
+                .thenReturn(Optional.of(PaymentLedgerEntry.builder().methodBalance(200.0).build()));
+
+        assertEquals(300.0, ledgerService.methodTotalBetween("EFECTIVO", from, to));
+    }
+
+    @Test
+    void initialize_CarriesPaymentsOverInChronologicalOrder() {
+        Pay older = Pay.builder()
+                .id(9L)
+                .bill(bill)
+                .amountPaid(50.0)
+                .paymentMethod("TARJETA")
+                .paidAt(LocalDateTime.of(2025, 1, 10, 9, 0))
+                .build();
+        when(ledgerRepository.count()).thenReturn(0L);
+        when(payRepository.findAll()).thenReturn(List.of(pay, older));
+        when(ledgerRepository.save(any(PaymentLedgerEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ledgerService.initialize();
+
+        ArgumentCaptor<PaymentLedgerEntry> captor = ArgumentCaptor.forClass(PaymentLedgerEntry.class);
+        verify(ledgerRepository, times(2)).save(captor.capture());
+        List<PaymentLedgerEntry> entries = captor.getAllValues();
+        assertEquals(9L, entries.get(0).getPayId());
+        assertEquals(LocalDate.of(2025, 1, 10), entries.get(0).getEntryDay());
+        assertEquals(5L, entries.get(1).getPayId());
+        assertEquals(LocalDate.of(2025, 3, 2), entries.get(1).getEntryDay());
+        assertTrue(entries.stream().allMatch(entry -> entry.getType() == LedgerEntryType.OPENING));
+    }
+
+    @Test
+    void initialize_SkipsBackfill_WhenLedgerHasEntries() {
+        when(ledgerRepository.count()).thenReturn(4L);
+
+        ledgerService.initialize();
+
+        verifyNoInteractions(payRepository, headRepository);
+    }
+}
@@ -0,0 +1,122 @@
+package com.goldeneggs.Reconciliation;
+
+import com.goldeneggs.Exception.ReconciliationInProgressException;
+import com.goldeneggs.Exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReconciliationControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private ReconciliationService reconciliationService;
+
+    @InjectMocks
+    private ReconciliationController reconciliationController;
+
+    private ReconciliationRun run;
+
+    @BeforeEach
+    void setup() {
+        mockMvc = MockMvcBuilders.standaloneSetup(reconciliationController)
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .build();
+        run = ReconciliationRun.builder()
+                .id(4L)
+                .status(ReconciliationStatus.RUNNING)
+                .lastBillId(500L)
+                .billsChecked(500L)
+                .discrepancies(1L)
+                .build();
+    }
+
+    @Test
+    void start_ReturnsAccepted() throws Exception {
+        when(reconciliationService.start()).thenReturn(run);
+
+        mockMvc.perform(post("/api/v1/reconciliation/runs"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(4))
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+    }
+
+    @Test
+    void start_ReturnsConflict_WhenARunIsExecuting() throws Exception {
+        when(reconciliationService.start()).thenThrow(new ReconciliationInProgressException("busy"));
+
+        mockMvc.perform(post("/api/v1/reconciliation/runs"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void getLatest_ReturnsNotFound_WhenNoRunExists() throws Exception {
+        when(reconciliationService.latestRun()).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/reconciliation/runs/latest"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void get_ReturnsTheRun() throws Exception {
+        when(reconciliationService.getRun(4L)).thenReturn(run);
+
+        mockMvc.perform(get("/api/v1/reconciliation/runs/4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.billsChecked").value(500));
+    }
+
+    @Test
+    void get_ReturnsNotFound_WhenTheRunDoesNotExist() throws Exception {
+        when(reconciliationService.getRun(9L)).thenThrow(new ResourceNotFoundException("missing"));
+
+        mockMvc.perform(get("/api/v1/reconciliation/runs/9"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getDiscrepancies_ReturnsAPage() throws Exception {
+        ReconciliationDiscrepancy discrepancy = ReconciliationDiscrepancy.builder()
+                .id(1L)
+                .runId(4L)
+                .billId(11L)
+                .type(DiscrepancyType.UNDERPAID)
+                .totalPrice(150.0)
+                .paid(true)
+                .amountPaid(100.0)
+                .build();
+        when(reconciliationService.discrepancies(eq(4L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(discrepancy), PageRequest.of(0, 10), 1));
+
+        mockMvc.perform(get("/api/v1/reconciliation/runs/4/discrepancies").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].billId").value(11))
+                .andExpect(jsonPath("$.content[0].type").value("UNDERPAID"));
+
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(reconciliationService).discrepancies(eq(4L), captor.capture());
+        assertEquals(10, captor.getValue().getPageSize());
+    }
+}
@@ -0,0 +1,208 @@
+package com.goldeneggs.Reconciliation;
+
+import com.goldeneggs.Bill.BillRepository;
+import com.goldeneggs.Dto.Payment.BillPaymentTotalDto;
+import com.goldeneggs.Exception.ReconciliationInProgressException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReconciliationServiceTest {
+
+    @Mock
+    private BillRepository billRepository;
+
+    @Mock
+    private ReconciliationRunRepository runRepository;
+
+    @Mock
+    private ReconciliationDiscrepancyRepository discrepancyRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private Executor executor;
+
+    @InjectMocks
+    private ReconciliationService reconciliationService;
+
+    @Test
+    void reconcile_ReportsOnlyBillsWhosePaymentsDoNotAddUp() {
+        BillPaymentTotalDto settled = new BillPaymentTotalDto(1L, 100.0, true, 100.0);
+        BillPaymentTotalDto rounded = new BillPaymentTotalDto(2L, 33.33, true, 33.334);
+        BillPaymentTotalDto unpaid = new BillPaymentTotalDto(3L, 80.0, true, 50.0);
+        when(billRepository.sumPaymentsByBillIds(List.of(1L, 2L, 3L))).thenReturn(List.of(settled, rounded, unpaid));
+        List<BillPaymentTotalDto> mismatches = new ArrayList<>();
+
+        long checked = reconciliationService.reconcile(List.of(1L, 2L, 3L), mismatches::add);
+
+        assertEquals(3, checked);
+        assertEquals(List.of(unpaid), mismatches);
+    }
+
+    @Test
+    void reconcile_QueriesOneChunkAtATime() {
+        List<Long> ids = LongStream.rangeClosed(1, ReconciliationService.CHUNK_SIZE + 1).boxed()
+                .collect(Collectors.toList());
+        when(billRepository.sumPaymentsByBillIds(anyCollection())).thenReturn(List.of());
+
+        reconciliationService.reconcile(ids, mismatch -> fail("No bill should be reported"));
+
+        verify(billRepository).sumPaymentsByBillIds(ids.subList(0, ReconciliationService.CHUNK_SIZE));
+        verify(billRepository).sumPaymentsByBillIds(List.of((long) ReconciliationService.CHUNK_SIZE + 1));
+    }
+
+    @Test
+    void classify_TellsHowABillDisagreesWithItsPayments() {
+        assertNull(ReconciliationService.classify(new BillPaymentTotalDto(1L, 100.0, true, 100.0)));
+        assertNull(ReconciliationService.classify(new BillPaymentTotalDto(1L, 100.0, false, 40.0)));
+        assertEquals(DiscrepancyType.UNDERPAID,
+                ReconciliationService.classify(new BillPaymentTotalDto(1L, 100.0, true, 40.0)));
+        assertEquals(DiscrepancyType.OVERPAID,
+                ReconciliationService.classify(new BillPaymentTotalDto(1L, 100.0, true, 140.0)));
+        assertEquals(DiscrepancyType.NOT_MARKED_PAID,
+                ReconciliationService.classify(new BillPaymentTotalDto(1L, 100.0, false, 100.0)));
+    }
+
+    @Test
+    void runToCompletion_WalksBillsFromTheCheckpointAndStoresDiscrepancies() {
+        runTransactionsInline();
+        ReconciliationRun run = ReconciliationRun.builder()
+                .id(4L)
+                .status(ReconciliationStatus.RUNNING)
+                .lastBillId(1000L)
+                .billsChecked(1000L)
+                .discrepancies(2L)
+                .build();
+        when(runRepository.findById(4L)).thenReturn(Optional.of(run));
+        List<BillPaymentTotalDto> full = LongStream.rangeClosed(1001, 1000 + ReconciliationService.CHUNK_SIZE)
+                .mapToObj(id -> new BillPaymentTotalDto(id, 10.0, true, id == 1001 ? 4.0 : 10.0))
+                .collect(Collectors.toList());
+        long lastOfFirstChunk = 1000L + ReconciliationService.CHUNK_SIZE;
+        when(billRepository.findPaymentTotalsAfter(eq(1000L), any())).thenReturn(full);
+        when(billRepository.findPaymentTotalsAfter(eq(lastOfFirstChunk), any()))
+                .thenReturn(List.of(new BillPaymentTotalDto(lastOfFirstChunk + 1, 10.0, false, 10.0)));
+
+        reconciliationService.runToCompletion(4L);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ReconciliationDiscrepancy>> captor = ArgumentCaptor.forClass(List.class);
+        verify(discrepancyRepository, times(2)).saveAll(captor.capture());
+        assertEquals(1001L, captor.getAllValues().get(0).get(0).getBillId());
+        assertEquals(DiscrepancyType.UNDERPAID, captor.getAllValues().get(0).get(0).getType());
+        assertEquals(DiscrepancyType.NOT_MARKED_PAID, captor.getAllValues().get(1).get(0).getType());
+        assertEquals(ReconciliationStatus.COMPLETED, run.getStatus());
+        assertEquals(lastOfFirstChunk + 1, run.getLastBillId());
+        assertEquals(1001L + ReconciliationService.CHUNK_SIZE, run.getBillsChecked());
+        assertEquals(4L, run.getDiscrepancies());
+        assertNotNull(run.getFinishedAt());
+    }
+
+    @Test
+    void runToCompletion_StopsAtOnce_WhenTheRunIsCompleted() {
+        runTransactionsInline();
+        when(runRepository.findById(4L)).thenReturn(Optional.of(
+                ReconciliationRun.builder().id(4L).status(ReconciliationStatus.COMPLETED).build()));
+
+        reconciliationService.runToCompletion(4L);
+
+        verifyNoInteractions(billRepository, discrepancyRepository);
+    }
+
+    @Test
+    void start_ResumesTheInterruptedRun() {
+        ReconciliationRun interrupted = ReconciliationRun.builder()
+                .id(4L)
+                .status(ReconciliationStatus.RUNNING)
+                .lastBillId(2500L)
+                .build();
+        when(runRepository.findFirstByStatusOrderByIdDesc(ReconciliationStatus.RUNNING))
+                .thenReturn(Optional.of(interrupted));
+
+        assertSame(interrupted, reconciliationService.start());
+
+        verify(runRepository, never()).save(any());
+        verify(executor).execute(any());
+    }
+
+    @Test
+    void start_CreatesARun_WhenNoneIsPending() {
+        when(runRepository.findFirstByStatusOrderByIdDesc(ReconciliationStatus.RUNNING)).thenReturn(Optional.empty());
+        when(runRepository.save(any(ReconciliationRun.class))).thenAnswer(invocation -> {
+            ReconciliationRun run = invocation.getArgument(0);
+            run.setId(5L);
+            return run;
+        });
+
+        ReconciliationRun run = reconciliationService.start();
+
+        assertEquals(5L, run.getId());
+        assertEquals(ReconciliationStatus.RUNNING, run.getStatus());
+        assertEquals(0L, run.getLastBillId());
+        verify(executor).execute(any());
+    }
+
+    @Test
+    void start_Throws_WhenARunIsAlreadyExecuting() {
+        when(runRepository.findFirstByStatusOrderByIdDesc(ReconciliationStatus.RUNNING))
+                .thenReturn(Optional.of(ReconciliationRun.builder().id(4L).status(ReconciliationStatus.RUNNING).build()));
+        doThrow(new TaskRejectedException("busy")).when(executor).execute(any());
+
+        assertThrows(ReconciliationInProgressException.class, () -> reconciliationService.start());
+
+        verify(runRepository, never()).save(any());
+    }
+
+    @Test
+    void start_MarksTheNewRunFailed_WhenTheExecutorRejectsIt() {
+        when(runRepository.findFirstByStatusOrderByIdDesc(ReconciliationStatus.RUNNING)).thenReturn(Optional.empty());
+        when(runRepository.save(any(ReconciliationRun.class))).thenAnswer(invocation -> {
+            ReconciliationRun run = invocation.getArgument(0);
+            run.setId(5L);
+            return run;
+        });
+        doThrow(new TaskRejectedException("busy")).when(executor).execute(any());
+
+        assertThrows(ReconciliationInProgressException.class, () -> reconciliationService.start());
+
+        ArgumentCaptor<ReconciliationRun> saved = ArgumentCaptor.forClass(ReconciliationRun.class);
+        verify(runRepository, times(2)).save(saved.capture());
+        ReconciliationRun failed = saved.getValue();
+        assertEquals(5L, failed.getId());
+        assertEquals(ReconciliationStatus.FAILED, failed.getStatus());
+        assertNotNull(failed.getFinishedAt());
+    }
+
+    @Test
+    void reconcile_DoesNotQuery_WhenThereAreNoBills() {
+        assertEquals(0, reconciliationService.reconcile(List.of(), mismatch -> fail("No bill should be reported")));
+
+        verifyNoInteractions(billRepository);
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+    }
+}
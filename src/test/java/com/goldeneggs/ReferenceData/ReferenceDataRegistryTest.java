@@ -0,0 +1,100 @@
+package com.goldeneggs.ReferenceData;
+
+import com.goldeneggs.Role.Role;
+import com.goldeneggs.Role.RoleRepository;
+import com.goldeneggs.Supplier.Supplier;
+import com.goldeneggs.Supplier.SupplierRepository;
+import com.goldeneggs.TypeEgg.TypeEgg;
+import com.goldeneggs.TypeEgg.TypeEggRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataRegistryTest {
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private TypeEggRepository typeEggRepository;
+
+    @Mock
+    private SupplierRepository supplierRepository;
+
+    private ReferenceDataRegistry registry;
+
+    private final Role admin = new Role(1L, "ADMIN");
+    private final TypeEgg aa = TypeEgg.builder().id(2L).type("AA").build();
+    private final Supplier supplier = Supplier.builder().id(3L).name("Granja").address("Calle 1").build();
+
+    @BeforeEach
+    void setUp() {
+        registry = new ReferenceDataRegistry(roleRepository, typeEggRepository, supplierRepository);
+    }
+
+    @Test
+    void lookups_AreAnsweredFromMemory_AfterTheRegistryIsLoaded() {
+        when(roleRepository.findAll()).thenReturn(List.of(admin));
+        when(typeEggRepository.findAll()).thenReturn(List.of(aa));
+        when(supplierRepository.findAll()).thenReturn(List.of(supplier));
+        registry.refresh();
+
+        assertSame(admin, registry.findRole(1L).orElseThrow());
+        assertSame(aa, registry.findTypeEgg("AA").orElseThrow());
+        assertTrue(registry.typeEggExists(2L));
+        assertTrue(registry.supplierExists(3L));
+
+        verify(roleRepository, never()).findById(any());
+        verify(typeEggRepository, never()).findByType(any());
+        verify(typeEggRepository, never()).existsById(any());
+        verify(supplierRepository, never()).existsById(any());
+    }
+
+    @Test
+    void findRole_ConfirmsAMissAgainstTheDatabaseAndReloads() {
+        when(roleRepository.findById(1L)).thenReturn(Optional.of(admin));
+        when(roleRepository.findAll()).thenReturn(List.of(admin));
+
+        assertSame(admin, registry.findRole(1L).orElseThrow());
+        assertSame(admin, registry.findRole(1L).orElseThrow());
+
+        verify(roleRepository, times(1)).findById(1L);
+        verify(roleRepository, times(1)).findAll();
+    }
+
+    @Test
+    void existenceChecks_ReportMissingRows_WithoutReloading() {
+        when(typeEggRepository.existsById(9L)).thenReturn(false);
+        when(supplierRepository.existsById(9L)).thenReturn(false);
+        when(typeEggRepository.findByType("XL")).thenReturn(null);
+
+        assertFalse(registry.typeEggExists(9L));
+        assertFalse(registry.supplierExists(9L));
+        assertTrue(registry.findTypeEgg("XL").isEmpty());
+        assertTrue(registry.findRole(null).isEmpty());
+
+        verify(typeEggRepository, never()).findAll();
+        verify(supplierRepository, never()).findAll();
+    }
+
+    @Test
+    void refreshSuppliers_DropsDeletedSuppliers() {
+        when(supplierRepository.findAll()).thenReturn(List.of(supplier), List.of());
+        registry.refreshSuppliers();
+        assertTrue(registry.supplierExists(3L));
+
+        registry.refreshSuppliers();
+        when(supplierRepository.existsById(3L)).thenReturn(false);
+
+        assertFalse(registry.supplierExists(3L));
+    }
+}
@@ -0,0 +1,136 @@
+package com.goldeneggs.RefreshToken;
+
+import com.goldeneggs.Exception.InvalidRefreshTokenException;
+import com.goldeneggs.User.User;
+import com.goldeneggs.User.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository repository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private RefreshTokenService service;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        service = new RefreshTokenService(repository, userRepository, 14);
+        user = new User();
+        user.setId(7L);
+        user.setUsername("admin");
+        user.setEnabled(true);
+    }
+
+    @Test
+    void issue_StoresOnlyTheHashOfTheToken() {
+        String token = service.issue(7L);
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository).save(captor.capture());
+        RefreshToken stored = captor.getValue();
+        assertEquals(RefreshTokenService.hash(token), stored.getTokenHash());
+        assertNotEquals(token, stored.getTokenHash());
+        assertEquals(7L, stored.getUserId());
+        assertNotNull(stored.getFamilyId());
+        assertTrue(stored.getExpiresAt().isAfter(LocalDateTime.now().plusDays(13)));
+    }
+
+    @Test
+    void rotate_MarksTheTokenUsedAndIssuesTheNextOfTheFamily() {
+        RefreshToken stored = stored("family-1");
+        when(repository.findByTokenHash(RefreshTokenService.hash("old"))).thenReturn(Optional.of(stored));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+
+        RotatedRefreshToken rotated = service.rotate("old");
+
+        assertSame(user, rotated.user());
+        assertNotNull(stored.getUsedAt());
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository, times(2)).save(captor.capture());
+        List<RefreshToken> saved = captor.getAllValues();
+        assertSame(stored, saved.get(0));
+        assertEquals("family-1", saved.get(1).getFamilyId());
+        assertEquals(RefreshTokenService.hash(rotated.refreshToken()), saved.get(1).getTokenHash());
+    }
+
+    @Test
+    void rotate_RevokesTheFamily_WhenATokenIsReused() {
+        RefreshToken stored = stored("family-1");
+        stored.setUsedAt(LocalDateTime.now().minusMinutes(1));
+        when(repository.findByTokenHash(any())).thenReturn(Optional.of(stored));
+
+        InvalidRefreshTokenException exception = assertThrows(InvalidRefreshTokenException.class,
+                () -> service.rotate("old"));
+
+        assertEquals("Refresh token already used", exception.getMessage());
+        verify(repository).revokeFamily("family-1");
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void rotate_RevokesTheFamily_WhenTheUserWasDisabled() {
+        user.setEnabled(false);
+        when(repository.findByTokenHash(any())).thenReturn(Optional.of(stored("family-1")));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(user));
+
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate("old"));
+
+        verify(repository).revokeFamily("family-1");
+    }
+
+    @Test
+    void rotate_Rejects_ExpiredRevokedAndUnknownTokens() {
+        RefreshToken expired = stored("family-1");
+        expired.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        RefreshToken revoked = stored("family-2");
+        revoked.setRevoked(true);
+        when(repository.findByTokenHash(RefreshTokenService.hash("expired"))).thenReturn(Optional.of(expired));
+        when(repository.findByTokenHash(RefreshTokenService.hash("revoked"))).thenReturn(Optional.of(revoked));
+        when(repository.findByTokenHash(RefreshTokenService.hash("unknown"))).thenReturn(Optional.empty());
+
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate("expired"));
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate("revoked"));
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate("unknown"));
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate(" "));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void revoke_RevokesTheFamilyOfTheToken() {
+        when(repository.findByTokenHash(RefreshTokenService.hash("old"))).thenReturn(Optional.of(stored("family-1")));
+
+        service.revoke("old");
+
+        verify(repository).revokeFamily("family-1");
+    }
+
+    private static RefreshToken stored(String familyId) {
+        return RefreshToken.builder()
+                .id(1L)
+                .tokenHash("hash")
+                .familyId(familyId)
+                .userId(7L)
+                .createdAt(LocalDateTime.now().minusDays(1))
+                .expiresAt(LocalDateTime.now().plusDays(13))
+                .build();
+    }
+}
@@ -3,6 +3,7 @@ package com.goldeneggs.Role;
 import com.goldeneggs.Exception.DuplicateRoleNameException;
 import com.goldeneggs.Exception.InvalidRoleDataException;
 import com.goldeneggs.Exception.ResourceNotFoundException;
+import com.goldeneggs.ReferenceData.ReferenceDataRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -28,6 +29,9 @@ class RoleServiceImpTest {
     @Mock
     private RoleRepository roleRepository;
 
+    @Mock
+    private ReferenceDataRegistry referenceDataRegistry;
+
     private Role validRole;
 
     @BeforeEach
@@ -89,6 +93,7 @@ class RoleServiceImpTest {
         roleService.update(updated);
 
         verify(roleRepository).save(argThat(role -> role.getName().equals("NEW")));
+        verify(referenceDataRegistry).refreshRoles();
     }
 
     @Test
@@ -121,6 +126,7 @@ class RoleServiceImpTest {
         when(roleRepository.existsById(1L)).thenReturn(true);
         roleService.delete(1L);
         verify(roleRepository).deleteById(1L);
+        verify(referenceDataRegistry).refreshRoles();
     }
 
     @Test
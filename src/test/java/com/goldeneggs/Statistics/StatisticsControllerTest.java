@@ -13,6 +13,8 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.YearMonth;
+
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -51,5 +53,26 @@ class StatisticsControllerTest {
 
         verify(statisticsService, times(1)).getGeneralStatistics();
     }
+
+    @Test
+    void testGetMonthlyStatistics() throws Exception {
+        StatisticsResponseDto dummyResponse = new StatisticsResponseDto();
+        dummyResponse.kpis = new StatisticsKpiDto();
+        dummyResponse.charts = new StatisticsChartDto();
+
+        when(statisticsService.getMonthlyStatistics(YearMonth.of(2025, 3))).thenReturn(dummyResponse);
+
+        mockMvc.perform(get("/api/v1/statistics/monthly/2025-03"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.kpis").exists());
+    }
+
+    @Test
+    void testGetMonthlyStatistics_InvalidMonth() throws Exception {
+        mockMvc.perform(get("/api/v1/statistics/monthly/2025-13"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(statisticsService);
+    }
 }
 
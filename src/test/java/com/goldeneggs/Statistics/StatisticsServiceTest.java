@@ -1,13 +1,14 @@
 package com.goldeneggs.Statistics;
 
-import com.goldeneggs.Bill.Bill;
-import com.goldeneggs.Bill.BillRepository;
+import com.goldeneggs.Dto.Statistics.RankingEntryDto;
 import com.goldeneggs.Dto.Statistics.StatisticsResponseDto;
+import com.goldeneggs.Dto.Statistics.LatencyPercentilesDto;
 import com.goldeneggs.Egg.EggRepository;
-import com.goldeneggs.Order.Order;
-import com.goldeneggs.Order.OrderRepository;
-import com.goldeneggs.Role.Role;
-import com.goldeneggs.User.User;
+import com.goldeneggs.LatencyHistogram.LatencyHistogramService;
+import com.goldeneggs.LatencyHistogram.LatencyMetric;
+import com.goldeneggs.MonthlyRanking.MonthlyRankingService;
+import com.goldeneggs.MonthlySnapshot.MonthlySnapshot;
+import com.goldeneggs.MonthlySnapshot.MonthlySnapshotService;
 import com.goldeneggs.User.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,8 +17,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 
+import java.sql.Date;
+import java.time.YearMonth;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,26 +30,29 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class StatisticsServiceTest {
 
-    @Mock
-    BillRepository billRepository;
-    @Mock
-    OrderRepository orderRepository;
     @Mock
     EggRepository eggRepository;
     @Mock
     UserRepository userRepository;
+    @Mock
+    MonthlyRankingService monthlyRankingService;
+    @Mock
+    MonthlySnapshotService monthlySnapshotService;
+    @Mock
+    LatencyHistogramService latencyHistogramService;
 
     StatisticsService service;
 
     @BeforeEach
     void setUp() {
-        service = new StatisticsService(billRepository, orderRepository, eggRepository, userRepository);
+        service = new StatisticsService(eggRepository, userRepository, monthlyRankingService, monthlySnapshotService,
+                latencyHistogramService);
     }
 
     @Test
     void testGetGeneralStatistics_emptyData() {
-        when(billRepository.findAll()).thenReturn(Collections.emptyList());
-        when(orderRepository.findAll()).thenReturn(Collections.emptyList());
+        when(monthlySnapshotService.history())
+                .thenReturn(List.of(MonthlySnapshot.builder().period(YearMonth.now().toString()).build()));
 
         StatisticsResponseDto result = service.getGeneralStatistics();
 
@@ -54,34 +61,29 @@ class StatisticsServiceTest {
         assertNotNull(result.charts);
         assertEquals(0, result.kpis.totalSales);
         assertEquals(0, result.kpis.totalOrders);
-        // Otros KPIs básicos en 0 o "N/A"
+        verifyNoInteractions(monthlyRankingService);
     }
 
     @Test
     void testGetGeneralStatistics_withData() {
-        // Crear usuarios, roles, órdenes, facturas y productos simulados
-
-        Role customerRole = new Role();
-        customerRole.setName("CUSTOMER");
-
-        User user = new User();
-        user.setName("Juan");
-        user.setRoles(List.of(customerRole));
-
-        Order order = new Order();
-        order.setUser(user);
-        order.setTotalPrice(100);
-        order.setOrderDate(new java.sql.Date(System.currentTimeMillis()));
-        order.setState("delivered");
-
-        Bill bill = new Bill();
-        bill.setOrder(order);
-        bill.setPaid(true);
-        bill.setTotalPrice(100);
-        bill.setIssueDate(new java.sql.Date(System.currentTimeMillis()));
-
-        when(billRepository.findAll()).thenReturn(List.of(bill));
-        when(orderRepository.findAll()).thenReturn(List.of(order));
+        MonthlySnapshot current = MonthlySnapshot.builder()
+                .period(YearMonth.now().toString())
+                .totalSales(100)
+                .customerBills(1)
+                .paidBills(1)
+                .orders(1)
+                .ordersTotal(100)
+                .lastOrderDate(new Date(System.currentTimeMillis()))
+                .ordersByState(Map.of("delivered", 1L))
+                .ordersByDay(Map.of("2025-05-17", 1L))
+                .build();
+
+        when(monthlySnapshotService.history()).thenReturn(List.of(current));
+        when(monthlyRankingService.topCustomersAllTime(5))
+                .thenReturn(List.of(new RankingEntryDto("1", "Juan", 100.0)));
+        when(monthlyRankingService.topProductsAllTime(5)).thenReturn(Collections.emptyList());
+        when(latencyHistogramService.percentiles(eq(LatencyMetric.ORDER_TO_BILL), any(), any()))
+                .thenReturn(new LatencyPercentilesDto("ORDER_TO_BILL", 1, 3_600L, 7_200L, 7_200L));
 
         StatisticsResponseDto result = service.getGeneralStatistics();
 
@@ -91,13 +93,87 @@ class StatisticsServiceTest {
         assertEquals(1, result.kpis.paidOrders);
         assertEquals(0, result.kpis.unpaidOrders);
         assertEquals("Juan", result.kpis.bestCustomer);
-        assertEquals("delivered", result.charts.ordersByState.stream()
+        assertEquals("N/A", result.kpis.mostSoldProduct);
+        assertEquals(1, result.charts.topCustomers.size());
+        assertEquals(7_200L, result.kpis.orderToBillLatency.getP90Seconds());
+        assertEquals(1, result.charts.ordersByState.stream()
                 .filter(d -> d.name.equals("delivered"))
                 .findFirst()
-                .map(d -> "delivered")
-                .orElse(""));
+                .map(d -> d.value)
+                .orElse(0.0));
+    }
+
+    @Test
+    void testGetGeneralStatistics_mergesClosedAndOpenMonths() {
+        MonthlySnapshot closed = MonthlySnapshot.builder()
+                .period("2025-03")
+                .totalSales(300)
+                .customerBills(3)
+                .paidBills(2)
+                .orders(4)
+                .ordersTotal(400)
+                .orderToBillHours(30)
+                .orderToBillCount(3)
+                .lastOrderDate(Date.valueOf("2025-03-30"))
+                .leastSalesDay(Date.valueOf("2025-03-02"))
+                .leastSalesAmount(20.0)
+                .ordersByState(Map.of("cancelled", 1L, "delivered", 3L))
+                .ordersByDay(Map.of("2025-03-02", 4L))
+                .build();
+        MonthlySnapshot open = MonthlySnapshot.builder()
+                .period("2025-04")
+                .totalSales(100)
+                .customerBills(1)
+                .paidBills(1)
+                .orders(1)
+                .ordersTotal(100)
+                .orderToBillHours(10)
+                .orderToBillCount(1)
+                .lastOrderDate(Date.valueOf("2025-04-05"))
+                .leastSalesDay(Date.valueOf("2025-04-05"))
+                .leastSalesAmount(100.0)
+                .ordersByState(Map.of("CANCELLED", 1L))
+                .ordersByDay(Map.of("2025-04-05", 1L))
+                .build();
+
+        when(monthlySnapshotService.history()).thenReturn(List.of(closed, open));
+        when(monthlyRankingService.topCustomersAllTime(5)).thenReturn(Collections.emptyList());
+        when(monthlyRankingService.topProductsAllTime(5)).thenReturn(Collections.emptyList());
+
+        StatisticsResponseDto result = service.getGeneralStatistics();
 
-        // Puedes agregar más asserts si quieres
+        assertEquals(400.0, result.kpis.totalSales);
+        assertEquals(5, result.kpis.totalOrders);
+        assertEquals(3, result.kpis.paidOrders);
+        assertEquals(1, result.kpis.unpaidOrders);
+        assertEquals(100.0, result.kpis.averageTicket);
+        assertEquals(2, result.kpis.cancelledOrders);
+        assertEquals(10.0, result.kpis.averageTimeOrderToBill);
+        assertEquals("2025-04-05", result.kpis.lastOrderDate);
+        assertEquals("2025-03-02", result.kpis.dayWithLeastSales);
+        assertEquals(2, result.charts.ordersOverTime.size());
+        assertEquals("2025-03-02", result.charts.ordersOverTime.get(0).name);
     }
-}
 
+    @Test
+    void testGetMonthlyStatistics_usesSnapshotLeaderboards() {
+        YearMonth month = YearMonth.of(2025, 3);
+        MonthlySnapshot closed = MonthlySnapshot.builder()
+                .period(month.toString())
+                .totalSales(300)
+                .customerBills(3)
+                .paidBills(3)
+                .orders(3)
+                .ordersTotal(300)
+                .topCustomers(List.of(new RankingEntryDto("1", "Ana", 300.0)))
+                .build();
+        when(monthlySnapshotService.get(month)).thenReturn(closed);
+
+        StatisticsResponseDto result = service.getMonthlyStatistics(month);
+
+        assertEquals(300.0, result.kpis.totalSales);
+        assertEquals("Ana", result.kpis.bestCustomer);
+        assertEquals("N/A", result.kpis.mostSoldProduct);
+        verifyNoInteractions(monthlyRankingService);
+    }
+}
@@ -2,6 +2,7 @@ package com.goldeneggs.Supplier;
 
 import com.goldeneggs.Exception.InvalidSupplierDataException;
 import com.goldeneggs.Exception.ResourceNotFoundException;
+import com.goldeneggs.ReferenceData.ReferenceDataRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
@@ -19,6 +20,9 @@ class SupplierServiceImplTest {
     @Mock
     private SupplierRepository repository;
 
+    @Mock
+    private ReferenceDataRegistry referenceDataRegistry;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -65,6 +69,7 @@ class SupplierServiceImplTest {
             assertNotNull(result.getId());
             assertEquals("A", result.getName());
             verify(repository).save(sup);
+            verify(referenceDataRegistry).refreshSuppliers();
         }
     }
 
@@ -157,6 +162,7 @@ class SupplierServiceImplTest {
         service.delete(1L);
 
         verify(repository).deleteById(1L);
+        verify(referenceDataRegistry).refreshSuppliers();
     }
 
     @Test
@@ -0,0 +1,45 @@
+package com.goldeneggs.TokenRevocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_FindsEveryAddedValue() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        String[] values = new String[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = UUID.randomUUID().toString();
+            filter.put(values[i]);
+        }
+
+        for (String value : values) {
+            assertTrue(filter.mightContain(value));
+        }
+    }
+
+    @Test
+    void mightContain_KeepsFalsePositivesNearTheConfiguredRate() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put("revoked-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("valid-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void mightContain_IsFalse_WhenEmpty() {
+        assertFalse(new BloomFilter(10, 0.01).mightContain("anything"));
+    }
+}
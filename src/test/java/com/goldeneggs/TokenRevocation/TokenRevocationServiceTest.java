@@ -0,0 +1,67 @@
+package com.goldeneggs.TokenRevocation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository repository;
+
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TokenRevocationService(repository, 100);
+    }
+
+    @Test
+    void revoke_StoresTheTokenAndRejectsIt() {
+        service.revoke("jti-1", new Date(System.currentTimeMillis() + 60_000));
+
+        ArgumentCaptor<RevokedToken> captor = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(repository).save(captor.capture());
+        assertEquals("jti-1", captor.getValue().getJti());
+        assertTrue(service.isRevoked("jti-1"));
+        assertFalse(service.isRevoked("jti-2"));
+        assertFalse(service.isRevoked(null));
+    }
+
+    @Test
+    void revoke_IgnoresExpiredTokens() {
+        service.revoke("jti-1", new Date(System.currentTimeMillis() - 1));
+
+        verifyNoInteractions(repository);
+        assertFalse(service.isRevoked("jti-1"));
+    }
+
+    @Test
+    void refresh_LoadsTheRevocationsOfOtherInstancesAndDeletesExpiredOnes() {
+        when(repository.findByExpiresAtAfter(any())).thenReturn(List.of(RevokedToken.builder()
+                .jti("jti-remote")
+                .expiresAt(LocalDateTime.now().plusMinutes(5))
+                .revokedAt(LocalDateTime.now())
+                .build()));
+        service.revoke("jti-local", new Date(System.currentTimeMillis() + 60_000));
+
+        service.refresh();
+
+        verify(repository).deleteExpired(any());
+        assertTrue(service.isRevoked("jti-remote"));
+        assertTrue(service.isRevoked("jti-local"));
+        assertEquals(2, service.size());
+    }
+}
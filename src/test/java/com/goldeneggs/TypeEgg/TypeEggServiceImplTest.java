@@ -2,6 +2,7 @@ package com.goldeneggs.TypeEgg;
 
 import com.goldeneggs.Exception.InvalidTypeEggDataException;
 import com.goldeneggs.Exception.ResourceNotFoundException;
+import com.goldeneggs.ReferenceData.ReferenceDataRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,6 +26,9 @@ public class TypeEggServiceImplTest {
     @Mock
     private TypeEggRepository repository;
 
+    @Mock
+    private ReferenceDataRegistry referenceDataRegistry;
+
     private TypeEgg sampleEgg;
 
     @BeforeEach
@@ -45,6 +49,7 @@ public class TypeEggServiceImplTest {
 
         assertEquals(sampleEgg, result);
         verify(repository).save(sampleEgg);
+        verify(referenceDataRegistry).refreshTypeEggs();
     }
 
 
@@ -136,6 +141,7 @@ public class TypeEggServiceImplTest {
         service.delete(1L);
 
         verify(repository).deleteById(1L);
+        verify(referenceDataRegistry).refreshTypeEggs();
     }
 
     @Test
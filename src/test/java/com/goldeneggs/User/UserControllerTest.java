@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.goldeneggs.Dto.RegisterDto;
 import com.goldeneggs.Dto.UpdateUserDto;
 import com.goldeneggs.Dto.UserDataDto;
+import com.goldeneggs.Dto.UserSummaryDto;
 import com.goldeneggs.Exception.InvalidUserDataException;
 import com.goldeneggs.Exception.ResourceNotFoundException;
 import com.goldeneggs.Exception.UserAlreadyExistsException;
@@ -14,6 +15,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -44,10 +50,13 @@ class UserControllerTest {
     private RegisterDto registerDto;
     private UpdateUserDto updateUserDto;
     private UserDataDto userDataDto;
+    private UserSummaryDto summary;
 
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(userController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(userController)
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .build();
 
         user = new User();
         user.setId(1L);
@@ -64,6 +73,8 @@ class UserControllerTest {
         userDataDto = new UserDataDto();
         userDataDto.setUsername("testuser");
         userDataDto.setEmail("test@example.com");
+
+        summary = new UserSummaryDto(1L, "Test", "testuser", "test@example.com", "1234567", "Calle 3", true);
     }
 
     @Test
@@ -149,11 +160,31 @@ class UserControllerTest {
     @Test
     @WithMockUser(authorities = "ADMIN")
     void testGetAllUsers() throws Exception {
-        when(userService.getAllUsers()).thenReturn(List.of(user));
+        when(userService.getAllUsers(eq("tes"), eq("ADMIN"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(summary), PageRequest.of(0, 20), 1));
 
-        mockMvc.perform(get("/api/v1/users/getAll"))
+        mockMvc.perform(get("/api/v1/users/getAll").param("q", "tes").param("role", "ADMIN"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].username").value("testuser"));
+                .andExpect(jsonPath("$.content[0].username").value("testuser"))
+                .andExpect(jsonPath("$.content[0].password").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void testGetAllUsers_SortByPassword_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/users/getAll").param("sort", "password"))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).getAllUsers(any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void testGetAllCustomers_SortByPassword_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/users/getAllCustomers").param("sort", "password,desc"))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).getAllCustomers(any(), any(Pageable.class));
     }
 
     @Test
@@ -272,6 +303,16 @@ class UserControllerTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void testDeleteUser_Soft() throws Exception {
+        mockMvc.perform(delete("/api/v1/users/delete/1").param("soft", "true"))
+                .andExpect(status().isNoContent());
+
+        verify(userService).softDeleteUser(1L);
+        verify(userService, never()).deleteUser(1L);
+    }
+
     @Test
     @WithMockUser(authorities = "ADMIN")
     void testDeleteUser_NotFound() throws Exception {
@@ -323,20 +364,20 @@ class UserControllerTest {
     @Test
     @WithMockUser(authorities = "ADMIN")
     void testGetAllCustomers_ShouldReturnListOfCustomers() throws Exception {
-        User customer = new User();
-        customer.setUsername("customer1");
+        UserSummaryDto customer = new UserSummaryDto(2L, "Customer", "customer1", "c@x.com", "7654321", "Calle 1", true);
 
-        when(userService.getAllCustomers()).thenReturn(List.of(customer));
+        when(userService.getAllCustomers(isNull(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(customer), PageRequest.of(0, 20), 1));
 
         mockMvc.perform(get("/api/v1/users/getAllCustomers"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].username").value("customer1"));
+                .andExpect(jsonPath("$.content[0].username").value("customer1"));
     }
 
     @Test
     @WithMockUser(authorities = "ADMIN")
     void testGetAllCustomers_ShouldReturnNoContent() throws Exception {
-        when(userService.getAllCustomers()).thenReturn(Collections.emptyList());
+        when(userService.getAllCustomers(isNull(), any(Pageable.class))).thenReturn(Page.empty());
 
         mockMvc.perform(get("/api/v1/users/getAllCustomers"))
                 .andExpect(status().isNoContent());
@@ -345,23 +386,20 @@ class UserControllerTest {
     @Test
     @WithMockUser(roles = "ADMIN")
     void testGetAllEmployee_ReturnsOk() throws Exception {
-        Role role = Role.builder().name("EMPLOYEE").build();
-        User user = new User();
-        user.setId(1L);
-        user.setUsername("employee1");
-        user.setRoles(List.of(role));
+        UserSummaryDto employee = new UserSummaryDto(1L, "Employee", "employee1", "e@x.com", "7654321", "Calle 2", true);
 
-        when(userService.getAllEmployee()).thenReturn(List.of(user));
+        when(userService.getAllEmployee(eq("emp"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(employee), PageRequest.of(0, 20), 1));
 
-        mockMvc.perform(get("/api/v1/users/getAllEmployee"))
+        mockMvc.perform(get("/api/v1/users/getAllEmployee").param("q", "emp").param("sort", "username,desc"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].username").value("employee1"));
+                .andExpect(jsonPath("$.content[0].username").value("employee1"));
     }
 
     @Test
     @WithMockUser(roles = "ADMIN")
     void testGetAllEmployee_ReturnsNoContent() throws Exception {
-        when(userService.getAllEmployee()).thenReturn(Collections.emptyList());
+        when(userService.getAllEmployee(isNull(), any(Pageable.class))).thenReturn(Page.empty());
 
         mockMvc.perform(get("/api/v1/users/getAllEmployee"))
                 .andExpect(status().isNoContent());
@@ -0,0 +1,107 @@
+package com.goldeneggs.User;
+
+import com.goldeneggs.Bill.Bill;
+import com.goldeneggs.Bill.BillRepository;
+import com.goldeneggs.InventoryMovement.InventoryMovementRepository;
+import com.goldeneggs.Order.Order;
+import com.goldeneggs.Order.OrderRepository;
+import com.goldeneggs.OrderEgg.OrderEggRepository;
+import com.goldeneggs.Pay.Pay;
+import com.goldeneggs.Pay.PayRepository;
+import com.goldeneggs.PaymentLedger.PaymentLedgerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.sql.Date;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDeletionServiceTest {
+
+    @Mock private OrderRepository orderRepository;
+    @Mock private OrderEggRepository orderEggRepository;
+    @Mock private BillRepository billRepository;
+    @Mock private PayRepository payRepository;
+    @Mock private InventoryMovementRepository inventoryMovementRepository;
+    @Mock private PaymentLedgerService paymentLedgerService;
+
+    private UserDeletionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new UserDeletionService(orderRepository, orderEggRepository, billRepository, payRepository,
+                inventoryMovementRepository, paymentLedgerService, 2);
+    }
+
+    @Test
+    void deleteRecordsOf_DeletesEachChunkInDependencyOrder() {
+        when(orderRepository.findIdsByUserIdAfter(1L, 0L, PageRequest.of(0, 2))).thenReturn(List.of(10L, 20L));
+        when(orderRepository.findIdsByUserIdAfter(1L, 20L, PageRequest.of(0, 2))).thenReturn(List.of(30L));
+        when(orderRepository.findOrderDatesByIdIn(List.of(10L, 20L))).thenReturn(List.of(Date.valueOf("2025-03-14")));
+        when(orderRepository.findOrderDatesByIdIn(List.of(30L))).thenReturn(List.of(Date.valueOf("2025-05-02")));
+        when(billRepository.findIssueDatesByOrderIdIn(List.of(10L, 20L))).thenReturn(List.of(Date.valueOf("2025-04-01")));
+        when(billRepository.findIssueDatesByOrderIdIn(List.of(30L))).thenReturn(List.of());
+        Pay pay = pay(5L, Date.valueOf("2025-04-01"), LocalDateTime.of(2025, 4, 3, 10, 0));
+        when(payRepository.findAllByOrderIdIn(List.of(10L, 20L))).thenReturn(List.of(pay));
+        when(payRepository.findAllByOrderIdIn(List.of(30L))).thenReturn(List.of());
+        when(payRepository.findChunkByUserId(eq(1L), any())).thenReturn(List.of());
+
+        Set<YearMonth> months = service.deleteRecordsOf(1L);
+
+        assertEquals(Set.of(YearMonth.of(2025, 3), YearMonth.of(2025, 4), YearMonth.of(2025, 5)), months);
+        InOrder inOrder = inOrder(paymentLedgerService, payRepository, billRepository, orderEggRepository,
+                inventoryMovementRepository, orderRepository);
+        inOrder.verify(paymentLedgerService).recordReversals(List.of(pay));
+        inOrder.verify(payRepository).deleteAllByOrderIdIn(List.of(10L, 20L));
+        inOrder.verify(billRepository).deleteAllByOrderIdIn(List.of(10L, 20L));
+        inOrder.verify(orderEggRepository).deleteAllByOrderIdIn(List.of(10L, 20L));
+        inOrder.verify(inventoryMovementRepository).deleteAllByOrderIdIn(List.of(10L, 20L));
+        inOrder.verify(orderRepository).deleteAllByIdIn(List.of(10L, 20L));
+        inOrder.verify(orderRepository).deleteAllByIdIn(List.of(30L));
+        verify(inventoryMovementRepository).clearUser(1L);
+    }
+
+    @Test
+    void deleteRecordsOf_DeletesThePaymentsLeftOnOtherBills_CountingTheMonthOfTheirBill() {
+        when(orderRepository.findIdsByUserIdAfter(eq(1L), anyLong(), any())).thenReturn(List.of());
+        Pay first = pay(7L, Date.valueOf("2025-05-20"), null);
+        Pay second = pay(8L, Date.valueOf("2025-05-28"), LocalDateTime.of(2025, 6, 1, 9, 0));
+        Pay third = pay(9L, Date.valueOf("2025-02-11"), null);
+        when(payRepository.findChunkByUserId(1L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(first, second), List.of(third));
+
+        Set<YearMonth> months = service.deleteRecordsOf(1L);
+
+        assertEquals(Set.of(YearMonth.of(2025, 2), YearMonth.of(2025, 5)), months);
+        verify(paymentLedgerService).recordReversals(List.of(first, second));
+        verify(payRepository).deleteAllByIdIn(List.of(7L, 8L));
+        verify(paymentLedgerService).recordReversals(List.of(third));
+        verify(payRepository).deleteAllByIdIn(List.of(9L));
+        verify(orderRepository, never()).deleteAllByIdIn(any());
+    }
+
+    private static Pay pay(Long id, Date billIssueDate, LocalDateTime paidAt) {
+        Bill bill = new Bill();
+        bill.setOrder(new Order());
+        bill.setIssueDate(billIssueDate);
+        Pay pay = new Pay();
+        pay.setId(id);
+        pay.setBill(bill);
+        pay.setPaidAt(paidAt);
+        return pay;
+    }
+}
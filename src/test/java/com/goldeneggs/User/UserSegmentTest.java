@@ -0,0 +1,43 @@
+package com.goldeneggs.User;
+
+import com.goldeneggs.Role.Role;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class UserSegmentTest {
+
+    @Test
+    void of_ClassifiesCustomersAndCompanyUsers() {
+        assertEquals(UserSegment.CUSTOMER, UserSegment.of(List.of(new Role(1L, "CUSTOMER"))));
+        assertEquals(UserSegment.COMPANY, UserSegment.of(List.of(new Role(2L, "EMPLOYEE"))));
+        assertEquals(UserSegment.COMPANY, UserSegment.of(List.of(new Role(3L, "Admin"))));
+        assertEquals(UserSegment.OTHER, UserSegment.of(List.of(new Role(4L, "SUPPLIER"))));
+        assertEquals(UserSegment.OTHER, UserSegment.of((List<Role>) null));
+    }
+
+    @Test
+    void of_CustomerRoleTakesPrecedence() {
+        assertEquals(UserSegment.CUSTOMER,
+                UserSegment.of(List.of(new Role(2L, "EMPLOYEE"), new Role(1L, "CUSTOMER"))));
+    }
+
+    @Test
+    void setRoles_KeepsSegmentInSync() {
+        User user = new User();
+        user.setRoles(List.of(new Role(1L, "CUSTOMER")));
+        assertEquals(UserSegment.CUSTOMER, user.getSegment());
+
+        user.setRoles(List.of(new Role(2L, "EMPLOYEE")));
+        assertEquals(UserSegment.COMPANY, user.getSegment());
+    }
+
+    @Test
+    void of_FallsBackToRoles_WhenSegmentIsNotStored() {
+        User user = User.builder().roles(List.of(new Role(1L, "CUSTOMER"))).build();
+
+        assertEquals(UserSegment.CUSTOMER, UserSegment.of(user));
+    }
+}
@@ -1,17 +1,19 @@
 package com.goldeneggs.User;
 
-import com.goldeneggs.Bill.BillRepository;
+import com.goldeneggs.Config.Security.TokenCutoffService;
+import com.goldeneggs.Config.Security.UserDetailsCache;
 import com.goldeneggs.Dto.RegisterDto;
 import com.goldeneggs.Dto.UpdateUserDto;
 import com.goldeneggs.Dto.UserDataDto;
+import com.goldeneggs.Dto.UserSummaryDto;
 import com.goldeneggs.Exception.InvalidUserDataException;
 import com.goldeneggs.Exception.ResourceNotFoundException;
 import com.goldeneggs.Exception.UserAlreadyExistsException;
-import com.goldeneggs.Order.Order;
-import com.goldeneggs.Order.OrderRepository;
-import com.goldeneggs.Pay.PayRepository;
+import com.goldeneggs.MonthlyCounter.MonthlyCounterService;
+import com.goldeneggs.MonthlyRanking.MonthlyRankingService;
+import com.goldeneggs.ReferenceData.ReferenceDataRegistry;
+import com.goldeneggs.RefreshToken.RefreshTokenService;
 import com.goldeneggs.Role.Role;
-import com.goldeneggs.Role.RoleRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,12 +22,18 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
-import java.util.Arrays;
+import java.time.YearMonth;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.TreeSet;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -35,11 +43,15 @@ import static org.mockito.Mockito.*;
 class UserServiceImplTest {
 
     @Mock private UserRepository userRepository;
-    @Mock private RoleRepository roleRepository;
+    @Mock private ReferenceDataRegistry referenceDataRegistry;
     @Mock private PasswordEncoder passwordEncoder;
-    @Mock private OrderRepository orderRepository;
-    @Mock private BillRepository billRepository;
-    @Mock private PayRepository payRepository;
+    @Mock private UserDeletionService userDeletionService;
+    @Mock private UserUniquenessChecker uniquenessChecker;
+    @Mock private MonthlyCounterService monthlyCounterService;
+    @Mock private MonthlyRankingService monthlyRankingService;
+    @Mock private UserDetailsCache userDetailsCache;
+    @Mock private TokenCutoffService tokenCutoffService;
+    @Mock private RefreshTokenService refreshTokenService;
 
     @Spy
     @InjectMocks
@@ -81,11 +93,7 @@ class UserServiceImplTest {
 
     @Test
     void saveUser_Success() {
-        when(userRepository.existsByUsername(registerDto.getUsername())).thenReturn(false);
-        when(userRepository.existsById(registerDto.getId())).thenReturn(false);
-        when(userRepository.existsByEmail(registerDto.getEmail())).thenReturn(false);
-        when(userRepository.existsByPhoneNumber(registerDto.getPhoneNumber())).thenReturn(false);
-        when(roleRepository.findById(role.getId())).thenReturn(Optional.of(role));
+        when(referenceDataRegistry.findRole(role.getId())).thenReturn(Optional.of(role));
         when(passwordEncoder.encode(registerDto.getPassword())).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(user);
 
@@ -99,7 +107,8 @@ class UserServiceImplTest {
 
     @Test
     void saveUser_ThrowsUserAlreadyExistsException_WhenUsernameExists() {
-        when(userRepository.existsByUsername(registerDto.getUsername())).thenReturn(true);
+        doThrow(new UserAlreadyExistsException("Username '" + registerDto.getUsername() + "' already exists"))
+                .when(uniquenessChecker).checkNew(registerDto.getId(), registerDto.getUsername(), registerDto.getEmail(), registerDto.getPhoneNumber());
 
         UserAlreadyExistsException ex = assertThrows(UserAlreadyExistsException.class, () -> userService.save(registerDto));
 
@@ -109,8 +118,8 @@ class UserServiceImplTest {
 
     @Test
     void saveUser_ThrowsUserAlreadyExistsException_WhenIdExists() {
-        when(userRepository.existsByUsername(registerDto.getUsername())).thenReturn(false);
-        when(userRepository.existsById(registerDto.getId())).thenReturn(true);
+        doThrow(new UserAlreadyExistsException("User with ID " + registerDto.getId() + " already exists"))
+                .when(uniquenessChecker).checkNew(registerDto.getId(), registerDto.getUsername(), registerDto.getEmail(), registerDto.getPhoneNumber());
 
         UserAlreadyExistsException ex = assertThrows(UserAlreadyExistsException.class, () -> userService.save(registerDto));
 
@@ -120,9 +129,8 @@ class UserServiceImplTest {
 
     @Test
     void saveUser_ThrowsUserAlreadyExistsException_WhenEmailExists() {
-        when(userRepository.existsByUsername(registerDto.getUsername())).thenReturn(false);
-        when(userRepository.existsById(registerDto.getId())).thenReturn(false);
-        when(userRepository.existsByEmail(registerDto.getEmail())).thenReturn(true);
+        doThrow(new UserAlreadyExistsException("Email '" + registerDto.getEmail() + "' already exists"))
+                .when(uniquenessChecker).checkNew(registerDto.getId(), registerDto.getUsername(), registerDto.getEmail(), registerDto.getPhoneNumber());
 
         UserAlreadyExistsException ex = assertThrows(UserAlreadyExistsException.class, () -> userService.save(registerDto));
 
@@ -132,10 +140,8 @@ class UserServiceImplTest {
 
     @Test
     void saveUser_ThrowsUserAlreadyExistsException_WhenPhoneExists() {
-        when(userRepository.existsByUsername(registerDto.getUsername())).thenReturn(false);
-        when(userRepository.existsById(registerDto.getId())).thenReturn(false);
-        when(userRepository.existsByEmail(registerDto.getEmail())).thenReturn(false);
-        when(userRepository.existsByPhoneNumber(registerDto.getPhoneNumber())).thenReturn(true);
+        doThrow(new UserAlreadyExistsException("Phone number '" + registerDto.getPhoneNumber() + "' already exists"))
+                .when(uniquenessChecker).checkNew(registerDto.getId(), registerDto.getUsername(), registerDto.getEmail(), registerDto.getPhoneNumber());
 
         UserAlreadyExistsException ex = assertThrows(UserAlreadyExistsException.class, () -> userService.save(registerDto));
 
@@ -143,13 +149,24 @@ class UserServiceImplTest {
         verify(userRepository, never()).save(any());
     }
 
+    @Test
+    void saveUser_TranslatesConstraintViolation() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("Duplicate entry");
+        when(referenceDataRegistry.findRole(role.getId())).thenReturn(Optional.of(role));
+        when(passwordEncoder.encode(registerDto.getPassword())).thenReturn("encodedPassword");
+        when(userRepository.save(any(User.class))).thenThrow(violation);
+        when(uniquenessChecker.translateNew(violation, registerDto.getId(), registerDto.getUsername(),
+                registerDto.getEmail(), registerDto.getPhoneNumber()))
+                .thenReturn(new UserAlreadyExistsException("Email '" + registerDto.getEmail() + "' already exists"));
+
+        UserAlreadyExistsException ex = assertThrows(UserAlreadyExistsException.class, () -> userService.save(registerDto));
+
+        assertEquals("Email '" + registerDto.getEmail() + "' already exists", ex.getMessage());
+    }
+
     @Test
     void saveUser_ThrowsResourceNotFoundException_WhenRoleNotFound() {
-        when(userRepository.existsByUsername(registerDto.getUsername())).thenReturn(false);
-        when(userRepository.existsById(registerDto.getId())).thenReturn(false);
-        when(userRepository.existsByEmail(registerDto.getEmail())).thenReturn(false);
-        when(userRepository.existsByPhoneNumber(registerDto.getPhoneNumber())).thenReturn(false);
-        when(roleRepository.findById(role.getId())).thenReturn(Optional.empty());
+        when(referenceDataRegistry.findRole(role.getId())).thenReturn(Optional.empty());
 
         ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class, () -> userService.save(registerDto));
 
@@ -201,6 +218,7 @@ class UserServiceImplTest {
 
         assertEquals(1, updated.getRoles().size());
         assertEquals("EMPLOYEE", updated.getRoles().get(0).getName());
+        assertEquals(UserSegment.COMPANY, updated.getSegment());
         verify(userRepository).save(updated);
     }
 
@@ -228,7 +246,8 @@ class UserServiceImplTest {
         updateDto.setRoleId(role.getId());
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userRepository.existsByUsername(updateDto.getUsername())).thenReturn(true);
+        doThrow(new UserAlreadyExistsException("Username '" + updateDto.getUsername() + "' already exists"))
+                .when(uniquenessChecker).checkChanges(1L, updateDto.getUsername(), updateDto.getEmail(), updateDto.getPhoneNumber());
 
         UserAlreadyExistsException ex = assertThrows(UserAlreadyExistsException.class, () -> userService.updateUser(1L, updateDto));
 
@@ -247,8 +266,8 @@ class UserServiceImplTest {
         updateDto.setRoleId(role.getId());
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userRepository.existsByUsername(updateDto.getUsername())).thenReturn(false);
-        when(userRepository.existsByEmail(updateDto.getEmail())).thenReturn(true);
+        doThrow(new UserAlreadyExistsException("Email '" + updateDto.getEmail() + "' already exists"))
+                .when(uniquenessChecker).checkChanges(1L, updateDto.getUsername(), updateDto.getEmail(), updateDto.getPhoneNumber());
 
         UserAlreadyExistsException ex = assertThrows(UserAlreadyExistsException.class, () -> userService.updateUser(1L, updateDto));
 
@@ -267,9 +286,8 @@ class UserServiceImplTest {
         updateDto.setRoleId(role.getId());
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userRepository.existsByUsername(updateDto.getUsername())).thenReturn(false);
-        when(userRepository.existsByEmail(updateDto.getEmail())).thenReturn(false);
-        when(userRepository.existsByPhoneNumber(updateDto.getPhoneNumber())).thenReturn(true);
+        doThrow(new UserAlreadyExistsException("Phone number '" + updateDto.getPhoneNumber() + "' already exists"))
+                .when(uniquenessChecker).checkChanges(1L, updateDto.getUsername(), updateDto.getEmail(), updateDto.getPhoneNumber());
 
         UserAlreadyExistsException ex = assertThrows(UserAlreadyExistsException.class, () -> userService.updateUser(1L, updateDto));
 
@@ -277,6 +295,22 @@ class UserServiceImplTest {
         verify(userRepository, never()).save(any());
     }
 
+    @Test
+    void updateUser_ChecksOnlyTheValuesThatChange() {
+        UpdateUserDto updateDto = new UpdateUserDto();
+        updateDto.setUsername(user.getUsername());
+        updateDto.setEmail("newemail@example.com");
+        updateDto.setPhoneNumber(user.getPhoneNumber());
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        User updated = userService.updateUser(1L, updateDto);
+
+        assertEquals("newemail@example.com", updated.getEmail());
+        verify(uniquenessChecker).checkChanges(1L, null, "newemail@example.com", null);
+    }
+
     @Test
     void updateUser_ThrowsResourceNotFoundException_WhenRoleNotFound() {
         UpdateUserDto updateDto = new UpdateUserDto();
@@ -288,10 +322,7 @@ class UserServiceImplTest {
         updateDto.setRoleId(999L);
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userRepository.existsByUsername(updateDto.getUsername())).thenReturn(false);
-        when(userRepository.existsByEmail(updateDto.getEmail())).thenReturn(false);
-        when(userRepository.existsByPhoneNumber(updateDto.getPhoneNumber())).thenReturn(false);
-        when(roleRepository.findById(updateDto.getRoleId())).thenReturn(Optional.empty());
+        when(referenceDataRegistry.findRole(updateDto.getRoleId())).thenReturn(Optional.empty());
 
         ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class, () -> userService.updateUser(1L, updateDto));
 
@@ -310,6 +341,7 @@ class UserServiceImplTest {
 
     assertTrue(activatedUser.isEnabled());
     verify(userRepository).save(user);
+    verify(userDetailsCache).evict("esteban123");
 }
 
     @Test
@@ -332,6 +364,9 @@ class UserServiceImplTest {
 
         assertFalse(disabledUser.isEnabled());
         verify(userRepository).save(user);
+        verify(userDetailsCache).evict("esteban123");
+        verify(tokenCutoffService).revokeTokens(user);
+        verify(refreshTokenService).revokeAll(1L);
     }
 
     @Test
@@ -358,6 +393,9 @@ class UserServiceImplTest {
 
         assertEquals("encodedPassword", updatedUser.getPassword());
         verify(userRepository).save(user);
+        verify(userDetailsCache).evict("esteban123");
+        verify(tokenCutoffService).revokeTokens(user);
+        verify(refreshTokenService).revokeAll(1L);
     }
 
     @Test
@@ -378,55 +416,62 @@ class UserServiceImplTest {
         Long userId = 1L;
         User user = new User();
         user.setId(userId);
+        user.setUsername("esteban123");
 
-        Order order1 = new Order();
-        order1.setId(10L);
-        order1.setUser(user);
-
-        Order order2 = new Order();
-        order2.setId(20L);
-        order2.setUser(user);
-
-        // Mock user found
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userDeletionService.deleteRecordsOf(userId))
+                .thenReturn(new TreeSet<>(List.of(YearMonth.of(2025, 3), YearMonth.of(2025, 4))));
 
-        // Mock orders list (filter in service streams)
-        when(orderRepository.findAll()).thenReturn(List.of(order1, order2));
+        userService.deleteUser(userId);
 
-        // Bills for orders
-        var bill1 = mock(com.goldeneggs.Bill.Bill.class);
-        var bill2 = mock(com.goldeneggs.Bill.Bill.class);
+        var inOrder = inOrder(userDeletionService, userRepository);
+        inOrder.verify(userDeletionService).deleteRecordsOf(userId);
+        inOrder.verify(userRepository).delete(user);
+        verify(tokenCutoffService).revokeTokens(user);
+        verify(refreshTokenService).revokeAll(userId);
+        verify(userDetailsCache).evict("esteban123");
+        verify(monthlyCounterService).rebuild(YearMonth.of(2025, 3));
+        verify(monthlyCounterService).rebuild(YearMonth.of(2025, 4));
+    }
 
-        when(billRepository.findAll()).thenReturn(List.of(bill1, bill2));
+    @Test
+    void deleteUser_RebuildsTheRankingsOfTheAffectedMonths() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userDeletionService.deleteRecordsOf(1L))
+                .thenReturn(new TreeSet<>(List.of(YearMonth.of(2025, 3), YearMonth.of(2025, 4))));
 
-        // bill1 linked to order1, bill2 linked to order2
-        when(bill1.getOrder()).thenReturn(order1);
-        when(bill2.getOrder()).thenReturn(order2);
+        userService.deleteUser(1L);
 
-        // payRepository.deleteAllByBill should be called
-        doNothing().when(payRepository).deleteAllByBill(bill1);
-        doNothing().when(payRepository).deleteAllByBill(bill2);
+        var inOrder = inOrder(userRepository, monthlyRankingService);
+        inOrder.verify(userRepository).delete(user);
+        inOrder.verify(monthlyRankingService).rebuild(YearMonth.of(2025, 3));
+        inOrder.verify(monthlyRankingService).rebuild(YearMonth.of(2025, 4));
+        verifyNoMoreInteractions(monthlyRankingService);
+    }
 
-        // billRepository.delete should be called
-        doNothing().when(billRepository).delete(bill1);
-        doNothing().when(billRepository).delete(bill2);
+    @Test
+    void softDeleteUser_DisablesTheUserAndKeepsTheirRecords() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(i -> i.getArgument(0));
 
-        // orderRepository.delete should be called
-        doNothing().when(orderRepository).delete(order1);
-        doNothing().when(orderRepository).delete(order2);
+        User deleted = userService.softDeleteUser(1L);
 
-        // userRepository.delete should be called
-        doNothing().when(userRepository).delete(user);
+        assertFalse(deleted.isEnabled());
+        assertNotNull(deleted.getDeletedAt());
+        verify(tokenCutoffService).revokeTokens(user);
+        verify(refreshTokenService).revokeAll(1L);
+        verify(userDetailsCache).evict("esteban123");
+        verifyNoInteractions(userDeletionService, monthlyCounterService);
+        verify(userRepository, never()).delete(any());
+    }
 
-        userService.deleteUser(userId);
+    @Test
+    void softDeleteUser_ThrowsResourceNotFoundException() {
+        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> userService.softDeleteUser(999L));
 
-        verify(payRepository).deleteAllByBill(bill1);
-        verify(payRepository).deleteAllByBill(bill2);
-        verify(billRepository).delete(bill1);
-        verify(billRepository).delete(bill2);
-        verify(orderRepository).delete(order1);
-        verify(orderRepository).delete(order2);
-        verify(userRepository).delete(user);
+        verify(userRepository, never()).save(any());
     }
 
     @Test
@@ -464,11 +509,7 @@ class UserServiceImplTest {
         Role role = new Role();
         role.setId(1L);
 
-        when(userRepository.existsByUsername(dto.getUsername())).thenReturn(false);
-        when(userRepository.existsById(dto.getId())).thenReturn(false);
-        when(userRepository.existsByEmail(dto.getEmail())).thenReturn(false);
-        when(userRepository.existsByPhoneNumber(dto.getPhoneNumber())).thenReturn(false);
-        when(roleRepository.findById(dto.getRoleId())).thenReturn(Optional.of(role));
+        when(referenceDataRegistry.findRole(dto.getRoleId())).thenReturn(Optional.of(role));
         when(passwordEncoder.encode(dto.getPassword())).thenReturn("encodedPass");
         when(userRepository.save(any(User.class))).thenAnswer(i -> i.getArgument(0));
 
@@ -568,14 +609,33 @@ class UserServiceImplTest {
     }
 
     @Test
-    void getAllUsers_ShouldReturnListOfUsers() {
-        List<User> users = Arrays.asList(new User(), new User());
-        when(userRepository.findAll()).thenReturn(users);
+    void getAllUsers_SearchesTheDirectoryByPrefixAndRole() {
+        Pageable pageable = PageRequest.of(0, 20);
+        UserSummaryDto summary = new UserSummaryDto(1L, "Esteban", "esteban123", "test@example.com",
+                "1234567", "Calle Falsa 123", true);
+        when(userRepository.searchDirectory("est%", "ADMIN", null, pageable))
+                .thenReturn(new PageImpl<>(List.of(summary), pageable, 1));
+
+        Page<UserSummaryDto> result = userService.getAllUsers(" est ", " ADMIN ", pageable);
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals("esteban123", result.getContent().get(0).getUsername());
+    }
+
+    @Test
+    void getAllUsers_ListsEveryone_WhenThereIsNoFilter() {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(userRepository.searchDirectory(null, null, null, pageable)).thenReturn(Page.empty(pageable));
 
-        List<User> result = userService.getAllUsers();
+        Page<UserSummaryDto> result = userService.getAllUsers("  ", "", pageable);
 
-        assertEquals(2, result.size());
-        verify(userRepository).findAll();
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void prefixPattern_EscapesTheWildcards() {
+        assertEquals("50!%!_off!!%", UserServiceImpl.prefixPattern("50%_off!"));
+        assertNull(UserServiceImpl.prefixPattern(null));
     }
 
     @Test
@@ -599,56 +659,40 @@ class UserServiceImplTest {
     }
 
     @Test
-    void getAllCustomers_ShouldReturnListOfCustomers() {
-        User customer1 = new User();
-        customer1.setUsername("customer1");
-        User customer2 = new User();
-        customer2.setUsername("customer2");
-
-        Role customerRole = new Role();
-        customerRole.setName("CUSTOMER");
-        customer1.setRoles(List.of(customerRole));
-        customer2.setRoles(List.of(customerRole));
+    void getAllCustomers_ShouldReturnPageOfEnabledCustomers() {
+        Pageable pageable = PageRequest.of(0, 20);
+        UserSummaryDto customer1 = new UserSummaryDto(1L, "Customer One", "customer1", "c1@x.com", "1111111", "A", true);
+        UserSummaryDto customer2 = new UserSummaryDto(2L, "Customer Two", "customer2", "c2@x.com", "2222222", "B", true);
+        when(userRepository.searchDirectory(null, "CUSTOMER", true, pageable))
+                .thenReturn(new PageImpl<>(List.of(customer1, customer2), pageable, 2));
 
-        when(userRepository.findAllByRoleNameAndEnabledIsTrue("CUSTOMER"))
-                .thenReturn(List.of(customer1, customer2));
+        Page<UserSummaryDto> result = userService.getAllCustomers(null, pageable);
 
-        List<User> result = userService.getAllCustomers();
-
-        assertEquals(2, result.size());
-        assertEquals("customer1", result.get(0).getUsername());
-        verify(userRepository).findAllByRoleNameAndEnabledIsTrue("CUSTOMER");
+        assertEquals(2, result.getContent().size());
+        assertEquals("customer1", result.getContent().get(0).getUsername());
     }
 
     @Test
-    void testGetAllEmployee_ReturnsList() {
-        Role role = Role.builder().name("EMPLOYEE").build();
-
-        User user = new User();
-        user.setId(1L);
-        user.setUsername("employee1");
-        user.setEnabled(true);
-        user.setRoles(List.of(role));
-
-        when(userRepository.findAllByRoleNameAndEnabledIsTrue("EMPLOYEE"))
-                .thenReturn(List.of(user));
+    void testGetAllEmployee_ReturnsPage() {
+        Pageable pageable = PageRequest.of(0, 20);
+        UserSummaryDto employee = new UserSummaryDto(1L, "Employee", "employee1", "e@x.com", "3333333", "C", true);
+        when(userRepository.searchDirectory("emp%", "EMPLOYEE", true, pageable))
+                .thenReturn(new PageImpl<>(List.of(employee), pageable, 1));
 
-        List<User> result = userService.getAllEmployee();
+        Page<UserSummaryDto> result = userService.getAllEmployee("emp", pageable);
 
-        assertEquals(1, result.size());
-        assertEquals("employee1", result.get(0).getUsername());
-        verify(userRepository).findAllByRoleNameAndEnabledIsTrue("EMPLOYEE");
+        assertEquals(1, result.getContent().size());
+        assertEquals("employee1", result.getContent().get(0).getUsername());
     }
 
     @Test
-    void testGetAllEmployee_ReturnsEmptyList() {
-        when(userRepository.findAllByRoleNameAndEnabledIsTrue("EMPLOYEE"))
-                .thenReturn(Collections.emptyList());
+    void testGetAllEmployee_ReturnsEmptyPage() {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(userRepository.searchDirectory(null, "EMPLOYEE", true, pageable)).thenReturn(Page.empty(pageable));
 
-        List<User> result = userService.getAllEmployee();
+        Page<UserSummaryDto> result = userService.getAllEmployee(null, pageable);
 
         assertTrue(result.isEmpty());
-        verify(userRepository).findAllByRoleNameAndEnabledIsTrue("EMPLOYEE");
     }
 
     @Test
@@ -730,6 +774,27 @@ class UserServiceImplTest {
         assertEquals("New Name", updated.getName());
         assertEquals("New Address", updated.getAddress());
         verify(userRepository).save(updated);
+        verifyNoInteractions(tokenCutoffService);
+    }
+
+    @Test
+    void updateUser_updateUsername_evictsThePreviousUsername() {
+        Long id = 1L;
+        UpdateUserDto dto = new UpdateUserDto();
+        dto.setUsername("newUsername");
+
+        User existingUser = new User();
+        existingUser.setId(id);
+        existingUser.setUsername("oldUsername");
+
+        when(userRepository.findById(id)).thenReturn(Optional.of(existingUser));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        User updated = userService.updateUser(id, dto);
+
+        assertEquals("newUsername", updated.getUsername());
+        verify(userDetailsCache).evict("oldUsername");
+        verify(tokenCutoffService).revokeTokens(existingUser);
     }
 
     @Test
@@ -743,7 +808,7 @@ class UserServiceImplTest {
         existingUser.setUsername("oldUsername");
 
         when(userRepository.findById(id)).thenReturn(Optional.of(existingUser));
-        when(userRepository.existsByUsername("existingUsername")).thenReturn(true);
+        doThrow(new UserAlreadyExistsException("taken")).when(uniquenessChecker).checkChanges(id, "existingUsername", null, null);
 
         assertThrows(UserAlreadyExistsException.class, () -> userService.updateUser(id, dto));
     }
@@ -759,7 +824,7 @@ class UserServiceImplTest {
         existingUser.setEmail("oldEmail@test.com");
 
         when(userRepository.findById(id)).thenReturn(Optional.of(existingUser));
-        when(userRepository.existsByEmail("existingEmail@test.com")).thenReturn(true);
+        doThrow(new UserAlreadyExistsException("taken")).when(uniquenessChecker).checkChanges(id, null, "existingEmail@test.com", null);
 
         assertThrows(UserAlreadyExistsException.class, () -> userService.updateUser(id, dto));
     }
@@ -775,7 +840,7 @@ class UserServiceImplTest {
         existingUser.setPhoneNumber("9999999");
 
         when(userRepository.findById(id)).thenReturn(Optional.of(existingUser));
-        when(userRepository.existsByPhoneNumber("1234567")).thenReturn(true);
+        doThrow(new UserAlreadyExistsException("taken")).when(uniquenessChecker).checkChanges(id, null, null, "1234567");
 
         assertThrows(UserAlreadyExistsException.class, () -> userService.updateUser(id, dto));
     }
@@ -0,0 +1,96 @@
+package com.goldeneggs.User;
+
+import com.goldeneggs.Dto.UserIdentityDto;
+import com.goldeneggs.Exception.UserAlreadyExistsException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserUniquenessCheckerTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Test
+    void checkNew_ReportsEveryConflictWithOneQuery() {
+        UserUniquenessChecker checker = new UserUniquenessChecker(userRepository, true);
+        when(userRepository.findIdentitiesHolding(1L, "esteban", "e@x.com", "1234567")).thenReturn(List.of(
+                new UserIdentityDto(7L, "Esteban", "other@x.com", "7654321"),
+                new UserIdentityDto(8L, "someone", "other2@x.com", "1234567")));
+
+        UserAlreadyExistsException ex = assertThrows(UserAlreadyExistsException.class,
+                () -> checker.checkNew(1L, "esteban", "e@x.com", "1234567"));
+
+        assertEquals("Username 'esteban' already exists; Phone number '1234567' already exists", ex.getMessage());
+        verify(userRepository, times(1)).findIdentitiesHolding(any(), any(), any(), any());
+    }
+
+    @Test
+    void checkNew_Passes_WhenNothingIsTaken() {
+        UserUniquenessChecker checker = new UserUniquenessChecker(userRepository, true);
+        when(userRepository.findIdentitiesHolding(1L, "esteban", "e@x.com", "1234567")).thenReturn(List.of());
+
+        assertDoesNotThrow(() -> checker.checkNew(1L, "esteban", "e@x.com", "1234567"));
+    }
+
+    @Test
+    void checkNew_OnlyChecksTheId_WhenPrecheckIsOff() {
+        UserUniquenessChecker checker = new UserUniquenessChecker(userRepository, false);
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        UserAlreadyExistsException ex = assertThrows(UserAlreadyExistsException.class,
+                () -> checker.checkNew(1L, "esteban", "e@x.com", "1234567"));
+
+        assertEquals("User with ID 1 already exists", ex.getMessage());
+        verify(userRepository, never()).findIdentitiesHolding(any(), any(), any(), any());
+    }
+
+    @Test
+    void checkChanges_IgnoresTheUserBeingUpdated() {
+        UserUniquenessChecker checker = new UserUniquenessChecker(userRepository, true);
+        when(userRepository.findIdentitiesHolding(null, null, "e@x.com", null))
+                .thenReturn(List.of(new UserIdentityDto(1L, "esteban", "E@x.com", "1234567")));
+
+        assertDoesNotThrow(() -> checker.checkChanges(1L, null, "e@x.com", null));
+    }
+
+    @Test
+    void checkChanges_DoesNothing_WhenNothingChanges() {
+        UserUniquenessChecker checker = new UserUniquenessChecker(userRepository, true);
+
+        checker.checkChanges(1L, null, null, null);
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void translateChanges_MapsTheViolationToTheTakenValue() {
+        UserUniquenessChecker checker = new UserUniquenessChecker(userRepository, false);
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("Duplicate entry");
+        when(userRepository.findIdentitiesHolding(null, "taken", null, null))
+                .thenReturn(List.of(new UserIdentityDto(9L, "taken", "t@x.com", "5555555")));
+
+        RuntimeException translated = checker.translateChanges(violation, 1L, "taken", null, null);
+
+        assertInstanceOf(UserAlreadyExistsException.class, translated);
+        assertEquals("Username 'taken' already exists", translated.getMessage());
+    }
+
+    @Test
+    void translateNew_ReturnsTheViolation_WhenNoValueIsTaken() {
+        UserUniquenessChecker checker = new UserUniquenessChecker(userRepository, false);
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("Data too long");
+        when(userRepository.findIdentitiesHolding(1L, "esteban", "e@x.com", "1234567")).thenReturn(List.of());
+
+        assertSame(violation, checker.translateNew(violation, 1L, "esteban", "e@x.com", "1234567"));
+    }
+}
@@ -0,0 +1,127 @@
+package com.goldeneggs.VisitCount;
+
+import com.goldeneggs.Dto.WebVisit.VisitCountDto;
+import com.goldeneggs.WebVisit.WebVisitRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VisitCountServiceTest {
+
+    @Mock
+    private VisitCountRepository countRepository;
+
+    @Mock
+    private WebVisitRepository webVisitRepository;
+
+    private VisitCountService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new VisitCountService(countRepository, webVisitRepository, 30, 2);
+    }
+
+    @Test
+    void rollUp_RecomputesTheLookbackAndTheCompletedHours() {
+        when(countRepository.findLatestBucketStart()).thenReturn(LocalDateTime.of(2025, 3, 1, 9, 0));
+
+        LocalDateTime end = service.rollUp(LocalDateTime.of(2025, 3, 1, 11, 5, 30));
+
+        assertEquals(LocalDateTime.of(2025, 3, 1, 11, 0), end);
+        verify(countRepository).rollUp(LocalDateTime.of(2025, 3, 1, 7, 0), LocalDateTime.of(2025, 3, 1, 11, 0));
+        verifyNoInteractions(webVisitRepository);
+    }
+
+    @Test
+    void rollUp_StartsAtTheOldestVisit_WhenNothingWasRolledUp() {
+        when(webVisitRepository.findEarliestTimestamp()).thenReturn(LocalDateTime.of(2025, 2, 1, 14, 42));
+
+        service.rollUp(LocalDateTime.of(2025, 3, 1, 11, 5));
+
+        verify(countRepository).rollUp(LocalDateTime.of(2025, 2, 1, 14, 0), LocalDateTime.of(2025, 3, 1, 11, 0));
+    }
+
+    @Test
+    void rollUp_DoesNothing_WhenThereAreNoVisits() {
+        assertNull(service.rollUp(LocalDateTime.of(2025, 3, 1, 11, 5)));
+
+        verify(countRepository, never()).rollUp(any(), any());
+    }
+
+    @Test
+    void purge_DeletesInChunksUntilAChunkIsShort() {
+        LocalDateTime cutoff = LocalDateTime.of(2025, 1, 30, 11, 0);
+        when(webVisitRepository.deleteOlderThan(cutoff, 2)).thenReturn(2, 2, 1);
+
+        long deleted = service.purge(LocalDateTime.of(2025, 3, 1, 11, 0), LocalDateTime.of(2025, 3, 1, 11, 5));
+
+        assertEquals(5, deleted);
+        verify(webVisitRepository, times(3)).deleteOlderThan(cutoff, 2);
+    }
+
+    @Test
+    void purge_KeepsTheVisitsThatWereNotRolledUp() {
+        LocalDateTime rolledUpTo = LocalDateTime.of(2025, 1, 2, 0, 0);
+
+        service.purge(rolledUpTo, LocalDateTime.of(2025, 3, 1, 11, 5));
+
+        verify(webVisitRepository).deleteOlderThan(rolledUpTo, 2);
+    }
+
+    @Test
+    void totalVisits_AddsTheRawVisitsAfterTheLatestRollup() {
+        when(countRepository.findLatestBucketStart()).thenReturn(LocalDateTime.of(2025, 3, 1, 10, 0));
+        when(countRepository.sumVisits()).thenReturn(1000L);
+        when(webVisitRepository.countByTimestampGreaterThanEqual(LocalDateTime.of(2025, 3, 1, 11, 0))).thenReturn(7L);
+
+        assertEquals(1007L, service.totalVisits());
+        verify(webVisitRepository, never()).count();
+    }
+
+    @Test
+    void totalVisits_CountsTheRawVisits_WhenNothingWasRolledUp() {
+        when(webVisitRepository.count()).thenReturn(12L);
+
+        assertEquals(12L, service.totalVisits());
+    }
+
+    @Test
+    void daily_AddsUpTheHoursOfEachDay() {
+        when(countRepository.findByBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+                LocalDateTime.of(2025, 3, 1, 0, 0), LocalDateTime.of(2025, 3, 3, 0, 0)))
+                .thenReturn(List.of(
+                        count(LocalDateTime.of(2025, 3, 1, 8, 0), 3),
+                        count(LocalDateTime.of(2025, 3, 1, 9, 0), 4),
+                        count(LocalDateTime.of(2025, 3, 2, 23, 0), 5)));
+
+        List<VisitCountDto> daily = service.daily(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 2));
+
+        assertEquals(List.of(new VisitCountDto("2025-03-01", 7), new VisitCountDto("2025-03-02", 5)), daily);
+    }
+
+    @Test
+    void hourly_ListsEachRolledUpHour() {
+        when(countRepository.findByBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStartAsc(
+                LocalDateTime.of(2025, 3, 1, 0, 0), LocalDateTime.of(2025, 3, 2, 0, 0)))
+                .thenReturn(List.of(count(LocalDateTime.of(2025, 3, 1, 8, 0), 3)));
+
+        List<VisitCountDto> hourly = service.hourly(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 1));
+
+        assertEquals(List.of(new VisitCountDto("2025-03-01T08:00", 3)), hourly);
+    }
+
+    private static VisitCount count(LocalDateTime bucketStart, long visits) {
+        return VisitCount.builder().bucketStart(bucketStart).visits(visits).build();
+    }
+}
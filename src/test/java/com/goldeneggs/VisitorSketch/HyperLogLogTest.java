@@ -0,0 +1,82 @@
+package com.goldeneggs.VisitorSketch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    @Test
+    void estimate_IsZero_ForAnEmptySketch() {
+        assertEquals(0L, new HyperLogLog().estimate());
+    }
+
+    @Test
+    void estimate_IgnoresRepeatedValues() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 1000; i++) {
+            sketch.add("10.0.0." + (i % 10));
+        }
+
+        assertEquals(10L, sketch.estimate());
+    }
+
+    @Test
+    void estimate_StaysWithinTwoPercent_ForLargeCardinalities() {
+        HyperLogLog sketch = new HyperLogLog();
+        int distinct = 200_000;
+        for (int i = 0; i < distinct; i++) {
+            sketch.add(ip(i));
+        }
+
+        double error = Math.abs(sketch.estimate() - distinct) / (double) distinct;
+        assertTrue(error < 0.02, "Relative error was " + error);
+    }
+
+    @Test
+    void merge_CountsTheUnionOfBothSketches() {
+        HyperLogLog first = new HyperLogLog();
+        HyperLogLog second = new HyperLogLog();
+        for (int i = 0; i < 3000; i++) {
+            first.add(ip(i));
+        }
+        for (int i = 2000; i < 5000; i++) {
+            second.add(ip(i));
+        }
+
+        first.merge(second);
+
+        double error = Math.abs(first.estimate() - 5000) / 5000.0;
+        assertTrue(error < 0.02, "Relative error was " + error);
+    }
+
+    @Test
+    void add_ReportsWhetherTheSketchChanged() {
+        HyperLogLog sketch = new HyperLogLog();
+
+        assertTrue(sketch.add("10.0.0.1"));
+        assertFalse(sketch.add("10.0.0.1"));
+    }
+
+    @Test
+    void fromBytes_RestoresTheSketch() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 500; i++) {
+            sketch.add(ip(i));
+        }
+
+        HyperLogLog restored = HyperLogLog.fromBytes(sketch.toBytes());
+
+        assertEquals(HyperLogLog.REGISTERS, sketch.toBytes().length);
+        assertEquals(sketch.estimate(), restored.estimate());
+    }
+
+    @Test
+    void fromBytes_RejectsArraysOfAnotherSize() {
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[16]));
+    }
+
+    private static String ip(int i) {
+        return (i >>> 24 & 0xff) + "." + (i >>> 16 & 0xff) + "." + (i >>> 8 & 0xff) + "." + (i & 0xff);
+    }
+}
@@ -0,0 +1,133 @@
+package com.goldeneggs.VisitorSketch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VisitorSketchServiceTest {
+
+    @Mock
+    private VisitorSketchRepository sketchRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private VisitorSketchService sketchService;
+
+    @Test
+    void uniqueVisitors_IncludesVisitsNotFlushedYet() {
+        sketchService.record("10.0.0.1", LocalDateTime.of(2025, 3, 2, 10, 0));
+        sketchService.record("10.0.0.1", LocalDateTime.of(2025, 3, 2, 11, 0));
+        sketchService.record("10.0.0.2", LocalDateTime.of(2025, 3, 3, 9, 0));
+        when(sketchRepository.findByGranularityAndPeriodIn(eq(SketchGranularity.DAY), anyCollection()))
+                .thenReturn(List.of());
+
+        assertEquals(2L, sketchService.uniqueVisitors(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 10)));
+        assertEquals(1L, sketchService.uniqueVisitors(LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 3)));
+    }
+
+    @Test
+    void uniqueVisitors_UsesMonthSketchesForWholeMonthsAndDaysForTheRest() {
+        when(sketchRepository.findByGranularityAndPeriodIn(eq(SketchGranularity.MONTH), anyCollection()))
+                .thenReturn(List.of(stored(SketchGranularity.MONTH, "2025-02", "10.0.0.1", "10.0.0.2")));
+        when(sketchRepository.findByGranularityAndPeriodIn(eq(SketchGranularity.DAY), anyCollection()))
+                .thenReturn(List.of(stored(SketchGranularity.DAY, "2025-03-01", "10.0.0.2", "10.0.0.3")));
+
+        long unique = sketchService.uniqueVisitors(LocalDate.of(2025, 1, 30), LocalDate.of(2025, 3, 1));
+
+        assertEquals(3L, unique);
+        verify(sketchRepository).findByGranularityAndPeriodIn(SketchGranularity.MONTH, List.of("2025-02"));
+        verify(sketchRepository).findByGranularityAndPeriodIn(SketchGranularity.DAY,
+                List.of("2025-01-30", "2025-01-31", "2025-03-01"));
+    }
+
+    @Test
+    void flush_MergesPendingVisitorsIntoStoredSketches() {
+        runTransactionsInline();
+        VisitorSketch day = stored(SketchGranularity.DAY, "2025-03-02", "10.0.0.1");
+        when(sketchRepository.findByGranularityAndPeriod(SketchGranularity.DAY, "2025-03-02"))
+                .thenReturn(Optional.of(day));
+        when(sketchRepository.findByGranularityAndPeriod(SketchGranularity.MONTH, "2025-03"))
+                .thenReturn(Optional.empty());
+        sketchService.record("10.0.0.2", LocalDateTime.of(2025, 3, 2, 10, 0));
+
+        sketchService.flush();
+
+        ArgumentCaptor<VisitorSketch> captor = ArgumentCaptor.forClass(VisitorSketch.class);
+        verify(sketchRepository, times(2)).save(captor.capture());
+        for (VisitorSketch saved : captor.getAllValues()) {
+            long expected = saved.getGranularity() == SketchGranularity.DAY ? 2L : 1L;
+            assertEquals(expected, HyperLogLog.fromBytes(saved.getRegisters()).estimate());
+            assertNotNull(saved.getUpdatedAt());
+        }
+    }
+
+    @Test
+    void flush_KeepsPendingVisitors_WhenTheMergeFails() {
+        doThrow(new IllegalStateException("down")).when(transactionTemplate).executeWithoutResult(any());
+        sketchService.record("10.0.0.1", LocalDateTime.of(2025, 3, 2, 10, 0));
+
+        assertThrows(IllegalStateException.class, () -> sketchService.flush());
+
+        when(sketchRepository.findByGranularityAndPeriodIn(eq(SketchGranularity.DAY), anyCollection()))
+                .thenReturn(List.of());
+        assertEquals(1L, sketchService.uniqueVisitors(LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 2)));
+    }
+
+    @Test
+    void flush_DoesNothing_WhenNoVisitWasRecorded() {
+        sketchService.flush();
+
+        verifyNoInteractions(transactionTemplate, sketchRepository);
+    }
+
+    @Test
+    void initialize_SkipsBackfill_WhenSketchesExist() {
+        when(sketchRepository.count()).thenReturn(3L);
+
+        sketchService.initialize();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private void runTransactionsInline() {
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private static VisitorSketch stored(SketchGranularity granularity, String period, String... ips) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (String ip : ips) {
+            sketch.add(ip);
+        }
+        return VisitorSketch.builder()
+                .granularity(granularity)
+                .period(period)
+                .registers(sketch.toBytes())
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.goldeneggs.WebVisit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VisitThrottleTest {
+
+    @Test
+    void tryAcquire_SuppressesRepeatedVisitsWithinTheWindow() {
+        VisitThrottle throttle = new VisitThrottle(60, 1, 100);
+
+        assertTrue(throttle.tryAcquire("10.0.0.1", 0));
+        assertFalse(throttle.tryAcquire("10.0.0.1", 30_000));
+        assertFalse(throttle.tryAcquire("10.0.0.1", 59_999));
+        assertTrue(throttle.tryAcquire("10.0.0.2", 30_000));
+        assertTrue(throttle.tryAcquire("10.0.0.1", 60_000));
+
+        assertEquals(2L, throttle.suppressed());
+    }
+
+    @Test
+    void tryAcquire_AllowsSeveralVisitsPerSlidingWindow() {
+        VisitThrottle throttle = new VisitThrottle(10, 2, 100);
+
+        assertTrue(throttle.tryAcquire("10.0.0.1", 0));
+        assertTrue(throttle.tryAcquire("10.0.0.1", 4_000));
+        assertFalse(throttle.tryAcquire("10.0.0.1", 8_000));
+        assertTrue(throttle.tryAcquire("10.0.0.1", 10_000));
+        assertFalse(throttle.tryAcquire("10.0.0.1", 13_000));
+        assertTrue(throttle.tryAcquire("10.0.0.1", 14_000));
+    }
+
+    @Test
+    void tryAcquire_ForgetsTheLeastRecentlySeenIp_WhenTheTableIsFull() {
+        VisitThrottle throttle = new VisitThrottle(60, 1, 2);
+
+        throttle.tryAcquire("10.0.0.1", 0);
+        throttle.tryAcquire("10.0.0.2", 1_000);
+        throttle.tryAcquire("10.0.0.1", 2_000);
+        throttle.tryAcquire("10.0.0.3", 3_000);
+
+        assertEquals(2, throttle.tracked());
+        assertTrue(throttle.tryAcquire("10.0.0.2", 4_000));
+        assertFalse(throttle.tryAcquire("10.0.0.3", 5_000));
+    }
+
+    @Test
+    void tryAcquire_CountsVisitsWithoutAnIp() {
+        VisitThrottle throttle = new VisitThrottle(60, 1, 2);
+
+        assertTrue(throttle.tryAcquire(null, 0));
+        assertTrue(throttle.tryAcquire(null, 0));
+        assertEquals(0, throttle.tracked());
+    }
+}
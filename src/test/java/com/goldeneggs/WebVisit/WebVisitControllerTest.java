@@ -1,5 +1,7 @@
 package com.goldeneggs.WebVisit;
 
+import com.goldeneggs.Dto.WebVisit.VisitBufferStatsDto;
+import com.goldeneggs.Dto.WebVisit.VisitCountDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +16,9 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import jakarta.servlet.http.HttpServletRequest;
 
+import java.time.LocalDate;
+import java.util.List;
+
 
 @ExtendWith(MockitoExtension.class)
 class WebVisitControllerTest {
@@ -53,5 +58,62 @@ class WebVisitControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("10"));
     }
-}
 
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void testGetBufferStats() throws Exception {
+        when(service.getBufferStats()).thenReturn(new VisitBufferStatsDto(100, 3, 50L, 40L, 7L, 0L, 12L));
+
+        mockMvc.perform(get("/api/v1/visits/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.buffered").value(3))
+                .andExpect(jsonPath("$.dropped").value(7))
+                .andExpect(jsonPath("$.suppressed").value(12));
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void testGetUniqueVisitors() throws Exception {
+        when(service.getUniqueVisitors(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31))).thenReturn(17L);
+
+        mockMvc.perform(get("/api/v1/visits/unique").param("from", "2025-03-01").param("to", "2025-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("17"));
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void testGetUniqueVisitors_BadRange() throws Exception {
+        mockMvc.perform(get("/api/v1/visits/unique").param("from", "2025-03-31").param("to", "2025-03-01"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/visits/unique").param("from", "march").param("to", "2025-03-01"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void testGetVisitCounts() throws Exception {
+        when(service.getVisitCounts(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 2), true))
+                .thenReturn(List.of(new VisitCountDto("2025-03-01", 12L)));
+
+        mockMvc.perform(get("/api/v1/visits/counts").param("from", "2025-03-01").param("to", "2025-03-02")
+                        .param("granularity", "day"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].period").value("2025-03-01"))
+                .andExpect(jsonPath("$[0].visits").value(12));
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void testGetVisitCounts_BadParameters() throws Exception {
+        mockMvc.perform(get("/api/v1/visits/counts").param("from", "2025-03-02").param("to", "2025-03-01"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/visits/counts").param("from", "2025-03-01").param("to", "2025-03-02")
+                        .param("granularity", "WEEK"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(service);
+    }
+}
@@ -0,0 +1,127 @@
+package com.goldeneggs.WebVisit;
+
+import com.goldeneggs.Dto.WebVisit.VisitBufferStatsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebVisitRecorderTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private Executor flushExecutor;
+
+    private WebVisitRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        recorder = new WebVisitRecorder(jdbcTemplate, flushExecutor, 4, 2);
+    }
+
+    @Test
+    void record_BuffersWithoutTouchingTheDatabase() {
+        assertTrue(recorder.record(visit("10.0.0.1")));
+
+        assertEquals(1, recorder.pending());
+        verifyNoInteractions(jdbcTemplate, flushExecutor);
+    }
+
+    @Test
+    void record_RequestsAFlush_WhenABatchIsWaiting() {
+        recorder.record(visit("10.0.0.1"));
+        recorder.record(visit("10.0.0.2"));
+
+        verify(flushExecutor).execute(any());
+    }
+
+    @Test
+    void record_KeepsTheVisit_WhenAFlushIsAlreadyPending() {
+        doThrow(new TaskRejectedException("busy")).when(flushExecutor).execute(any());
+
+        recorder.record(visit("10.0.0.1"));
+
+        assertTrue(recorder.record(visit("10.0.0.2")));
+        assertEquals(2, recorder.pending());
+    }
+
+    @Test
+    void record_DropsAndCounts_WhenTheBufferIsFull() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(recorder.record(visit("10.0.0." + i)));
+        }
+
+        assertFalse(recorder.record(visit("10.0.0.9")));
+
+        VisitBufferStatsDto stats = recorder.stats();
+        assertEquals(4, stats.getCapacity());
+        assertEquals(4, stats.getBuffered());
+        assertEquals(4L, stats.getRecorded());
+        assertEquals(1L, stats.getDropped());
+    }
+
+    @Test
+    void flush_WritesTheBufferInBatches() {
+        recorder.record(visit("10.0.0.1"));
+        recorder.record(visit("10.0.0.2"));
+        recorder.record(visit("10.0.0.3"));
+
+        assertEquals(3, recorder.flush());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), captor.capture());
+        assertEquals(2, captor.getAllValues().get(0).size());
+        assertEquals("10.0.0.1", captor.getAllValues().get(0).get(0)[0]);
+        assertEquals(1, captor.getAllValues().get(1).size());
+        assertEquals(0, recorder.pending());
+        assertEquals(3L, recorder.stats().getFlushed());
+    }
+
+    @Test
+    void flush_CountsFailedBatchAndKeepsTheRest() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+        recorder.record(visit("10.0.0.1"));
+        recorder.record(visit("10.0.0.2"));
+        recorder.record(visit("10.0.0.3"));
+
+        assertEquals(0, recorder.flush());
+
+        assertEquals(2L, recorder.stats().getFailed());
+        assertEquals(1, recorder.pending());
+    }
+
+    @Test
+    void shutdown_FlushesWhatIsBuffered() {
+        recorder.record(visit("10.0.0.1"));
+
+        recorder.shutdown();
+
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+        assertEquals(0, recorder.pending());
+    }
+
+    private static WebVisit visit(String ip) {
+        WebVisit visit = new WebVisit();
+        visit.setIp(ip);
+        visit.setTimestamp(LocalDateTime.now());
+        return visit;
+    }
+}
@@ -1,5 +1,9 @@
 package com.goldeneggs.WebVisit;
 
+import com.goldeneggs.Dto.WebVisit.VisitBufferStatsDto;
+import com.goldeneggs.Dto.WebVisit.VisitCountDto;
+import com.goldeneggs.VisitCount.VisitCountService;
+import com.goldeneggs.VisitorSketch.VisitorSketchService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,16 +12,29 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
+import java.util.List;
+
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class WebVisitServiceTest {
 
     @Mock
-    private WebVisitRepository repository;
+    private VisitThrottle throttle;
+
+    @Mock
+    private WebVisitRecorder recorder;
+
+    @Mock
+    private VisitorSketchService visitorSketchService;
+
+    @Mock
+    private VisitCountService visitCountService;
 
     @InjectMocks
     private WebVisitService service;
@@ -28,25 +45,64 @@ class WebVisitServiceTest {
     @Test
     void testSaveVisit() {
         when(request.getRemoteAddr()).thenReturn("192.168.1.1");
+        when(throttle.tryAcquire("192.168.1.1")).thenReturn(true);
 
         service.saveVisit(request);
 
         ArgumentCaptor<WebVisit> captor = ArgumentCaptor.forClass(WebVisit.class);
-        verify(repository).save(captor.capture());
+        verify(recorder).record(captor.capture());
 
         WebVisit saved = captor.getValue();
         assertEquals("192.168.1.1", saved.getIp());
         assertNotNull(saved.getTimestamp());
+        verify(visitorSketchService).record("192.168.1.1", saved.getTimestamp());
+    }
+
+    @Test
+    void testSaveVisit_IgnoresSuppressedVisits() {
+        when(request.getRemoteAddr()).thenReturn("192.168.1.1");
+        when(throttle.tryAcquire("192.168.1.1")).thenReturn(false);
+
+        service.saveVisit(request);
+
+        verifyNoInteractions(recorder, visitorSketchService);
+    }
+
+    @Test
+    void testGetBufferStats_IncludesSuppressedVisits() {
+        when(recorder.stats()).thenReturn(new VisitBufferStatsDto(100, 3, 50L, 40L, 7L, 0L, 0L));
+        when(throttle.suppressed()).thenReturn(12L);
+
+        assertEquals(12L, service.getBufferStats().getSuppressed());
     }
 
     @Test
     void testGetVisitCount() {
-        when(repository.count()).thenReturn(42L);
+        when(visitCountService.totalVisits()).thenReturn(42L);
+        when(recorder.pending()).thenReturn(3);
 
         long count = service.getVisitCount();
 
-        assertEquals(42L, count);
-        verify(repository).count();
+        assertEquals(45L, count);
     }
-}
 
+    @Test
+    void testGetVisitCounts() {
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 2);
+        List<VisitCountDto> daily = List.of(new VisitCountDto("2025-03-01", 12L));
+        when(visitCountService.daily(from, to)).thenReturn(daily);
+
+        assertEquals(daily, service.getVisitCounts(from, to, true));
+        verify(visitCountService, never()).hourly(any(), any());
+    }
+
+    @Test
+    void testGetUniqueVisitors() {
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+        when(visitorSketchService.uniqueVisitors(from, to)).thenReturn(17L);
+
+        assertEquals(17L, service.getUniqueVisitors(from, to));
+    }
+}